@@ -0,0 +1,97 @@
+package com.teamdelegation.bench;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.teamdelegation.engine.AssignmentEngine;
+import com.teamdelegation.engine.EvaluationScratch;
+import com.teamdelegation.engine.LinearUtilityModel;
+import com.teamdelegation.model.AssignmentDecision;
+import com.teamdelegation.model.Member;
+import com.teamdelegation.model.ProjectDemand;
+import com.teamdelegation.model.ProjectLoad;
+import com.teamdelegation.model.SkillProfile;
+import com.teamdelegation.model.Urgency;
+
+/**
+ * Time and bytes allocated per {@code evaluate} call, with fresh score columns and full insights versus an
+ * {@link EvaluationScratch}. Run with {@code -prof gc} and compare {@code gc.alloc.rate.norm}:
+ * <pre>
+ * mvn -Pbench test-compile exec:exec
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EvaluationAllocationBenchmark {
+
+    private static final String[] SKILLS = {"java", "frontend", "backend", "testing", "devops", "design"};
+
+    @Param({"5000"})
+    public int members;
+
+    @Param({"fresh", "scratch"})
+    public String mode;
+
+    @Param({"10"})
+    public int insights;
+
+    private List<Member> roster;
+    private List<ProjectDemand> demands;
+    private AssignmentEngine engine;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(5);
+        roster = new ArrayList<>(members);
+        for (int i = 0; i < members; i++) {
+            Member member = new Member("m" + i, randomProfile(random, 3), 0.5 + random.nextInt(5) / 10.0, 0.5);
+            member.assignProject(new ProjectLoad("p" + random.nextInt(50), random.nextInt(10)));
+            roster.add(member);
+        }
+        demands = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            demands.add(new ProjectDemand("project-" + i, randomProfile(random, 2), 1 + random.nextInt(6),
+                    Set.of(), Urgency.M, random.nextBoolean()));
+        }
+        LinearUtilityModel model = new LinearUtilityModel(AssignmentEngine.Weights.balanced());
+        EvaluationScratch scratch = "scratch".equals(mode) ? new EvaluationScratch(insights, 1) : null;
+        engine = new AssignmentEngine(12.0, model, null, null, null, scratch);
+    }
+
+    @Benchmark
+    public AssignmentDecision evaluate() {
+        ProjectDemand demand = demands.get(next);
+        next = (next + 1) & 63;
+        return engine.evaluate(demand, roster);
+    }
+
+    private static SkillProfile randomProfile(Random random, int count) {
+        Map<String, Double> skills = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            skills.put(SKILLS[random.nextInt(SKILLS.length)], 0.3 + random.nextInt(8) / 10.0);
+        }
+        return new SkillProfile(skills);
+    }
+}
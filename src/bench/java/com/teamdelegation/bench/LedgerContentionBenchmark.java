@@ -0,0 +1,183 @@
+package com.teamdelegation.bench;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.teamdelegation.engine.AssignmentEngine;
+import com.teamdelegation.engine.AssignmentListener;
+import com.teamdelegation.engine.CapacityLedger;
+import com.teamdelegation.model.Member;
+import com.teamdelegation.model.SkillProfile;
+import com.teamdelegation.model.Task;
+import com.teamdelegation.model.TaskAssignment;
+import com.teamdelegation.model.Urgency;
+
+/**
+ * Concurrent batches against one roster, at 32 threads by default:
+ * <ol>
+ *   <li>overbooking: every thread keeps its results, once with separate per-batch loads and once through a
+ *       shared {@link CapacityLedger}; reports members pushed past the cap;</li>
+ *   <li>batch throughput: assign then release in a loop, through the ledger vs. one global lock around
+ *       {@code assignTasks};</li>
+ *   <li>raw reserve/release on random members: ledger CAS vs. a synchronized {@code double[]}.</li>
+ * </ol>
+ * <pre>
+ * mvn -Pbench test-compile exec:exec \
+ *     -Dexec.args="-cp %classpath com.teamdelegation.bench.LedgerContentionBenchmark [threads] [members] [seconds]"
+ * </pre>
+ */
+public final class LedgerContentionBenchmark {
+
+    private static final String[] SKILLS = {"java", "frontend", "backend", "testing", "devops", "design"};
+    private static final double CAPACITY_WEEKS = 12.0;
+    private static final int BATCH_SIZE = 20;
+
+    private LedgerContentionBenchmark() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 32;
+        int memberCount = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+        double seconds = args.length > 2 ? Double.parseDouble(args[2]) : 3;
+        Random random = new Random(11);
+        List<Member> members = new ArrayList<>(memberCount);
+        for (int i = 0; i < memberCount; i++) {
+            members.add(new Member("m" + i, randomProfile(random, 3), 0.5 + random.nextInt(5) / 10.0, 0.5));
+        }
+        AssignmentEngine engine = new AssignmentEngine(CAPACITY_WEEKS, AssignmentEngine.Weights.balanced());
+        System.out.printf("threads=%d members=%d cpus=%d%n", threads, memberCount,
+                Runtime.getRuntime().availableProcessors());
+
+        overbooking(engine, members, threads, null);
+        overbooking(engine, members, threads, engine.newLedger(members));
+
+        CapacityLedger ledger = engine.newLedger(members);
+        Object globalLock = new Object();
+        for (int round = 0; round < 2; round++) {  // first round warms up
+            double lockFree = batches(threads, seconds, () -> {
+                List<TaskAssignment> result = engine.assignTasks(randomBatch(), members, AssignmentListener.NONE, ledger);
+                ledger.releaseAll(result);
+            });
+            double locked = batches(threads, seconds, () -> {
+                synchronized (globalLock) {
+                    List<TaskAssignment> result = engine.assignTasks(randomBatch(), members, AssignmentListener.NONE,
+                            ledger);
+                    ledger.releaseAll(result);
+                }
+            });
+            if (round == 1) {
+                System.out.printf("%-22s %10.0f batches/s%n", "ledger (CAS)", lockFree);
+                System.out.printf("%-22s %10.0f batches/s  ledger %.2fx%n", "global lock", locked, lockFree / locked);
+            }
+        }
+
+        double[] lockedLoads = new double[memberCount];
+        for (int round = 0; round < 2; round++) {
+            long retriesBefore = ledger.getContendedRetries();
+            double cas = batches(threads, seconds, () -> {
+                int slot = ThreadLocalRandom.current().nextInt(memberCount);
+                if (ledger.tryReserve(slot, 1.0)) ledger.release(slot, 1.0);
+            });
+            double sync = batches(threads, seconds, () -> {
+                int slot = ThreadLocalRandom.current().nextInt(memberCount);
+                synchronized (lockedLoads) {
+                    if (lockedLoads[slot] + 1.0 <= CAPACITY_WEEKS) lockedLoads[slot] += 1.0;
+                }
+                synchronized (lockedLoads) {
+                    lockedLoads[slot] -= 1.0;
+                }
+            });
+            if (round == 1) {
+                System.out.printf("%-22s %10.2f M ops/s  (%d contended retries)%n", "reserve+release CAS",
+                        cas / 1e6, ledger.getContendedRetries() - retriesBefore);
+                System.out.printf("%-22s %10.2f M ops/s  CAS %.2fx%n", "reserve+release lock", sync / 1e6, cas / sync);
+            }
+        }
+    }
+
+    // Every thread assigns its own batches and keeps the result; counts members booked beyond the cap
+    private static void overbooking(AssignmentEngine engine, List<Member> members, int threads,
+                                    CapacityLedger ledger) throws InterruptedException {
+        Map<String, Double> booked = new HashMap<>();
+        for (Member m : members) booked.put(m.getName(), engine.initialLoadWeeks(m));
+        List<List<TaskAssignment>> results = new ArrayList<>();
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                List<TaskAssignment> mine = new ArrayList<>();
+                for (int b = 0; b < 20; b++) {
+                    mine.addAll(engine.assignTasks(randomBatch(), members, AssignmentListener.NONE, ledger));
+                }
+                synchronized (results) {
+                    results.add(mine);
+                }
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) worker.join();
+        int assigned = 0;
+        for (List<TaskAssignment> result : results) {
+            for (TaskAssignment a : result) {
+                booked.merge(a.getAssignee().getName(), a.getTask().getDurationWeeks(), Double::sum);
+                assigned++;
+            }
+        }
+        long over = booked.values().stream().filter(w -> w > CAPACITY_WEEKS + 1e-9).count();
+        double worst = booked.values().stream().mapToDouble(Double::doubleValue).max().orElse(0);
+        System.out.printf("%-22s %6d assigned, %4d members over %.0fw (worst %.1fw)%n",
+                ledger != null ? "shared ledger" : "independent batches", assigned, over, CAPACITY_WEEKS, worst);
+    }
+
+    private static double batches(int threads, double seconds, Runnable body) throws InterruptedException {
+        LongAdder done = new LongAdder();
+        long deadline = System.nanoTime() + (long) (seconds * 1e9);
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException ex) {
+                    return;
+                }
+                long count = 0;
+                while ((count & 63) != 0 || System.nanoTime() < deadline) {
+                    body.run();
+                    count++;
+                }
+                done.add(count);
+            });
+            workers[t].start();
+        }
+        long began = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) worker.join();
+        return done.sum() / ((System.nanoTime() - began) / 1e9);
+    }
+
+    private static List<Task> randomBatch() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<Task> tasks = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            Map<String, Double> skills = new HashMap<>();
+            skills.put(SKILLS[random.nextInt(SKILLS.length)], 0.3 + random.nextInt(6) / 10.0);
+            tasks.add(new Task("t" + i, "batch", 1 + random.nextInt(3), new SkillProfile(skills),
+                    Urgency.values()[random.nextInt(3)], false, null));
+        }
+        return tasks;
+    }
+
+    private static SkillProfile randomProfile(Random random, int count) {
+        Map<String, Double> skills = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            skills.put(SKILLS[random.nextInt(SKILLS.length)], 0.3 + random.nextInt(8) / 10.0);
+        }
+        return new SkillProfile(skills);
+    }
+}
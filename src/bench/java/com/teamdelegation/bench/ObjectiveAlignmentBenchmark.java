@@ -0,0 +1,87 @@
+package com.teamdelegation.bench;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import com.teamdelegation.engine.AssignmentEngine;
+import com.teamdelegation.engine.LinearUtilityModel;
+import com.teamdelegation.model.Member;
+import com.teamdelegation.model.ProjectLoad;
+import com.teamdelegation.model.SkillProfile;
+import com.teamdelegation.model.Task;
+import com.teamdelegation.model.Urgency;
+
+/**
+ * Per-candidate cost of scoring Objective_m: {@link AssignmentEngine#score} over one roster without objectives
+ * (w_o = 0) and with w_o = 0.1 at growing objective counts. Objectives reuse the roster's skill and project words,
+ * so most members match several of them.
+ * <pre>
+ * mvn -Pbench test-compile exec:exec \
+ *     -Dexec.args="-cp %classpath com.teamdelegation.bench.ObjectiveAlignmentBenchmark [members] [rounds]"
+ * </pre>
+ */
+public final class ObjectiveAlignmentBenchmark {
+
+    private static final String[] SKILLS = {
+            "java", "frontend", "backend", "testing", "devops", "design", "payments", "search", "mobile", "data"};
+    private static final String[] PROJECTS = {"Checkout revamp", "Search relevance", "Mobile onboarding", "Data lake"};
+    private static final int[] OBJECTIVE_COUNTS = {1, 8, 40, 200};
+
+    private ObjectiveAlignmentBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int memberCount = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        Random random = new Random(5);
+        List<Member> members = new ArrayList<>(memberCount);
+        for (int i = 0; i < memberCount; i++) {
+            Map<String, Double> skills = new HashMap<>();
+            for (int k = 0; k < 4; k++) skills.put(SKILLS[random.nextInt(SKILLS.length)], 0.3 + random.nextInt(7) / 10.0);
+            Member member = new Member("m" + i, new SkillProfile(skills), 0.5 + random.nextInt(5) / 10.0, 0.5);
+            member.assignProject(new ProjectLoad(PROJECTS[random.nextInt(PROJECTS.length)] + " " + (i % 50), 2));
+            members.add(member);
+        }
+        AssignmentEngine plain = new AssignmentEngine(12.0, AssignmentEngine.Weights.balanced());
+        AssignmentEngine aligned = new AssignmentEngine(12.0,
+                new LinearUtilityModel(AssignmentEngine.Weights.balanced().withObjective(0.1)));
+        Task baseline = task(0);
+        Task[] tasks = new Task[OBJECTIVE_COUNTS.length];
+        for (int t = 0; t < tasks.length; t++) tasks[t] = task(OBJECTIVE_COUNTS[t]);
+        // Interleaved passes, keeping each configuration's fastest; the first passes double as warmup
+        double base = Double.MAX_VALUE;
+        double[] costs = new double[tasks.length];
+        Arrays.fill(costs, Double.MAX_VALUE);
+        for (int pass = 0; pass < 8; pass++) {
+            base = Math.min(base, nanosPerCandidate(plain, baseline, members, rounds));
+            for (int t = 0; t < tasks.length; t++) {
+                costs[t] = Math.min(costs[t], nanosPerCandidate(aligned, tasks[t], members, rounds));
+            }
+        }
+        System.out.printf("members=%d  w_o=0: %.1f ns/candidate%n", memberCount, base);
+        for (int t = 0; t < tasks.length; t++) {
+            System.out.printf("%4d objectives: %7.1f ns/candidate  (+%.1f)%n", OBJECTIVE_COUNTS[t], costs[t],
+                    costs[t] - base);
+        }
+    }
+
+    private static double nanosPerCandidate(AssignmentEngine engine, Task task, List<Member> members, int rounds) {
+        long start = System.nanoTime();
+        for (int r = 0; r < rounds; r++) engine.score(task, members);
+        return (System.nanoTime() - start) / (double) rounds / members.size();
+    }
+
+    private static Task task(int objectiveCount) {
+        Set<String> objectives = new LinkedHashSet<>();
+        for (int o = 0; o < objectiveCount; o++) {
+            objectives.add("Improve " + SKILLS[o % SKILLS.length] + " latency for region " + o);
+        }
+        return new Task("t", "bench", 2, new SkillProfile(Map.of("java", 0.6)), Urgency.values()[1], false, objectives);
+    }
+}
@@ -0,0 +1,116 @@
+package com.teamdelegation.bench;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import com.teamdelegation.engine.AssignmentEngine;
+import com.teamdelegation.engine.AssignmentListener;
+import com.teamdelegation.engine.LaneAssigner;
+import com.teamdelegation.engine.PreemptionPolicy;
+import com.teamdelegation.engine.PriorityLanes;
+import com.teamdelegation.model.Member;
+import com.teamdelegation.model.SkillProfile;
+import com.teamdelegation.model.Task;
+import com.teamdelegation.model.Urgency;
+
+/**
+ * Streams random arrivals (15% H, 35% M, 50% L) into a {@link LaneAssigner}, draining after each one, with and
+ * without preemption. It reports how many urgent tasks were staffed and what bumping cost. It then compares
+ * enqueue and poll on {@link PriorityLanes} with a comparator heap.
+ * <pre>
+ * mvn -Pbench test-compile exec:exec \
+ *     -Dexec.args="-cp %classpath com.teamdelegation.bench.PreemptionBenchmark [members] [arrivals]"
+ * </pre>
+ */
+public final class PreemptionBenchmark {
+
+    private static final String[] SKILLS = {"java", "frontend", "backend", "testing", "devops", "design"};
+
+    private PreemptionBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int memberCount = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int arrivals = args.length > 1 ? Integer.parseInt(args[1]) : 2_000;
+        Random random = new Random(7);
+
+        List<Member> members = new ArrayList<>(memberCount);
+        for (int i = 0; i < memberCount; i++) {
+            members.add(new Member("m" + i, randomProfile(random, 3), 0.5 + random.nextInt(5) / 10.0, 0.5));
+        }
+        List<Task> stream = new ArrayList<>(arrivals);
+        for (int i = 0; i < arrivals; i++) {
+            stream.add(randomTask(random, "t" + i));
+        }
+        AssignmentEngine engine = new AssignmentEngine(8.0, AssignmentEngine.Weights.balanced());
+
+        System.out.printf("members=%d arrivals=%d capacity=8w%n", memberCount, arrivals);
+        run("lanes only", engine, members, stream, PreemptionPolicy.none());
+        run("H preempts L", engine, members, stream, PreemptionPolicy.urgentOverLow());
+
+        int queued = 1_000_000;
+        List<Task> backlog = new ArrayList<>(queued);
+        for (int i = 0; i < queued; i++) {
+            backlog.add(randomTask(random, "q" + i));
+        }
+        for (int round = 0; round < 3; round++) {  // first rounds warm up
+            long lanesNs = enqueueLanes(backlog);
+            long heapNs = enqueueHeap(backlog);
+            if (round == 2) {
+                System.out.printf("%-14s %7.1f ns/task%n", "lanes", lanesNs / (double) queued);
+                System.out.printf("%-14s %7.1f ns/task  %5.2fx%n", "heap", heapNs / (double) queued,
+                        heapNs / (double) lanesNs);
+            }
+        }
+    }
+
+    private static void run(String label, AssignmentEngine engine, List<Member> members, List<Task> stream,
+                            PreemptionPolicy policy) {
+        LaneAssigner lanes = engine.openLanes(members, policy, AssignmentListener.NONE);
+        long start = System.nanoTime();
+        for (Task task : stream) {
+            lanes.submit(task);
+            lanes.drain();
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("%-14s %8.2f ms  %s%n", label, elapsed / 1e6, lanes.getStats());
+    }
+
+    private static long enqueueLanes(List<Task> backlog) {
+        long start = System.nanoTime();
+        PriorityLanes lanes = new PriorityLanes();
+        for (Task task : backlog) lanes.add(task);
+        while (lanes.poll() != null) {
+            // drain
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static long enqueueHeap(List<Task> backlog) {
+        long start = System.nanoTime();
+        PriorityQueue<Task> heap = new PriorityQueue<>(AssignmentEngine.TASK_PRIORITY);
+        for (Task task : backlog) heap.add(task);
+        while (heap.poll() != null) {
+            // drain
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static Task randomTask(Random random, String id) {
+        double r = random.nextDouble();
+        Urgency urgency = r < 0.15 ? Urgency.H : r < 0.5 ? Urgency.M : Urgency.L;
+        return new Task(id, id, 1 + random.nextInt(4), randomProfile(random, 2), urgency, false, null);
+    }
+
+    private static SkillProfile randomProfile(Random random, int count) {
+        Map<String, Double> skills = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            skills.put(SKILLS[random.nextInt(SKILLS.length)], 0.3 + random.nextInt(8) / 10.0);
+        }
+        return new SkillProfile(skills);
+    }
+}
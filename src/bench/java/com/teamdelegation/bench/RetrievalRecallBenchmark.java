@@ -0,0 +1,123 @@
+package com.teamdelegation.bench;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import com.teamdelegation.engine.AssignmentEngine;
+import com.teamdelegation.engine.LinearUtilityModel;
+import com.teamdelegation.engine.ScoreTable;
+import com.teamdelegation.engine.retrieval.CandidateRetrieval;
+import com.teamdelegation.engine.retrieval.LshParameters;
+import com.teamdelegation.model.AssignmentDecision;
+import com.teamdelegation.model.Member;
+import com.teamdelegation.model.ProjectDemand;
+import com.teamdelegation.model.ProjectLoad;
+import com.teamdelegation.model.SkillProfile;
+import com.teamdelegation.model.Urgency;
+
+/**
+ * Recall@1 and latency of shortlisted evaluation against the exact scan, over a synthetic roster and a sweep
+ * of probe depths and shortlist sizes. Recall@1 is the share of projects whose assignee has the exact scan's best
+ * utility; "same member" also requires the exact scan's tie-break (lowest roster index) to be on the shortlist.
+ * <pre>
+ * mvn -Pbench test-compile exec:exec \
+ *     -Dexec.args="-Xmx6g -cp %classpath com.teamdelegation.bench.RetrievalRecallBenchmark [members] [projects]"
+ * </pre>
+ */
+public final class RetrievalRecallBenchmark {
+
+    private static final String[] SKILLS = {
+            "java", "frontend", "backend", "testing", "devops", "design", "data", "security",
+            "mobile", "cloud", "sql", "ml", "ux", "docs", "support", "qa"};
+    private static final int[] PROBES = {0, 2, 4};
+    private static final int[] SHORTLISTS = {64, 256};
+
+    private RetrievalRecallBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int memberCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int projectCount = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        Random random = new Random(5);
+
+        List<Member> members = new ArrayList<>(memberCount);
+        for (int i = 0; i < memberCount; i++) {
+            Member m = new Member("m" + i, randomProfile(random, 1 + random.nextInt(5)),
+                    random.nextInt(11) / 10.0, 0.5);
+            if (random.nextBoolean()) m.assignProject(new ProjectLoad("p", random.nextInt(12)));
+            members.add(m);
+        }
+        List<ProjectDemand> projects = new ArrayList<>(projectCount);
+        for (int i = 0; i < projectCount; i++) {
+            projects.add(new ProjectDemand("project" + i, randomProfile(random, 1 + random.nextInt(3)),
+                    1 + random.nextInt(6), null, Urgency.values()[random.nextInt(3)], random.nextInt(4) == 0));
+        }
+
+        AssignmentEngine exact = new AssignmentEngine(12.0, AssignmentEngine.Weights.balanced());
+        String[] expected = new String[projectCount];
+        double[] expectedUtility = new double[projectCount];
+        long exactNs = 0;
+        for (int round = 0; round < 2; round++) {  // first round warms up
+            exactNs = 0;
+            for (int p = 0; p < projectCount; p++) {
+                long start = System.nanoTime();
+                ScoreTable scores = exact.score(AssignmentEngine.demandToTask(projects.get(p)), members);
+                int best = scores.best();
+                exactNs += System.nanoTime() - start;
+                expected[p] = best >= 0 ? scores.member(best).getName() : null;
+                expectedUtility[p] = best >= 0 ? scores.utility(best) : Double.NaN;
+            }
+        }
+        System.out.printf("members=%d projects=%d exact scan %.2f ms/project%n",
+                memberCount, projectCount, exactNs / 1e6 / projectCount);
+
+        for (int probes : PROBES) {
+            for (int shortlist : SHORTLISTS) {
+                CandidateRetrieval retrieval = new CandidateRetrieval(new LshParameters(8, 12, probes, 42L),
+                        0, shortlist, 0, 0, 1);
+                AssignmentEngine engine = new AssignmentEngine(12.0,
+                        new LinearUtilityModel(AssignmentEngine.Weights.balanced()), null, null, retrieval);
+                long buildStart = System.nanoTime();
+                engine.prepare(members);
+                long buildNs = System.nanoTime() - buildStart;
+                int hits = 0, same = 0;
+                long ns = 0;
+                for (int round = 0; round < 2; round++) {
+                    hits = 0;
+                    same = 0;
+                    ns = 0;
+                    for (int p = 0; p < projectCount; p++) {
+                        long start = System.nanoTime();
+                        AssignmentDecision decision = engine.evaluate(projects.get(p), members);
+                        ns += System.nanoTime() - start;
+                        if (decision.getAssignee() == null) {
+                            if (expected[p] == null) {
+                                hits++;
+                                same++;
+                            }
+                            continue;
+                        }
+                        if (decision.getTaskAssignments().get(0).getUtilityScore() >= expectedUtility[p]) hits++;
+                        if (decision.getAssignee().getName().equals(expected[p])) same++;
+                    }
+                }
+                System.out.printf("probes=%d shortlist=%-5d recall@1 %.3f  same member %.3f  %7.3f ms/project  "
+                                + "retrieved %8.0f  fallbacks %d  build %.0f ms%n",
+                        probes, shortlist, hits / (double) projectCount, same / (double) projectCount,
+                        ns / 1e6 / projectCount,
+                        retrieval.getMeanRetrieved(), retrieval.getFallbacks(), buildNs / 1e6);
+            }
+        }
+    }
+
+    private static SkillProfile randomProfile(Random random, int count) {
+        Map<String, Double> skills = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            skills.put(SKILLS[random.nextInt(SKILLS.length)], random.nextInt(11) / 10.0);
+        }
+        return new SkillProfile(skills);
+    }
+}
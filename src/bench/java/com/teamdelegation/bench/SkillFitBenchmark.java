@@ -0,0 +1,103 @@
+package com.teamdelegation.bench;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import com.teamdelegation.engine.SkillFitKernel;
+import com.teamdelegation.engine.SkillMatrix;
+import com.teamdelegation.model.Member;
+import com.teamdelegation.model.SkillProfile;
+import com.teamdelegation.model.Task;
+import com.teamdelegation.model.Urgency;
+
+/**
+ * Compares map-based, sparse-id and columnar (scalar vs. SIMD) skill fit over a synthetic roster. The SIMD
+ * kernel is only present when compiled under the {@code simd} profile.
+ * <pre>
+ * mvn -Psimd,bench test-compile exec:exec -Dexec.args="--add-modules jdk.incubator.vector -cp %classpath \
+ *     com.teamdelegation.bench.SkillFitBenchmark [members] [rounds]"
+ * </pre>
+ */
+public final class SkillFitBenchmark {
+
+    private static final String[] SKILLS = {
+            "java", "frontend", "backend", "testing", "devops", "design", "data", "security",
+            "mobile", "cloud", "sql", "ml", "ux", "docs", "support", "qa"};
+
+    private SkillFitBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int memberCount = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+        Random random = new Random(42);
+
+        List<Member> members = new ArrayList<>(memberCount);
+        for (int i = 0; i < memberCount; i++) {
+            members.add(new Member("m" + i, randomProfile(random, 1 + random.nextInt(6)), 0.7, 0.5));
+        }
+        Task task = new Task("bench", "bench", 4, randomProfile(random, 4), Urgency.M, false, null);
+
+        SkillMatrix matrix = SkillMatrix.of(members);
+        SkillFitKernel vector = SkillFitKernel.vector();
+        SkillFitKernel scalar = SkillFitKernel.scalar();
+        double[] out = new double[memberCount];
+
+        System.out.printf("members=%d rounds=%d kernel=%s%n", memberCount, rounds, vector);
+        double mapNs = time(rounds, () -> mapBased(members, task));
+        double sparseNs = time(rounds, () -> sparse(members, task));
+        double scalarNs = time(rounds, () -> scalar.skillFit(matrix, task, out));
+        double vectorNs = time(rounds, () -> vector.skillFit(matrix, task, out));
+
+        report("map-based", mapNs, mapNs, memberCount);
+        report("sparse ids", sparseNs, mapNs, memberCount);
+        report("columnar scalar", scalarNs, mapNs, memberCount);
+        report("columnar " + vector, vectorNs, mapNs, memberCount);
+    }
+
+    private static double mapBased(List<Member> members, Task task) {
+        Map<String, Double> required = task.getRequiredSkills().asMap();
+        double sink = 0;
+        for (Member m : members) {
+            double achieved = 0, total = 0;
+            for (Map.Entry<String, Double> e : required.entrySet()) {
+                achieved += Math.min(e.getValue(), m.getExpertise().getLevel(e.getKey()));
+                total += e.getValue();
+            }
+            sink += achieved / total;
+        }
+        return sink;
+    }
+
+    private static double sparse(List<Member> members, Task task) {
+        double sink = 0;
+        for (Member m : members) {
+            sink += m.getExpertise().overlap(task.getRequiredSkillIds(), task.getRequiredSkills().levels())
+                    / task.getTotalDemand();
+        }
+        return sink;
+    }
+
+    private static double time(int rounds, Runnable body) {
+        for (int i = 0; i < rounds; i++) body.run();  // warm-up
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) body.run();
+        return (System.nanoTime() - start) / (double) rounds;
+    }
+
+    private static void report(String label, double ns, double baselineNs, int members) {
+        System.out.printf("%-24s %10.3f ms/task  %7.2f ns/member  %6.2fx%n",
+                label, ns / 1e6, ns / members, baselineNs / ns);
+    }
+
+    private static SkillProfile randomProfile(Random random, int count) {
+        Map<String, Double> skills = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            skills.put(SKILLS[random.nextInt(SKILLS.length)], random.nextInt(11) / 10.0);
+        }
+        return new SkillProfile(skills);
+    }
+}
@@ -0,0 +1,130 @@
+package com.teamdelegation.bench;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import com.teamdelegation.engine.AssignmentEngine;
+import com.teamdelegation.engine.PreemptionPolicy;
+import com.teamdelegation.ingest.TaskOutcome;
+import com.teamdelegation.ingest.TaskStreamProcessor;
+import com.teamdelegation.model.Member;
+import com.teamdelegation.model.SkillProfile;
+import com.teamdelegation.model.Task;
+import com.teamdelegation.model.Urgency;
+
+/**
+ * Pushes a task stream through a {@link TaskStreamProcessor} from a blocking {@link SubmissionPublisher}, once
+ * with a subscriber that keeps up and once with one that pauses after every assignment. It reports throughput,
+ * batch sizes and the buffer high-water mark, which stays near {@code maxBuffered} however slow the subscriber is.
+ * <pre>
+ * mvn -Pbench test-compile exec:exec \
+ *     -Dexec.args="-cp %classpath com.teamdelegation.bench.StreamIngestBenchmark [members] [tasks] [maxBatch] [maxBuffered]"
+ * </pre>
+ */
+public final class StreamIngestBenchmark {
+
+    private static final String[] SKILLS = {"java", "frontend", "backend", "testing", "devops", "design"};
+
+    private StreamIngestBenchmark() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int memberCount = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        int taskCount = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+        int maxBatch = args.length > 2 ? Integer.parseInt(args[2]) : 32;
+        int maxBuffered = args.length > 3 ? Integer.parseInt(args[3]) : 256;
+        Random random = new Random(11);
+
+        List<Task> stream = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            stream.add(randomTask(random, "t" + i));
+        }
+        // Enough capacity for the whole stream, so every task is placed and published
+        double capacity = 3.0 * taskCount / memberCount;
+        AssignmentEngine engine = new AssignmentEngine(capacity, AssignmentEngine.Weights.balanced());
+
+        System.out.printf("members=%d tasks=%d maxBatch=%d maxBuffered=%d%n", memberCount, taskCount, maxBatch,
+                maxBuffered);
+        run("warm-up", engine, memberCount, stream, maxBatch, maxBuffered, 0);
+        run("fast consumer", engine, memberCount, stream, maxBatch, maxBuffered, 0);
+        run("slow consumer", engine, memberCount, stream.subList(0, Math.min(stream.size(), 2_000)), maxBatch,
+                maxBuffered, 200);
+    }
+
+    private static void run(String label, AssignmentEngine engine, int memberCount, List<Task> stream,
+                            int maxBatch, int maxBuffered, long pauseMicros) throws InterruptedException {
+        Random random = new Random(7);
+        List<Member> roster = new ArrayList<>(memberCount);
+        for (int i = 0; i < memberCount; i++) {
+            roster.add(new Member("m" + i, randomProfile(random, 3), 0.5 + random.nextInt(5) / 10.0, 0.5));
+        }
+        CountDownLatch done = new CountDownLatch(1);
+        long start = System.nanoTime();
+        try (TaskStreamProcessor processor = new TaskStreamProcessor(engine, roster, PreemptionPolicy.none(),
+                maxBatch, Duration.ofMillis(5), maxBuffered);
+             SubmissionPublisher<Task> publisher = new SubmissionPublisher<>(Runnable::run, maxBuffered)) {
+            publisher.subscribe(processor);
+            processor.subscribe(new Flow.Subscriber<TaskOutcome>() {
+                private Flow.Subscription subscription;
+
+                @Override
+                public void onSubscribe(Flow.Subscription subscription) {
+                    this.subscription = subscription;
+                    subscription.request(1);
+                }
+
+                @Override
+                public void onNext(TaskOutcome item) {
+                    if (pauseMicros > 0) LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(pauseMicros));
+                    subscription.request(1);
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                    throwable.printStackTrace();
+                    done.countDown();
+                }
+
+                @Override
+                public void onComplete() {
+                    done.countDown();
+                }
+            });
+            for (Task task : stream) {
+                publisher.submit(task);
+            }
+            publisher.close();
+            done.await();
+            long elapsed = System.nanoTime() - start;
+            System.out.printf("%-14s %8.1f ms  %8.0f tasks/s  batches=%d (mean %.1f, max %.2f ms)"
+                            + "  published=%d unassigned=%d  buffer high-water=%d%n",
+                    label, elapsed / 1e6, processor.getTasks() / (elapsed / 1e9), processor.getBatches(),
+                    processor.getTasks() / (double) Math.max(1, processor.getBatches()),
+                    processor.getMaxBatchNanos() / 1e6, processor.getPublished(), processor.getUnassigned(),
+                    processor.getMaxBufferedSeen());
+        }
+    }
+
+    private static Task randomTask(Random random, String id) {
+        double r = random.nextDouble();
+        Urgency urgency = r < 0.15 ? Urgency.H : r < 0.5 ? Urgency.M : Urgency.L;
+        return new Task(id, id, 1 + random.nextInt(4), randomProfile(random, 2), urgency, false, null);
+    }
+
+    private static SkillProfile randomProfile(Random random, int count) {
+        Map<String, Double> skills = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            skills.put(SKILLS[random.nextInt(SKILLS.length)], 0.3 + random.nextInt(8) / 10.0);
+        }
+        return new SkillProfile(skills);
+    }
+}
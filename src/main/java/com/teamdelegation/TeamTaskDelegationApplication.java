@@ -1,10 +1,28 @@
 package com.teamdelegation;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
 
+import com.teamdelegation.constraint.ConstraintProperties;
 import com.teamdelegation.engine.AssignmentEngine;
+import com.teamdelegation.engine.EngineFactory;
+import com.teamdelegation.engine.EvaluationScratch;
+import com.teamdelegation.engine.SkillFitKernel;
+import com.teamdelegation.engine.retrieval.RetrievalProperties;
+import com.teamdelegation.journal.DecisionJournal;
+import com.teamdelegation.replay.ScenarioRecorder;
+import com.teamdelegation.trace.FlightRecording;
 
 @SpringBootApplication
 public class TeamTaskDelegationApplication {
@@ -13,9 +31,73 @@ public class TeamTaskDelegationApplication {
         SpringApplication.run(TeamTaskDelegationApplication.class, args);
     }
 
+    /** Builds the default engine and every tenant's, so all of them get the same configured extensions. */
     @Bean
-    public AssignmentEngine assignmentEngine() {
-        return new AssignmentEngine(12.0, AssignmentEngine.Weights.balanced());
+    public EngineFactory engineFactory(@Value("${delegation.utility.expression:}") String utilityExpression,
+                                       @Value("${delegation.simd.enabled:false}") boolean simdEnabled,
+                                       @Value("${delegation.simd.kernel:scalar}") String simdKernel,
+                                       @Value("${delegation.scratch.enabled:false}") boolean scratchEnabled,
+                                       @Value("${delegation.scratch.insights:10}") int scratchInsights,
+                                       @Value("${delegation.scratch.arenas:8}") int scratchArenas,
+                                       ConstraintProperties constraints,
+                                       RetrievalProperties retrieval) {
+        return new EngineFactory(utilityExpression, simdEnabled ? SkillFitKernel.named(simdKernel) : null,
+                constraints.toRules(), retrieval::toRetrieval,
+                scratchEnabled ? new EvaluationScratch(scratchInsights, scratchArenas) : null);
+    }
+
+    @Bean
+    public AssignmentEngine assignmentEngine(EngineFactory engines,
+                                             @Value("${delegation.utility.objective-weight:0}") double objectiveWeight) {
+        return engines.create(12.0, AssignmentEngine.Weights.balanced().withObjective(objectiveWeight));
+    }
+
+    @Bean(destroyMethod = "close")
+    public DecisionJournal decisionJournal(@Value("${delegation.journal.dir:data/journal}") String directory,
+                                           @Value("${delegation.journal.segment-bytes:67108864}") long segmentBytes,
+                                           @Value("${delegation.journal.max-insights:20}") int maxInsights) {
+        try {
+            return DecisionJournal.open(Path.of(directory), segmentBytes, maxInsights);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot open decision journal in " + directory, ex);
+        }
     }
-}
 
+    /** Records served inputs for replay with {@code DifferentialHarness}; disabled when no file is set. */
+    @Bean(destroyMethod = "close")
+    public ScenarioRecorder scenarioRecorder(@Value("${delegation.replay.record-file:}") String file) {
+        if (file.isBlank()) {
+            return ScenarioRecorder.disabled();
+        }
+        try {
+            return ScenarioRecorder.open(Path.of(file));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot open scenario recording " + file, ex);
+        }
+    }
+
+    /** Continuous JFR recording, dumped when a request is slow; disabled unless switched on. */
+    @Bean(destroyMethod = "close")
+    public FlightRecording flightRecording(@Value("${delegation.trace.enabled:false}") boolean enabled,
+                                           @Value("${delegation.trace.dump-dir:data/jfr}") String dumpDir,
+                                           @Value("${delegation.trace.slow-request-ms:2000}") long slowRequestMs,
+                                           @Value("${delegation.trace.min-dump-interval-s:300}") long minDumpIntervalS,
+                                           @Value("${delegation.trace.max-age-s:600}") long maxAgeS,
+                                           @Value("${delegation.trace.max-size-mb:128}") long maxSizeMb,
+                                           @Value("${delegation.trace.selection-threshold-ms:1}") long selectionMs) {
+        if (!enabled) {
+            return FlightRecording.disabled();
+        }
+        return FlightRecording.start(Path.of(dumpDir), Duration.ofMillis(slowRequestMs),
+                Duration.ofSeconds(minDumpIntervalS), Duration.ofSeconds(maxAgeS), maxSizeMb * 1024 * 1024,
+                Duration.ofMillis(selectionMs));
+    }
+
+    /** Runs streamed batch assignments; bounded so a burst of large batches is rejected, not queued forever. */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService assignmentExecutor(@Value("${delegation.batch.threads:2}") int threads,
+                                              @Value("${delegation.batch.queue-capacity:16}") int queueCapacity) {
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity));
+    }
+}
@@ -0,0 +1,98 @@
+package com.teamdelegation.analytics;
+
+import java.util.Arrays;
+
+/**
+ * Binary heap over member slots keyed by load, with a slot → position index so a member's key can be changed
+ * in place: O(log M) per update, O(1) to read the top. {@code max} heaps keep the most loaded member on top,
+ * min heaps the least loaded; ties go to the lower slot, i.e. the member added first.
+ */
+final class IndexedLoadHeap {
+
+    private final boolean max;
+    private int[] heap = new int[16];      // position → slot
+    private int[] position = new int[16];  // slot → position, -1 when absent
+    private double[] key = new double[16]; // slot → load
+    private int size;
+
+    IndexedLoadHeap(boolean max) {
+        this.max = max;
+        Arrays.fill(position, -1);
+    }
+
+    /** Adds {@code slot} with {@code load}, or moves it to {@code load} when already present. */
+    void put(int slot, double load) {
+        if (slot >= position.length) grow(slot + 1);
+        int at = position[slot];
+        key[slot] = load;
+        if (at < 0) {
+            if (size == heap.length) heap = Arrays.copyOf(heap, size * 2);
+            heap[size] = slot;
+            position[slot] = size;
+            up(size++);
+        } else {
+            up(at);
+            down(position[slot]);
+        }
+    }
+
+    void clear() {
+        for (int i = 0; i < size; i++) position[heap[i]] = -1;
+        size = 0;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** The top slot, or -1 when empty. */
+    int peek() {
+        return size > 0 ? heap[0] : -1;
+    }
+
+    double peekLoad() {
+        return size > 0 ? key[heap[0]] : 0;
+    }
+
+    private void up(int at) {
+        int slot = heap[at];
+        while (at > 0) {
+            int parent = (at - 1) >>> 1;
+            if (!before(slot, heap[parent])) break;
+            place(heap[parent], at);
+            at = parent;
+        }
+        place(slot, at);
+    }
+
+    private void down(int at) {
+        int slot = heap[at];
+        while (true) {
+            int child = 2 * at + 1;
+            if (child >= size) break;
+            if (child + 1 < size && before(heap[child + 1], heap[child])) child++;
+            if (!before(heap[child], slot)) break;
+            place(heap[child], at);
+            at = child;
+        }
+        place(slot, at);
+    }
+
+    private boolean before(int a, int b) {
+        if (key[a] != key[b]) return max ? key[a] > key[b] : key[a] < key[b];
+        return a < b;
+    }
+
+    private void place(int slot, int at) {
+        heap[at] = slot;
+        position[slot] = at;
+    }
+
+    private void grow(int capacity) {
+        int length = Math.max(capacity, position.length * 2);
+        int old = position.length;
+        position = Arrays.copyOf(position, length);
+        Arrays.fill(position, old, length, -1);
+        key = Arrays.copyOf(key, length);
+    }
+}
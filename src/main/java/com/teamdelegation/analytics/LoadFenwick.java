@@ -0,0 +1,85 @@
+package com.teamdelegation.analytics;
+
+import java.util.Arrays;
+
+/**
+ * Fenwick trees of member counts and load sums over loads quantized to {@link #GRID} weeks, so "how many
+ * members carry less than x, and how much do they carry" costs O(log B) for B grid cells. Grows by doubling
+ * when a load lands past the last cell, up to {@link #MAX_CELLS}; loads beyond that share the last cell.
+ */
+final class LoadFenwick {
+
+    /** Loads are bucketed to an eighth of a week; loads on that grid are counted exactly. */
+    static final double GRID = 0.125;
+
+    /** 8192 weeks; anything longer is counted in the last cell rather than growing the trees without bound. */
+    static final int MAX_CELLS = 1 << 16;
+
+    private long[] cells = new long[64];      // raw count per cell, kept to rebuild the trees on growth
+    private double[] cellSums = new double[64];
+    private long[] counts = new long[65];     // 1-based Fenwick trees over the cells
+    private double[] sums = new double[65];
+
+    static int cell(double load) {
+        double cell = Math.floor(Math.max(0, load) / GRID + 1e-9);
+        return cell < MAX_CELLS ? (int) cell : MAX_CELLS - 1;
+    }
+
+    void add(double load, int delta) {
+        int cell = cell(load);
+        if (cell >= cells.length) grow(cell + 1);
+        cells[cell] += delta;
+        cellSums[cell] += delta * load;
+        for (int i = cell + 1; i < counts.length; i += i & -i) {
+            counts[i] += delta;
+            sums[i] += delta * load;
+        }
+    }
+
+    void clear() {
+        Arrays.fill(cells, 0);
+        Arrays.fill(cellSums, 0);
+        Arrays.fill(counts, 0);
+        Arrays.fill(sums, 0);
+    }
+
+    /** Members in cells below {@code cell}. */
+    long countBelow(int cell) {
+        long n = 0;
+        for (int i = Math.min(cell, cells.length); i > 0; i -= i & -i) n += counts[i];
+        return n;
+    }
+
+    /** Load carried by members in cells below {@code cell}. */
+    double sumBelow(int cell) {
+        double s = 0;
+        for (int i = Math.min(cell, cells.length); i > 0; i -= i & -i) s += sums[i];
+        return s;
+    }
+
+    long countIn(int cell) {
+        return cell < cells.length ? cells[cell] : 0;
+    }
+
+    double sumIn(int cell) {
+        return cell < cells.length ? cellSums[cell] : 0;
+    }
+
+    private void grow(int capacity) {
+        int length = Math.min(MAX_CELLS, Math.max(capacity, cells.length * 2));
+        cells = Arrays.copyOf(cells, length);
+        cellSums = Arrays.copyOf(cellSums, length);
+        counts = new long[length + 1];
+        sums = new double[length + 1];
+        // Linear-time build: each node pushes its total to its parent
+        for (int i = 1; i <= length; i++) {
+            counts[i] += cells[i - 1];
+            sums[i] += cellSums[i - 1];
+            int parent = i + (i & -i);
+            if (parent <= length) {
+                counts[parent] += counts[i];
+                sums[parent] += sums[i];
+            }
+        }
+    }
+}
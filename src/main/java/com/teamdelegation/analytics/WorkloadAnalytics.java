@@ -0,0 +1,226 @@
+package com.teamdelegation.analytics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.teamdelegation.model.Member;
+import com.teamdelegation.model.SkillIds;
+import com.teamdelegation.model.Task;
+import com.teamdelegation.model.TaskAssignment;
+
+/**
+ * Fairness of the workload across one roster, kept up to date as members join and recommendations are made,
+ * so reading it never scans the roster.
+ * <p>
+ * A member's load x_m starts at their current project weeks, grows by the weeks of every task committed to them
+ * from any entry point, and shrinks when a commitment is taken back: it is what the roster would carry if every
+ * recommendation were accepted. A project evaluated again replaces its previous recommendation
+ * ({@link #recordEvaluation}) rather than adding to it. Each change costs O(log M + log B + k) for M members, B load cells of {@link LoadFenwick#GRID} weeks and k required skills:
+ * <ul>
+ *   <li>min and max load from two {@link IndexedLoadHeap}s;</li>
+ *   <li>Σ_i Σ_j |x_i − x_j| kept as a running sum: moving x_m from a to b adds 2(D(b) − D(a)), where
+ *       D(v) = Σ_j |v − x_j| over the other members comes from prefix counts and sums in a {@link LoadFenwick};</li>
+ *   <li>the histogram is read from the same prefix counts, O(log B) per bar;</li>
+ *   <li>per skill, holders and recommended weeks; per member, recommendation counts.</li>
+ * </ul>
+ * The Gini sum is exact while loads sit on the 1/8-week grid; otherwise members sharing a cell are compared as
+ * equal, an error of at most one cell per pair. Loads are capped at {@link #MAX_LOAD_WEEKS}, the start of the
+ * last cell, so a mistyped project length cannot grow the trees or overflow the sums.
+ */
+public final class WorkloadAnalytics {
+
+    private static final int MAX_BUCKETS = 64;
+    private static final int MAX_EVALUATED_PROJECTS = 4096;
+    static final double MAX_LOAD_WEEKS = (LoadFenwick.MAX_CELLS - 1) * LoadFenwick.GRID;
+
+    private final Map<String, Integer> slots = new HashMap<>();
+    private final List<String> names = new ArrayList<>();
+    private double[] load = new double[16];
+    private int[] counts = new int[16];
+    private final IndexedLoadHeap least = new IndexedLoadHeap(false);
+    private final IndexedLoadHeap most = new IndexedLoadHeap(true);
+    private final LoadFenwick cells = new LoadFenwick();
+    private int counted;
+    private double totalLoad;
+    private double pairSum;  // Σ_i Σ_j |x_i − x_j| over ordered pairs
+    private long recommendations;
+    private final Map<String, Integer> recommended = new LinkedHashMap<>();
+    private int[] skillHolders = new int[0];
+    private double[] skillWeeks = new double[0];
+    // project -> what its latest evaluation booked, least recently evaluated first; an evicted project's booking
+    // stays, it just can no longer be replaced
+    private final Map<String, List<TaskAssignment>> evaluated = new LinkedHashMap<>(16, 0.75f, true);
+
+    /** Starts over from {@code members}' current loads. */
+    public synchronized void reset(List<Member> members) {
+        slots.clear();
+        names.clear();
+        Arrays.fill(load, 0);
+        Arrays.fill(counts, 0);
+        least.clear();
+        most.clear();
+        cells.clear();
+        counted = 0;
+        totalLoad = 0;
+        pairSum = 0;
+        recommendations = 0;
+        recommended.clear();
+        Arrays.fill(skillHolders, 0);
+        Arrays.fill(skillWeeks, 0);
+        evaluated.clear();
+        for (Member member : members) {
+            add(member);
+        }
+    }
+
+    public synchronized void addMember(Member member) {
+        add(member);
+    }
+
+    /** Books each assignment's task weeks on its assignee; assignees not on the roster are skipped. */
+    public synchronized void record(List<TaskAssignment> assignments) {
+        for (TaskAssignment assignment : assignments) {
+            Integer slot = slots.get(assignment.getAssignee().getName());
+            if (slot == null) continue;
+            Task task = assignment.getTask();
+            move(slot, capped(load[slot] + task.getDurationWeeks()));
+            counts[slot]++;
+            recommended.put(names.get(slot), counts[slot]);
+            recommendations++;
+            for (int id : task.getRequiredSkillIds()) {
+                ensureSkill(id);
+                skillWeeks[id] += task.getDurationWeeks();
+            }
+        }
+    }
+
+    /**
+     * Books the outcome of evaluating {@code project}, after taking back what the previous evaluation of the same
+     * project booked, so evaluating one project repeatedly does not inflate loads.
+     */
+    public synchronized void recordEvaluation(String project, List<TaskAssignment> assignments) {
+        List<TaskAssignment> previous = evaluated.put(project, List.copyOf(assignments));
+        if (previous != null) {
+            release(previous);
+        } else if (evaluated.size() > MAX_EVALUATED_PROJECTS) {
+            evaluated.remove(evaluated.keySet().iterator().next());
+        }
+        record(assignments);
+    }
+
+    /** Takes back assignments booked by {@link #record}, e.g. work bumped by a preemption; loads stop at zero. */
+    public synchronized void release(List<TaskAssignment> assignments) {
+        for (TaskAssignment assignment : assignments) {
+            Integer slot = slots.get(assignment.getAssignee().getName());
+            if (slot == null || counts[slot] == 0) continue;
+            Task task = assignment.getTask();
+            move(slot, Math.max(0, load[slot] - task.getDurationWeeks()));
+            counts[slot]--;
+            recommended.put(names.get(slot), counts[slot]);
+            recommendations--;
+            for (int id : task.getRequiredSkillIds()) {
+                ensureSkill(id);
+                skillWeeks[id] = Math.max(0, skillWeeks[id] - task.getDurationWeeks());
+            }
+        }
+    }
+
+    /**
+     * @param capacityWeeks per-member capacity, the denominator of skill utilisation
+     * @param bucketWeeks   histogram bar width; widened when more than {@value #MAX_BUCKETS} bars would be needed
+     */
+    public synchronized WorkloadReport report(double capacityWeeks, double bucketWeeks) {
+        int n = names.size();
+        double gini = n > 0 && totalLoad > 0 ? pairSum / (2.0 * n * totalLoad) : 0;
+
+        List<WorkloadReport.LoadBucket> histogram = new ArrayList<>();
+        if (n > 0) {
+            double maxLoad = most.peekLoad();
+            // Bars span whole grid cells, so every member falls in exactly one
+            int width = Math.max(1, (int) Math.round(Math.max(bucketWeeks, LoadFenwick.GRID) / LoadFenwick.GRID));
+            int lastCell = LoadFenwick.cell(maxLoad);
+            width = Math.max(width, lastCell / MAX_BUCKETS + 1);
+            for (int from = 0; from <= lastCell; from += width) {
+                long inBar = cells.countBelow(from + width) - cells.countBelow(from);
+                histogram.add(new WorkloadReport.LoadBucket(from * LoadFenwick.GRID, (from + width) * LoadFenwick.GRID,
+                        inBar));
+            }
+        }
+
+        Map<String, WorkloadReport.SkillLoad> skills = new LinkedHashMap<>();
+        for (int id = 0; id < skillHolders.length; id++) {
+            if (skillHolders[id] == 0 && skillWeeks[id] == 0) continue;
+            double utilisation = skillHolders[id] > 0 ? skillWeeks[id] / (skillHolders[id] * capacityWeeks) : 0;
+            skills.put(SkillIds.name(id), new WorkloadReport.SkillLoad(skillHolders[id], skillWeeks[id], utilisation));
+        }
+
+        return new WorkloadReport(n, recommendations, totalLoad,
+                n > 0 ? names.get(least.peek()) : null, least.peekLoad(),
+                n > 0 ? names.get(most.peek()) : null, most.peekLoad(),
+                gini, histogram, skills, new LinkedHashMap<>(recommended));
+    }
+
+    private void add(Member member) {
+        if (slots.containsKey(member.getName())) return;  // loads are keyed by name, as in the engine
+        int slot = names.size();
+        slots.put(member.getName(), slot);
+        names.add(member.getName());
+        if (slot == load.length) {
+            load = Arrays.copyOf(load, slot * 2);
+            counts = Arrays.copyOf(counts, slot * 2);
+        }
+        double x = capped(member.totalRemainingWeeks());
+        load[slot] = x;
+        pairSum += 2 * distanceTo(x);
+        cells.add(x, 1);
+        counted++;
+        totalLoad += x;
+        least.put(slot, x);
+        most.put(slot, x);
+        for (int id : member.getExpertise().skillIds()) {
+            ensureSkill(id);
+            skillHolders[id]++;
+        }
+    }
+
+    private void move(int slot, double next) {
+        double previous = load[slot];
+        cells.add(previous, -1);
+        counted--;
+        totalLoad -= previous;
+        pairSum += 2 * (distanceTo(next) - distanceTo(previous));
+        cells.add(next, 1);
+        counted++;
+        totalLoad += next;
+        load[slot] = next;
+        least.put(slot, next);
+        most.put(slot, next);
+    }
+
+    private static double capped(double weeks) {
+        return weeks < MAX_LOAD_WEEKS ? weeks : MAX_LOAD_WEEKS;  // NaN also lands on the cap
+    }
+
+    // D(v) = Σ_j |v − x_j| over the members currently in the cells (totalLoad and counted track the same set)
+    private double distanceTo(double v) {
+        int cell = LoadFenwick.cell(v);
+        long below = cells.countBelow(cell);
+        double belowSum = cells.sumBelow(cell);
+        long same = cells.countIn(cell);
+        double sameSum = cells.sumIn(cell);
+        long above = counted - below - same;
+        double aboveSum = totalLoad - belowSum - sameSum;
+        return (v * below - belowSum) + Math.abs(v * same - sameSum) + (aboveSum - v * above);
+    }
+
+    private void ensureSkill(int id) {
+        if (id < skillHolders.length) return;
+        int length = Math.max(id + 1, SkillIds.size());
+        skillHolders = Arrays.copyOf(skillHolders, length);
+        skillWeeks = Arrays.copyOf(skillWeeks, length);
+    }
+}
@@ -0,0 +1,39 @@
+package com.teamdelegation.analytics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import com.teamdelegation.tenant.Tenant;
+import com.teamdelegation.tenant.TenantRegistry;
+
+/**
+ * {@code /actuator/workload}: the {@link WorkloadReport} of every active tenant, keyed by tenant id.
+ */
+@Component
+@Endpoint(id = "workload")
+public class WorkloadEndpoint {
+
+    private final TenantRegistry tenants;
+    private final double bucketWeeks;
+
+    public WorkloadEndpoint(TenantRegistry tenants,
+                            @Value("${delegation.analytics.bucket-weeks:1}") double bucketWeeks) {
+        this.tenants = tenants;
+        this.bucketWeeks = bucketWeeks;
+    }
+
+    @ReadOperation
+    public Map<String, WorkloadReport> workload() {
+        Map<String, WorkloadReport> reports = new LinkedHashMap<>();
+        for (Tenant tenant : tenants.getActive()) {
+            reports.put(tenant.getId(), tenant.getRepository().getAnalytics()
+                    .report(tenant.getEngine().getNominalCapacityWeeks(), bucketWeeks));
+        }
+        return reports;
+    }
+}
@@ -0,0 +1,148 @@
+package com.teamdelegation.analytics;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JSON shape of {@link WorkloadAnalytics} at one moment: spread, Gini coefficient, load histogram, per-skill
+ * utilisation and how many recommendations each member received.
+ */
+public class WorkloadReport {
+
+    private final int members;
+    private final long recommendations;
+    private final double totalLoadWeeks;
+    private final double meanLoadWeeks;
+    private final String leastLoaded;
+    private final double minLoadWeeks;
+    private final String mostLoaded;
+    private final double maxLoadWeeks;
+    private final double gini;
+    private final List<LoadBucket> histogram;
+    private final Map<String, SkillLoad> skills;
+    private final Map<String, Integer> assignments;
+
+    WorkloadReport(int members, long recommendations, double totalLoadWeeks, String leastLoaded,
+                   double minLoadWeeks, String mostLoaded, double maxLoadWeeks, double gini,
+                   List<LoadBucket> histogram, Map<String, SkillLoad> skills, Map<String, Integer> assignments) {
+        this.members = members;
+        this.recommendations = recommendations;
+        this.totalLoadWeeks = totalLoadWeeks;
+        this.meanLoadWeeks = members > 0 ? totalLoadWeeks / members : 0;
+        this.leastLoaded = leastLoaded;
+        this.minLoadWeeks = minLoadWeeks;
+        this.mostLoaded = mostLoaded;
+        this.maxLoadWeeks = maxLoadWeeks;
+        this.gini = gini;
+        this.histogram = histogram;
+        this.skills = skills;
+        this.assignments = assignments;
+    }
+
+    public int getMembers() {
+        return members;
+    }
+
+    public long getRecommendations() {
+        return recommendations;
+    }
+
+    public double getTotalLoadWeeks() {
+        return totalLoadWeeks;
+    }
+
+    public double getMeanLoadWeeks() {
+        return meanLoadWeeks;
+    }
+
+    public String getLeastLoaded() {
+        return leastLoaded;
+    }
+
+    public double getMinLoadWeeks() {
+        return minLoadWeeks;
+    }
+
+    public String getMostLoaded() {
+        return mostLoaded;
+    }
+
+    public double getMaxLoadWeeks() {
+        return maxLoadWeeks;
+    }
+
+    /** max − min, the spread {@code reassignForBalance} compares with its threshold. */
+    public double getSpreadWeeks() {
+        return maxLoadWeeks - minLoadWeeks;
+    }
+
+    /** G = Σ_i Σ_j |x_i − x_j| / (2 n² μ): 0 when every load is equal, → 1 when one member carries it all. */
+    public double getGini() {
+        return gini;
+    }
+
+    public List<LoadBucket> getHistogram() {
+        return histogram;
+    }
+
+    /** By skill name, for every skill some member holds or some recommended task required. */
+    public Map<String, SkillLoad> getSkills() {
+        return skills;
+    }
+
+    /** Recommendations per member, for members that received at least one, in order of their first. */
+    public Map<String, Integer> getAssignments() {
+        return assignments;
+    }
+
+    /** Members whose load is in [fromWeeks, toWeeks). */
+    public static class LoadBucket {
+        private final double fromWeeks;
+        private final double toWeeks;
+        private final long members;
+
+        LoadBucket(double fromWeeks, double toWeeks, long members) {
+            this.fromWeeks = fromWeeks;
+            this.toWeeks = toWeeks;
+            this.members = members;
+        }
+
+        public double getFromWeeks() {
+            return fromWeeks;
+        }
+
+        public double getToWeeks() {
+            return toWeeks;
+        }
+
+        public long getMembers() {
+            return members;
+        }
+    }
+
+    /** Weeks of recommended work requiring a skill against the capacity of the members who hold it. */
+    public static class SkillLoad {
+        private final int holders;
+        private final double recommendedWeeks;
+        private final double utilisation;
+
+        SkillLoad(int holders, double recommendedWeeks, double utilisation) {
+            this.holders = holders;
+            this.recommendedWeeks = recommendedWeeks;
+            this.utilisation = utilisation;
+        }
+
+        public int getHolders() {
+            return holders;
+        }
+
+        public double getRecommendedWeeks() {
+            return recommendedWeeks;
+        }
+
+        /** recommendedWeeks / (holders × capacity); above 1 the skill is oversubscribed. {@code null} with no holders. */
+        public Double getUtilisation() {
+            return holders > 0 ? utilisation : null;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.teamdelegation.constraint;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.teamdelegation.model.Member;
+
+/**
+ * Declarative assignment rules keyed by member and project name. Rules are hard (the candidate is filtered
+ * out) unless given a penalty with {@link #penalize}, in which case the penalty is subtracted from the
+ * candidate's utility instead. {@link #compile} turns them into index-based masks for one roster.
+ * {@link #toJson} and {@link #fromJson} carry them in recorded scenarios, so a replay enforces the same rules.
+ */
+public class AssignmentRules {
+
+    private final List<String[]> exclusions = new ArrayList<>();
+    private int defaultMaxTasks = Integer.MAX_VALUE;
+    private final Map<String, Integer> maxTasks = new HashMap<>();
+    private final Map<String, Set<String>> certifications = new HashMap<>();
+    private final Map<String, Set<String>> projectCertifications = new HashMap<>();
+    private final Map<String, Integer> timezoneMinutes = new HashMap<>();
+    private final Map<String, int[]> projectTimezoneWindows = new HashMap<>();
+    private final Map<ConstraintViolation, Double> penalties = new EnumMap<>(ConstraintViolation.class);
+
+    /** Never staff these two members on the same project. */
+    public AssignmentRules exclude(String memberA, String memberB) {
+        exclusions.add(new String[]{memberA, memberB});
+        return this;
+    }
+
+    /** Limit on current projects plus newly assigned tasks, for members without their own limit. */
+    public AssignmentRules maxTasks(int limit) {
+        this.defaultMaxTasks = limit;
+        return this;
+    }
+
+    public AssignmentRules maxTasks(String member, int limit) {
+        maxTasks.put(member, limit);
+        return this;
+    }
+
+    public AssignmentRules certify(String member, String... certs) {
+        certifications.computeIfAbsent(member, k -> new HashSet<>()).addAll(List.of(certs));
+        return this;
+    }
+
+    public AssignmentRules requireCertifications(String project, String... certs) {
+        projectCertifications.computeIfAbsent(project, k -> new HashSet<>()).addAll(List.of(certs));
+        return this;
+    }
+
+    /** Member's UTC offset; members without one never violate a timezone window. */
+    public AssignmentRules timezone(String member, int utcOffsetMinutes) {
+        timezoneMinutes.put(member, utcOffsetMinutes);
+        return this;
+    }
+
+    /** Inclusive range of UTC offsets the project's assignees must work in. */
+    public AssignmentRules timezoneWindow(String project, int fromOffsetMinutes, int toOffsetMinutes) {
+        projectTimezoneWindows.put(project, new int[]{fromOffsetMinutes, toOffsetMinutes});
+        return this;
+    }
+
+    /** Makes a rule soft: violating it costs {@code penalty} utility instead of excluding the candidate. */
+    public AssignmentRules penalize(ConstraintViolation rule, double penalty) {
+        penalties.put(rule, penalty);
+        return this;
+    }
+
+    public boolean isEmpty() {
+        return exclusions.isEmpty() && defaultMaxTasks == Integer.MAX_VALUE && maxTasks.isEmpty()
+                && projectCertifications.isEmpty() && projectTimezoneWindows.isEmpty();
+    }
+
+    public CompiledConstraints compile(List<Member> members) {
+        int n = members.size();
+        Map<String, List<Integer>> indicesByName = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            indicesByName.computeIfAbsent(members.get(i).getName(), k -> new ArrayList<>()).add(i);
+        }
+
+        // Certifications: one bit per distinct certification
+        Map<String, Integer> certBits = new HashMap<>();
+        projectCertifications.values().forEach(certs -> certs.forEach(c -> bitFor(certBits, c)));
+        long[] certMasks = new long[n];
+        int[] limits = new int[n];
+        int[] initialTasks = new int[n];
+        int[] offsets = new int[n];
+        boolean[] hasOffset = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            Member m = members.get(i);
+            for (String cert : certifications.getOrDefault(m.getName(), Set.of())) {
+                Integer bit = certBits.get(cert);
+                if (bit != null) certMasks[i] |= 1L << bit;  // certifications nobody requires don't matter
+            }
+            limits[i] = maxTasks.getOrDefault(m.getName(), defaultMaxTasks);
+            initialTasks[i] = m.getCurrentProjects().size();
+            Integer offset = timezoneMinutes.get(m.getName());
+            if (offset != null) {
+                offsets[i] = offset;
+                hasOffset[i] = true;
+            }
+        }
+        Map<String, Long> requiredMasks = new HashMap<>();
+        projectCertifications.forEach((project, certs) -> {
+            long mask = 0;
+            for (String cert : certs) mask |= 1L << certBits.get(cert);
+            requiredMasks.put(project, mask);
+        });
+
+        // Exclusions: each member's excluded teammates as roster indices
+        List<List<Integer>> conflicts = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) conflicts.add(new ArrayList<>());
+        for (String[] pair : exclusions) {
+            for (int a : indicesByName.getOrDefault(pair[0], List.of())) {
+                for (int b : indicesByName.getOrDefault(pair[1], List.of())) {
+                    if (a == b) continue;
+                    conflicts.get(a).add(b);
+                    conflicts.get(b).add(a);
+                }
+            }
+        }
+        int[][] conflictIndices = new int[n][];
+        for (int i = 0; i < n; i++) {
+            conflictIndices[i] = conflicts.get(i).stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        int hardMask = 0;
+        double[] penaltyByBit = new double[ConstraintViolation.values().length];
+        for (ConstraintViolation v : ConstraintViolation.values()) {
+            Double penalty = penalties.get(v);
+            if (penalty == null) hardMask |= v.bit();
+            else penaltyByBit[v.ordinal()] = penalty;
+        }
+        return new CompiledConstraints(members, certMasks, requiredMasks, limits, initialTasks, offsets, hasOffset,
+                Map.copyOf(projectTimezoneWindows), conflictIndices, hardMask, penaltyByBit);
+    }
+
+    public ObjectNode toJson(ObjectMapper mapper) {
+        ObjectNode root = mapper.createObjectNode();
+        ArrayNode pairs = root.putArray("exclusions");
+        exclusions.forEach(pair -> pairs.addArray().add(pair[0]).add(pair[1]));
+        if (defaultMaxTasks != Integer.MAX_VALUE) root.put("maxTasks", defaultMaxTasks);
+        ObjectNode limits = root.putObject("memberMaxTasks");
+        maxTasks.forEach(limits::put);
+        ObjectNode certs = root.putObject("certifications");
+        certifications.forEach((member, held) -> held.forEach(certs.withArrayProperty(member)::add));
+        ObjectNode required = root.putObject("projectCertifications");
+        projectCertifications.forEach((project, needed) -> needed.forEach(required.withArrayProperty(project)::add));
+        ObjectNode zones = root.putObject("timezones");
+        timezoneMinutes.forEach(zones::put);
+        ObjectNode windows = root.putObject("projectTimezones");
+        projectTimezoneWindows.forEach((project, window) -> windows.putArray(project).add(window[0]).add(window[1]));
+        ObjectNode soft = root.putObject("penalties");
+        penalties.forEach((rule, penalty) -> soft.put(rule.name(), penalty));
+        return root;
+    }
+
+    public static AssignmentRules fromJson(JsonNode root) {
+        AssignmentRules rules = new AssignmentRules();
+        root.path("exclusions").forEach(pair -> rules.exclude(pair.path(0).asText(), pair.path(1).asText()));
+        if (root.has("maxTasks")) rules.maxTasks(root.path("maxTasks").asInt());
+        root.path("memberMaxTasks").fields().forEachRemaining(e -> rules.maxTasks(e.getKey(), e.getValue().asInt()));
+        root.path("certifications").fields().forEachRemaining(e -> rules.certify(e.getKey(), texts(e.getValue())));
+        root.path("projectCertifications").fields().forEachRemaining(e ->
+                rules.requireCertifications(e.getKey(), texts(e.getValue())));
+        root.path("timezones").fields().forEachRemaining(e -> rules.timezone(e.getKey(), e.getValue().asInt()));
+        root.path("projectTimezones").fields().forEachRemaining(e ->
+                rules.timezoneWindow(e.getKey(), e.getValue().path(0).asInt(), e.getValue().path(1).asInt()));
+        root.path("penalties").fields().forEachRemaining(e ->
+                rules.penalize(ConstraintViolation.valueOf(e.getKey()), e.getValue().asDouble()));
+        return rules;
+    }
+
+    private static String[] texts(JsonNode array) {
+        String[] texts = new String[array.size()];
+        for (int i = 0; i < texts.length; i++) texts[i] = array.path(i).asText();
+        return texts;
+    }
+
+    private static int bitFor(Map<String, Integer> bits, String cert) {
+        return bits.computeIfAbsent(cert, k -> {
+            if (bits.size() == Long.SIZE) {
+                throw new IllegalArgumentException("At most " + Long.SIZE + " distinct required certifications");
+            }
+            return bits.size();
+        });
+    }
+}
@@ -0,0 +1,198 @@
+package com.teamdelegation.constraint;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.teamdelegation.model.Member;
+import com.teamdelegation.model.ProjectLoad;
+import com.teamdelegation.model.Task;
+
+/**
+ * {@link AssignmentRules} resolved against one roster. Per-task lookups happen once in {@link #check}, so
+ * the per-candidate test is a mask AND, two int compares and a scan of the (usually empty) exclusion list.
+ * <p>
+ * Only members named in an exclusion rule are tracked per project, so a {@link State} holds nothing but task
+ * counts when there are no exclusions.
+ */
+public final class CompiledConstraints {
+
+    private final List<Member> members;
+    private final long[] certMasks;
+    private final Map<String, Long> requiredMasks;
+    private final int[] limits;
+    private final int[] initialTasks;
+    private final int[] offsets;
+    private final boolean[] hasOffset;
+    private final Map<String, int[]> windows;
+    private final int[][] conflicts;
+    private final int[] excludable;  // roster indices with at least one conflict
+    private final int hardMask;
+    private final double[] penaltyByBit;
+
+    CompiledConstraints(List<Member> members, long[] certMasks, Map<String, Long> requiredMasks, int[] limits,
+                        int[] initialTasks, int[] offsets, boolean[] hasOffset, Map<String, int[]> windows,
+                        int[][] conflicts, int hardMask, double[] penaltyByBit) {
+        this.members = members;
+        this.certMasks = certMasks;
+        this.requiredMasks = requiredMasks;
+        this.limits = limits;
+        this.initialTasks = initialTasks;
+        this.offsets = offsets;
+        this.hasOffset = hasOffset;
+        this.windows = windows;
+        this.conflicts = conflicts;
+        int count = 0;
+        for (int[] c : conflicts) if (c.length > 0) count++;
+        this.excludable = new int[count];
+        for (int i = 0, k = 0; i < conflicts.length; i++) {
+            if (conflicts[i].length > 0) excludable[k++] = i;
+        }
+        this.hardMask = hardMask;
+        this.penaltyByBit = penaltyByBit;
+    }
+
+    /** Whether this was compiled for exactly these member instances, in this order. */
+    public boolean covers(List<Member> roster) {
+        if (roster.size() != members.size()) return false;
+        for (int i = 0; i < roster.size(); i++) {
+            if (roster.get(i) != members.get(i)) return false;
+        }
+        return true;
+    }
+
+    /** Violations that filter a candidate out rather than penalize it. */
+    public int hardMask() {
+        return hardMask;
+    }
+
+    /** Utility subtracted for the soft violations in {@code violations}. */
+    public double penalty(int violations) {
+        int soft = violations & ~hardMask;
+        double penalty = 0;
+        while (soft != 0) {
+            penalty += penaltyByBit[Integer.numberOfTrailingZeros(soft)];
+            soft &= soft - 1;
+        }
+        return penalty;
+    }
+
+    /**
+     * Fresh per-run state: task counts start at each member's current projects, and members named in an exclusion
+     * count as staffed on the projects they are already on.
+     */
+    public State newState() {
+        State state = new State(initialTasks.clone());
+        for (int i : excludable) {
+            for (ProjectLoad load : members.get(i).getCurrentProjects()) {
+                state.add(load.getProjectName(), i);
+            }
+        }
+        return state;
+    }
+
+    public TaskCheck check(Task task, State state) {
+        int[] window = windows.get(task.getProjectName());
+        return new TaskCheck(
+                requiredMasks.getOrDefault(task.getProjectName(), 0L),
+                window != null ? window[0] : Integer.MIN_VALUE,
+                window != null ? window[1] : Integer.MAX_VALUE,
+                task.getProjectName(),
+                state);
+    }
+
+    /** Per-run bookkeeping for max-task and exclusion rules. */
+    public final class State {
+        private final int[] taskCounts;
+        // project -> roster index -> tasks on it, for members named in an exclusion; empty entries are dropped
+        private final Map<String, Map<Integer, Integer>> staffingByProject = new HashMap<>();
+
+        private State(int[] taskCounts) {
+            this.taskCounts = taskCounts;
+        }
+
+        public void record(Task task, int member) {
+            taskCounts[member]++;
+            if (conflicts[member].length > 0) add(task.getProjectName(), member);
+        }
+
+        public void release(Task task, int member) {
+            taskCounts[member]--;
+            settle(task, member);
+        }
+
+        /**
+         * Stops tracking a commitment that can no longer be taken back: it keeps counting against the member's task
+         * limit, but no longer excludes teammates from its project. Keeps an open-ended run's state bounded by the
+         * roster and the work still in play.
+         */
+        public void settle(Task task, int member) {
+            if (conflicts[member].length == 0) return;
+            Map<Integer, Integer> staffed = staffingByProject.get(task.getProjectName());
+            if (staffed == null) return;
+            staffed.computeIfPresent(member, (k, n) -> n > 1 ? n - 1 : null);
+            if (staffed.isEmpty()) staffingByProject.remove(task.getProjectName());
+        }
+
+        /** Projects with at least one tracked member. */
+        public int trackedProjects() {
+            return staffingByProject.size();
+        }
+
+        private void add(String project, int member) {
+            staffingByProject.computeIfAbsent(project, k -> new HashMap<>(4)).merge(member, 1, Integer::sum);
+        }
+
+        private boolean isStaffed(String project, int member) {
+            Map<Integer, Integer> staffed = staffingByProject.get(project);
+            return staffed != null && staffed.containsKey(member);
+        }
+    }
+
+    /** Rules for one task, resolved once and then applied to every candidate. */
+    public final class TaskCheck {
+        private final long requiredCerts;
+        private final int windowFrom;
+        private final int windowTo;
+        private final String project;
+        private final State state;
+
+        private TaskCheck(long requiredCerts, int windowFrom, int windowTo, String project, State state) {
+            this.requiredCerts = requiredCerts;
+            this.windowFrom = windowFrom;
+            this.windowTo = windowTo;
+            this.project = project;
+            this.state = state;
+        }
+
+        /** Bit mask of {@link ConstraintViolation}s for the member at roster index {@code i}. */
+        public int violations(int i) {
+            int v = 0;
+            if ((certMasks[i] & requiredCerts) != requiredCerts) v |= ConstraintViolation.CERTIFICATION.bit();
+            if (state.taskCounts[i] >= limits[i]) v |= ConstraintViolation.MAX_TASKS.bit();
+            if (hasOffset[i] && (offsets[i] < windowFrom || offsets[i] > windowTo)) {
+                v |= ConstraintViolation.TIMEZONE.bit();
+            }
+            for (int j : conflicts[i]) {
+                if (state.isStaffed(project, j)) {
+                    v |= ConstraintViolation.EXCLUSION.bit();
+                    break;
+                }
+            }
+            return v;
+        }
+
+        /** Tasks the member at roster index {@code i} has to give up before it is under its task limit again. */
+        public int tasksOverLimit(int i) {
+            return Math.max(0, state.taskCounts[i] - limits[i] + 1);
+        }
+
+        public boolean isBlocked(int violations) {
+            return (violations & hardMask) != 0;
+        }
+
+        public double penalty(int violations) {
+            return CompiledConstraints.this.penalty(violations);
+        }
+    }
+}
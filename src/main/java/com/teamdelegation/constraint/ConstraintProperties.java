@@ -0,0 +1,130 @@
+package com.teamdelegation.constraint;
+
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link AssignmentRules} for the default engine, keyed by member and project name, e.g.
+ * {@code delegation.constraints.certifications.Ana=pci} or
+ * {@code delegation.constraints.project-timezones.Billing=-05:00..+02:00}.
+ */
+@Component
+@ConfigurationProperties(prefix = "delegation.constraints")
+public class ConstraintProperties {
+
+    /** Member to the members never staffed on the same project with them. */
+    private Map<String, List<String>> exclusions = new HashMap<>();
+
+    /** Current plus new tasks per member; 0 = unlimited. */
+    private int maxTasks;
+
+    private Map<String, Integer> memberMaxTasks = new HashMap<>();
+
+    private Map<String, List<String>> certifications = new HashMap<>();
+
+    private Map<String, List<String>> projectCertifications = new HashMap<>();
+
+    /** Member to UTC offset, e.g. {@code +05:30}. */
+    private Map<String, String> timezones = new HashMap<>();
+
+    /** Project to inclusive UTC offset range, e.g. {@code -05:00..+02:00}. */
+    private Map<String, String> projectTimezones = new HashMap<>();
+
+    /** Rule (exclusion, max-tasks, certification, timezone) to utility penalty; rules not listed are hard. */
+    private Map<String, Double> penalties = new HashMap<>(Map.of("timezone", 0.2));
+
+    public AssignmentRules toRules() {
+        AssignmentRules rules = new AssignmentRules();
+        exclusions.forEach((member, excluded) -> excluded.forEach(other -> rules.exclude(member, other)));
+        if (maxTasks > 0) rules.maxTasks(maxTasks);
+        memberMaxTasks.forEach(rules::maxTasks);
+        certifications.forEach((member, certs) -> rules.certify(member, certs.toArray(String[]::new)));
+        projectCertifications.forEach((project, certs) ->
+                rules.requireCertifications(project, certs.toArray(String[]::new)));
+        timezones.forEach((member, offset) -> rules.timezone(member, offsetMinutes(offset)));
+        projectTimezones.forEach((project, range) -> {
+            String[] bounds = range.split("\\.\\.");
+            if (bounds.length != 2) {
+                throw new IllegalArgumentException("Timezone window for " + project + " must look like -05:00..+02:00");
+            }
+            rules.timezoneWindow(project, offsetMinutes(bounds[0]), offsetMinutes(bounds[1]));
+        });
+        penalties.forEach((rule, penalty) ->
+                rules.penalize(ConstraintViolation.valueOf(rule.trim().replace('-', '_').toUpperCase(Locale.ROOT)), penalty));
+        return rules;
+    }
+
+    private static int offsetMinutes(String offset) {
+        return ZoneOffset.of(offset.trim()).getTotalSeconds() / 60;
+    }
+
+    public Map<String, List<String>> getExclusions() {
+        return exclusions;
+    }
+
+    public void setExclusions(Map<String, List<String>> exclusions) {
+        this.exclusions = exclusions;
+    }
+
+    public int getMaxTasks() {
+        return maxTasks;
+    }
+
+    public void setMaxTasks(int maxTasks) {
+        this.maxTasks = maxTasks;
+    }
+
+    public Map<String, Integer> getMemberMaxTasks() {
+        return memberMaxTasks;
+    }
+
+    public void setMemberMaxTasks(Map<String, Integer> memberMaxTasks) {
+        this.memberMaxTasks = memberMaxTasks;
+    }
+
+    public Map<String, List<String>> getCertifications() {
+        return certifications;
+    }
+
+    public void setCertifications(Map<String, List<String>> certifications) {
+        this.certifications = certifications;
+    }
+
+    public Map<String, List<String>> getProjectCertifications() {
+        return projectCertifications;
+    }
+
+    public void setProjectCertifications(Map<String, List<String>> projectCertifications) {
+        this.projectCertifications = projectCertifications;
+    }
+
+    public Map<String, String> getTimezones() {
+        return timezones;
+    }
+
+    public void setTimezones(Map<String, String> timezones) {
+        this.timezones = timezones;
+    }
+
+    public Map<String, String> getProjectTimezones() {
+        return projectTimezones;
+    }
+
+    public void setProjectTimezones(Map<String, String> projectTimezones) {
+        this.projectTimezones = projectTimezones;
+    }
+
+    public Map<String, Double> getPenalties() {
+        return penalties;
+    }
+
+    public void setPenalties(Map<String, Double> penalties) {
+        this.penalties = penalties;
+    }
+}
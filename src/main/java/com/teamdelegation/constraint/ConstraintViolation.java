@@ -0,0 +1,38 @@
+package com.teamdelegation.constraint;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Assignment rules beyond the workload cap and skill gate. A candidate's violations are carried as a bit
+ * mask ({@link #bit()}), so checking and reporting them allocates nothing.
+ */
+public enum ConstraintViolation {
+    EXCLUSION("already staffed with an excluded teammate"),
+    MAX_TASKS("at the task limit"),
+    CERTIFICATION("missing a required certification"),
+    TIMEZONE("outside the project's timezone window");
+
+    private final String description;
+
+    ConstraintViolation(String description) {
+        this.description = description;
+    }
+
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public static List<String> describe(int violations) {
+        if (violations == 0) return List.of();
+        List<String> descriptions = new ArrayList<>(Integer.bitCount(violations));
+        for (ConstraintViolation v : values()) {
+            if ((violations & v.bit()) != 0) descriptions.add(v.description);
+        }
+        return descriptions;
+    }
+}
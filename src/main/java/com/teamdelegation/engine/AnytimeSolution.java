@@ -0,0 +1,38 @@
+package com.teamdelegation.engine;
+
+import java.util.List;
+
+import com.teamdelegation.model.SolveQuality;
+import com.teamdelegation.model.Task;
+import com.teamdelegation.model.TaskAssignment;
+
+/**
+ * Best batch assignment {@link AssignmentEngine#solve} found before its deadline. Each assignment's utility is
+ * U_iℓ at the assignee's final load without the task itself, less soft-rule penalties, so the utilities add up to
+ * {@link SolveQuality#getUtility()}.
+ */
+public final class AnytimeSolution {
+
+    private final List<TaskAssignment> assignments;
+    private final List<Task> unassigned;
+    private final SolveQuality quality;
+
+    AnytimeSolution(List<TaskAssignment> assignments, List<Task> unassigned, SolveQuality quality) {
+        this.assignments = assignments;
+        this.unassigned = unassigned;
+        this.quality = quality;
+    }
+
+    /** In the order the tasks were given. */
+    public List<TaskAssignment> getAssignments() {
+        return assignments;
+    }
+
+    public List<Task> getUnassigned() {
+        return unassigned;
+    }
+
+    public SolveQuality getQuality() {
+        return quality;
+    }
+}
@@ -0,0 +1,359 @@
+package com.teamdelegation.engine;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.teamdelegation.constraint.CompiledConstraints;
+import com.teamdelegation.model.Member;
+import com.teamdelegation.model.SolveQuality;
+import com.teamdelegation.model.Task;
+import com.teamdelegation.model.TaskAssignment;
+
+/**
+ * Anytime search behind {@link AssignmentEngine#solve}.
+ * <p>
+ * Seed: the greedy pass of {@link AssignmentEngine#assignTasks(List, List)} without balancing. Tasks go in lane order
+ * (H→M→L, short first), each to the member with the highest utility at current loads who has room and breaks no
+ * hard rule. The same scan keeps the task's {@value #NEIGHBOURS} best such members as its candidates for local
+ * search, and its best utility at starting loads for the upper bound. After the deadline, each remaining task is
+ * scored against a block of {@value #SAMPLE} members only, so the seed finishes shortly after the deadline whatever
+ * the batch and roster size; a task nobody in its block can take stays unassigned.
+ * <p>
+ * Local search then raises the total utility until the deadline, trying three moves per task against its
+ * candidates:
+ * <ul>
+ *   <li>insert: staff a task the greedy pass left unassigned, now that some candidate has room;</li>
+ *   <li>relocate: move the task to a candidate with room;</li>
+ *   <li>swap: exchange it with a task another candidate holds.</li>
+ * </ul>
+ * A task's value is U_iℓ at its assignee's load without the task, less soft-rule penalties, so a move re-scores
+ * every task of both members involved. Tasks that don't move keep the penalty of their last placement. Sweeps
+ * end at the first one with no accepted move, a local optimum, or at the deadline.
+ * <p>
+ * With a {@link CapacityLedger}, loads start from the ledger and each final placement is reserved in it. A task
+ * whose member was filled by a concurrent batch in the meantime is reported unassigned rather than overbooked.
+ */
+final class AnytimeSolver {
+
+    private static final int NEIGHBOURS = 16;
+    private static final int SAMPLE = 16;
+    private static final int DEADLINE_CHECK_STRIDE = 4096;  // members scanned between clock reads
+    private static final double EPSILON = 1e-9;
+
+    private final AssignmentEngine engine;
+    private final List<Task> tasks;
+    private final List<Member> members;
+    private final long start;
+    private final long budgetNanos;
+    private final CompiledConstraints constraints;
+    private final CompiledConstraints.State state;
+    private final CapacityLedger ledger;  // optional
+    private final int[] slots;
+
+    private final double[] initialLoads;
+    private final double[] loads;
+    private final int[] assignee;       // per task, roster index or -1
+    private final double[] penalty;     // per task, soft-rule penalty of its current placement
+    private final Map<Integer, List<Integer>> tasksOf = new HashMap<>();
+    private final int[][] neighbours;   // per task, best candidates when it was seeded, best first
+    private final double[] best;        // per task, best utility over the scanned members at starting loads
+    private int improvements;
+
+    AnytimeSolver(AssignmentEngine engine, List<Task> tasks, List<Member> members, long start, long budgetNanos,
+                  CapacityLedger ledger, int[] slots) {
+        this.engine = engine;
+        this.tasks = tasks;
+        this.members = members;
+        this.start = start;
+        this.budgetNanos = budgetNanos;
+        this.constraints = engine.constraintsFor(members);
+        this.state = constraints != null ? constraints.newState() : null;
+        this.ledger = ledger;
+        this.slots = slots;
+        this.initialLoads = new double[members.size()];
+        for (int i = 0; i < initialLoads.length; i++) {
+            initialLoads[i] = ledger != null ? ledger.load(slots[i]) : engine.initialLoadWeeks(members.get(i));
+        }
+        this.loads = initialLoads.clone();
+        this.assignee = new int[tasks.size()];
+        Arrays.fill(assignee, -1);
+        this.penalty = new double[tasks.size()];
+        this.neighbours = new int[tasks.size()][];
+        this.best = new double[tasks.size()];
+    }
+
+    AnytimeSolution solve() {
+        int scanned = 0;
+        for (int t : laneOrder()) {
+            if (!expired() && scan(t, 0, members.size())) {
+                scanned++;
+            } else {
+                scan(t, (int) ((long) t * SAMPLE % Math.max(1, members.size())), Math.min(SAMPLE, members.size()));
+            }
+            seedPlace(t);
+        }
+        double seedUtility = totalUtility();
+        boolean converged = scanned == tasks.size() && search();
+
+        List<TaskAssignment> assignments = new ArrayList<>();
+        List<Task> unassigned = new ArrayList<>();
+        double utility = 0;
+        double upperBound = 0;
+        for (int t = 0; t < tasks.size(); t++) {
+            if (assignee[t] < 0
+                    || (ledger != null && !ledger.tryReserve(slots[assignee[t]], tasks.get(t).getDurationWeeks()))) {
+                unassigned.add(tasks.get(t));
+                continue;
+            }
+            double value = value(t, assignee[t], loads[assignee[t]], penalty[t]);
+            assignments.add(new TaskAssignment(tasks.get(t), members.get(assignee[t]), value));
+            utility += value;
+            upperBound += best[t];
+        }
+        double coverage = tasks.isEmpty() ? 1 : scanned / (double) tasks.size();
+        SolveQuality quality = new SolveQuality(converged, coverage, seedUtility, utility,
+                scanned == tasks.size() ? upperBound : Double.NaN, improvements, System.nanoTime() - start);
+        return new AnytimeSolution(assignments, unassigned, quality);
+    }
+
+    private int[] laneOrder() {
+        Map<Task, ArrayDeque<Integer>> indexes = new IdentityHashMap<>();
+        for (int t = 0; t < tasks.size(); t++) indexes.computeIfAbsent(tasks.get(t), k -> new ArrayDeque<>()).add(t);
+        return PriorityLanes.ordered(tasks).stream().mapToInt(task -> indexes.get(task).poll()).toArray();
+    }
+
+    /**
+     * Scores task t against {@code count} members from {@code from} (wrapping) at current loads, keeping the best with
+     * room as its candidates. False when the deadline stopped the scan early; the candidates found so far are kept.
+     */
+    private boolean scan(int t, int from, int count) {
+        Task task = tasks.get(t);
+        CompiledConstraints.TaskCheck check = constraints != null ? constraints.check(task, state) : null;
+        int[] top = new int[Math.min(NEIGHBOURS, count)];
+        double[] topUtility = new double[top.length];
+        Arrays.fill(topUtility, Double.NEGATIVE_INFINITY);
+        double bestAtStart = Double.NEGATIVE_INFINITY;
+        boolean complete = true;
+        for (int j = 0; j < count; j++) {
+            if (j > 0 && j % DEADLINE_CHECK_STRIDE == 0 && expired()) {
+                complete = false;
+                break;
+            }
+            int i = (from + j) % members.size();
+            int violations = check != null ? check.violations(i) : 0;
+            if (check != null && check.isBlocked(violations)) continue;
+            double pen = check != null ? check.penalty(violations) : 0;
+            double u = engine.utility(task, members.get(i), loads[i]);
+            // Utility only falls as load grows, so starting loads give the bound; few members have moved off them
+            double atStart = loads[i] == initialLoads[i] ? u : engine.utility(task, members.get(i), initialLoads[i]);
+            bestAtStart = Math.max(bestAtStart, atStart);
+            u -= pen;
+            int k = top.length - 1;
+            if (k < 0 || u <= topUtility[k] || !engine.fitsCapacity(task, loads[i])) continue;
+            for (; k > 0 && u > topUtility[k - 1]; k--) {
+                top[k] = top[k - 1];
+                topUtility[k] = topUtility[k - 1];
+            }
+            top[k] = i;
+            topUtility[k] = u;
+        }
+        int found = 0;
+        while (found < top.length && topUtility[found] > Double.NEGATIVE_INFINITY) found++;
+        neighbours[t] = Arrays.copyOf(top, found);
+        best[t] = found > 0 ? bestAtStart : 0;
+        return complete;
+    }
+
+    private void seedPlace(int t) {
+        if (neighbours[t].length == 0) return;
+        int target = neighbours[t][0];
+        place(t, target, penaltyOn(t, -1, target));
+        if (state != null) state.record(tasks.get(t), target);
+    }
+
+    // Sweeps until one accepts no move; false when the deadline cut it short
+    private boolean search() {
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            for (int t = 0; t < tasks.size(); t++) {
+                if (expired()) return false;
+                boolean moved = assignee[t] < 0 ? insert(t) : relocate(t) || swap(t);
+                if (moved) {
+                    improvements++;
+                    improved = true;
+                }
+            }
+        }
+        return true;
+    }
+
+    private boolean insert(int t) {
+        Task task = tasks.get(t);
+        int target = -1;
+        double targetPenalty = 0;
+        double bestDelta = Double.NEGATIVE_INFINITY;
+        for (int b : neighbours[t]) {
+            if (!engine.fitsCapacity(task, loads[b])) continue;
+            double pen = penaltyOn(t, -1, b);
+            if (Double.isNaN(pen)) continue;
+            double delta = memberValue(b, loads[b] + task.getDurationWeeks(), -1, t, pen) - memberValue(b);
+            if (delta > bestDelta) {
+                bestDelta = delta;
+                target = b;
+                targetPenalty = pen;
+            }
+        }
+        if (target < 0) return false;  // staffing a task beats leaving it open, whatever the utility
+        place(t, target, targetPenalty);
+        if (state != null) state.record(task, target);
+        return true;
+    }
+
+    private boolean relocate(int t) {
+        Task task = tasks.get(t);
+        int from = assignee[t];
+        double d = task.getDurationWeeks();
+        double fromBefore = memberValue(from);
+        double fromAfter = memberValue(from, loads[from] - d, t, -1, 0);
+        int target = -1;
+        double targetPenalty = 0;
+        double bestDelta = EPSILON;
+        for (int b : neighbours[t]) {
+            if (b == from || !engine.fitsCapacity(task, loads[b])) continue;
+            double pen = penaltyOn(t, from, b);
+            if (Double.isNaN(pen)) continue;
+            double delta = fromAfter - fromBefore + memberValue(b, loads[b] + d, -1, t, pen) - memberValue(b);
+            if (delta > bestDelta) {
+                bestDelta = delta;
+                target = b;
+                targetPenalty = pen;
+            }
+        }
+        if (target < 0) return false;
+        unplace(t);
+        place(t, target, targetPenalty);
+        if (state != null) {
+            state.release(task, from);
+            state.record(task, target);
+        }
+        return true;
+    }
+
+    private boolean swap(int t) {
+        Task task = tasks.get(t);
+        int a = assignee[t];
+        double dt = task.getDurationWeeks();
+        double aBefore = memberValue(a);
+        for (int b : neighbours[t]) {
+            List<Integer> held = tasksOf.get(b);
+            if (b == a || held == null) continue;
+            double bBefore = memberValue(b);
+            for (int s : held) {
+                double ds = tasks.get(s).getDurationWeeks();
+                double aLoad = loads[a] - dt + ds;
+                double bLoad = loads[b] - ds + dt;
+                if (aLoad > engine.getNominalCapacityWeeks() || bLoad > engine.getNominalCapacityWeeks()) continue;
+                double[] pens = swapPenalties(t, a, s, b);
+                if (pens == null) continue;
+                double delta = memberValue(a, aLoad, t, s, pens[1]) + memberValue(b, bLoad, s, t, pens[0])
+                        - aBefore - bBefore;
+                if (delta > EPSILON) {
+                    unplace(t);
+                    unplace(s);
+                    place(t, b, pens[0]);
+                    place(s, a, pens[1]);
+                    if (state != null) {
+                        state.release(task, a);
+                        state.release(tasks.get(s), b);
+                        state.record(task, b);
+                        state.record(tasks.get(s), a);
+                    }
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // Soft penalty of task t on member b once it leaves `from` (-1 when unassigned); NaN when a hard rule blocks it
+    private double penaltyOn(int t, int from, int b) {
+        if (constraints == null) return 0;
+        Task task = tasks.get(t);
+        if (from >= 0) state.release(task, from);
+        CompiledConstraints.TaskCheck check = constraints.check(task, state);
+        int violations = check.violations(b);
+        if (from >= 0) state.record(task, from);
+        return check.isBlocked(violations) ? Double.NaN : check.penalty(violations);
+    }
+
+    // {penalty of t on b, penalty of s on a} with both lifted off their members, or null when a hard rule blocks
+    private double[] swapPenalties(int t, int a, int s, int b) {
+        if (constraints == null) return new double[2];
+        Task task = tasks.get(t);
+        Task other = tasks.get(s);
+        state.release(task, a);
+        state.release(other, b);
+        CompiledConstraints.TaskCheck checkT = constraints.check(task, state);
+        CompiledConstraints.TaskCheck checkS = constraints.check(other, state);
+        int vt = checkT.violations(b);
+        int vs = checkS.violations(a);
+        state.record(task, a);
+        state.record(other, b);
+        if (checkT.isBlocked(vt) || checkS.isBlocked(vs)) return null;
+        return new double[]{checkT.penalty(vt), checkS.penalty(vs)};
+    }
+
+    private double memberValue(int m) {
+        return memberValue(m, loads[m], -1, -1, 0);
+    }
+
+    // Σ value of the tasks on m at total load `load`, without `removed` and with `added` (penalised addedPenalty)
+    private double memberValue(int m, double load, int removed, int added, double addedPenalty) {
+        double sum = 0;
+        List<Integer> held = tasksOf.get(m);
+        if (held != null) {
+            for (int t : held) {
+                if (t != removed) sum += value(t, m, load, penalty[t]);
+            }
+        }
+        if (added >= 0) sum += value(added, m, load, addedPenalty);
+        return sum;
+    }
+
+    private double value(int t, int m, double load, double pen) {
+        Task task = tasks.get(t);
+        return engine.utility(task, members.get(m), load - task.getDurationWeeks()) - pen;
+    }
+
+    private double totalUtility() {
+        double sum = 0;
+        for (int m : tasksOf.keySet()) sum += memberValue(m);
+        return sum;
+    }
+
+    private void place(int t, int m, double pen) {
+        assignee[t] = m;
+        penalty[t] = pen;
+        loads[m] += tasks.get(t).getDurationWeeks();
+        tasksOf.computeIfAbsent(m, k -> new ArrayList<>()).add(t);
+    }
+
+    private void unplace(int t) {
+        int m = assignee[t];
+        loads[m] -= tasks.get(t).getDurationWeeks();
+        List<Integer> held = tasksOf.get(m);
+        held.remove(Integer.valueOf(t));
+        if (held.isEmpty()) tasksOf.remove(m);
+        assignee[t] = -1;
+    }
+
+    private boolean expired() {
+        return System.nanoTime() - start >= budgetNanos;
+    }
+}
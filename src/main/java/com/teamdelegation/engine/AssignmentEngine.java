@@ -1,9 +1,21 @@
 package com.teamdelegation.engine;
 
+import com.teamdelegation.constraint.AssignmentRules;
+import com.teamdelegation.constraint.CompiledConstraints;
+import com.teamdelegation.constraint.ConstraintViolation;
+import com.teamdelegation.engine.retrieval.CandidateRetrieval;
+import com.teamdelegation.engine.retrieval.LinearProjection;
+import com.teamdelegation.engine.retrieval.SkillLshIndex;
 import com.teamdelegation.model.*;
+import com.teamdelegation.trace.BalanceEvent;
+import com.teamdelegation.trace.BatchAssignEvent;
+import com.teamdelegation.trace.EvaluateEvent;
+import com.teamdelegation.trace.TaskSelectionEvent;
 
+import java.time.Duration;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * Balanced task assignment via weighted utility optimization.
@@ -13,164 +25,595 @@ public class AssignmentEngine {
 
     private static final double THETA_MIN = 0.3;  // skill feasibility threshold
     private static final double BALANCE_THRESHOLD = 0.3;  // fairness correction trigger
+    private static final double INFEASIBLE_UTILITY = -10.0;  // below θ_min without learning: heavily discouraged
+    private static final int BULK_SKILL_FIT_MIN_MEMBERS = 256;  // below this the columnar pass doesn't pay off
+    private static final int DEADLINE_CHECK_STRIDE = 256;  // members scored between clock reads under a budget
+    private static final int BOUNDED_INSIGHTS = 100;  // insights kept by a budgeted evaluation, best first
+
+    /** Order in which tasks are staffed: urgency (H→M→L), then duration (short→long). */
+    public static final Comparator<Task> TASK_PRIORITY = Comparator
+            .comparing((Task t) -> -t.getUrgency().getWeight())
+            .thenComparingDouble(Task::getDurationWeeks);
 
     private final double nominalCapacityWeeks;
-    private final Weights weights;
+    private final UtilityModel utilityModel;
+    private final SkillFitKernel bulkSkillFitKernel;  // optional, for insight generation over large rosters
+    private volatile SkillMatrix skillMatrix;
+    private final AssignmentRules rules;  // optional hard/soft rules beyond the workload cap and θ_min
+    private volatile CompiledConstraints constraints;
+    private final CandidateRetrieval retrieval;  // optional shortlist for evaluate() over large rosters
+    private final LinearProjection projection;   // what the retrieval index ranks by
+    private final EvaluationScratch scratch;     // optional pooled buffers for evaluate()
 
     public AssignmentEngine(double nominalCapacityWeeks, Weights weights) {
+        this(nominalCapacityWeeks, new LinearUtilityModel(weights));
+    }
+
+    public AssignmentEngine(double nominalCapacityWeeks, UtilityModel utilityModel) {
+        this(nominalCapacityWeeks, utilityModel, null);
+    }
+
+    public AssignmentEngine(double nominalCapacityWeeks, UtilityModel utilityModel, SkillFitKernel bulkSkillFitKernel) {
+        this(nominalCapacityWeeks, utilityModel, bulkSkillFitKernel, null);
+    }
+
+    public AssignmentEngine(double nominalCapacityWeeks, UtilityModel utilityModel, SkillFitKernel bulkSkillFitKernel,
+                            AssignmentRules rules) {
+        this(nominalCapacityWeeks, utilityModel, bulkSkillFitKernel, rules, null);
+    }
+
+    public AssignmentEngine(double nominalCapacityWeeks, UtilityModel utilityModel, SkillFitKernel bulkSkillFitKernel,
+                            AssignmentRules rules, CandidateRetrieval retrieval) {
+        this(nominalCapacityWeeks, utilityModel, bulkSkillFitKernel, rules, retrieval, null);
+    }
+
+    public AssignmentEngine(double nominalCapacityWeeks, UtilityModel utilityModel, SkillFitKernel bulkSkillFitKernel,
+                            AssignmentRules rules, CandidateRetrieval retrieval, EvaluationScratch scratch) {
         this.nominalCapacityWeeks = nominalCapacityWeeks;
-        this.weights = weights;
+        this.utilityModel = utilityModel;
+        this.bulkSkillFitKernel = bulkSkillFitKernel;
+        this.rules = rules != null && !rules.isEmpty() ? rules : null;
+        this.retrieval = retrieval;
+        this.projection = retrieval != null ? linearize(nominalCapacityWeeks, utilityModel) : null;
+        this.scratch = scratch;
+    }
+
+    // α, β, σ, γ, w_o as the model's slope along each component from the origin; exact for the linear model
+    private static LinearProjection linearize(double nominalCapacityWeeks, UtilityModel model) {
+        double origin = model.utility(0, 0, 0, 0, 0, 0);
+        return new LinearProjection(nominalCapacityWeeks,
+                model.utility(1, 0, 0, 0, 0, 0) - origin,
+                model.utility(0, 1, 0, 0, 0, 0) - origin,
+                model.utility(0, 0, 1, 0, 0, 0) - origin,
+                model.utility(0, 0, 0, 1, 0, 0) - origin,
+                model.usesObjective() ? model.utility(0, 0, 0, 0, 0, 1) - origin : 0);
+    }
+
+    public UtilityModel getUtilityModel() {
+        return utilityModel;
+    }
+
+    public double getNominalCapacityWeeks() {
+        return nominalCapacityWeeks;
+    }
+
+    /** Hard and soft rules beyond the workload cap and skill gate, or {@code null} when none are configured. */
+    public AssignmentRules getRules() {
+        return rules;
+    }
+
+    /** Pooled evaluation buffers, or {@code null} when each evaluation allocates its own. */
+    public EvaluationScratch getScratch() {
+        return scratch;
+    }
+
+    /** Candidate retrieval and its sampled recall, or {@code null} when every evaluation scans the roster. */
+    public CandidateRetrieval getRetrieval() {
+        return retrieval;
     }
 
     /**
-     * Evaluate a single project (treated as one task) and assign to the best member.
+     * Evaluate a single project (treated as one task) and assign to the best member. The choice and the
+     * insights explaining it come from the same {@link ScoreTable}. With candidate retrieval configured, large
+     * rosters score only the members whose skills are closest to the demand, and insights cover only that
+     * shortlist. With an {@link EvaluationScratch}, the score columns come from its pool and insights cover only
+     * the best members.
      */
     public AssignmentDecision evaluate(ProjectDemand demand, List<Member> members) {
+        return evaluate(demand, members, System.nanoTime(), Long.MAX_VALUE);
+    }
+
+    /**
+     * As {@link #evaluate(ProjectDemand, List)}, but returns by {@code budget}. Members are scored in roster order
+     * and the scan stops at the deadline, always after a first block of members; the pick is the best member scored
+     * so far, and insights cover the best {@value #BOUNDED_INSIGHTS} of them. The decision's {@link SolveQuality}
+     * says how much of the candidates were scored: the retrieval shortlist when there is one, else the roster.
+     */
+    public AssignmentDecision evaluate(ProjectDemand demand, List<Member> members, Duration budget) {
+        return evaluate(demand, members, System.nanoTime(), budget.toNanos());
+    }
+
+    private AssignmentDecision evaluate(ProjectDemand demand, List<Member> members, long start, long budgetNanos) {
+        EvaluateEvent event = new EvaluateEvent();
+        event.begin();
         Task task = demandToTask(demand);
-        List<Task> tasks = List.of(task);
-        List<TaskAssignment> assignments = assignTasks(tasks, members);
+        SkillLshIndex.Shortlist shortlist = retrieval != null ? retrieval.shortlist(task, members, projection) : null;
+        EvaluationScratch.Arena arena = scratch != null ? scratch.acquire() : null;
+        try {
+            return decide(demand, members, start, budgetNanos, task, shortlist, arena, event);
+        } finally {
+            if (arena != null) scratch.release(arena);
+        }
+    }
 
-        TaskAssignment assignment = assignments.isEmpty() ? null : assignments.get(0);
-        List<Member> recommendedTeam = assignment != null ? List.of(assignment.getAssignee()) : List.of();
-        List<AssignmentInsight> insights = buildInsights(task, members);
+    // The arena, when there is one, is only borrowed for this call: nothing returned may refer to its table
+    private AssignmentDecision decide(ProjectDemand demand, List<Member> members, long start, long budgetNanos,
+                                      Task task, SkillLshIndex.Shortlist shortlist, EvaluationScratch.Arena arena,
+                                      EvaluateEvent event) {
+        boolean bounded = budgetNanos != Long.MAX_VALUE;
+        int[] rows = shortlist != null ? shortlist.rows() : null;
+        ScoreTable scores = score(task, members, rows, start, budgetNanos, arena);
+        int scored = scores.size();
+        int candidates = rows != null ? rows.length : members.size();  // what the final table set out to score
+
+        // A single task never triggers balancing, so the greedy pick is the table's argmax
+        int best = scores.best();
+        if (shortlist != null && best < 0) {
+            // Nobody on the shortlist can take it; someone further away still might
+            retrieval.recordFallback();
+            scores = score(task, members, null, start, budgetNanos, arena);
+            scored += scores.size();
+            candidates = members.size();
+            best = scores.best();
+        } else if (shortlist != null && !bounded && retrieval.shouldSample()) {
+            // A hit when the shortlist's pick is as good as the exact one; equal-utility members are interchangeable
+            ScoreTable exact = score(task, members);
+            scored += exact.size();
+            int exactBest = exact.best();
+            retrieval.recordSample(exactBest < 0 || scores.utility(best) >= exact.utility(exactBest));
+        }
+        List<TaskAssignment> assignments = best >= 0
+                ? List.of(new TaskAssignment(task, scores.member(best), scores.utility(best)))
+                : List.of();
+        List<Member> recommendedTeam = best >= 0 ? List.of(scores.member(best)) : List.of();
+        List<AssignmentInsight> insights = arena != null
+                ? buildInsights(scores, arena)
+                : buildInsights(scores, bounded ? BOUNDED_INSIGHTS : Integer.MAX_VALUE);
+        if (event.shouldCommit()) {
+            event.project = demand.getProjectName();
+            event.rosterSize = members.size();
+            event.candidatesScored = scored;
+            event.shortlisted = shortlist != null;
+            event.budgeted = bounded;
+            event.insights = insights.size();
+            event.assigned = best >= 0;
+            event.commit();
+        }
+        if (!bounded) {
+            return new AssignmentDecision(demand, recommendedTeam, insights, assignments);
+        }
+        SolveQuality quality = SolveQuality.scan(scores.size(), candidates, best >= 0 ? scores.utility(best) : 0,
+                System.nanoTime() - start);
+        return new AssignmentDecision(demand, recommendedTeam, insights, assignments, quality);
+    }
 
-        return new AssignmentDecision(demand, recommendedTeam, insights, assignments);
+    /**
+     * Scores every member for {@code task} at their current load, capturing each utility component once.
+     */
+    public ScoreTable score(Task task, List<Member> members) {
+        return score(task, members, null, 0, Long.MAX_VALUE, null);
+    }
+
+    // rows: ascending roster indexes to score, or null for every member; rules stay compiled for the full roster.
+    // With a budget, the table is truncated at the first block boundary past the deadline. With an arena, its
+    // table is reset and returned, valid until the arena is released.
+    private ScoreTable score(Task task, List<Member> members, int[] rows, long start, long budgetNanos,
+                             EvaluationScratch.Arena arena) {
+        boolean bounded = budgetNanos != Long.MAX_VALUE;
+        ScoreTable table;
+        if (arena != null) {
+            table = arena.table;
+            table.reset(task, members, rows);
+        } else {
+            table = new ScoreTable(task, members, rows);
+        }
+        int n = table.size();
+        double[] bulkSkillFit = rows == null && !bounded ? bulkSkillFit(task, members, arena) : null;
+        CompiledConstraints constraints = constraintsFor(members);
+        CompiledConstraints.TaskCheck check = constraints != null ? constraints.check(task, constraints.newState()) : null;
+        boolean objectives = utilityModel.usesObjective();
+        for (int i = 0; i < n; i++) {
+            if (bounded && i % DEADLINE_CHECK_STRIDE == 0 && i > 0 && System.nanoTime() - start >= budgetNanos) {
+                table.truncate(i);
+                break;
+            }
+            Member m = table.member(i);
+            double loadWeeks = initialLoadWeeks(m);
+            double expertiseScore = m.getExpertise().getLevel(task.getPrimarySkillId());
+            double skillFit = bulkSkillFit != null ? bulkSkillFit[i] : computeSkillFit(m, task);
+            double learning = learningScore(task, skillFit);
+            table.fits[i] = fitsCapacity(task, loadWeeks);
+            table.capacity[i] = capacityScore(loadWeeks);
+            table.expertise[i] = expertiseScore;
+            table.skillFit[i] = skillFit;
+            table.learning[i] = learning;
+            table.objective[i] = objectives ? objectiveAlignment(task, m) : 0;
+            table.penalized[i] = !isSkillFeasible(task, expertiseScore);
+            table.utility[i] = table.penalized[i]
+                    ? INFEASIBLE_UTILITY
+                    : utilityModel.utility(table.capacity[i], expertiseScore, skillFit, m.getRecentPerformance(), learning,
+                            table.objective[i]);
+            if (check != null) {
+                int violations = check.violations(table.rosterIndex(i));
+                table.violations[i] = violations;
+                table.blocked[i] = check.isBlocked(violations);
+                table.utility[i] -= check.penalty(violations);
+            }
+        }
+        return table;
     }
 
     /**
      * Assign multiple tasks. Each task → one assignee; members may receive multiple tasks.
      */
     public List<TaskAssignment> assignTasks(List<Task> tasks, List<Member> members) {
-        if (tasks.isEmpty() || members.isEmpty()) return List.of();
+        return assignTasks(tasks, members, AssignmentListener.NONE);
+    }
+
+    /**
+     * As {@link #assignTasks(List, List)}, reporting each commit, balancing move and the final summary
+     * to {@code listener} as soon as it happens.
+     */
+    public List<TaskAssignment> assignTasks(List<Task> tasks, List<Member> members, AssignmentListener listener) {
+        return assignTasks(tasks, members, listener, null);
+    }
 
-        // 1. Sort tasks by urgency (H→M→L), then duration (short→long)
-        List<Task> sorted = tasks.stream()
-                .sorted(Comparator
-                        .comparing((Task t) -> -t.getUrgency().getWeight())
-                        .thenComparingDouble(Task::getDurationWeeks))
-                .toList();
+    /**
+     * Anytime batch assignment: a greedy seed in lane order, then local search that moves, swaps and inserts tasks
+     * to raise the total utility until {@code budget} runs out or no move helps. Tasks still unseeded at the
+     * deadline are staffed from a small block of the roster, so the call returns shortly after {@code budget}.
+     * Unlike {@link #assignTasks(List, List)} there is no balancing pass. See {@link AnytimeSolver}.
+     */
+    public AnytimeSolution solve(List<Task> tasks, List<Member> members, Duration budget) {
+        return solve(tasks, members, budget, null);
+    }
+
+    /**
+     * As {@link #solve(List, List, Duration)}, starting from {@code ledger}'s loads and reserving the returned
+     * assignments in it; they stay reserved until the caller releases them.
+     */
+    public AnytimeSolution solve(List<Task> tasks, List<Member> members, Duration budget, CapacityLedger ledger) {
+        int[] slots = ledger != null ? slotsIn(ledger, members) : null;
+        return new AnytimeSolver(this, tasks, members, System.nanoTime(), budget.toNanos(), ledger, slots).solve();
+    }
+
+    /** A ledger for concurrent batches against this roster, seeded with each member's current load. */
+    public CapacityLedger newLedger(List<Member> members) {
+        return new CapacityLedger(members, nominalCapacityWeeks);
+    }
+
+    /**
+     * As {@link #assignTasks(List, List, AssignmentListener)}, reserving every commit in {@code ledger} so that
+     * concurrent batches on the same roster never push a member past the workload cap between them. The batch
+     * starts from the ledger's loads. When another batch fills a member first, that member's load is refreshed and
+     * the task re-ranked. The weeks of the returned assignments stay reserved until the caller releases them.
+     */
+    public List<TaskAssignment> assignTasks(List<Task> tasks, List<Member> members, AssignmentListener listener,
+                                            CapacityLedger ledger) {
+        long start = System.nanoTime();
+        BatchAssignEvent batchEvent = new BatchAssignEvent();
+        batchEvent.begin();
+        if (tasks.isEmpty() || members.isEmpty()) {
+            tasks.forEach(listener::onUnassigned);
+            if (listener != AssignmentListener.NONE) {
+                listener.onCompleted(new AssignmentSummary(tasks.size(), 0, 0, 0, 0, 0, System.nanoTime() - start));
+            }
+            return List.of();
+        }
+
+        // 1. Bucket tasks by urgency (H→M→L), then duration (short→long) within each lane
+        List<Task> sorted = PriorityLanes.ordered(tasks);
 
         // Track cumulative load per member (copy to avoid mutating originals)
+        int[] slots = ledger != null ? slotsIn(ledger, members) : null;
         Map<String, Double> loadByMember = new HashMap<>();
-        for (Member m : members) {
-            loadByMember.put(m.getName(), m.currentLoadRatio(nominalCapacityWeeks) * nominalCapacityWeeks);
+        for (int i = 0; i < members.size(); i++) {
+            Member m = members.get(i);
+            loadByMember.put(m.getName(), slots != null ? ledger.load(slots[i]) : initialLoadWeeks(m));
         }
 
         List<TaskAssignment> assignments = new ArrayList<>();
+        CompiledConstraints constraints = constraintsFor(members);
+        CompiledConstraints.State state = constraints != null ? constraints.newState() : null;
 
         // 2. Greedy: for each task, pick argmax U_iℓ among feasible members
+        long scored = 0;
         for (Task task : sorted) {
-            Member best = selectBestAssignee(task, members, loadByMember);
-            if (best != null) {
-                assignments.add(new TaskAssignment(task, best, computeUtility(task, best, loadByMember)));
+            TaskSelectionEvent selection = new TaskSelectionEvent();
+            selection.begin();
+            CompiledConstraints.TaskCheck check = state != null ? constraints.check(task, state) : null;
+            int bestIndex = selectBestAssignee(task, members, loadByMember, check);
+            int reRanks = 0;
+            while (bestIndex >= 0 && slots != null && !ledger.tryReserve(slots[bestIndex], task.getDurationWeeks())) {
+                // Another batch filled this member first: take their current load and re-rank
+                loadByMember.put(members.get(bestIndex).getName(), ledger.load(slots[bestIndex]));
+                bestIndex = selectBestAssignee(task, members, loadByMember, check);
+                reRanks++;
+            }
+            scored += (long) members.size() * (1 + reRanks);
+            if (selection.shouldCommit()) {
+                selection.taskId = task.getId();
+                selection.urgency = task.getUrgency().name();
+                selection.rosterSize = members.size();
+                selection.candidatesScored = members.size() * (1 + reRanks);
+                selection.reRanks = reRanks;
+                selection.assigned = bestIndex >= 0;
+                selection.commit();
+            }
+            if (bestIndex >= 0) {
+                Member best = members.get(bestIndex);
+                TaskAssignment assignment = new TaskAssignment(task, best,
+                        constrainedUtility(task, best, bestIndex, loadByMember, check));
+                assignments.add(assignment);
+                if (state != null) state.record(task, bestIndex);
                 double currentLoad = loadByMember.get(best.getName());
                 loadByMember.put(best.getName(), currentLoad + task.getDurationWeeks());
+                listener.onAssigned(assignment);
+            } else {
+                listener.onUnassigned(task);
             }
         }
 
         // 3. Post-assignment balancing
-        reassignForBalance(assignments, members, loadByMember);
+        BalanceEvent balance = new BalanceEvent();
+        balance.begin();
+        int moves = reassignForBalance(assignments, members, loadByMember, constraints, state, ledger, slots,
+                listener);
+        if (balance.shouldCommit()) {
+            balance.assignments = assignments.size();
+            balance.rosterSize = members.size();
+            balance.spreadWeeks = spread(loadByMember);
+            balance.moves = moves;
+            balance.commit();
+        }
+        if (batchEvent.shouldCommit()) {
+            batchEvent.taskCount = tasks.size();
+            batchEvent.rosterSize = members.size();
+            batchEvent.assigned = assignments.size();
+            batchEvent.candidatesScored = scored;
+            batchEvent.ledger = ledger != null;
+            batchEvent.commit();
+        }
 
+        if (listener != AssignmentListener.NONE) {
+            listener.onCompleted(summarize(tasks.size(), assignments, moves, loadByMember, start));
+        }
         return assignments;
     }
 
-    private Member selectBestAssignee(Task task, List<Member> members, Map<String, Double> loadByMember) {
-        Member best = null;
+    int[] slotsIn(CapacityLedger ledger, List<Member> members) {
+        if (ledger.getCapacityWeeks() != nominalCapacityWeeks) {
+            throw new IllegalArgumentException("Ledger capacity " + ledger.getCapacityWeeks()
+                    + " differs from the engine's " + nominalCapacityWeeks);
+        }
+        int[] slots = new int[members.size()];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = ledger.slot(members.get(i));
+            if (slots[i] < 0) {
+                throw new IllegalArgumentException("Ledger has no slot for " + members.get(i).getName());
+            }
+        }
+        return slots;
+    }
+
+    /**
+     * A streaming assigner over this engine's scoring and rules: tasks are queued per urgency as they arrive
+     * and urgent ones may bump less urgent work within {@code policy}. See {@link LaneAssigner}.
+     */
+    public LaneAssigner openLanes(List<Member> members, PreemptionPolicy policy, AssignmentListener listener) {
+        return new LaneAssigner(this, members, policy, listener, true, null);
+    }
+
+    /**
+     * As {@link #openLanes}, for a stream with no end: the assigner forgets commitments that can no longer be
+     * bumped and tasks nobody could take, so its memory does not grow with the stream.
+     */
+    public LaneAssigner openStream(List<Member> members, PreemptionPolicy policy, AssignmentListener listener) {
+        return openStream(members, policy, listener, null);
+    }
+
+    /**
+     * As {@link #openStream(List, PreemptionPolicy, AssignmentListener)}, reserving every commitment in
+     * {@code ledger} (when not null) until it is bumped or {@link LaneAssigner#releaseReservations()} is called.
+     */
+    public LaneAssigner openStream(List<Member> members, PreemptionPolicy policy, AssignmentListener listener,
+                                   CapacityLedger ledger) {
+        return new LaneAssigner(this, members, policy, listener, false, ledger);
+    }
+
+    private int selectBestAssignee(Task task, List<Member> members, Map<String, Double> loadByMember,
+                                   CompiledConstraints.TaskCheck check) {
+        int best = -1;
         double bestUtility = Double.NEGATIVE_INFINITY;
 
-        for (Member m : members) {
+        for (int i = 0; i < members.size(); i++) {
+            Member m = members.get(i);
             if (!satisfiesWorkloadCap(m, task, loadByMember)) continue;
-            double u = computeUtility(task, m, loadByMember);
-            if (u > bestUtility) {
+            double u = constrainedUtility(task, m, i, loadByMember, check);
+            if (u > bestUtility) {  // NaN (hard violation) never wins
                 bestUtility = u;
-                best = m;
+                best = i;
             }
         }
         return best;
     }
 
+    // U_iℓ less soft-rule penalties, or NaN when a hard rule excludes the member
+    private double constrainedUtility(Task task, Member member, int index, Map<String, Double> loadByMember,
+                                      CompiledConstraints.TaskCheck check) {
+        if (check == null) return computeUtility(task, member, loadByMember);
+        int violations = check.violations(index);
+        if (check.isBlocked(violations)) return Double.NaN;
+        return computeUtility(task, member, loadByMember) - check.penalty(violations);
+    }
+
+    CompiledConstraints constraintsFor(List<Member> members) {
+        if (rules == null) return null;
+        CompiledConstraints compiled = constraints;
+        if (compiled == null || !compiled.covers(members)) {
+            compiled = rules.compile(members);
+            constraints = compiled;
+        }
+        return compiled;
+    }
+
     private boolean satisfiesWorkloadCap(Member member, Task task, Map<String, Double> loadByMember) {
-        double currentLoadWeeks = loadByMember.getOrDefault(member.getName(), 0.0);
-        double newLoadWeeks = currentLoadWeeks + task.getDurationWeeks();
-        return newLoadWeeks <= nominalCapacityWeeks;  // w_i + d_ℓ/C_i <= 1
+        return fitsCapacity(task, loadByMember.getOrDefault(member.getName(), 0.0));
+    }
+
+    /** Workload cap for a member currently carrying {@code loadWeeks}: w_i + d_ℓ/C_i <= 1. */
+    public boolean fitsCapacity(Task task, double loadWeeks) {
+        return loadWeeks + task.getDurationWeeks() <= nominalCapacityWeeks;
+    }
+
+    /** Load in weeks a member brings into a batch before any new task is assigned. */
+    public double initialLoadWeeks(Member member) {
+        return member.currentLoadRatio(nominalCapacityWeeks) * nominalCapacityWeeks;
+    }
+
+    private double computeUtility(Task task, Member member, Map<String, Double> loadByMember) {
+        return utility(task, member, loadByMember.getOrDefault(member.getName(), 0.0));
     }
 
     /**
-     * U_iℓ = α·(1-w_load) + β·e_i,s + γ·φ_i + δ·learning_bonus
+     * U_iℓ for a member currently carrying {@code loadWeeks}, as scored by the configured {@link UtilityModel}
+     * after the θ_min skill gate.
      */
-    private double computeUtility(Task task, Member member, Map<String, Double> loadByMember) {
-        double wLoad = loadByMember.getOrDefault(member.getName(), 0.0) / nominalCapacityWeeks;
-        double capacityScore = clamp(1 - wLoad);
+    public double utility(Task task, Member member, double loadWeeks) {
+        double capacityScore = capacityScore(loadWeeks);
+        double expertiseScore = member.getExpertise().getLevel(task.getPrimarySkillId());
+        if (!isSkillFeasible(task, expertiseScore)) {
+            return INFEASIBLE_UTILITY;
+        }
+        double skillFit = computeSkillFit(member, task);
+        return utilityModel.utility(capacityScore, expertiseScore, skillFit, member.getRecentPerformance(),
+                learningScore(task, skillFit), utilityModel.usesObjective() ? objectiveAlignment(task, member) : 0);
+    }
 
-        String primarySkill = task.getPrimarySkillDomain();
-        double expertiseScore = member.getExpertise().getLevel(primarySkill);
+    boolean isSkillFeasible(Task task, Member member) {
+        return isSkillFeasible(task, member.getExpertise().getLevel(task.getPrimarySkillId()));
+    }
 
-        // Skill feasibility: if e_i,s < θ_min and !learning, heavily penalize
-        if (expertiseScore < THETA_MIN && !task.isLearningOpportunity()) {
-            return -10.0;  // heavily discouraged
-        }
+    private double capacityScore(double loadWeeks) {
+        return clamp(1 - loadWeeks / nominalCapacityWeeks);
+    }
 
-        double performanceScore = member.getRecentPerformance();
+    // Skill feasibility: if e_i,s < θ_min and !learning, the candidate is gated out
+    private boolean isSkillFeasible(Task task, double expertiseScore) {
+        return expertiseScore >= THETA_MIN || task.isLearningOpportunity();
+    }
 
-        // Learning bonus: if task offers learning and member not expert, add up to δ
-        double skillFit = computeSkillFit(member, task);
-        double learningBonus = 0.0;
-        if (task.isLearningOpportunity() && skillFit < 1.0) {
-            learningBonus = weights.learning * (1 - skillFit);
-        }
+    // Learning bonus: if task offers learning and member not expert, scaled by δ in the model
+    private double learningScore(Task task, double skillFit) {
+        return task.isLearningOpportunity() && skillFit < 1.0 ? 1 - skillFit : 0.0;
+    }
 
-        return weights.capacity * capacityScore
-                + weights.skill * expertiseScore
-                + weights.reliability * performanceScore
-                + learningBonus;
+    /**
+     * Objective_m = |Obj_T ∩ Keywords(E_m)| / max(1, |Obj_T|), where an objective counts when any of its words
+     * is one of the member's keywords (see {@link Task#objectivesMatching}).
+     */
+    public double objectiveAlignment(Task task, Member member) {
+        if (task.getObjectives().isEmpty()) return 0;
+        return task.objectivesMatching(member.getKeywords()) / (double) task.getObjectives().size();
     }
 
+    // SkillFit = Σ min(D_T(s), E_m(s)) / Σ D_T(s), as a sparse merge over interned skill ids
     private double computeSkillFit(Member member, Task task) {
-        var required = task.getRequiredSkills().asMap();
-        if (required.isEmpty()) return 0.5;
-        double achieved = 0, total = 0;
-        for (var e : required.entrySet()) {
-            double demand = e.getValue();
-            double memberLevel = member.getExpertise().getLevel(e.getKey());
-            achieved += Math.min(demand, memberLevel);
-            total += demand;
-        }
-        return total > 0 ? achieved / total : 0;
+        if (!task.hasRequiredSkills()) return 0.5;
+        int[] required = task.getRequiredSkillIds();
+        double total = task.getTotalDemand();
+        return total > 0 ? member.getExpertise().overlap(required, task.getRequiredSkills().levels()) / total : 0;
     }
 
-    private void reassignForBalance(List<TaskAssignment> assignments, List<Member> members,
-                                    Map<String, Double> loadByMember) {
-        if (assignments.size() < 2) return;
+    private int reassignForBalance(List<TaskAssignment> assignments, List<Member> members,
+                                   Map<String, Double> loadByMember, CompiledConstraints constraints,
+                                   CompiledConstraints.State state, CapacityLedger ledger, int[] slots,
+                                   AssignmentListener listener) {
+        if (assignments.size() < 2) return 0;
 
         double maxLoad = loadByMember.values().stream().mapToDouble(Double::doubleValue).max().orElse(0);
         double minLoad = loadByMember.values().stream().mapToDouble(Double::doubleValue).min().orElse(0);
-        if (maxLoad - minLoad <= BALANCE_THRESHOLD * nominalCapacityWeeks) return;
+        if (maxLoad - minLoad <= BALANCE_THRESHOLD * nominalCapacityWeeks) return 0;
 
         // Find low-urgency task on most-loaded member, try to move to least-loaded (if skill feasible)
         Optional<TaskAssignment> toMove = assignments.stream()
                 .filter(a -> a.getTask().getUrgency() == Urgency.L)
                 .max(Comparator.comparingDouble(a -> loadByMember.getOrDefault(a.getAssignee().getName(), 0.0)));
-        if (toMove.isEmpty()) return;
+        if (toMove.isEmpty()) return 0;
 
         Member from = toMove.get().getAssignee();
         Member to = members.stream()
                 .min(Comparator.comparingDouble(m -> loadByMember.getOrDefault(m.getName(), Double.MAX_VALUE)))
                 .orElse(null);
-        if (to == null || to == from) return;
-
-        double fromExpertise = to.getExpertise().getLevel(toMove.get().getTask().getPrimarySkillDomain());
-        if (fromExpertise >= THETA_MIN || toMove.get().getTask().isLearningOpportunity()) {
+        if (to == null || to.equals(from)) return 0;
+
+        double fromExpertise = to.getExpertise().getLevel(toMove.get().getTask().getPrimarySkillId());
+        if (isSkillFeasible(toMove.get().getTask(), fromExpertise)) {
+            double penalty = 0;
+            Task task = toMove.get().getTask();
+            int fromIndex = members.indexOf(from);
+            int toIndex = members.indexOf(to);
+            // Reserve on the target before giving up the source, so a concurrent batch can't take both
+            if (slots != null && !ledger.tryReserve(slots[toIndex], task.getDurationWeeks())) return 0;
+            if (state != null) {
+                // The move must not break a hard rule; the task no longer counts against its current assignee
+                state.release(task, fromIndex);
+                CompiledConstraints.TaskCheck check = constraints.check(task, state);
+                int violations = check.violations(toIndex);
+                if (check.isBlocked(violations)) {
+                    state.record(task, fromIndex);
+                    if (slots != null) ledger.release(slots[toIndex], task.getDurationWeeks());
+                    return 0;
+                }
+                state.record(task, toIndex);
+                penalty = check.penalty(violations);
+            }
+            if (slots != null) ledger.release(slots[fromIndex], task.getDurationWeeks());
             assignments.remove(toMove.get());
             double fromLoad = loadByMember.get(from.getName()) - toMove.get().getTask().getDurationWeeks();
             double toLoad = loadByMember.get(to.getName()) + toMove.get().getTask().getDurationWeeks();
             loadByMember.put(from.getName(), fromLoad);
             loadByMember.put(to.getName(), toLoad);
-            assignments.add(new TaskAssignment(toMove.get().getTask(), to,
-                    computeUtility(toMove.get().getTask(), to, loadByMember)));
+            TaskAssignment replacement = new TaskAssignment(toMove.get().getTask(), to,
+                    computeUtility(toMove.get().getTask(), to, loadByMember) - penalty);
+            assignments.add(replacement);
+            listener.onRebalanced(toMove.get(), replacement);
+            return 1;
+        }
+        return 0;
+    }
+
+    private AssignmentSummary summarize(int taskCount, List<TaskAssignment> assignments, int moves,
+                                        Map<String, Double> loadByMember, long startNanos) {
+        double totalUtility = 0;
+        for (TaskAssignment a : assignments) totalUtility += a.getUtilityScore();
+        double maxLoad = loadByMember.values().stream().mapToDouble(Double::doubleValue).max().orElse(0);
+        double minLoad = loadByMember.values().stream().mapToDouble(Double::doubleValue).min().orElse(0);
+        return new AssignmentSummary(taskCount, assignments.size(), moves, totalUtility, minLoad, maxLoad,
+                System.nanoTime() - startNanos);
+    }
+
+    private static double spread(Map<String, Double> loadByMember) {
+        double max = Double.NEGATIVE_INFINITY, min = Double.POSITIVE_INFINITY;
+        for (double load : loadByMember.values()) {
+            max = Math.max(max, load);
+            min = Math.min(min, load);
         }
+        return loadByMember.isEmpty() ? 0 : max - min;
     }
 
-    private Task demandToTask(ProjectDemand demand) {
+    /** The single task {@link #evaluate} staffs for a project. */
+    public static Task demandToTask(ProjectDemand demand) {
         return new Task(
                 "task-" + demand.getProjectName().hashCode(),
                 demand.getProjectName(),
@@ -182,47 +625,103 @@ public class AssignmentEngine {
         );
     }
 
-    private List<AssignmentInsight> buildInsights(Task task, List<Member> members) {
-        Map<String, Double> loadByMember = new HashMap<>();
-        for (Member m : members) {
-            loadByMember.put(m.getName(), m.currentLoadRatio(nominalCapacityWeeks) * nominalCapacityWeeks);
-        }
-
-        return members.stream()
-                .map(m -> {
-                    double wLoad = loadByMember.get(m.getName()) / nominalCapacityWeeks;
-                    double capacityScore = clamp(1 - wLoad);
-                    double expertiseScore = m.getExpertise().getLevel(task.getPrimarySkillDomain());
-                    double skillFit = computeSkillFit(m, task);
-                    double learningBonus = task.isLearningOpportunity() && skillFit < 1.0
-                            ? weights.learning * (1 - skillFit) : 0.0;
-                    double utility = weights.capacity * capacityScore + weights.skill * expertiseScore
-                            + weights.reliability * m.getRecentPerformance() + learningBonus;
-                    if (expertiseScore < THETA_MIN && !task.isLearningOpportunity()) utility = -10.0;
-                    String narrative = String.format("capacity %.2f, expertise %.2f, skill fit %.2f, perf %.2f",
-                            capacityScore, expertiseScore, skillFit, m.getRecentPerformance());
-                    return new AssignmentInsight(m.getName(), utility, capacityScore, skillFit,
-                            m.getRecentPerformance(), learningBonus / weights.learning, narrative);
-                })
+    // The `limit` highest-utility rows only, so a budgeted evaluation doesn't spend its savings on formatting
+    private List<AssignmentInsight> buildInsights(ScoreTable scores, int limit) {
+        boolean objectives = utilityModel.usesObjective() && !scores.getTask().getObjectives().isEmpty();
+        IntStream rows = IntStream.range(0, scores.size());
+        if (limit < scores.size()) {
+            PriorityQueue<Integer> top = new PriorityQueue<>(Comparator.comparingDouble(scores::utility));
+            rows.forEach(i -> {
+                top.add(i);
+                if (top.size() > limit) top.poll();
+            });
+            rows = top.stream().mapToInt(Integer::intValue);
+        }
+        return rows
+                .mapToObj(i -> insight(scores, i, objectives))
                 .sorted(Comparator.comparingDouble(AssignmentInsight::getUtilityScore).reversed())
                 .collect(Collectors.toList());
     }
 
+    // The arena's top rows, best first, without boxing or sorting the roster
+    private List<AssignmentInsight> buildInsights(ScoreTable scores, EvaluationScratch.Arena arena) {
+        boolean objectives = utilityModel.usesObjective() && !scores.getTask().getObjectives().isEmpty();
+        arena.selectTop(scores);
+        List<AssignmentInsight> insights = new ArrayList<>(arena.topCount);
+        for (int k = 0; k < arena.topCount; k++) {
+            insights.add(insight(scores, arena.top[k], objectives));
+        }
+        return insights;
+    }
+
+    private static AssignmentInsight insight(ScoreTable scores, int i, boolean objectives) {
+        List<String> violations = ConstraintViolation.describe(scores.violations(i));
+        String narrative = String.format("capacity %.2f, expertise %.2f, skill fit %.2f, perf %.2f%s%s%s",
+                scores.capacity(i), scores.expertise(i), scores.skillFit(i), scores.performance(i),
+                objectives ? String.format(", objectives %.2f", scores.objective(i)) : "",
+                scores.isPenalized(i) ? ", below skill threshold" : "",
+                violations.isEmpty() ? "" : (scores.isBlocked(i) ? "; excluded: " : "; penalized: ")
+                        + String.join(", ", violations));
+        return new AssignmentInsight(scores.member(i).getName(), scores.utility(i), scores.capacity(i),
+                scores.skillFit(i), scores.performance(i), scores.learning(i), scores.expertise(i),
+                scores.objective(i), scores.isPenalized(i), violations, narrative);
+    }
+
+    /**
+     * Builds the columnar skill index and the candidate retrieval index for a roster ahead of its first
+     * evaluation, so the first request doesn't pay for them. Each is skipped when it is off or the roster is
+     * below its size threshold. Without it, the retrieval index is built in the background and evaluations scan
+     * the whole roster until it is ready.
+     */
+    public void prepare(List<Member> members) {
+        if (retrieval != null) {
+            retrieval.prepare(members, projection);
+        }
+        if (bulkSkillFitKernel != null && members.size() >= BULK_SKILL_FIT_MIN_MEMBERS) {
+            skillMatrix = SkillMatrix.of(members);
+        }
+    }
+
+    private double[] bulkSkillFit(Task task, List<Member> members, EvaluationScratch.Arena arena) {
+        if (bulkSkillFitKernel == null || members.size() < BULK_SKILL_FIT_MIN_MEMBERS) return null;
+        SkillMatrix matrix = skillMatrix;
+        if (matrix == null || !matrix.covers(members)) {
+            matrix = SkillMatrix.of(members);
+            skillMatrix = matrix;
+        }
+        double[] fits = arena != null ? arena.skillFit(matrix.size()) : new double[matrix.size()];
+        bulkSkillFitKernel.skillFit(matrix, task, fits);
+        return fits;
+    }
+
     private double clamp(double value) {
         return Math.max(0, Math.min(1, value));
     }
 
     public static class Weights {
+        /** w_o applied when no objective weight is configured, for the default engine and tenants alike: off. */
+        public static final double DEFAULT_OBJECTIVE_WEIGHT = 0;
+
         public final double capacity;   // α
         public final double skill;      // β
         public final double reliability; // γ
         public final double learning;   // δ
+        public final double objective;  // w_o
 
         public Weights(double capacity, double skill, double reliability, double learning) {
+            this(capacity, skill, reliability, learning, 0);
+        }
+
+        public Weights(double capacity, double skill, double reliability, double learning, double objective) {
             this.capacity = capacity;
             this.skill = skill;
             this.reliability = reliability;
             this.learning = learning;
+            this.objective = objective;
+        }
+
+        public Weights withObjective(double objective) {
+            return new Weights(capacity, skill, reliability, learning, objective);
         }
 
         /** Default: α=0.4, β=0.3, γ=0.2, δ=0.1 */
@@ -0,0 +1,34 @@
+package com.teamdelegation.engine;
+
+import com.teamdelegation.model.AssignmentSummary;
+import com.teamdelegation.model.Task;
+import com.teamdelegation.model.TaskAssignment;
+
+/**
+ * Progress callbacks from {@link AssignmentEngine#assignTasks(java.util.List, java.util.List, AssignmentListener)},
+ * invoked synchronously on the assigning thread in commit order.
+ */
+public interface AssignmentListener {
+
+    AssignmentListener NONE = new AssignmentListener() {
+    };
+
+    /** A task was committed to a member by the greedy pass. */
+    default void onAssigned(TaskAssignment assignment) {
+    }
+
+    /** No member could take the task (workload cap). */
+    default void onUnassigned(Task task) {
+    }
+
+    /** The balancing pass moved a task; {@code previous} is no longer part of the result. */
+    default void onRebalanced(TaskAssignment previous, TaskAssignment replacement) {
+    }
+
+    /** {@link LaneAssigner} took {@code bumped} back so that {@code preemptor} could be staffed. */
+    default void onPreempted(TaskAssignment bumped, Task preemptor) {
+    }
+
+    default void onCompleted(AssignmentSummary summary) {
+    }
+}
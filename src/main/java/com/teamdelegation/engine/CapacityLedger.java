@@ -0,0 +1,112 @@
+package com.teamdelegation.engine;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.teamdelegation.model.Member;
+import com.teamdelegation.model.TaskAssignment;
+
+/**
+ * Reserved weeks per member, shared by concurrent {@link AssignmentEngine#assignTasks} calls on one roster.
+ * <p>
+ * Reservation is a compare-and-set on the member's slot, so the workload cap holds across all batches without a
+ * global lock, and batches only contend when they pick the same member. Each slot sits on its own 64-byte cache
+ * line, so reservations for neighbouring members don't invalidate each other's lines.
+ * <p>
+ * Reservations last until {@link #release released}; the ledger doesn't know when the work is finished.
+ */
+public final class CapacityLedger {
+
+    private static final VarHandle LOADS = MethodHandles.arrayElementVarHandle(double[].class);
+    private static final int STRIDE = 8;  // doubles per cache line
+
+    private final List<Member> members;
+    private final Map<String, Integer> slots;
+    private final double capacityWeeks;
+    private final double[] loads;
+    private final LongAdder retries = new LongAdder();
+
+    /** Seeds each member with the load they already carry, as {@link AssignmentEngine} measures it. */
+    public CapacityLedger(List<Member> members, double capacityWeeks) {
+        this.members = List.copyOf(members);
+        this.capacityWeeks = capacityWeeks;
+        this.slots = new HashMap<>(members.size() * 2);
+        this.loads = new double[members.size() * STRIDE];
+        for (int i = 0; i < this.members.size(); i++) {
+            Member m = this.members.get(i);
+            slots.put(m.getName(), i);
+            loads[i * STRIDE] = m.currentLoadRatio(capacityWeeks) * capacityWeeks;
+        }
+        VarHandle.releaseFence();
+    }
+
+    /** @return the member's slot, or -1 when the ledger was built for a roster without them */
+    public int slot(Member member) {
+        return slots.getOrDefault(member.getName(), -1);
+    }
+
+    public int size() {
+        return members.size();
+    }
+
+    public Member member(int slot) {
+        return members.get(slot);
+    }
+
+    public double getCapacityWeeks() {
+        return capacityWeeks;
+    }
+
+    public double load(int slot) {
+        return (double) LOADS.getAcquire(loads, slot * STRIDE);
+    }
+
+    /**
+     * Adds {@code weeks} to the member's load unless that would exceed the cap.
+     *
+     * @return false when the member no longer has room; nothing was reserved
+     */
+    public boolean tryReserve(int slot, double weeks) {
+        int at = slot * STRIDE;
+        double current = (double) LOADS.getVolatile(loads, at);
+        while (current + weeks <= capacityWeeks) {
+            double witness = (double) LOADS.compareAndExchange(loads, at, current, current + weeks);
+            if (Double.doubleToRawLongBits(witness) == Double.doubleToRawLongBits(current)) {
+                return true;
+            }
+            retries.increment();
+            current = witness;
+        }
+        return false;
+    }
+
+    public void release(int slot, double weeks) {
+        int at = slot * STRIDE;
+        double current = (double) LOADS.getVolatile(loads, at);
+        while (true) {
+            double witness = (double) LOADS.compareAndExchange(loads, at, current, current - weeks);
+            if (Double.doubleToRawLongBits(witness) == Double.doubleToRawLongBits(current)) {
+                return;
+            }
+            retries.increment();
+            current = witness;
+        }
+    }
+
+    /** Returns the weeks of a batch's assignments, e.g. when its result is discarded or the work is done. */
+    public void releaseAll(List<TaskAssignment> assignments) {
+        for (TaskAssignment a : assignments) {
+            int slot = slot(a.getAssignee());
+            if (slot >= 0) release(slot, a.getTask().getDurationWeeks());
+        }
+    }
+
+    /** Compare-and-set attempts lost to another thread since the ledger was created. */
+    public long getContendedRetries() {
+        return retries.sum();
+    }
+}
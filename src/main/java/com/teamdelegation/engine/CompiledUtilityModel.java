@@ -0,0 +1,260 @@
+package com.teamdelegation.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Utility model compiled from a configured expression such as
+ * {@code "0.4*capacity + 0.3*expertise + 0.2*performance + 0.1*learning - 0.05*capacity*skillFit"}.
+ * <p>
+ * The expression is a sum of products of numbers and component names ({@code capacity}, {@code expertise},
+ * {@code skillFit}, {@code performance}, {@code learning}, {@code objective}); division is allowed by a number only.
+ * Parentheses are multiplied out while compiling, so {@code 0.5*(capacity + expertise)} becomes two terms.
+ * It is flattened into parallel arrays (one coefficient per term, one feature code per factor) so that
+ * evaluation is a tight loop over primitives with no reflection, boxing or tree walking.
+ */
+public final class CompiledUtilityModel implements UtilityModel {
+
+    private static final int CAPACITY = 0;
+    private static final int EXPERTISE = 1;
+    private static final int SKILL_FIT = 2;
+    private static final int PERFORMANCE = 3;
+    private static final int LEARNING = 4;
+    private static final int OBJECTIVE = 5;
+
+    private final String source;
+    private final double[] coefficients;
+    private final int[] termStart;   // factors of term t are factors[termStart[t] .. termStart[t + 1])
+    private final int[] factors;
+    private final boolean usesObjective;
+
+    private CompiledUtilityModel(String source, double[] coefficients, int[] termStart, int[] factors) {
+        this.source = source;
+        this.coefficients = coefficients;
+        this.termStart = termStart;
+        this.factors = factors;
+        this.usesObjective = Arrays.stream(factors).anyMatch(f -> f == OBJECTIVE);
+    }
+
+    public static CompiledUtilityModel compile(String expression) {
+        if (expression == null || expression.isBlank()) {
+            throw new IllegalArgumentException("Utility expression must not be blank");
+        }
+        return new Compiler(expression).compile();
+    }
+
+    @Override
+    public double utility(double capacity, double expertise, double skillFit, double performance, double learning) {
+        return utility(capacity, expertise, skillFit, performance, learning, 0);
+    }
+
+    @Override
+    public double utility(double capacity, double expertise, double skillFit, double performance, double learning,
+                          double objective) {
+        double sum = 0;
+        for (int t = 0; t < coefficients.length; t++) {
+            double product = coefficients[t];
+            for (int i = termStart[t]; i < termStart[t + 1]; i++) {
+                switch (factors[i]) {
+                    case CAPACITY -> product *= capacity;
+                    case EXPERTISE -> product *= expertise;
+                    case SKILL_FIT -> product *= skillFit;
+                    case PERFORMANCE -> product *= performance;
+                    case LEARNING -> product *= learning;
+                    default -> product *= objective;
+                }
+            }
+            sum += product;
+        }
+        return sum;
+    }
+
+    @Override
+    public boolean usesObjective() {
+        return usesObjective;
+    }
+
+    public int termCount() {
+        return coefficients.length;
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+
+    private static int featureCode(String name, int position) {
+        return switch (name.toLowerCase(Locale.ENGLISH)) {
+            case "capacity" -> CAPACITY;
+            case "expertise", "skill" -> EXPERTISE;
+            case "skillfit", "skill_fit" -> SKILL_FIT;
+            case "performance", "reliability" -> PERFORMANCE;
+            case "learning" -> LEARNING;
+            case "objective", "objectives" -> OBJECTIVE;
+            default -> throw new IllegalArgumentException(
+                    "Unknown utility component '" + name + "' at position " + position);
+        };
+    }
+
+    /**
+     * Recursive-descent compiler for: expr := term (('+'|'-') term)*, term := factor (('*'|'/') number | '*' factor)*,
+     * factor := '-' factor | number | name | '(' expr ')'. Every rule yields its expanded sum of products, so a
+     * parenthesized sum multiplies out into one term per combination.
+     */
+    private static final class Compiler {
+        private static final int MAX_TERMS = 1024;
+
+        private final String src;
+        private int pos;
+
+        Compiler(String src) {
+            this.src = src;
+        }
+
+        CompiledUtilityModel compile() {
+            List<Term> terms = expression();
+            skipSpaces();
+            if (pos < src.length()) {
+                throw error(src.charAt(pos) == ')' ? "Unmatched ')'" : "Expected '+' or '-'");
+            }
+            double[] coeffs = new double[terms.size()];
+            int[] starts = new int[terms.size() + 1];
+            int[] codes = new int[terms.stream().mapToInt(t -> t.factors.length).sum()];
+            for (int t = 0; t < coeffs.length; t++) {
+                Term term = terms.get(t);
+                coeffs[t] = term.coefficient;
+                System.arraycopy(term.factors, 0, codes, starts[t], term.factors.length);
+                starts[t + 1] = starts[t] + term.factors.length;
+            }
+            return new CompiledUtilityModel(src.trim(), coeffs, starts, codes);
+        }
+
+        private List<Term> expression() {
+            List<Term> sum = new ArrayList<>(term());
+            skipSpaces();
+            while (pos < src.length() && (src.charAt(pos) == '+' || src.charAt(pos) == '-')) {
+                char op = src.charAt(pos++);
+                for (Term t : term()) {
+                    sum.add(op == '-' ? t.times(-1.0) : t);
+                }
+                checkSize(sum.size());
+                skipSpaces();
+            }
+            return sum;
+        }
+
+        private List<Term> term() {
+            List<Term> product = factor();
+            skipSpaces();
+            while (pos < src.length() && (src.charAt(pos) == '*' || src.charAt(pos) == '/')) {
+                char op = src.charAt(pos++);
+                skipSpaces();
+                if (op == '/') {
+                    double divisor = number();
+                    if (divisor == 0) throw error("Division by zero");
+                    product = product.stream().map(t -> t.dividedBy(divisor)).toList();
+                } else {
+                    List<Term> right = factor();
+                    checkSize(product.size() * right.size());
+                    List<Term> expanded = new ArrayList<>(product.size() * right.size());
+                    for (Term a : product) {
+                        for (Term b : right) expanded.add(a.times(b));
+                    }
+                    product = expanded;
+                }
+                skipSpaces();
+            }
+            return product;
+        }
+
+        private List<Term> factor() {
+            skipSpaces();
+            if (pos >= src.length()) throw error("Unexpected end of expression");
+            char c = src.charAt(pos);
+            if (c == '-') {
+                pos++;
+                return factor().stream().map(t -> t.times(-1.0)).toList();
+            }
+            if (c == '(') {
+                pos++;
+                List<Term> inner = expression();
+                skipSpaces();
+                if (pos >= src.length() || src.charAt(pos) != ')') throw error("Expected ')'");
+                pos++;
+                return inner;
+            }
+            if (Character.isDigit(c) || c == '.') {
+                return List.of(new Term(number(), new int[0]));
+            }
+            if (Character.isLetter(c)) {
+                int start = pos;
+                while (pos < src.length() && (Character.isLetterOrDigit(src.charAt(pos)) || src.charAt(pos) == '_')) {
+                    pos++;
+                }
+                return List.of(new Term(1.0, new int[]{featureCode(src.substring(start, pos), start)}));
+            }
+            throw error("Unexpected character '" + c + "'");
+        }
+
+        // Digits and dots, then an exponent only when digits follow it, as Double.toString writes 1.0E-5
+        private double number() {
+            int start = pos;
+            while (pos < src.length() && (Character.isDigit(src.charAt(pos)) || src.charAt(pos) == '.')) {
+                pos++;
+            }
+            if (pos < src.length() && (src.charAt(pos) == 'e' || src.charAt(pos) == 'E')) {
+                int digits = pos + 1 < src.length() && (src.charAt(pos + 1) == '+' || src.charAt(pos + 1) == '-')
+                        ? pos + 2 : pos + 1;
+                if (digits < src.length() && Character.isDigit(src.charAt(digits))) {
+                    pos = digits;
+                    while (pos < src.length() && Character.isDigit(src.charAt(pos))) pos++;
+                }
+            }
+            try {
+                return Double.parseDouble(src.substring(start, pos));
+            } catch (NumberFormatException ex) {
+                pos = start;
+                throw error("Malformed number");
+            }
+        }
+
+        private void checkSize(long terms) {
+            if (terms > MAX_TERMS) throw error("Expression expands to more than " + MAX_TERMS + " terms");
+        }
+
+        private void skipSpaces() {
+            while (pos < src.length() && Character.isWhitespace(src.charAt(pos))) pos++;
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at position " + pos + " in utility expression: " + src);
+        }
+    }
+
+    /** One product while compiling: a coefficient times the listed components. */
+    private static final class Term {
+        final double coefficient;
+        final int[] factors;
+
+        Term(double coefficient, int[] factors) {
+            this.coefficient = coefficient;
+            this.factors = factors;
+        }
+
+        Term times(double value) {
+            return new Term(coefficient * value, factors);
+        }
+
+        Term dividedBy(double divisor) {
+            return new Term(coefficient / divisor, factors);
+        }
+
+        Term times(Term other) {
+            int[] both = Arrays.copyOf(factors, factors.length + other.factors.length);
+            System.arraycopy(other.factors, 0, both, factors.length, other.factors.length);
+            return new Term(coefficient * other.coefficient, both);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.teamdelegation.engine;
+
+import java.util.function.Supplier;
+
+import com.teamdelegation.constraint.AssignmentRules;
+import com.teamdelegation.engine.retrieval.CandidateRetrieval;
+
+/**
+ * Builds every {@link AssignmentEngine} the application serves from, the default tenant's and each other
+ * tenant's, so they all get the configured scoring expression, skill-fit kernel, rules, retrieval and scratch.
+ * Only capacity and weights vary per engine.
+ * <p>
+ * The kernel, rules and scratch are shared between engines; each engine gets its own retrieval, since the
+ * retrieval index belongs to one roster.
+ */
+public final class EngineFactory {
+
+    private final UtilityModel expression;                   // null: linear model over the caller's weights
+    private final SkillFitKernel bulkSkillFitKernel;          // optional
+    private final AssignmentRules rules;                      // optional
+    private final Supplier<CandidateRetrieval> retrieval;     // returns null when retrieval is off
+    private final EvaluationScratch scratch;                  // optional
+
+    public EngineFactory(String utilityExpression, SkillFitKernel bulkSkillFitKernel, AssignmentRules rules,
+                         Supplier<CandidateRetrieval> retrieval, EvaluationScratch scratch) {
+        this.expression = utilityExpression == null || utilityExpression.isBlank()
+                ? null
+                : CompiledUtilityModel.compile(utilityExpression);
+        this.bulkSkillFitKernel = bulkSkillFitKernel;
+        this.rules = rules != null && !rules.isEmpty() ? rules : null;
+        this.retrieval = retrieval != null ? retrieval : () -> null;
+        this.scratch = scratch;
+    }
+
+    /** @param weights used unless a utility expression is configured, which then applies to every engine */
+    public AssignmentEngine create(double nominalCapacityWeeks, AssignmentEngine.Weights weights) {
+        UtilityModel model = expression != null ? expression : new LinearUtilityModel(weights);
+        return new AssignmentEngine(nominalCapacityWeeks, model, bulkSkillFitKernel, rules, retrieval.get(), scratch);
+    }
+
+    /** The rules every engine enforces, or {@code null} when none are configured. */
+    public AssignmentRules getRules() {
+        return rules;
+    }
+}
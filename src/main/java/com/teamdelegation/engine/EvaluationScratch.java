@@ -0,0 +1,128 @@
+package com.teamdelegation.engine;
+
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * Lean evaluation mode for {@link AssignmentEngine#evaluate}: an evaluation borrows an arena of
+ * {@link ScoreTable} columns, bulk skill-fit buffer and top-k heap, and hands it back when its insights are
+ * built. Insights are built only for the {@code insightLimit} best members, best first, so what an evaluation
+ * allocates no longer grows with the roster.
+ * <p>
+ * At most {@code poolSize} arenas are kept, each about 64 bytes per member of the largest roster it has
+ * scored, so retained memory is bounded by poolSize × 64 B × M whatever the number of request threads.
+ * Evaluations beyond poolSize at once get a throwaway arena: the same result, allocated as without scratch.
+ */
+public final class EvaluationScratch {
+
+    private final int insightLimit;
+    private final int poolSize;
+    private final ArrayBlockingQueue<Arena> idle;
+
+    public EvaluationScratch(int insightLimit, int poolSize) {
+        if (insightLimit < 0) {
+            throw new IllegalArgumentException("insightLimit must be >= 0");
+        }
+        if (poolSize < 1) {
+            throw new IllegalArgumentException("poolSize must be >= 1");
+        }
+        this.insightLimit = insightLimit;
+        this.poolSize = poolSize;
+        this.idle = new ArrayBlockingQueue<>(poolSize);
+    }
+
+    public int getInsightLimit() {
+        return insightLimit;
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    /** An idle pooled arena, or a fresh one; pass it to {@link #release} once the evaluation is done with it. */
+    Arena acquire() {
+        Arena arena = idle.poll();
+        return arena != null ? arena : new Arena(insightLimit);
+    }
+
+    /** Keeps {@code arena} for the next evaluation unless poolSize arenas are already idle. */
+    void release(Arena arena) {
+        idle.offer(arena);
+    }
+
+    int idleCount() {
+        return idle.size();
+    }
+
+    /** One evaluation's buffers. Only valid until released. */
+    static final class Arena {
+        final ScoreTable table = new ScoreTable(64);
+        double[] skillFit = new double[0];
+        final int[] top;   // row indexes, min-heap on utility while selecting, best first afterwards
+        int topCount;
+
+        Arena(int limit) {
+            this.top = new int[limit];
+        }
+
+        double[] skillFit(int n) {
+            if (skillFit.length < n) skillFit = new double[Math.max(n, skillFit.length + (skillFit.length >> 1))];
+            return skillFit;
+        }
+
+        /** Keeps the {@code top.length} highest-utility rows of {@code scores}; ties keep the earlier row. */
+        void selectTop(ScoreTable scores) {
+            int k = top.length;
+            topCount = 0;
+            if (k == 0) return;
+            for (int i = 0; i < scores.size(); i++) {
+                if (topCount < k) {
+                    top[topCount] = i;
+                    up(scores, topCount++);
+                } else if (scores.utility(i) > scores.utility(top[0])) {
+                    top[0] = i;
+                    down(scores, 0);
+                }
+            }
+            // Heap to best-first order: repeatedly move the worst to the back
+            for (int end = topCount - 1; end > 0; end--) {
+                int worst = top[0];
+                top[0] = top[end];
+                top[end] = worst;
+                int saved = topCount;
+                topCount = end;
+                down(scores, 0);
+                topCount = saved;
+            }
+        }
+
+        // Min-heap on utility; among equals the later row is "smaller", so it is evicted first
+        private boolean below(ScoreTable scores, int a, int b) {
+            double ua = scores.utility(a), ub = scores.utility(b);
+            return ua < ub || (ua == ub && a > b);
+        }
+
+        private void up(ScoreTable scores, int at) {
+            int row = top[at];
+            while (at > 0) {
+                int parent = (at - 1) >>> 1;
+                if (!below(scores, row, top[parent])) break;
+                top[at] = top[parent];
+                at = parent;
+            }
+            top[at] = row;
+        }
+
+        private void down(ScoreTable scores, int at) {
+            int row = top[at];
+            while (true) {
+                int child = 2 * at + 1;
+                if (child >= topCount) break;
+                if (child + 1 < topCount && below(scores, top[child + 1], top[child])) child++;
+                if (!below(scores, top[child], row)) break;
+                top[at] = top[child];
+                at = child;
+            }
+            top[at] = row;
+        }
+    }
+}
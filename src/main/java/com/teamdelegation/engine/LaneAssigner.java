@@ -0,0 +1,298 @@
+package com.teamdelegation.engine;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.teamdelegation.constraint.CompiledConstraints;
+import com.teamdelegation.constraint.ConstraintViolation;
+import com.teamdelegation.model.Member;
+import com.teamdelegation.model.Task;
+import com.teamdelegation.model.TaskAssignment;
+import com.teamdelegation.model.Urgency;
+
+/**
+ * Streaming assignment over {@link PriorityLanes}. Tasks are {@link #submit submitted} as they arrive, in O(1),
+ * and {@link #drain() drained} highest urgency first, in arrival order within a lane. Loads, rule state and
+ * commitments carry over between drains, so a late urgent task sees everything already placed.
+ * <p>
+ * If nobody can take a task that the {@link PreemptionPolicy} allows to preempt, the assigner looks for a
+ * qualified member who could take it by giving up less urgent work. It bumps as few tasks as possible, then as
+ * few weeks as possible. Bumped tasks go back to the head of their lane and are staffed again in the same
+ * drain. {@link LaneStats} records what each preemption cost.
+ * <p>
+ * Not thread-safe: use one assigner per stream. There is no balancing pass.
+ * <p>
+ * An assigner opened for an open-ended stream ({@link AssignmentEngine#openStream}) keeps only what a later
+ * preemption could need: commitments the policy may still bump, and bump counts for them. Everything else is
+ * reported to the listener and forgotten, so memory is bounded by the bumpable work the roster can hold (at most
+ * C / d_min tasks per member, for capacity C and the shortest bumpable task d_min) rather than growing with the
+ * stream. Rule state is bounded the same way: forgotten work still counts against task limits, but exclusion rules
+ * only see members' current projects and work that may still be bumped. {@link #getAssignments()} and
+ * {@link #getUnassigned()} then only cover what was kept.
+ * <p>
+ * Given a {@link CapacityLedger}, the assigner starts from its loads and reserves every commitment in it, as
+ * {@link AssignmentEngine#assignTasks(List, List, AssignmentListener, CapacityLedger)} does, so batches running at
+ * the same time see the work it holds. A bump passes the victims' weeks to the preemptor, and
+ * {@link #releaseReservations()} returns what is still held.
+ */
+public final class LaneAssigner {
+
+    private final AssignmentEngine engine;
+    private final List<Member> members;
+    private final PreemptionPolicy policy;
+    private final AssignmentListener listener;
+    private final boolean retainAll;
+    private final double[] loads;
+    private final CapacityLedger ledger;
+    private final int[] slots;
+    private final double[] reserved;  // weeks this assigner holds in the ledger, by roster index
+    private final List<List<TaskAssignment>> committed;  // by roster index
+    private final CompiledConstraints constraints;
+    private final CompiledConstraints.State state;
+    private final PriorityLanes queue = new PriorityLanes();
+    private final Map<Task, Integer> bumps = new IdentityHashMap<>();
+    private final List<Task> unassigned = new ArrayList<>();
+    private final LaneStats stats = new LaneStats();
+
+    LaneAssigner(AssignmentEngine engine, List<Member> members, PreemptionPolicy policy,
+                 AssignmentListener listener, boolean retainAll, CapacityLedger ledger) {
+        this.engine = engine;
+        this.members = List.copyOf(members);
+        this.policy = policy;
+        this.listener = listener;
+        this.retainAll = retainAll;
+        this.loads = new double[this.members.size()];
+        this.ledger = ledger;
+        this.slots = ledger != null ? engine.slotsIn(ledger, this.members) : null;
+        this.reserved = ledger != null ? new double[this.members.size()] : null;
+        this.committed = new ArrayList<>(this.members.size());
+        for (int i = 0; i < loads.length; i++) {
+            loads[i] = slots != null ? ledger.load(slots[i]) : engine.initialLoadWeeks(this.members.get(i));
+            committed.add(new ArrayList<>(2));
+        }
+        this.constraints = engine.constraintsFor(this.members);
+        this.state = constraints != null ? constraints.newState() : null;
+    }
+
+    public void submit(Task task) {
+        queue.add(task);
+        stats.recordSubmitted(task.getUrgency());
+    }
+
+    /**
+     * Staffs every queued task, including tasks bumped along the way.
+     *
+     * @return the number of tasks committed (bumped tasks that were re-placed count again)
+     */
+    public int drain() {
+        int count = 0;
+        int budget = policy.getMaxPreemptionsPerDrain();
+        for (Task task = queue.poll(); task != null; task = queue.poll()) {
+            // The check reads live rule state, so it stays valid after a preemption releases work
+            CompiledConstraints.TaskCheck check = state != null ? constraints.check(task, state) : null;
+            int best = selectBest(task, check);
+            while (best >= 0 && slots != null && !ledger.tryReserve(slots[best], task.getDurationWeeks())) {
+                // Another batch filled this member first: take their current load and re-rank
+                loads[best] = ledger.load(slots[best]);
+                best = selectBest(task, check);
+            }
+            if (best < 0 && budget > 0 && policy.mayPreempt(task.getUrgency())) {
+                best = preempt(task, check);
+                if (best >= 0) budget--;
+            }
+            if (best >= 0) {
+                commit(task, best, check);
+                count++;
+            } else {
+                if (retainAll) unassigned.add(task);
+                if (bumps.containsKey(task)) stats.recordDropped();
+                if (!retainAll) bumps.remove(task);
+                listener.onUnassigned(task);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the weeks this assigner still holds in its ledger, e.g. when its stream ends. Loads are not lowered:
+     * the assigner should not be drained again.
+     */
+    public void releaseReservations() {
+        if (ledger == null) return;
+        for (int i = 0; i < reserved.length; i++) {
+            if (reserved[i] > 0) ledger.release(slots[i], reserved[i]);
+            reserved[i] = 0;
+        }
+    }
+
+    /** Current commitments, grouped by member in roster order; on a stream, only those that may still be bumped. */
+    public List<TaskAssignment> getAssignments() {
+        List<TaskAssignment> all = new ArrayList<>();
+        committed.forEach(all::addAll);
+        return all;
+    }
+
+    /** Tasks no member could take when they were drained; they are not retried. Empty on a stream. */
+    public List<Task> getUnassigned() {
+        return List.copyOf(unassigned);
+    }
+
+    public int getPending() {
+        return queue.size();
+    }
+
+    public double getLoadWeeks(int rosterIndex) {
+        return loads[rosterIndex];
+    }
+
+    public LaneStats getStats() {
+        return stats;
+    }
+
+    // Same argmax as the batch pass, over this assigner's loads
+    private int selectBest(Task task, CompiledConstraints.TaskCheck check) {
+        int best = -1;
+        double bestUtility = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < loads.length; i++) {
+            if (!engine.fitsCapacity(task, loads[i])) continue;
+            double u = utility(task, i, check);
+            if (u > bestUtility) {  // NaN (hard violation) never wins
+                bestUtility = u;
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    private double utility(Task task, int i, CompiledConstraints.TaskCheck check) {
+        double u = engine.utility(task, members.get(i), loads[i]);
+        if (check == null) return u;
+        int violations = check.violations(i);
+        return check.isBlocked(violations) ? Double.NaN : u - check.penalty(violations);
+    }
+
+    private int preempt(Task task, CompiledConstraints.TaskCheck check) {
+        long start = System.nanoTime();
+        int target = -1;
+        List<TaskAssignment> victims = null;
+        double victimWeeks = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < loads.length; i++) {
+            // Only capacity can be freed; a member below θ_min or excluded by a rule stays out
+            if (!engine.isSkillFeasible(task, members.get(i))) continue;
+            if (check != null && isBlockedBesidesTaskLimit(check, i)) continue;
+            double excess = loads[i] + task.getDurationWeeks() - engine.getNominalCapacityWeeks();
+            int overLimit = check != null && check.isBlocked(ConstraintViolation.MAX_TASKS.bit())
+                    ? check.tasksOverLimit(i) : 0;
+            if (excess <= 0 && overLimit == 0) continue;
+            List<TaskAssignment> candidate = victimsFor(task, i, excess, overLimit);
+            if (candidate == null) continue;
+            double weeks = 0;
+            for (TaskAssignment a : candidate) weeks += a.getTask().getDurationWeeks();
+            if (victims == null || candidate.size() < victims.size()
+                    || (candidate.size() == victims.size() && weeks < victimWeeks)) {
+                target = i;
+                victims = candidate;
+                victimWeeks = weeks;
+            }
+        }
+        if (victims != null && slots != null) {
+            // Hand the victims' weeks to the preemptor in the ledger; only the difference can be refused
+            double extra = task.getDurationWeeks() - victimWeeks;
+            if (extra > 0 && !ledger.tryReserve(slots[target], extra)) {
+                loads[target] = ledger.load(slots[target]);
+                stats.recordSearch(false, System.nanoTime() - start);
+                return -1;
+            }
+            if (extra < 0) ledger.release(slots[target], -extra);
+        }
+        if (victims != null) {
+            // Requeue in reverse so the bumped tasks keep their relative order at the head of the lane
+            for (int v = victims.size() - 1; v >= 0; v--) {
+                release(victims.get(v), target);
+            }
+            for (TaskAssignment victim : victims) {
+                listener.onPreempted(victim, task);
+            }
+        }
+        stats.recordSearch(victims != null, System.nanoTime() - start);
+        return target;
+    }
+
+    // Dropping committed tasks can clear MAX_TASKS (victimsFor takes enough of them), so only the other hard rules matter
+    private static boolean isBlockedBesidesTaskLimit(CompiledConstraints.TaskCheck check, int i) {
+        return check.isBlocked(check.violations(i) & ~ConstraintViolation.MAX_TASKS.bit());
+    }
+
+    /**
+     * Fewest bumpable tasks on member {@code i}, at least {@code minCount} of them, whose weeks cover
+     * {@code excess}: the shortest single task that is long enough, otherwise the longest ones first, topped up
+     * with the shortest, up to the policy's per-task limit.
+     */
+    private List<TaskAssignment> victimsFor(Task task, int i, double excess, int minCount) {
+        if (minCount > policy.getMaxVictimsPerTask()) return null;
+        List<TaskAssignment> bumpable = new ArrayList<>();
+        TaskAssignment single = null;
+        double available = 0;
+        for (TaskAssignment a : committed.get(i)) {
+            Task t = a.getTask();
+            if (!policy.mayBump(t.getUrgency(), task.getUrgency())) continue;
+            if (bumps.getOrDefault(t, 0) >= policy.getMaxBumpsPerTask()) continue;
+            bumpable.add(a);
+            available += t.getDurationWeeks();
+            if (t.getDurationWeeks() >= excess
+                    && (single == null || t.getDurationWeeks() < single.getTask().getDurationWeeks())) {
+                single = a;
+            }
+        }
+        if (single != null && minCount <= 1) return List.of(single);
+        if (available < excess || bumpable.size() < minCount || policy.getMaxVictimsPerTask() < 2) return null;
+        bumpable.sort((a, b) -> Double.compare(b.getTask().getDurationWeeks(), a.getTask().getDurationWeeks()));
+        int taken = 0;
+        while (excess > 0) {
+            if (taken == policy.getMaxVictimsPerTask() || taken == bumpable.size()) return null;
+            excess -= bumpable.get(taken++).getTask().getDurationWeeks();
+        }
+        if (taken >= minCount) return List.copyOf(bumpable.subList(0, taken));
+        // The task limit needs more victims than the weeks do: add the shortest of the rest
+        List<TaskAssignment> chosen = new ArrayList<>(bumpable.subList(0, taken));
+        chosen.addAll(bumpable.subList(bumpable.size() - (minCount - taken), bumpable.size()));
+        return chosen;
+    }
+
+    // Any ledger reservation was made by the caller
+    private void commit(Task task, int i, CompiledConstraints.TaskCheck check) {
+        TaskAssignment assignment = new TaskAssignment(task, members.get(i), utility(task, i, check));
+        loads[i] += task.getDurationWeeks();
+        if (reserved != null) reserved[i] += task.getDurationWeeks();
+        if (state != null) state.record(task, i);
+        stats.recordAssigned(task.getUrgency(), bumps.containsKey(task));
+        if (retainAll || isBumpable(task)) {
+            committed.get(i).add(assignment);
+        } else {
+            bumps.remove(task);
+            if (state != null) state.settle(task, i);
+        }
+        listener.onAssigned(assignment);
+    }
+
+    // Whether any later preemption could take the task back; zero-week tasks free nothing, so never
+    private boolean isBumpable(Task task) {
+        return task.getDurationWeeks() > 0
+                && policy.mayPreempt(Urgency.H) && policy.mayBump(task.getUrgency(), Urgency.H)
+                && bumps.getOrDefault(task, 0) < policy.getMaxBumpsPerTask();
+    }
+
+    // The victim's ledger weeks have already been handed to its preemptor
+    private void release(TaskAssignment victim, int i) {
+        Task task = victim.getTask();
+        committed.get(i).remove(victim);
+        loads[i] -= task.getDurationWeeks();
+        if (reserved != null) reserved[i] -= task.getDurationWeeks();
+        if (state != null) state.release(task, i);
+        bumps.merge(task, 1, Integer::sum);
+        stats.recordBump(victim);
+        queue.requeue(task);
+    }
+}
@@ -0,0 +1,103 @@
+package com.teamdelegation.engine;
+
+import com.teamdelegation.model.TaskAssignment;
+import com.teamdelegation.model.Urgency;
+
+/**
+ * Running counters of one {@link LaneAssigner}: throughput per lane and what preemption cost. A bumped task
+ * that is staffed again counts as re-placed. One that ends up unassigned counts as dropped, which is the real
+ * loss from preempting it.
+ */
+public final class LaneStats {
+
+    private final int[] submitted = new int[Urgency.values().length];
+    private final int[] assigned = new int[Urgency.values().length];
+    private int preemptionSearches;
+    private int preemptions;
+    private int bumpedTasks;
+    private double bumpedWeeks;
+    private double bumpedUtility;
+    private int replaced;
+    private int dropped;
+    private long searchNanos;
+
+    void recordSubmitted(Urgency urgency) {
+        submitted[urgency.ordinal()]++;
+    }
+
+    void recordAssigned(Urgency urgency, boolean wasBumped) {
+        assigned[urgency.ordinal()]++;
+        if (wasBumped) replaced++;
+    }
+
+    void recordDropped() {
+        dropped++;
+    }
+
+    void recordSearch(boolean preempted, long nanos) {
+        preemptionSearches++;
+        if (preempted) preemptions++;
+        searchNanos += nanos;
+    }
+
+    void recordBump(TaskAssignment victim) {
+        bumpedTasks++;
+        bumpedWeeks += victim.getTask().getDurationWeeks();
+        bumpedUtility += victim.getUtilityScore();
+    }
+
+    public int getSubmitted(Urgency urgency) {
+        return submitted[urgency.ordinal()];
+    }
+
+    public int getAssigned(Urgency urgency) {
+        return assigned[urgency.ordinal()];
+    }
+
+    /** Times no member could take a task that was allowed to preempt. */
+    public int getPreemptionSearches() {
+        return preemptionSearches;
+    }
+
+    /** Searches that found a member and bumped work. */
+    public int getPreemptions() {
+        return preemptions;
+    }
+
+    public int getBumpedTasks() {
+        return bumpedTasks;
+    }
+
+    public double getBumpedWeeks() {
+        return bumpedWeeks;
+    }
+
+    /** Utility the bumped assignments had when they were committed. */
+    public double getBumpedUtility() {
+        return bumpedUtility;
+    }
+
+    public int getReplaced() {
+        return replaced;
+    }
+
+    public int getDropped() {
+        return dropped;
+    }
+
+    /** Time spent looking for members to preempt, successful or not. */
+    public long getSearchNanos() {
+        return searchNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("H %d/%d, M %d/%d, L %d/%d assigned; %d preemptions of %d searches, "
+                        + "%d bumped (%.1f weeks, utility %.2f), %d re-placed, %d dropped, %.3f ms searching",
+                assigned[Urgency.H.ordinal()], submitted[Urgency.H.ordinal()],
+                assigned[Urgency.M.ordinal()], submitted[Urgency.M.ordinal()],
+                assigned[Urgency.L.ordinal()], submitted[Urgency.L.ordinal()],
+                preemptions, preemptionSearches, bumpedTasks, bumpedWeeks, bumpedUtility, replaced, dropped,
+                searchNanos / 1e6);
+    }
+}
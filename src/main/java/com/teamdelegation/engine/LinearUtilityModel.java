@@ -0,0 +1,43 @@
+package com.teamdelegation.engine;
+
+/**
+ * Default model: U_iℓ = α·capacity + β·expertise + γ·performance + δ·learning + w_o·objective.
+ */
+public class LinearUtilityModel implements UtilityModel {
+
+    private final AssignmentEngine.Weights weights;
+
+    public LinearUtilityModel(AssignmentEngine.Weights weights) {
+        this.weights = weights;
+    }
+
+    public AssignmentEngine.Weights getWeights() {
+        return weights;
+    }
+
+    @Override
+    public double utility(double capacity, double expertise, double skillFit, double performance, double learning) {
+        return weights.capacity * capacity
+                + weights.skill * expertise
+                + weights.reliability * performance
+                + weights.learning * learning;
+    }
+
+    @Override
+    public double utility(double capacity, double expertise, double skillFit, double performance, double learning,
+                          double objective) {
+        return utility(capacity, expertise, skillFit, performance, learning) + weights.objective * objective;
+    }
+
+    @Override
+    public boolean usesObjective() {
+        return weights.objective != 0;
+    }
+
+    @Override
+    public String toString() {
+        String base = String.format("%s*capacity + %s*expertise + %s*performance + %s*learning",
+                weights.capacity, weights.skill, weights.reliability, weights.learning);
+        return weights.objective != 0 ? base + " + " + weights.objective + "*objective" : base;
+    }
+}
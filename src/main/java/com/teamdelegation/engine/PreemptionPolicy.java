@@ -0,0 +1,69 @@
+package com.teamdelegation.engine;
+
+import com.teamdelegation.model.Urgency;
+
+/**
+ * Bounds on how far {@link LaneAssigner} may go to staff an urgent task: who may preempt, what may be bumped,
+ * how many tasks one preemption may bump, how often a task may be bumped, and how many preemptions one
+ * {@link LaneAssigner#drain()} may perform.
+ */
+public final class PreemptionPolicy {
+
+    private final Urgency minPreemptor;
+    private final Urgency maxVictim;
+    private final int maxVictimsPerTask;
+    private final int maxBumpsPerTask;
+    private final int maxPreemptionsPerDrain;
+
+    public PreemptionPolicy(Urgency minPreemptor, Urgency maxVictim, int maxVictimsPerTask, int maxBumpsPerTask,
+                            int maxPreemptionsPerDrain) {
+        if (maxVictimsPerTask < 0 || maxBumpsPerTask < 0 || maxPreemptionsPerDrain < 0) {
+            throw new IllegalArgumentException("preemption limits must not be negative");
+        }
+        this.minPreemptor = minPreemptor;
+        this.maxVictim = maxVictim;
+        this.maxVictimsPerTask = maxVictimsPerTask;
+        this.maxBumpsPerTask = maxBumpsPerTask;
+        this.maxPreemptionsPerDrain = maxPreemptionsPerDrain;
+    }
+
+    /** Lanes only: committed work is never bumped. */
+    public static PreemptionPolicy none() {
+        return new PreemptionPolicy(Urgency.H, Urgency.L, 0, 0, 0);
+    }
+
+    /** H tasks may bump up to two L tasks from one member; each L task is bumped at most once. */
+    public static PreemptionPolicy urgentOverLow() {
+        return new PreemptionPolicy(Urgency.H, Urgency.L, 2, 1, 64);
+    }
+
+    boolean mayPreempt(Urgency urgency) {
+        return maxPreemptionsPerDrain > 0 && maxVictimsPerTask > 0 && maxBumpsPerTask > 0
+                && urgency.getWeight() >= minPreemptor.getWeight();
+    }
+
+    // Only strictly less urgent work, and never above maxVictim
+    boolean mayBump(Urgency victim, Urgency preemptor) {
+        return victim.getWeight() <= maxVictim.getWeight() && victim.getWeight() < preemptor.getWeight();
+    }
+
+    public Urgency getMinPreemptor() {
+        return minPreemptor;
+    }
+
+    public Urgency getMaxVictim() {
+        return maxVictim;
+    }
+
+    public int getMaxVictimsPerTask() {
+        return maxVictimsPerTask;
+    }
+
+    public int getMaxBumpsPerTask() {
+        return maxBumpsPerTask;
+    }
+
+    public int getMaxPreemptionsPerDrain() {
+        return maxPreemptionsPerDrain;
+    }
+}
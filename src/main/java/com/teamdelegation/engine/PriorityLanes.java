@@ -0,0 +1,91 @@
+package com.teamdelegation.engine;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+import com.teamdelegation.model.Task;
+import com.teamdelegation.model.Urgency;
+
+/**
+ * One FIFO queue per {@link Urgency}, drained from the heaviest urgency weight down. Enqueue and poll touch
+ * at most three lanes, so a steady stream of arrivals never re-sorts the backlog.
+ */
+public final class PriorityLanes {
+
+    // Lane indexes by descending urgency weight: H, M, L
+    private static final Urgency[] DRAIN_ORDER = Arrays.stream(Urgency.values())
+            .sorted(Comparator.comparingDouble(Urgency::getWeight).reversed())
+            .toArray(Urgency[]::new);
+    private static final int[] LANE_OF = new int[DRAIN_ORDER.length];
+
+    static {
+        for (int lane = 0; lane < DRAIN_ORDER.length; lane++) {
+            LANE_OF[DRAIN_ORDER[lane].ordinal()] = lane;
+        }
+    }
+
+    private final List<ArrayDeque<Task>> lanes = new ArrayList<>(DRAIN_ORDER.length);
+    private int size;
+
+    public PriorityLanes() {
+        for (int i = 0; i < DRAIN_ORDER.length; i++) {
+            lanes.add(new ArrayDeque<>());
+        }
+    }
+
+    /** Appends an arrival to the tail of its lane. */
+    public void add(Task task) {
+        lanes.get(LANE_OF[task.getUrgency().ordinal()]).addLast(task);
+        size++;
+    }
+
+    /** Puts a task back at the head of its lane, ahead of later arrivals of the same urgency. */
+    public void requeue(Task task) {
+        lanes.get(LANE_OF[task.getUrgency().ordinal()]).addFirst(task);
+        size++;
+    }
+
+    /** @return the oldest task of the most urgent non-empty lane, or {@code null} when all lanes are empty */
+    public Task poll() {
+        for (ArrayDeque<Task> lane : lanes) {
+            Task task = lane.pollFirst();
+            if (task != null) {
+                size--;
+                return task;
+            }
+        }
+        return null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int size(Urgency urgency) {
+        return lanes.get(LANE_OF[urgency.ordinal()]).size();
+    }
+
+    /**
+     * A batch in {@link AssignmentEngine#TASK_PRIORITY} order: bucketed by urgency in one pass, then each lane
+     * sorted by duration. Stable, so equal tasks keep their input order exactly as with a full sort.
+     */
+    public static List<Task> ordered(Collection<Task> tasks) {
+        List<List<Task>> buckets = new ArrayList<>(DRAIN_ORDER.length);
+        for (int i = 0; i < DRAIN_ORDER.length; i++) {
+            buckets.add(new ArrayList<>());
+        }
+        for (Task task : tasks) {
+            buckets.get(LANE_OF[task.getUrgency().ordinal()]).add(task);
+        }
+        List<Task> ordered = new ArrayList<>(tasks.size());
+        for (List<Task> bucket : buckets) {
+            bucket.sort(Comparator.comparingDouble(Task::getDurationWeeks));
+            ordered.addAll(bucket);
+        }
+        return ordered;
+    }
+}
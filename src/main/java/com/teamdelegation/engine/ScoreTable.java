@@ -0,0 +1,146 @@
+package com.teamdelegation.engine;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.teamdelegation.model.Member;
+import com.teamdelegation.model.Task;
+
+/**
+ * Score components of every member for one task, computed once by {@link AssignmentEngine#score} and then
+ * used both to choose the assignee and to explain the choice, so the explanation is the utility that was
+ * actually compared. Row i is member i of the roster, or member {@code rows[i]} when only some members were
+ * scored.
+ * <p>
+ * An {@link EvaluationScratch} keeps one table per pooled arena and {@link #reset}s it for each evaluation, so
+ * the columns are allocated once per arena rather than once per call.
+ */
+public final class ScoreTable {
+
+    private Task task;
+    private List<Member> members;
+    private int[] rows;          // roster index of each row, or null when row i is member i
+    double[] capacity;
+    double[] expertise;
+    double[] skillFit;
+    double[] learning;
+    double[] objective;          // 0 unless the utility model uses Objective_m
+    double[] utility;
+    boolean[] penalized;         // gated below θ_min, utility is the infeasibility penalty
+    boolean[] fits;              // passes the workload cap
+    int[] violations;            // ConstraintViolation bits, soft ones already deducted from utility
+    boolean[] blocked;           // breaks a hard rule
+    private int size;            // rows scored; fewer than members when a deadline cut the scan short
+
+    ScoreTable(Task task, List<Member> members, int[] rows) {
+        allocate(rows != null ? rows.length : members.size());
+        reset(task, members, rows);
+    }
+
+    ScoreTable(int initialRows) {
+        allocate(initialRows);
+    }
+
+    /** Points the table at a new task and roster, growing the columns only when they are too short. */
+    void reset(Task task, List<Member> members, int[] rows) {
+        int n = rows != null ? rows.length : members.size();
+        if (n > capacity.length) allocate(Math.max(n, capacity.length + (capacity.length >> 1)));
+        this.task = task;
+        this.members = members;
+        this.rows = rows;
+        // Only written when rules are configured
+        Arrays.fill(violations, 0, n, 0);
+        Arrays.fill(blocked, 0, n, false);
+        this.size = n;
+    }
+
+    private void allocate(int n) {
+        capacity = new double[n];
+        expertise = new double[n];
+        skillFit = new double[n];
+        learning = new double[n];
+        objective = new double[n];
+        utility = new double[n];
+        penalized = new boolean[n];
+        fits = new boolean[n];
+        violations = new int[n];
+        blocked = new boolean[n];
+    }
+
+    void truncate(int scored) {
+        size = scored;
+    }
+
+    /** Position of row {@code i} in the roster. */
+    int rosterIndex(int i) {
+        return rows != null ? rows[i] : i;
+    }
+
+    public Task getTask() {
+        return task;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Member member(int i) {
+        return members.get(rosterIndex(i));
+    }
+
+    public double capacity(int i) {
+        return capacity[i];
+    }
+
+    public double expertise(int i) {
+        return expertise[i];
+    }
+
+    public double skillFit(int i) {
+        return skillFit[i];
+    }
+
+    public double performance(int i) {
+        return member(i).getRecentPerformance();
+    }
+
+    public double learning(int i) {
+        return learning[i];
+    }
+
+    public double objective(int i) {
+        return objective[i];
+    }
+
+    public double utility(int i) {
+        return utility[i];
+    }
+
+    public boolean isPenalized(int i) {
+        return penalized[i];
+    }
+
+    public boolean fitsCapacity(int i) {
+        return fits[i];
+    }
+
+    /** {@link com.teamdelegation.constraint.ConstraintViolation} bits for member {@code i}. */
+    public int violations(int i) {
+        return violations[i];
+    }
+
+    public boolean isBlocked(int i) {
+        return blocked[i];
+    }
+
+    /** Index of the highest-utility member within the workload cap and hard rules (first wins ties), or -1. */
+    public int best() {
+        int best = -1;
+        for (int i = 0; i < size; i++) {
+            if (fits[i] && !blocked[i] && (best < 0 || utility[i] > utility[best])) {
+                best = i;
+            }
+        }
+        return best;
+    }
+}
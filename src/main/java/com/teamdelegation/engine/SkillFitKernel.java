@@ -0,0 +1,40 @@
+package com.teamdelegation.engine;
+
+import com.teamdelegation.model.Task;
+
+/**
+ * Computes SkillFit = Σ min(D_T(s), E_m(s)) / Σ D_T(s) for every member of a {@link SkillMatrix} at once.
+ * Kernels sum in the task's skill order and divide by Σ D_T(s) in double, so each result equals the
+ * per-member fit bit for bit and never changes which member wins a near tie.
+ */
+public interface SkillFitKernel {
+
+    /** Writes the skill fit of member {@code i} to {@code out[i]}; {@code out} must hold at least {@code matrix.size()}. */
+    void skillFit(SkillMatrix matrix, Task task, double[] out);
+
+    /**
+     * The kernel to use by default: the scalar loop, which the JIT already unrolls and measured faster than
+     * the Vector API kernel on the skill-fit benchmark (about 3.5 vs 3.8 ns/member at 200k members).
+     */
+    static SkillFitKernel best() {
+        return scalar();
+    }
+
+    /**
+     * The Vector API kernel when it was built ({@code -Psimd}) and {@code jdk.incubator.vector} is resolved,
+     * otherwise the scalar loop.
+     */
+    static SkillFitKernel vector() {
+        return SkillFitKernels.vector();
+    }
+
+    /** {@link #vector()} for {@code "vector"}, {@link #best()} for anything else. */
+    static SkillFitKernel named(String name) {
+        return "vector".equalsIgnoreCase(name) ? vector() : best();
+    }
+
+    /** Portable column-at-a-time loop. */
+    static SkillFitKernel scalar() {
+        return new SkillFitKernels.Scalar();
+    }
+}
@@ -0,0 +1,72 @@
+package com.teamdelegation.engine;
+
+import com.teamdelegation.model.Task;
+
+import java.util.Arrays;
+
+/**
+ * Kernel selection. The SIMD kernel is only compiled under the {@code simd} Maven profile and only linked when
+ * the JVM runs with {@code --add-modules jdk.incubator.vector} (JDK 16+); otherwise {@link #vector()} is the
+ * scalar loop.
+ */
+final class SkillFitKernels {
+
+    private static final String VECTOR_KERNEL = "com.teamdelegation.engine.VectorSkillFitKernel";
+    private static final SkillFitKernel VECTOR = load();
+
+    private SkillFitKernels() {
+    }
+
+    static SkillFitKernel vector() {
+        return VECTOR;
+    }
+
+    static boolean vectorApiAvailable() {
+        return Runtime.version().feature() >= 16
+                && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+    }
+
+    private static SkillFitKernel load() {
+        if (!vectorApiAvailable()) {
+            return SkillFitKernel.scalar();
+        }
+        try {
+            return (SkillFitKernel) Class.forName(VECTOR_KERNEL).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError ex) {
+            return SkillFitKernel.scalar();
+        }
+    }
+
+    /** Plain column-at-a-time loop; also the tail handler for the vector kernel. */
+    static final class Scalar implements SkillFitKernel {
+        @Override
+        public void skillFit(SkillMatrix matrix, Task task, double[] out) {
+            int n = matrix.size();
+            int[] ids = task.getRequiredSkillIds();
+            if (!task.hasRequiredSkills()) {
+                Arrays.fill(out, 0, n, 0.5);
+                return;
+            }
+            Arrays.fill(out, 0, n, 0);
+            double total = task.getTotalDemand();
+            if (total <= 0) return;
+            double[] demand = task.getRequiredSkills().levels();
+            for (int k = 0; k < ids.length; k++) {
+                double[] column = matrix.column(ids[k]);
+                if (column == null) continue;
+                double d = demand[k];
+                for (int i = 0; i < n; i++) {
+                    out[i] += Math.min(d, column[i]);
+                }
+            }
+            for (int i = 0; i < n; i++) {
+                out[i] /= total;  // a division, not × 1/total, to match the per-member fit exactly
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "scalar";
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.teamdelegation.engine;
+
+import com.teamdelegation.model.Member;
+import com.teamdelegation.model.SkillIds;
+
+import java.util.List;
+
+/**
+ * Dense columnar view of a roster's skills: one {@code double[]} per interned skill id, indexed by
+ * roster position. Columns for skills nobody has are left {@code null}. Skill profiles are immutable,
+ * so a matrix stays valid for as long as the same members are passed in the same order. Levels
+ * are kept in double, as in {@link com.teamdelegation.model.SkillProfile}, so a fit computed from the columns
+ * is the same number the per-member path computes.
+ */
+public final class SkillMatrix {
+
+    private final Member[] members;
+    private final double[][] columns;
+
+    private SkillMatrix(Member[] members, double[][] columns) {
+        this.members = members;
+        this.columns = columns;
+    }
+
+    public static SkillMatrix of(List<Member> members) {
+        Member[] roster = members.toArray(new Member[0]);
+        double[][] columns = new double[SkillIds.size()][];
+        for (int i = 0; i < roster.length; i++) {
+            int[] ids = roster[i].getExpertise().skillIds();
+            double[] levels = roster[i].getExpertise().levels();
+            for (int k = 0; k < ids.length; k++) {
+                if (ids[k] >= columns.length) continue;  // interned concurrently, after sizing
+                if (columns[ids[k]] == null) {
+                    columns[ids[k]] = new double[roster.length];
+                }
+                columns[ids[k]][i] = levels[k];
+            }
+        }
+        return new SkillMatrix(roster, columns);
+    }
+
+    /** True when this matrix was built from exactly these members, in this order. */
+    public boolean covers(List<Member> roster) {
+        if (roster.size() != members.length) return false;
+        for (int i = 0; i < members.length; i++) {
+            if (roster.get(i) != members[i]) return false;
+        }
+        return true;
+    }
+
+    public int size() {
+        return members.length;
+    }
+
+    /** Levels of one skill across all members, or {@code null} if no member has it. Shared, do not modify. */
+    public double[] column(int skillId) {
+        return skillId < columns.length ? columns[skillId] : null;
+    }
+}
@@ -0,0 +1,31 @@
+package com.teamdelegation.engine;
+
+/**
+ * Scoring function U_iℓ over the per-candidate components computed by {@link AssignmentEngine}.
+ * The engine applies the θ_min skill gate itself, so implementations only combine the components.
+ * Implementations must be stateless and thread-safe; they are called once per (task, member) pair.
+ */
+public interface UtilityModel {
+
+    /**
+     * @param capacity    1 - w_load, clamped to [0, 1]
+     * @param expertise   e_i,s for the task's primary skill
+     * @param skillFit    Σ min(demand, level) / Σ demand
+     * @param performance φ_i, recent performance
+     * @param learning    1 - skillFit when the task is a learning opportunity, otherwise 0
+     */
+    double utility(double capacity, double expertise, double skillFit, double performance, double learning);
+
+    /**
+     * As above, with {@code objective} = Objective_m, the share of the task's objectives that name one of the
+     * member's keywords. The engine only computes it for models that {@link #usesObjective() use it}.
+     */
+    default double utility(double capacity, double expertise, double skillFit, double performance, double learning,
+                           double objective) {
+        return utility(capacity, expertise, skillFit, performance, learning);
+    }
+
+    default boolean usesObjective() {
+        return false;
+    }
+}
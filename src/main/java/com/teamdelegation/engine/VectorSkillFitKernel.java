@@ -0,0 +1,61 @@
+package com.teamdelegation.engine;
+
+import com.teamdelegation.model.Task;
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.Arrays;
+
+/**
+ * SIMD skill fit using {@code jdk.incubator.vector} min/add lanes over {@link SkillMatrix} columns.
+ * Compiled only under the {@code simd} profile and loaded reflectively by {@link SkillFitKernels}; never
+ * reference this class directly.
+ */
+final class VectorSkillFitKernel implements SkillFitKernel {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    public void skillFit(SkillMatrix matrix, Task task, double[] out) {
+        int n = matrix.size();
+        int[] ids = task.getRequiredSkillIds();
+        if (!task.hasRequiredSkills()) {
+            Arrays.fill(out, 0, n, 0.5);
+            return;
+        }
+        Arrays.fill(out, 0, n, 0);
+        double total = task.getTotalDemand();
+        if (total <= 0) return;
+        double[] demand = task.getRequiredSkills().levels();
+        int upper = SPECIES.loopBound(n);
+
+        for (int k = 0; k < ids.length; k++) {
+            double[] column = matrix.column(ids[k]);
+            if (column == null) continue;
+            double d = demand[k];
+            DoubleVector dv = DoubleVector.broadcast(SPECIES, d);
+            int i = 0;
+            for (; i < upper; i += SPECIES.length()) {
+                DoubleVector.fromArray(SPECIES, column, i).min(dv)
+                        .add(DoubleVector.fromArray(SPECIES, out, i))
+                        .intoArray(out, i);
+            }
+            for (; i < n; i++) {
+                out[i] += Math.min(d, column[i]);
+            }
+        }
+
+        int i = 0;
+        for (; i < upper; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, out, i).div(total).intoArray(out, i);
+        }
+        for (; i < n; i++) {
+            out[i] /= total;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "vector(" + SPECIES.length() + " lanes)";
+    }
+}
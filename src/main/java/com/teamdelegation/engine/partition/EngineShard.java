@@ -0,0 +1,95 @@
+package com.teamdelegation.engine.partition;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.teamdelegation.engine.AssignmentEngine;
+import com.teamdelegation.model.Member;
+import com.teamdelegation.model.Task;
+
+/**
+ * One partition of the roster with its own load state. Scores only its own members and is the single
+ * authority on their capacity, so reservations from the coordinator are checked here.
+ * <p>
+ * Shards do not enforce {@link com.teamdelegation.constraint.AssignmentRules}: exclusions and per-member task
+ * limits depend on assignments held by other shards. An engine with rules is therefore refused rather than
+ * silently ignoring them.
+ */
+public final class EngineShard {
+
+    private final int id;
+    private final AssignmentEngine engine;
+    private final Member[] members;
+    private final int[] rosterIndex;
+    private final double[] loadWeeks;
+
+    public EngineShard(int id, AssignmentEngine engine, List<Member> members, int[] rosterIndex) {
+        if (engine.getRules() != null) {
+            throw new IllegalArgumentException("Sharded assignment cannot enforce assignment rules;"
+                    + " use an engine without rules or the single-node AssignmentEngine.assignTasks");
+        }
+        this.id = id;
+        this.engine = engine;
+        this.members = members.toArray(new Member[0]);
+        this.rosterIndex = rosterIndex.clone();
+        this.loadWeeks = new double[this.members.length];
+        for (int i = 0; i < this.members.length; i++) {
+            loadWeeks[i] = engine.initialLoadWeeks(this.members[i]);
+        }
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public int size() {
+        return members.length;
+    }
+
+    /** Local top-k members that fit the workload cap, best utility first, ties by roster order. */
+    public synchronized List<ShardCandidate> topCandidates(Task task, int k) {
+        int[] bestSlots = new int[k];
+        double[] bestUtilities = new double[k];
+        int count = 0;
+        for (int slot = 0; slot < members.length; slot++) {
+            if (!engine.fitsCapacity(task, loadWeeks[slot])) continue;
+            double u = engine.utility(task, members[slot], loadWeeks[slot]);
+            if (count == k && u <= bestUtilities[k - 1]) continue;
+            int at = count < k ? count++ : k - 1;
+            while (at > 0 && bestUtilities[at - 1] < u) {  // strict: equal utilities keep roster order
+                bestUtilities[at] = bestUtilities[at - 1];
+                bestSlots[at] = bestSlots[at - 1];
+                at--;
+            }
+            bestUtilities[at] = u;
+            bestSlots[at] = slot;
+        }
+        List<ShardCandidate> candidates = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int slot = bestSlots[i];
+            candidates.add(new ShardCandidate(id, slot, rosterIndex[slot], members[slot], bestUtilities[i]));
+        }
+        return candidates;
+    }
+
+    /**
+     * Commits the task to a member if it still fits, and returns the utility at commit time,
+     * or {@code NaN} if the member's capacity was taken in the meantime.
+     */
+    public synchronized double reserve(int slot, Task task) {
+        if (!engine.fitsCapacity(task, loadWeeks[slot])) {
+            return Double.NaN;
+        }
+        double utility = engine.utility(task, members[slot], loadWeeks[slot]);
+        loadWeeks[slot] += task.getDurationWeeks();
+        return utility;
+    }
+
+    public synchronized void release(int slot, Task task) {
+        loadWeeks[slot] -= task.getDurationWeeks();
+    }
+
+    public synchronized double loadWeeks(int slot) {
+        return loadWeeks[slot];
+    }
+}
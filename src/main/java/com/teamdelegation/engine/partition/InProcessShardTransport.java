@@ -0,0 +1,100 @@
+package com.teamdelegation.engine.partition;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+import com.teamdelegation.engine.AssignmentEngine;
+import com.teamdelegation.model.Member;
+import com.teamdelegation.model.SkillIds;
+import com.teamdelegation.model.Task;
+
+/**
+ * Transport stand-in that hosts every shard in this JVM, each behind its own single-threaded executor,
+ * so calls are asynchronous and per-shard serialized as they would be on separate nodes.
+ */
+public final class InProcessShardTransport implements ShardTransport {
+
+    private final EngineShard[] shards;
+    private final ExecutorService[] executors;
+
+    public InProcessShardTransport(List<EngineShard> shards) {
+        this.shards = shards.toArray(new EngineShard[0]);
+        this.executors = new ExecutorService[this.shards.length];
+        for (int i = 0; i < executors.length; i++) {
+            int shard = i;
+            executors[i] = Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, "engine-shard-" + shard);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Splits a roster into {@code shardCount} shards by hashing {@code shardKey} (for example
+     * {@link #BY_NAME} or {@link #BY_PRIMARY_SKILL}), each scoring with {@code engine}.
+     */
+    public static InProcessShardTransport partition(List<Member> members, int shardCount,
+                                                    Function<Member, String> shardKey, AssignmentEngine engine) {
+        List<List<Member>> parts = new ArrayList<>();
+        List<List<Integer>> indices = new ArrayList<>();
+        for (int s = 0; s < shardCount; s++) {
+            parts.add(new ArrayList<>());
+            indices.add(new ArrayList<>());
+        }
+        for (int i = 0; i < members.size(); i++) {
+            int s = Math.floorMod(shardKey.apply(members.get(i)).hashCode(), shardCount);
+            parts.get(s).add(members.get(i));
+            indices.get(s).add(i);
+        }
+        List<EngineShard> shards = new ArrayList<>();
+        for (int s = 0; s < shardCount; s++) {
+            int[] rosterIndex = indices.get(s).stream().mapToInt(Integer::intValue).toArray();
+            shards.add(new EngineShard(s, engine, parts.get(s), rosterIndex));
+        }
+        return new InProcessShardTransport(shards);
+    }
+
+    public static final Function<Member, String> BY_NAME = Member::getName;
+
+    /** Co-locates members by their strongest skill, so skill-heavy tasks mostly hit one shard's best members. */
+    public static final Function<Member, String> BY_PRIMARY_SKILL = member -> {
+        int[] ids = member.getExpertise().skillIds();
+        double[] levels = member.getExpertise().levels();
+        int best = -1;
+        for (int k = 0; k < ids.length; k++) {
+            if (best < 0 || levels[k] > levels[best]) best = k;
+        }
+        return best < 0 ? "general" : SkillIds.name(ids[best]);
+    };
+
+    public EngineShard shard(int shard) {
+        return shards[shard];
+    }
+
+    @Override
+    public int shardCount() {
+        return shards.length;
+    }
+
+    @Override
+    public CompletableFuture<List<ShardCandidate>> topCandidates(int shard, Task task, int k) {
+        return CompletableFuture.supplyAsync(() -> shards[shard].topCandidates(task, k), executors[shard]);
+    }
+
+    @Override
+    public CompletableFuture<Double> reserve(int shard, int slot, Task task) {
+        return CompletableFuture.supplyAsync(() -> shards[shard].reserve(slot, task), executors[shard]);
+    }
+
+    @Override
+    public void close() {
+        for (ExecutorService executor : executors) {
+            executor.shutdownNow();
+        }
+    }
+}
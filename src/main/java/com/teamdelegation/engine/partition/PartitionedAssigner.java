@@ -0,0 +1,98 @@
+package com.teamdelegation.engine.partition;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import com.teamdelegation.engine.AssignmentEngine;
+import com.teamdelegation.model.Task;
+import com.teamdelegation.model.TaskAssignment;
+
+/**
+ * Scatter/gather coordinator over a sharded roster.
+ * <p>
+ * Tasks are staffed in {@link AssignmentEngine#TASK_PRIORITY} order. For each window of tasks, every task is
+ * scattered to every shard at once. Each shard returns its local top-k candidates, and the coordinator merges
+ * them by utility (roster order breaks ties). It then reserves the best candidate on its owning shard. A shard
+ * rejects a reservation when an earlier task in the window already took that member's capacity, and the
+ * coordinator falls through to the next candidate. If every candidate is rejected, the task is scattered again
+ * against current loads.
+ * <p>
+ * With {@code window = 1} and an engine without rules, the result matches the single-node greedy pass exactly
+ * (without the final balancing move). Larger windows overlap shard round-trips, but later tasks in a window are
+ * ranked on slightly stale loads. Engines with assignment rules are refused; see {@link EngineShard}.
+ * <p>
+ * Library only: the web app and the batch CLI staff on one node. {@code DifferentialHarness} replays scenarios
+ * through it ({@code partitioned:<shards>}) to check it against the single-node engine, and
+ * {@link InProcessShardTransport} stands in for a network transport.
+ */
+public final class PartitionedAssigner {
+
+    private static final int MAX_RESCATTERS = 3;
+    private static final Comparator<ShardCandidate> BEST_FIRST = Comparator
+            .comparingDouble(ShardCandidate::getUtility).reversed()
+            .thenComparingInt(ShardCandidate::getRosterIndex);
+
+    private final ShardTransport transport;
+    private final int topK;
+    private final int window;
+
+    public PartitionedAssigner(ShardTransport transport, int topK, int window) {
+        if (topK < 1 || window < 1) {
+            throw new IllegalArgumentException("topK and window must be positive");
+        }
+        this.transport = transport;
+        this.topK = topK;
+        this.window = window;
+    }
+
+    public List<TaskAssignment> assignTasks(List<Task> tasks) {
+        List<Task> sorted = tasks.stream().sorted(AssignmentEngine.TASK_PRIORITY).toList();
+        List<TaskAssignment> assignments = new ArrayList<>();
+
+        for (int start = 0; start < sorted.size(); start += window) {
+            List<Task> batch = sorted.subList(start, Math.min(sorted.size(), start + window));
+            List<CompletableFuture<List<ShardCandidate>>> gathered = new ArrayList<>(batch.size());
+            for (Task task : batch) {
+                gathered.add(scatter(task));
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                Task task = batch.get(i);
+                TaskAssignment assignment = commit(task, gathered.get(i).join());
+                for (int attempt = 0; assignment == null && attempt < MAX_RESCATTERS; attempt++) {
+                    List<ShardCandidate> fresh = scatter(task).join();
+                    if (fresh.isEmpty()) break;
+                    assignment = commit(task, fresh);
+                }
+                if (assignment != null) {
+                    assignments.add(assignment);
+                }
+            }
+        }
+        return assignments;
+    }
+
+    private CompletableFuture<List<ShardCandidate>> scatter(Task task) {
+        List<CompletableFuture<List<ShardCandidate>>> perShard = new ArrayList<>(transport.shardCount());
+        for (int s = 0; s < transport.shardCount(); s++) {
+            perShard.add(transport.topCandidates(s, task, topK));
+        }
+        return CompletableFuture.allOf(perShard.toArray(new CompletableFuture<?>[0])).thenApply(done -> {
+            List<ShardCandidate> merged = new ArrayList<>();
+            perShard.forEach(f -> merged.addAll(f.join()));
+            merged.sort(BEST_FIRST);
+            return merged;
+        });
+    }
+
+    private TaskAssignment commit(Task task, List<ShardCandidate> candidates) {
+        for (ShardCandidate candidate : candidates) {
+            double utility = transport.reserve(candidate.getShard(), candidate.getSlot(), task).join();
+            if (!Double.isNaN(utility)) {
+                return new TaskAssignment(task, candidate.getMember(), utility);
+            }
+        }
+        return null;
+    }
+}
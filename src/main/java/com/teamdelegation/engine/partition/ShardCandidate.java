@@ -0,0 +1,44 @@
+package com.teamdelegation.engine.partition;
+
+import com.teamdelegation.model.Member;
+
+/**
+ * A member proposed by one shard for one task, scored against that shard's load state at proposal time.
+ */
+public class ShardCandidate {
+    private final int shard;
+    private final int slot;
+    private final int rosterIndex;
+    private final Member member;
+    private final double utility;
+
+    public ShardCandidate(int shard, int slot, int rosterIndex, Member member, double utility) {
+        this.shard = shard;
+        this.slot = slot;
+        this.rosterIndex = rosterIndex;
+        this.member = member;
+        this.utility = utility;
+    }
+
+    public int getShard() {
+        return shard;
+    }
+
+    /** Position of the member within its shard. */
+    public int getSlot() {
+        return slot;
+    }
+
+    /** Position in the original, unpartitioned roster; breaks utility ties like the single engine does. */
+    public int getRosterIndex() {
+        return rosterIndex;
+    }
+
+    public Member getMember() {
+        return member;
+    }
+
+    public double getUtility() {
+        return utility;
+    }
+}
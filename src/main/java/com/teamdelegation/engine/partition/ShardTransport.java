@@ -0,0 +1,23 @@
+package com.teamdelegation.engine.partition;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import com.teamdelegation.model.Task;
+
+/**
+ * How the coordinator reaches shards. Calls are asynchronous so that a task can be scattered to all shards
+ * at once; a networked implementation would serialize {@link Task} and return candidates by member name.
+ */
+public interface ShardTransport extends AutoCloseable {
+
+    int shardCount();
+
+    CompletableFuture<List<ShardCandidate>> topCandidates(int shard, Task task, int k);
+
+    /** Completes with the committed utility, or {@code NaN} if the shard rejected the reservation. */
+    CompletableFuture<Double> reserve(int shard, int slot, Task task);
+
+    @Override
+    void close();
+}
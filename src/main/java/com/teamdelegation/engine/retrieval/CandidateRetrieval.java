@@ -0,0 +1,232 @@
+package com.teamdelegation.engine.retrieval;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.teamdelegation.model.Member;
+import com.teamdelegation.model.Task;
+
+/**
+ * Decides when an evaluation scores a {@link SkillLshIndex} shortlist instead of the whole roster, and keeps
+ * track of how often that shortlist still contains the exact winner.
+ * <p>
+ * A {@code sampleRate} fraction of shortlisted evaluations also runs the exact scan. Each sample records whether
+ * the shortlist's pick has the exact best utility (recall@1; members tied on utility count as the same answer). After every {@code window} samples, if recall
+ * is below {@code targetRecall}, one more bucket per table is probed, up to the index's bit count.
+ * <p>
+ * When the roster changes, the index is rebuilt on a background thread, one rebuild at a time per retrieval.
+ * Until it is ready, a roster that only grew is served from the old index, with every appended member added to
+ * the shortlist (as long as there are at most {@code shortlistSize} of them). Any other change scans the whole
+ * roster. Request threads never build an index; {@link #prepare} waits for one.
+ */
+public final class CandidateRetrieval {
+
+    private static final Logger log = LoggerFactory.getLogger(CandidateRetrieval.class);
+    private static final ExecutorService BUILDER = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "retrieval-index");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final LshParameters parameters;
+    private final int minMembers;
+    private final int shortlistSize;
+    private final double targetRecall;
+    private final double sampleRate;
+    private final int window;
+
+    private volatile SkillLshIndex index;
+    private volatile Match match;  // the index checked against the last roster instance seen
+    private final AtomicReference<CompletableFuture<SkillLshIndex>> building = new AtomicReference<>();
+    private volatile int probes;
+    private int windowSamples;
+    private int windowHits;
+    private final LongAdder shortlisted = new LongAdder();
+    private final LongAdder retrieved = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+    private final LongAdder samples = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder rebuilds = new LongAdder();
+    private final LongAdder staleScans = new LongAdder();
+
+    public CandidateRetrieval(LshParameters parameters, int minMembers, int shortlistSize, double targetRecall,
+                              double sampleRate, int window) {
+        if (shortlistSize < 1 || window < 1) {
+            throw new IllegalArgumentException("shortlist size and recall window must be positive");
+        }
+        this.parameters = parameters;
+        this.minMembers = minMembers;
+        this.shortlistSize = shortlistSize;
+        this.targetRecall = targetRecall;
+        this.sampleRate = sampleRate;
+        this.window = window;
+        this.probes = parameters.getProbes();
+    }
+
+    /**
+     * @return the members to score for {@code task}, or {@code null} to scan the whole roster (small roster, a
+     *         task without required skills, where every member has the same skill fit, or no usable index yet)
+     */
+    public SkillLshIndex.Shortlist shortlist(Task task, List<Member> members, LinearProjection projection) {
+        if (members.size() < minMembers || members.size() <= shortlistSize || task.getRequiredSkillIds().length == 0) {
+            return null;
+        }
+        Match current = matchFor(members, projection);
+        if (current == null) {
+            staleScans.increment();
+            return null;
+        }
+        SkillLshIndex.Shortlist shortlist = current.index.shortlist(task, probes, shortlistSize);
+        if (current.index.size() < members.size()) shortlist = shortlist.plus(current.index.size(), members.size());
+        shortlisted.increment();
+        retrieved.add(shortlist.getRetrieved());
+        return shortlist;
+    }
+
+    /** Builds the index ahead of the first evaluation and waits for it; no-op below {@code minMembers}. */
+    public void prepare(List<Member> members, LinearProjection projection) {
+        if (members.size() < minMembers) return;
+        for (SkillLshIndex current = index; current == null || !current.covers(members); current = index) {
+            rebuild(members, projection).join();
+        }
+    }
+
+    /** Nobody on the shortlist could take the task, so the caller scanned the whole roster. */
+    public void recordFallback() {
+        fallbacks.increment();
+    }
+
+    public boolean shouldSample() {
+        return sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    /** One exact scan against a shortlist: {@code hit} when the shortlist's pick matched the exact best utility. */
+    public void recordSample(boolean hit) {
+        samples.increment();
+        if (hit) hits.increment();
+        synchronized (this) {
+            windowSamples++;
+            if (hit) windowHits++;
+            if (windowSamples < window) return;
+            double recall = windowHits / (double) windowSamples;
+            windowSamples = 0;
+            windowHits = 0;
+            if (recall < targetRecall && probes < parameters.getBits()) {
+                probes++;
+                log.info("Sampled recall@1 {} below target {}; probing {} extra buckets per table",
+                        String.format("%.3f", recall), targetRecall, probes);
+            }
+        }
+    }
+
+    // The index for these members: exact, or built over a prefix of them while the full one is rebuilt. null when
+    // there is none yet or the roster changed other than by appending, and a rebuild has been started.
+    private Match matchFor(List<Member> members, LinearProjection projection) {
+        SkillLshIndex current = index;
+        Match checked = match;
+        if (checked != null && checked.members == members && checked.index == current) return checked;
+        if (current != null && current.covers(members)) {
+            checked = new Match(current, members);
+        } else {
+            rebuild(members, projection);
+            if (current == null || members.size() - current.size() > shortlistSize || !current.isPrefixOf(members)) {
+                return null;
+            }
+            checked = new Match(current, members);
+        }
+        match = checked;
+        return checked;
+    }
+
+    // Starts a background build over a copy of these members unless one is already running, which is returned
+    // instead; once it lands, the next roster that it does not cover starts another
+    private CompletableFuture<SkillLshIndex> rebuild(List<Member> members, LinearProjection projection) {
+        while (true) {
+            CompletableFuture<SkillLshIndex> pending = building.get();
+            if (pending != null) return pending;
+            CompletableFuture<SkillLshIndex> next = new CompletableFuture<>();
+            if (!building.compareAndSet(null, next)) continue;
+            List<Member> snapshot = List.copyOf(members);
+            BUILDER.execute(() -> {
+                try {
+                    SkillLshIndex built = SkillLshIndex.build(snapshot, parameters, projection);
+                    index = built;
+                    rebuilds.increment();
+                    building.set(null);
+                    next.complete(built);
+                } catch (RuntimeException | Error ex) {
+                    log.warn("Could not rebuild the retrieval index; evaluations scan the whole roster", ex);
+                    building.set(null);
+                    next.completeExceptionally(ex);
+                }
+            });
+            return next;
+        }
+    }
+
+    /** Waits for the rebuild in flight, if any. */
+    void awaitRebuild() {
+        CompletableFuture<SkillLshIndex> pending = building.get();
+        if (pending != null) pending.join();
+    }
+
+    public int getProbes() {
+        return probes;
+    }
+
+    public int getShortlistSize() {
+        return shortlistSize;
+    }
+
+    public long getShortlisted() {
+        return shortlisted.sum();
+    }
+
+    /** Mean distinct members found in the probed buckets, before the cut to the shortlist. */
+    public double getMeanRetrieved() {
+        long n = shortlisted.sum();
+        return n > 0 ? retrieved.sum() / (double) n : 0;
+    }
+
+    public long getFallbacks() {
+        return fallbacks.sum();
+    }
+
+    /** Indexes built, at {@link #prepare} or in the background after a roster change. */
+    public long getRebuilds() {
+        return rebuilds.sum();
+    }
+
+    /** Evaluations that scanned the whole roster because no index could serve it yet. */
+    public long getStaleScans() {
+        return staleScans.sum();
+    }
+
+    public long getSamples() {
+        return samples.sum();
+    }
+
+    /** Lifetime sampled recall@1, or NaN before the first sample. */
+    public double getRecall() {
+        long n = samples.sum();
+        return n > 0 ? hits.sum() / (double) n : Double.NaN;
+    }
+
+    private static final class Match {
+        private final SkillLshIndex index;
+        private final List<Member> members;
+
+        Match(SkillLshIndex index, List<Member> members) {
+            this.index = index;
+            this.members = members;
+        }
+    }
+}
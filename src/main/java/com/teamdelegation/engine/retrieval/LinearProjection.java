@@ -0,0 +1,100 @@
+package com.teamdelegation.engine.retrieval;
+
+import java.util.Set;
+import java.util.TreeMap;
+
+import com.teamdelegation.model.KeywordIds;
+import com.teamdelegation.model.Member;
+import com.teamdelegation.model.Task;
+
+/**
+ * The linear part of the engine's utility, as {@link SkillLshIndex} embeds it. A member is
+ * x = (E(s) for every skill, capacity, performance) and a task is q = (β·[s = primary] + σ·D(s)/ΣD, α, γ), so
+ * q·x approximates U_iℓ without the learning bonus and the θ_min gate (σ·D·E/ΣD stands in for the skill-fit
+ * term σ·Σ min(D, E)/ΣD).
+ * <p>
+ * Skill similarity alone is a poor proxy here: with the balanced weights, capacity and performance decide most
+ * ties among members who already cover the demand, so the embedding carries them too.
+ * <p>
+ * With w_o > 0, x also has a 1 for each of the member's keywords and q has w_o·|objectives naming w|/|Obj_T| for
+ * each objective word w. Then q·x ≥ w_o·Objective_m, with equality when no objective shares two words with the
+ * member, so members aligned with the objectives hash near the query as well.
+ */
+public final class LinearProjection {
+
+    private final double nominalCapacityWeeks;
+    private final double capacityWeight;
+    private final double expertiseWeight;
+    private final double skillFitWeight;
+    private final double performanceWeight;
+    private final double objectiveWeight;
+
+    public LinearProjection(double nominalCapacityWeeks, double capacityWeight, double expertiseWeight,
+                            double skillFitWeight, double performanceWeight, double objectiveWeight) {
+        this.nominalCapacityWeeks = nominalCapacityWeeks;
+        this.capacityWeight = capacityWeight;
+        this.expertiseWeight = expertiseWeight;
+        this.skillFitWeight = skillFitWeight;
+        this.performanceWeight = performanceWeight;
+        this.objectiveWeight = objectiveWeight;
+    }
+
+    /** Capacity score before any new task: 1 - w_load, clamped to [0, 1]. */
+    double capacity(Member member) {
+        return Math.max(0, Math.min(1, 1 - member.currentLoadRatio(nominalCapacityWeeks)));
+    }
+
+    /** Query weight of each of the task's required skills, aligned with {@link Task#getRequiredSkillIds()}. */
+    double[] skillWeights(Task task) {
+        int[] ids = task.getRequiredSkillIds();
+        double[] demand = task.getRequiredSkills().levels();
+        double total = task.getTotalDemand();
+        double[] weights = new double[ids.length];
+        for (int k = 0; k < ids.length; k++) {
+            weights[k] = (total > 0 ? skillFitWeight * demand[k] / total : 0)
+                    + (ids[k] == task.getPrimarySkillId() ? expertiseWeight : 0);
+        }
+        return weights;
+    }
+
+    double capacityWeight() {
+        return capacityWeight;
+    }
+
+    double performanceWeight() {
+        return performanceWeight;
+    }
+
+    double objectiveWeight() {
+        return objectiveWeight;
+    }
+
+    /** Keyword ids named by the task's objectives, ascending; words no member has were never interned. */
+    int[] objectiveWordIds(Task task) {
+        return objectiveWordCounts(task.getObjectives()).keySet().stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /** Query weight of each of {@code wordIds}, as returned by {@link #objectiveWordIds} for the same task. */
+    double[] objectiveWordWeights(Task task, int[] wordIds) {
+        double[] weights = new double[wordIds.length];
+        if (wordIds.length == 0) return weights;
+        TreeMap<Integer, Integer> counts = objectiveWordCounts(task.getObjectives());
+        for (int k = 0; k < wordIds.length; k++) {
+            weights[k] = objectiveWeight * counts.getOrDefault(wordIds[k], 0) / task.getObjectives().size();
+        }
+        return weights;
+    }
+
+    private static TreeMap<Integer, Integer> objectiveWordCounts(Set<String> objectives) {
+        TreeMap<Integer, Integer> counts = new TreeMap<>();
+        for (String objective : objectives) {
+            long[] words = KeywordIds.known(objective);
+            for (int w = 0; w < words.length; w++) {
+                for (long bits = words[w]; bits != 0; bits &= bits - 1) {
+                    counts.merge((w << 6) + Long.numberOfTrailingZeros(bits), 1, Integer::sum);
+                }
+            }
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,48 @@
+package com.teamdelegation.engine.retrieval;
+
+/**
+ * Shape of a {@link SkillLshIndex}: {@code tables} independent hash tables of {@code bits} random hyperplanes
+ * each. More tables raise recall at the cost of memory and candidates; more bits make buckets smaller.
+ * {@code probes} also visits the buckets one bit-flip away, closest margins first.
+ */
+public final class LshParameters {
+
+    private static final int MAX_BITS = 20;  // 2^20 bucket offsets per table
+
+    private final int tables;
+    private final int bits;
+    private final int probes;
+    private final long seed;
+
+    public LshParameters(int tables, int bits, int probes, long seed) {
+        if (tables < 1 || bits < 1 || bits > MAX_BITS || probes < 0 || probes > bits) {
+            throw new IllegalArgumentException("LSH needs tables >= 1, 1 <= bits <= " + MAX_BITS
+                    + " and 0 <= probes <= bits");
+        }
+        this.tables = tables;
+        this.bits = bits;
+        this.probes = probes;
+        this.seed = seed;
+    }
+
+    public static LshParameters defaults() {
+        return new LshParameters(8, 12, 2, 42L);
+    }
+
+    public int getTables() {
+        return tables;
+    }
+
+    public int getBits() {
+        return bits;
+    }
+
+    /** Extra buckets probed per table, each one bit-flip away from the query's own bucket. */
+    public int getProbes() {
+        return probes;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+}
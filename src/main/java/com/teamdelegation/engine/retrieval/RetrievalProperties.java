@@ -0,0 +1,124 @@
+package com.teamdelegation.engine.retrieval;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link CandidateRetrieval} for the default engine, e.g. {@code delegation.retrieval.enabled=true}.
+ */
+@Component
+@ConfigurationProperties(prefix = "delegation.retrieval")
+public class RetrievalProperties {
+
+    private boolean enabled;
+
+    /** Smaller rosters are always scanned exactly. */
+    private int minMembers = 5000;
+
+    /** Members scored exactly per evaluation. */
+    private int shortlist = 256;
+
+    private int tables = 8;
+
+    private int bits = 12;
+
+    private int probes = 2;
+
+    /** Sampled recall@1 below this adds a probe per table. */
+    private double targetRecall = 0.95;
+
+    /** Fraction of evaluations that also run the exact scan to measure recall. */
+    private double sampleRate = 0.01;
+
+    /** Samples per recall check. */
+    private int window = 200;
+
+    private long seed = 42L;
+
+    /** @return the retrieval to give the engine, or {@code null} when disabled */
+    public CandidateRetrieval toRetrieval() {
+        if (!enabled) return null;
+        return new CandidateRetrieval(new LshParameters(tables, bits, probes, seed), minMembers, shortlist,
+                targetRecall, sampleRate, window);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMinMembers() {
+        return minMembers;
+    }
+
+    public void setMinMembers(int minMembers) {
+        this.minMembers = minMembers;
+    }
+
+    public int getShortlist() {
+        return shortlist;
+    }
+
+    public void setShortlist(int shortlist) {
+        this.shortlist = shortlist;
+    }
+
+    public int getTables() {
+        return tables;
+    }
+
+    public void setTables(int tables) {
+        this.tables = tables;
+    }
+
+    public int getBits() {
+        return bits;
+    }
+
+    public void setBits(int bits) {
+        this.bits = bits;
+    }
+
+    public int getProbes() {
+        return probes;
+    }
+
+    public void setProbes(int probes) {
+        this.probes = probes;
+    }
+
+    public double getTargetRecall() {
+        return targetRecall;
+    }
+
+    public void setTargetRecall(double targetRecall) {
+        this.targetRecall = targetRecall;
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    public int getWindow() {
+        return window;
+    }
+
+    public void setWindow(int window) {
+        this.window = window;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+}
@@ -0,0 +1,367 @@
+package com.teamdelegation.engine.retrieval;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.teamdelegation.model.KeywordIds;
+import com.teamdelegation.model.Member;
+import com.teamdelegation.model.SkillIds;
+import com.teamdelegation.model.SkillProfile;
+import com.teamdelegation.model.Task;
+
+/**
+ * Random-projection LSH for maximum inner product search over members' {@link LinearProjection} embeddings. Member
+ * vectors are centred on the roster mean μ, which keeps the ranking (q·x = q·(x - μ) + q·μ) but spreads the
+ * all-positive vectors around the origin so the hyperplanes split them evenly. Each centred vector is then
+ * scaled by the largest norm M and extended with √(1 - ‖(x - μ)/M‖²). Every member therefore lies on the unit
+ * sphere, and the angle to a query q shrinks as q·x grows. Each table hashes a vector to the sign pattern of
+ * its dot products with {@code bits} Gaussian hyperplanes. Buckets are stored CSR-style: one offsets array per
+ * table plus the member indexes grouped by bucket.
+ * <p>
+ * A query unions its bucket in every table, plus the nearest buckets when probing. It then keeps the members
+ * with the highest q·x. The embedding reads each member's load when the index is built, so an index stays valid
+ * for as long as the same members are passed in the same order. Loads that changed since then only cost recall,
+ * because the engine rescores the shortlist exactly.
+ * <p>
+ * When the projection weighs objectives, each member keyword is one more dimension (see {@link LinearProjection}),
+ * hashed with its own Gaussian components like a skill, and the shortlist is ranked with the exact objective term.
+ */
+public final class SkillLshIndex {
+
+    private static final int CAPACITY = 0, PERFORMANCE = 1, NORM = 2;  // dimensions after the skills
+    private static final int WORD_BASE = -4;  // keyword w is hyperplane component WORD_BASE - w, clear of the extras
+    private static final int[] NO_WORDS = new int[0];
+
+    private final List<Member> roster;
+    private final Member[] members;
+    private final LshParameters parameters;
+    private final LinearProjection projection;
+    private final float[][] planes;   // [table * bits + bit][skill id], for ids interned before the build
+    private final float[][] extra;    // [table * bits + bit][CAPACITY | PERFORMANCE | NORM]
+    private final float[][] wordPlanes; // [table * bits + bit][keyword id], empty unless objectives are weighed
+    private final double[] centre;    // per hyperplane: its dot product with the skill part of μ
+    private final float[] capacity;   // capacity score per member at build time
+    private final int[][] offsets;    // per table: bucket b holds entries[offsets[b] .. offsets[b + 1])
+    private final int[][] entries;    // per table: roster indexes grouped by bucket
+
+    private SkillLshIndex(List<Member> roster, LshParameters parameters, LinearProjection projection,
+                          float[][] planes, float[][] extra, float[][] wordPlanes, double[] centre, float[] capacity,
+                          int[][] offsets, int[][] entries) {
+        this.roster = roster;
+        this.members = roster.toArray(new Member[0]);
+        this.parameters = parameters;
+        this.projection = projection;
+        this.planes = planes;
+        this.extra = extra;
+        this.wordPlanes = wordPlanes;
+        this.centre = centre;
+        this.capacity = capacity;
+        this.offsets = offsets;
+        this.entries = entries;
+    }
+
+    public static SkillLshIndex build(List<Member> members, LshParameters parameters, LinearProjection projection) {
+        int tables = parameters.getTables();
+        int bits = parameters.getBits();
+        int skills = SkillIds.size();
+        float[][] planes = new float[tables * bits][skills];
+        float[][] extra = new float[tables * bits][3];
+        for (int p = 0; p < planes.length; p++) {
+            for (int s = 0; s < skills; s++) {
+                planes[p][s] = (float) gaussian(parameters.getSeed(), p, s);
+            }
+            for (int d = 0; d < 3; d++) {
+                extra[p][d] = (float) gaussian(parameters.getSeed(), p, -1 - d);
+            }
+        }
+
+        int n = members.size();
+        // Keyword dimensions: x_w = 1 for each of the member's keywords, μ_w the share of members with w
+        boolean objectives = projection.objectiveWeight() > 0;
+        int[][] memberWords = new int[n][];
+        int vocabulary = objectives ? KeywordIds.size() : 0;
+        double[] meanWord = new double[vocabulary];
+        for (int i = 0; i < n; i++) {
+            memberWords[i] = objectives ? wordIds(members.get(i).getKeywords(), vocabulary) : NO_WORDS;
+            for (int w : memberWords[i]) meanWord[w] += 1.0 / n;
+        }
+        float[][] wordPlanes = new float[planes.length][vocabulary];
+        for (int p = 0; p < planes.length; p++) {
+            for (int w = 0; w < vocabulary; w++) {
+                if (meanWord[w] > 0) wordPlanes[p][w] = (float) gaussian(parameters.getSeed(), p, WORD_BASE - w);
+            }
+        }
+
+        float[] capacity = new float[n];
+        double[] meanSkill = new double[skills];
+        double meanCapacity = 0, meanPerformance = 0;
+        for (int i = 0; i < n; i++) {
+            Member m = members.get(i);
+            capacity[i] = (float) projection.capacity(m);
+            meanCapacity += capacity[i] / n;
+            meanPerformance += m.getRecentPerformance() / n;
+            int[] ids = m.getExpertise().skillIds();
+            double[] levels = m.getExpertise().levels();
+            for (int k = 0; k < ids.length; k++) {
+                if (ids[k] < skills) meanSkill[ids[k]] += levels[k] / n;
+            }
+        }
+        double meanSquare = meanCapacity * meanCapacity + meanPerformance * meanPerformance;
+        for (double mu : meanSkill) meanSquare += mu * mu;
+        for (double mu : meanWord) meanSquare += mu * mu;
+        double[] centre = new double[planes.length];
+        for (int p = 0; p < planes.length; p++) {
+            for (int s = 0; s < skills; s++) centre[p] += planes[p][s] * meanSkill[s];
+            for (int w = 0; w < vocabulary; w++) centre[p] += wordPlanes[p][w] * meanWord[w];
+        }
+
+        // ‖x - μ‖² = Σ over the member's skills and keywords of (x_s - μ_s)² - μ_s², plus ‖μ‖², plus the two extra
+        // dimensions
+        double[] norms = new double[n];
+        double maxNorm = 0;
+        for (int i = 0; i < n; i++) {
+            Member m = members.get(i);
+            double dc = capacity[i] - meanCapacity, dp = m.getRecentPerformance() - meanPerformance;
+            double sq = meanSquare - meanCapacity * meanCapacity - meanPerformance * meanPerformance + dc * dc + dp * dp;
+            int[] ids = m.getExpertise().skillIds();
+            double[] levels = m.getExpertise().levels();
+            for (int k = 0; k < ids.length; k++) {
+                double mu = ids[k] < skills ? meanSkill[ids[k]] : 0;
+                sq += (levels[k] - mu) * (levels[k] - mu) - mu * mu;
+            }
+            for (int w : memberWords[i]) {
+                sq += (1 - meanWord[w]) * (1 - meanWord[w]) - meanWord[w] * meanWord[w];
+            }
+            norms[i] = Math.sqrt(Math.max(0, sq));
+            maxNorm = Math.max(maxNorm, norms[i]);
+        }
+        double scale = maxNorm > 0 ? 1 / maxNorm : 1;
+
+        int[][] codes = new int[tables][n];
+        double[] margins = new double[bits];
+        for (int i = 0; i < n; i++) {
+            Member m = members.get(i);
+            double lift = Math.sqrt(Math.max(0, 1 - norms[i] * scale * norms[i] * scale));
+            for (int t = 0; t < tables; t++) {
+                codes[t][i] = hash(planes, extra, wordPlanes, centre, parameters, t, m.getExpertise().skillIds(),
+                        m.getExpertise().levels(), memberWords[i], null, scale, (capacity[i] - meanCapacity) * scale,
+                        (m.getRecentPerformance() - meanPerformance) * scale, lift, margins);
+            }
+        }
+
+        // Counting sort per table: offsets from bucket sizes, then scatter
+        int buckets = 1 << bits;
+        int[][] offsets = new int[tables][];
+        int[][] entries = new int[tables][];
+        for (int t = 0; t < tables; t++) {
+            int[] start = new int[buckets + 1];
+            for (int i = 0; i < n; i++) start[codes[t][i] + 1]++;
+            for (int b = 0; b < buckets; b++) start[b + 1] += start[b];
+            int[] fill = Arrays.copyOf(start, buckets);
+            int[] grouped = new int[n];
+            for (int i = 0; i < n; i++) grouped[fill[codes[t][i]]++] = i;
+            offsets[t] = start;
+            entries[t] = grouped;
+        }
+        return new SkillLshIndex(List.copyOf(members), parameters, projection, planes, extra, wordPlanes, centre,
+                capacity, offsets, entries);
+    }
+
+    /** True when this index was built from exactly these members, in this order. */
+    public boolean covers(List<Member> list) {
+        if (list == roster) return true;
+        if (list.size() != members.length) return false;
+        for (int i = 0; i < members.length; i++) {
+            if (list.get(i) != members[i]) return false;
+        }
+        return true;
+    }
+
+    /** True when these members start with exactly the ones this index was built from, in this order. */
+    public boolean isPrefixOf(List<Member> list) {
+        if (list.size() < members.length) return false;
+        for (int i = 0; i < members.length; i++) {
+            if (list.get(i) != members[i]) return false;
+        }
+        return true;
+    }
+
+    public int size() {
+        return members.length;
+    }
+
+    public LshParameters getParameters() {
+        return parameters;
+    }
+
+    /**
+     * Up to {@code limit} roster indexes with the highest q·x among the members retrieved for {@code task}, in
+     * ascending roster order. {@code probes} (at most the bit count) overrides the parameters' probe depth.
+     */
+    public Shortlist shortlist(Task task, int probes, int limit) {
+        int tables = parameters.getTables();
+        int bits = parameters.getBits();
+        int flips = Math.min(probes, bits);
+        int[] ids = task.getRequiredSkillIds();
+        double[] weights = projection.skillWeights(task);
+        double capacityWeight = projection.capacityWeight();
+        double performanceWeight = projection.performanceWeight();
+        boolean objectives = projection.objectiveWeight() > 0 && !task.getObjectives().isEmpty();
+        int[] words = objectives ? projection.objectiveWordIds(task) : NO_WORDS;
+        double[] wordWeights = projection.objectiveWordWeights(task, words);
+        double objectiveShare = objectives ? projection.objectiveWeight() / task.getObjectives().size() : 0;
+
+        int[] candidates = new int[64];
+        int count = 0;
+        double[] margins = new double[bits];
+        int[] order = new int[bits];
+        for (int t = 0; t < tables; t++) {
+            int code = hash(planes, extra, wordPlanes, null, parameters, t, ids, weights, words, wordWeights, 1,
+                    capacityWeight, performanceWeight, 0, margins);
+            sortByMargin(margins, order);
+            for (int probe = 0; probe <= flips; probe++) {
+                int bucket = probe == 0 ? code : code ^ (1 << order[probe - 1]);
+                int from = offsets[t][bucket], to = offsets[t][bucket + 1];
+                if (count + (to - from) > candidates.length) {
+                    candidates = Arrays.copyOf(candidates, Math.max(candidates.length * 2, count + (to - from)));
+                }
+                System.arraycopy(entries[t], from, candidates, count, to - from);
+                count += to - from;
+            }
+        }
+        Arrays.sort(candidates, 0, count);
+
+        // Pack (q·x, ~index) so one primitive sort ranks by score, lower roster index first on ties
+        long[] ranked = new long[count];
+        int unique = 0;
+        for (int k = 0; k < count; k++) {
+            int i = candidates[k];
+            if (k > 0 && i == candidates[k - 1]) continue;
+            SkillProfile expertise = members[i].getExpertise();
+            double score = capacityWeight * capacity[i] + performanceWeight * members[i].getRecentPerformance();
+            for (int s = 0; s < ids.length; s++) score += weights[s] * expertise.getLevel(ids[s]);
+            if (objectives) score += objectiveShare * task.objectivesMatching(members[i].getKeywords());
+            ranked[unique++] = ((long) sortableBits((float) score) << 32) | (~i & 0xffffffffL);
+        }
+        Arrays.sort(ranked, 0, unique);
+        int kept = Math.min(limit, unique);
+        int[] rows = new int[kept];
+        for (int k = 0; k < kept; k++) {
+            rows[k] = ~(int) ranked[unique - 1 - k];
+        }
+        Arrays.sort(rows);
+        return new Shortlist(rows, unique);
+    }
+
+    // Float bits as a signed int that orders like the float, negatives included
+    private static int sortableBits(float f) {
+        int bits = Float.floatToIntBits(f);
+        return bits >= 0 ? bits : bits ^ 0x7fffffff;
+    }
+
+    // Sign pattern of the dot products with this table's hyperplanes; margins[b] = |dot| for probing.
+    // centre is null for queries, which are not shifted by μ; wordWeights null means 1 per word.
+    private static int hash(float[][] planes, float[][] extra, float[][] wordPlanes, double[] centre,
+                            LshParameters parameters, int table, int[] ids, double[] levels, int[] words,
+                            double[] wordWeights, double scale, double capacity, double performance, double lift,
+                            double[] margins) {
+        int bits = parameters.getBits();
+        int code = 0;
+        for (int b = 0; b < bits; b++) {
+            int p = table * bits + b;
+            float[] plane = planes[p];
+            double dot = 0;
+            for (int k = 0; k < ids.length; k++) {
+                int s = ids[k];
+                double w = s < plane.length ? plane[s] : gaussian(parameters.getSeed(), p, s);
+                dot += w * levels[k];
+            }
+            // Words no indexed member has are zero in every member vector, so they are left out of the query too
+            float[] wordPlane = wordPlanes[p];
+            for (int k = 0; k < words.length; k++) {
+                int word = words[k];
+                if (word < wordPlane.length) dot += wordPlane[word] * (wordWeights != null ? wordWeights[k] : 1);
+            }
+            if (centre != null) dot -= centre[p];
+            dot = dot * scale + extra[p][CAPACITY] * capacity + extra[p][PERFORMANCE] * performance
+                    + extra[p][NORM] * lift;
+            if (dot >= 0) code |= 1 << b;
+            margins[b] = Math.abs(dot);
+        }
+        return code;
+    }
+
+    // Ids of the set bits below vocabulary; words interned after the index was sized are left out
+    private static int[] wordIds(long[] keywords, int vocabulary) {
+        int count = 0;
+        for (long bits : keywords) count += Long.bitCount(bits);
+        int[] ids = new int[count];
+        int k = 0;
+        for (int w = 0; w < keywords.length; w++) {
+            for (long bits = keywords[w]; bits != 0; bits &= bits - 1) {
+                int id = (w << 6) + Long.numberOfTrailingZeros(bits);
+                if (id < vocabulary) ids[k++] = id;
+            }
+        }
+        return k == count ? ids : Arrays.copyOf(ids, k);
+    }
+
+    // Bit positions by ascending margin: the cheapest bits to flip come first
+    private static void sortByMargin(double[] margins, int[] order) {
+        for (int b = 0; b < order.length; b++) order[b] = b;
+        for (int i = 1; i < order.length; i++) {
+            int bit = order[i];
+            int j = i - 1;
+            while (j >= 0 && margins[order[j]] > margins[bit]) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = bit;
+        }
+    }
+
+    // N(0, 1) hyperplane component for (plane, skill), reproducible from the seed alone (Box–Muller)
+    private static double gaussian(long seed, int plane, int skill) {
+        long h = mix(seed ^ (plane * 0x9E3779B97F4A7C15L) ^ (skill * 0xC2B2AE3D27D4EB4FL));
+        double u1 = ((h >>> 11) + 1) * 0x1.0p-53;
+        double u2 = (mix(h) >>> 11) * 0x1.0p-53;
+        return Math.sqrt(-2 * Math.log(u1)) * Math.cos(2 * Math.PI * u2);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /** Roster indexes to score exactly, plus how many distinct members the buckets held. */
+    public static final class Shortlist {
+        private final int[] rows;
+        private final int retrieved;
+
+        Shortlist(int[] rows, int retrieved) {
+            this.rows = rows;
+            this.retrieved = retrieved;
+        }
+
+        /** Ascending roster indexes. Shared, do not modify. */
+        public int[] rows() {
+            return rows;
+        }
+
+        public int getRetrieved() {
+            return retrieved;
+        }
+
+        public boolean contains(int rosterIndex) {
+            return Arrays.binarySearch(rows, rosterIndex) >= 0;
+        }
+
+        /** This shortlist plus every roster index in [from, to), all above its rows. */
+        Shortlist plus(int from, int to) {
+            int[] all = Arrays.copyOf(rows, rows.length + (to - from));
+            for (int i = from; i < to; i++) all[rows.length + i - from] = i;
+            return new Shortlist(all, retrieved + (to - from));
+        }
+    }
+}
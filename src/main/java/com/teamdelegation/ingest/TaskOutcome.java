@@ -0,0 +1,55 @@
+package com.teamdelegation.ingest;
+
+import com.teamdelegation.model.Task;
+import com.teamdelegation.model.TaskAssignment;
+
+/**
+ * What happened to one task on a stream: committed to a member, left unstaffed, or taken back from a member so
+ * that a more urgent task could be staffed. A bumped task is published again once it is re-placed or dropped.
+ */
+public final class TaskOutcome {
+
+    public enum Kind { ASSIGNED, UNASSIGNED, PREEMPTED }
+
+    private final Kind kind;
+    private final Task task;
+    private final TaskAssignment assignment;  // null when unassigned
+    private final Task preemptor;             // set when preempted
+
+    private TaskOutcome(Kind kind, Task task, TaskAssignment assignment, Task preemptor) {
+        this.kind = kind;
+        this.task = task;
+        this.assignment = assignment;
+        this.preemptor = preemptor;
+    }
+
+    public static TaskOutcome assigned(TaskAssignment assignment) {
+        return new TaskOutcome(Kind.ASSIGNED, assignment.getTask(), assignment, null);
+    }
+
+    public static TaskOutcome unassigned(Task task) {
+        return new TaskOutcome(Kind.UNASSIGNED, task, null, null);
+    }
+
+    /** @param bumped the commitment that no longer holds */
+    public static TaskOutcome preempted(TaskAssignment bumped, Task preemptor) {
+        return new TaskOutcome(Kind.PREEMPTED, bumped.getTask(), bumped, preemptor);
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public Task getTask() {
+        return task;
+    }
+
+    /** The new commitment, or for {@link Kind#PREEMPTED} the one taken back; {@code null} when unassigned. */
+    public TaskAssignment getAssignment() {
+        return assignment;
+    }
+
+    public Task getPreemptor() {
+        return preemptor;
+    }
+}
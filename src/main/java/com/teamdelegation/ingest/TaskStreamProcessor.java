@@ -0,0 +1,363 @@
+package com.teamdelegation.ingest;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.teamdelegation.engine.AssignmentEngine;
+import com.teamdelegation.engine.AssignmentListener;
+import com.teamdelegation.engine.CapacityLedger;
+import com.teamdelegation.engine.LaneAssigner;
+import com.teamdelegation.engine.PreemptionPolicy;
+import com.teamdelegation.model.Member;
+import com.teamdelegation.model.Task;
+import com.teamdelegation.model.TaskAssignment;
+
+/**
+ * Pipeline stage from a stream of tasks to a stream of {@link TaskOutcome}s: a {@link Flow.Processor} over one
+ * {@link LaneAssigner}, so loads, rule state and commitments carry over from one micro-batch to the next.
+ * <p>
+ * Tasks are grouped into micro-batches of up to {@code maxBatch}. A batch is flushed when it is full, or
+ * {@code window} after its first task arrived, whichever comes first. Each batch is submitted and drained in one
+ * go, and everything that happens to a task is published downstream in order: its commitment, its preemption by
+ * the {@link PreemptionPolicy} and its re-placement, or that nobody could take it. The latest outcome of a task is
+ * the one that holds.
+ * <p>
+ * Backpressure: upstream is only ever asked for as many tasks as fit in {@code maxBuffered}, counting tasks not yet
+ * assigned and outcomes not yet delivered. A slow engine or a slow subscriber therefore stalls the producer
+ * instead of growing a queue. All batching, assignment and delivery run on one worker thread owned by the
+ * processor; {@link #close()} stops it. The assigner is opened with {@link AssignmentEngine#openStream}, so it
+ * only remembers commitments a later preemption could still take back, and its rule state is bounded the same way.
+ * Memory therefore depends on the roster and the buffer, not on how long the stream runs.
+ * <p>
+ * With a {@link CapacityLedger}, every commitment is reserved in it while the stream runs, so concurrent batches
+ * on the same roster cannot overbook members the stream has committed. Bumps hand their weeks to the preemptor,
+ * and everything still held is released once the worker has stopped.
+ * <p>
+ * Loads only grow: a stream that outlives its planning period should be closed and a new one opened on the
+ * current roster.
+ */
+public final class TaskStreamProcessor implements Flow.Processor<Task, TaskOutcome>, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskStreamProcessor.class);
+
+    private final LaneAssigner lanes;
+    private final int maxBatch;
+    private final long windowNanos;
+    private final int maxBuffered;
+    private final ScheduledExecutorService worker;
+
+    private final ConcurrentLinkedQueue<Task> inbox = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger buffered = new AtomicInteger();     // tasks in the inbox
+    private final AtomicInteger outstanding = new AtomicInteger();  // requested from upstream, not yet received
+
+    // Worker-thread state
+    private final ArrayDeque<TaskOutcome> outbox = new ArrayDeque<>();
+    private Flow.Subscription upstream;
+    private Flow.Subscriber<? super TaskOutcome> downstream;
+    private long demand;
+    private boolean upstreamDone;
+    private Throwable upstreamError;
+    private boolean finished;
+
+    private volatile long batches;
+    private volatile long tasks;
+    private volatile long published;
+    private volatile long unassigned;
+    private volatile long preempted;
+    private volatile int maxBufferedSeen;
+    private volatile long maxBatchNanos;
+
+    public TaskStreamProcessor(AssignmentEngine engine, List<Member> members, PreemptionPolicy policy,
+                               int maxBatch, Duration window, int maxBuffered) {
+        this(engine, members, policy, maxBatch, window, maxBuffered, null);
+    }
+
+    public TaskStreamProcessor(AssignmentEngine engine, List<Member> members, PreemptionPolicy policy,
+                               int maxBatch, Duration window, int maxBuffered, CapacityLedger ledger) {
+        if (maxBatch < 1 || maxBuffered < maxBatch) {
+            throw new IllegalArgumentException("Need 1 <= maxBatch <= maxBuffered");
+        }
+        this.lanes = engine.openStream(members, policy, new Collector(), ledger);
+        this.maxBatch = maxBatch;
+        this.windowNanos = window.toNanos();
+        this.maxBuffered = maxBuffered;
+        this.worker = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread thread = new Thread(r, "task-stream");
+            thread.setDaemon(true);
+            return thread;
+        }) {
+            // However the stream ended, the assigner is no longer drained once the worker is done
+            @Override
+            protected void terminated() {
+                lanes.releaseReservations();
+            }
+        };
+    }
+
+    // --- Subscriber side (upstream calls these from its own threads) ---
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        schedule(() -> {
+            if (upstream != null) {
+                subscription.cancel();
+                return;
+            }
+            upstream = subscription;
+            replenish();
+        }, 0);
+    }
+
+    @Override
+    public void onNext(Task task) {
+        outstanding.decrementAndGet();
+        inbox.add(task);
+        int count = buffered.incrementAndGet();
+        if (count == 1) {
+            schedule(this::flush, windowNanos);
+        }
+        if (count == maxBatch) {
+            schedule(this::flush, 0);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        schedule(() -> {
+            upstreamError = throwable;
+            upstreamDone = true;
+            flushAll();
+        }, 0);
+    }
+
+    @Override
+    public void onComplete() {
+        schedule(() -> {
+            upstreamDone = true;
+            flushAll();
+        }, 0);
+    }
+
+    // --- Publisher side ---
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super TaskOutcome> subscriber) {
+        schedule(() -> {
+            if (downstream != null) {
+                subscriber.onSubscribe(new Flow.Subscription() {
+                    @Override
+                    public void request(long n) {
+                    }
+
+                    @Override
+                    public void cancel() {
+                    }
+                });
+                subscriber.onError(new IllegalStateException("TaskStreamProcessor supports a single subscriber"));
+                return;
+            }
+            downstream = subscriber;
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                    schedule(() -> {
+                        if (n <= 0) {
+                            fail(new IllegalArgumentException("Subscription request must be positive: " + n));
+                            return;
+                        }
+                        demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+                        deliver();
+                    }, 0);
+                }
+
+                @Override
+                public void cancel() {
+                    schedule(() -> {
+                        finished = true;
+                        if (upstream != null) upstream.cancel();
+                        worker.shutdown();
+                    }, 0);
+                }
+            });
+            deliver();
+        }, 0);
+    }
+
+    // --- Worker ---
+
+    private void flush() {
+        if (finished) return;
+        List<Task> batch = new ArrayList<>(maxBatch);
+        Task task;
+        while (batch.size() < maxBatch && (task = inbox.poll()) != null) {
+            batch.add(task);
+        }
+        if (!batch.isEmpty()) {
+            int left = buffered.addAndGet(-batch.size());
+            process(batch);
+            if (left >= maxBatch) {
+                schedule(this::flush, 0);
+            } else if (left > 0) {
+                schedule(this::flush, windowNanos);
+            }
+        }
+        deliver();
+    }
+
+    // Tasks taken into a batch leave the inbox count at once, so a full inbox can trigger the next flush while this
+    // one runs; the repeated flush then finds nothing left and is a no-op.
+    private void flushAll() {
+        while (!finished && buffered.get() > 0) {
+            flush();
+        }
+        deliver();
+    }
+
+    private void process(List<Task> batch) {
+        long start = System.nanoTime();
+        for (Task task : batch) {
+            lanes.submit(task);
+        }
+        try {
+            lanes.drain();
+        } catch (RuntimeException ex) {
+            fail(ex);
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        batches++;
+        tasks += batch.size();
+        if (elapsed > maxBatchNanos) maxBatchNanos = elapsed;
+        int held = buffered.get() + outbox.size();
+        if (held > maxBufferedSeen) maxBufferedSeen = held;
+    }
+
+    private void deliver() {
+        while (!finished && downstream != null && demand > 0 && !outbox.isEmpty()) {
+            demand--;
+            published++;
+            downstream.onNext(outbox.poll());
+        }
+        if (finished) return;
+        if (upstreamDone && buffered.get() == 0 && outbox.isEmpty() && downstream != null) {
+            finished = true;
+            if (upstreamError != null) {
+                downstream.onError(upstreamError);
+            } else {
+                downstream.onComplete();
+            }
+            worker.shutdown();
+            return;
+        }
+        replenish();
+    }
+
+    // Asks upstream for whatever fits in maxBuffered beside the queued tasks and undelivered assignments
+    private void replenish() {
+        if (upstream == null || upstreamDone || finished) return;
+        int room = maxBuffered - buffered.get() - outbox.size() - outstanding.get();
+        if (room > 0) {
+            outstanding.addAndGet(room);
+            upstream.request(room);
+        }
+    }
+
+    // Work handed to the worker after it stopped (late upstream signals, repeated close) is dropped
+    private void schedule(Runnable action, long delayNanos) {
+        try {
+            if (delayNanos > 0) {
+                worker.schedule(action, delayNanos, TimeUnit.NANOSECONDS);
+            } else {
+                worker.execute(action);
+            }
+        } catch (RejectedExecutionException ignored) {
+            // stopped
+        }
+    }
+
+    private void fail(Throwable error) {
+        if (finished) return;
+        finished = true;
+        log.warn("Task stream failed", error);
+        if (upstream != null) upstream.cancel();
+        if (downstream != null) downstream.onError(error);
+        worker.shutdown();
+    }
+
+    /** Micro-batches assigned so far. */
+    public long getBatches() {
+        return batches;
+    }
+
+    public long getTasks() {
+        return tasks;
+    }
+
+    public long getPublished() {
+        return published;
+    }
+
+    /** Tasks no member could take when their batch was drained. */
+    public long getUnassigned() {
+        return unassigned;
+    }
+
+    /** Commitments taken back to staff a more urgent task. */
+    public long getPreempted() {
+        return preempted;
+    }
+
+    /**
+     * High-water mark of queued tasks, the batch in hand and undelivered outcomes. At most {@code maxBuffered}
+     * plus the outcomes of bumped tasks, which are published without having been requested.
+     */
+    public int getMaxBufferedSeen() {
+        return maxBufferedSeen;
+    }
+
+    public long getMaxBatchNanos() {
+        return maxBatchNanos;
+    }
+
+    @Override
+    public void close() {
+        if (worker.isShutdown()) return;
+        schedule(() -> {
+            finished = true;
+            if (upstream != null) upstream.cancel();
+        }, 0);
+        worker.shutdown();
+    }
+
+    // Runs inside lanes.drain(), on the worker
+    private final class Collector implements AssignmentListener {
+        @Override
+        public void onAssigned(TaskAssignment assignment) {
+            outbox.add(TaskOutcome.assigned(assignment));
+        }
+
+        @Override
+        public void onUnassigned(Task task) {
+            unassigned++;
+            outbox.add(TaskOutcome.unassigned(task));
+        }
+
+        @Override
+        public void onPreempted(TaskAssignment bumped, Task preemptor) {
+            preempted++;
+            outbox.add(TaskOutcome.preempted(bumped, preemptor));
+        }
+    }
+}
@@ -0,0 +1,420 @@
+package com.teamdelegation.journal;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import com.teamdelegation.model.AssignmentDecision;
+import com.teamdelegation.model.AssignmentInsight;
+import com.teamdelegation.model.Member;
+import com.teamdelegation.model.ProjectDemand;
+import com.teamdelegation.model.TaskAssignment;
+import com.teamdelegation.model.Urgency;
+
+/**
+ * Append-only journal of every {@link AssignmentDecision}, with its inputs and engine configuration.
+ * <p>
+ * Records are written to numbered segment files ({@code decisions-00000001.seg}, rolled at a size limit) as
+ * {@code [int length][int crc32][payload]} frames with a compact binary payload. A record larger than the limit
+ * gets a segment of its own. A record's address is {@code segment << 40 | offset}. Appends are time-ordered, so
+ * addresses grow with time. Each record keeps the scores of the {@code maxInsights} best members (and the
+ * assignee's), not the whole roster's, so its size does not grow with the roster.
+ * <p>
+ * The heap holds only primitive posting lists of addresses: all records by time, by assignee, and by project.
+ * A query turns its time range into an address range by binary search. It then walks the smallest matching
+ * posting list and reads just those records from disk, one at a time. On open the indexes are rebuilt by
+ * scanning the segments, and a torn record at the end of the last segment is truncated.
+ */
+public final class DecisionJournal implements Closeable {
+
+    private static final String SEGMENT_PREFIX = "decisions-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final int FRAME_HEADER_BYTES = 8;
+    private static final int OFFSET_BITS = 40;
+    private static final long OFFSET_MASK = (1L << OFFSET_BITS) - 1;
+
+    public static final int DEFAULT_MAX_INSIGHTS = 20;
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final int maxInsights;
+    private final Clock clock;
+
+    private final LongArray timestamps = new LongArray();
+    private final LongArray addresses = new LongArray();
+    private final Map<String, LongArray> byMember = new ConcurrentHashMap<>();
+    private final Map<String, LongArray> byProject = new ConcurrentHashMap<>();
+    private final Map<Integer, FileChannel> readers = new ConcurrentHashMap<>();
+
+    private FileChannel writer;
+    private int writerSegment;
+    private long writerOffset;
+    private long lastTimestamp;
+
+    private DecisionJournal(Path directory, long segmentBytes, int maxInsights, Clock clock) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.maxInsights = maxInsights;
+        this.clock = clock;
+    }
+
+    public static DecisionJournal open(Path directory, long segmentBytes) throws IOException {
+        return open(directory, segmentBytes, DEFAULT_MAX_INSIGHTS);
+    }
+
+    public static DecisionJournal open(Path directory, long segmentBytes, int maxInsights) throws IOException {
+        return open(directory, segmentBytes, maxInsights, Clock.systemUTC());
+    }
+
+    public static DecisionJournal open(Path directory, long segmentBytes, Clock clock) throws IOException {
+        return open(directory, segmentBytes, DEFAULT_MAX_INSIGHTS, clock);
+    }
+
+    public static DecisionJournal open(Path directory, long segmentBytes, int maxInsights, Clock clock)
+            throws IOException {
+        Files.createDirectories(directory);
+        DecisionJournal journal = new DecisionJournal(directory, Math.max(4096, segmentBytes), Math.max(0, maxInsights),
+                clock);
+        journal.recover();
+        return journal;
+    }
+
+    /** Appends a decision and returns its timestamp. */
+    public synchronized long append(AssignmentDecision decision, double capacityWeeks, String utilityModel)
+            throws IOException {
+        long timestamp = Math.max(clock.millis(), lastTimestamp);  // keep the time index monotonic
+        byte[] payload = encode(timestamp, decision, capacityWeeks, utilityModel);
+
+        // A record larger than segmentBytes lands at offset 0 of a fresh segment and the next append rolls past it
+        if (writerOffset > 0 && writerOffset + FRAME_HEADER_BYTES + payload.length > segmentBytes) {
+            writer.close();
+            openWriter(writerSegment + 1);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        ByteBuffer frame = ByteBuffer.allocate(FRAME_HEADER_BYTES + payload.length);
+        frame.putInt(payload.length).putInt((int) crc.getValue()).put(payload).flip();
+        long offset = writerOffset;
+        while (frame.hasRemaining()) {
+            writerOffset += writer.write(frame, writerOffset);
+        }
+
+        Member assignee = decision.getAssignee();
+        index(timestamp, address(writerSegment, offset), decision.getDemand().getProjectName(),
+                assignee != null ? assignee.getName() : null);
+        lastTimestamp = timestamp;
+        return timestamp;
+    }
+
+    /** Forces appended records to the storage device. */
+    public synchronized void sync() throws IOException {
+        writer.force(false);
+    }
+
+    public int size() {
+        return addresses.size();
+    }
+
+    /**
+     * Visits matching decisions oldest first until {@code visitor} returns false.
+     *
+     * @param member     assignee filter, or {@code null}
+     * @param project    project filter, or {@code null}
+     * @param fromMillis inclusive lower time bound
+     * @param toMillis   exclusive upper time bound
+     * @return number of entries visited
+     */
+    public int scan(String member, String project, long fromMillis, long toMillis, Predicate<JournalEntry> visitor) {
+        int total = addresses.size();
+        int first = timestamps.lowerBound(fromMillis, total);
+        int last = timestamps.lowerBound(toMillis, total);
+        if (first >= last) return 0;
+        long lowAddress = addresses.get(first);
+        long highAddress = last < total ? addresses.get(last) : Long.MAX_VALUE;
+
+        LongArray memberPostings = member != null ? byMember.get(member) : null;
+        LongArray projectPostings = project != null ? byProject.get(project) : null;
+        if ((member != null && memberPostings == null) || (project != null && projectPostings == null)) return 0;
+
+        LongArray driver = addresses;
+        LongArray other = null;
+        if (memberPostings != null && projectPostings != null) {
+            boolean memberSmaller = memberPostings.size() <= projectPostings.size();
+            driver = memberSmaller ? memberPostings : projectPostings;
+            other = memberSmaller ? projectPostings : memberPostings;
+        } else if (memberPostings != null) {
+            driver = memberPostings;
+        } else if (projectPostings != null) {
+            driver = projectPostings;
+        }
+
+        int visited = 0;
+        int limit = driver.size();
+        for (int i = driver.lowerBound(lowAddress, limit); i < limit; i++) {
+            long address = driver.get(i);
+            if (address >= highAddress) break;
+            if (other != null) {
+                int j = other.lowerBound(address, other.size());
+                if (j >= other.size() || other.get(j) != address) continue;
+            }
+            visited++;
+            if (!visitor.test(read(address))) break;
+        }
+        return visited;
+    }
+
+    /** Convenience wrapper over {@link #scan} collecting at most {@code limit} entries. */
+    public List<JournalEntry> query(String member, String project, long fromMillis, long toMillis, int limit) {
+        List<JournalEntry> entries = new ArrayList<>();
+        if (limit <= 0) return entries;
+        scan(member, project, fromMillis, toMillis, entry -> {
+            entries.add(entry);
+            return entries.size() < limit;
+        });
+        return entries;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (writer != null) writer.close();
+        for (FileChannel reader : readers.values()) reader.close();
+        readers.clear();
+    }
+
+    // --- recovery ---
+
+    private void recover() throws IOException {
+        List<Integer> segments = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(p -> p.getFileName().toString())
+                    .filter(n -> n.startsWith(SEGMENT_PREFIX) && n.endsWith(SEGMENT_SUFFIX))
+                    .forEach(n -> segments.add(Integer.parseInt(
+                            n.substring(SEGMENT_PREFIX.length(), n.length() - SEGMENT_SUFFIX.length()))));
+        }
+        segments.sort(null);
+        for (int i = 0; i < segments.size(); i++) {
+            long validBytes = rebuildIndex(segments.get(i));
+            boolean lastSegment = i == segments.size() - 1;
+            if (validBytes < Files.size(segmentPath(segments.get(i)))) {
+                if (!lastSegment) {
+                    throw new IOException("Corrupt journal segment " + segmentPath(segments.get(i)));
+                }
+                try (FileChannel channel = FileChannel.open(segmentPath(segments.get(i)), StandardOpenOption.WRITE)) {
+                    channel.truncate(validBytes);
+                }
+            }
+        }
+        openWriter(segments.isEmpty() ? 1 : segments.get(segments.size() - 1));
+    }
+
+    private long rebuildIndex(int segment) throws IOException {
+        long size = Files.size(segmentPath(segment));
+        long offset = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                Files.newInputStream(segmentPath(segment)), 1 << 16))) {
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException ex) {
+                    return offset;
+                }
+                int expectedCrc;
+                byte[] payload;
+                try {
+                    expectedCrc = in.readInt();
+                    // Only the file bounds a length: a record larger than segmentBytes was written whole to its own segment
+                    if (length < 0 || length > size - offset - FRAME_HEADER_BYTES) return offset;
+                    payload = in.readNBytes(length);
+                } catch (EOFException ex) {
+                    return offset;
+                }
+                if (payload.length < length || crc(payload) != expectedCrc) return offset;
+
+                DataInputStream record = new DataInputStream(new ByteArrayInputStream(payload));
+                long timestamp = record.readLong();
+                String project = record.readUTF();
+                String assignee = record.readUTF();
+                index(timestamp, address(segment, offset), project, assignee.isEmpty() ? null : assignee);
+                lastTimestamp = Math.max(lastTimestamp, timestamp);
+                offset += FRAME_HEADER_BYTES + length;
+            }
+        }
+    }
+
+    private void openWriter(int segment) throws IOException {
+        writerSegment = segment;
+        writer = FileChannel.open(segmentPath(segment), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        writerOffset = writer.size();
+    }
+
+    private void index(long timestamp, long address, String project, String assignee) {
+        timestamps.add(timestamp);
+        addresses.add(address);
+        byProject.computeIfAbsent(project, k -> new LongArray()).add(address);
+        if (assignee != null) {
+            byMember.computeIfAbsent(assignee, k -> new LongArray()).add(address);
+        }
+    }
+
+    // --- record codec ---
+
+    private byte[] encode(long timestamp, AssignmentDecision decision, double capacityWeeks, String utilityModel)
+            throws IOException {
+        ProjectDemand demand = decision.getDemand();
+        Member assignee = decision.getAssignee();
+        double assigneeUtility = decision.getTaskAssignments().stream()
+                .mapToDouble(TaskAssignment::getUtilityScore).findFirst().orElse(0);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        DataOutputStream out = new DataOutputStream(bytes);
+        // index prefix: read back by recovery without decoding the rest
+        out.writeLong(timestamp);
+        out.writeUTF(demand.getProjectName());
+        out.writeUTF(assignee != null ? assignee.getName() : "");
+
+        out.writeDouble(assigneeUtility);
+        out.writeDouble(demand.getDurationWeeks());
+        out.writeByte(demand.getUrgency().ordinal());
+        out.writeBoolean(demand.isLearningOpportunity());
+        out.writeDouble(capacityWeeks);
+        out.writeUTF(utilityModel);
+
+        Map<String, Double> skills = demand.getRequiredSkills().asMap();
+        out.writeShort(skills.size());
+        for (Map.Entry<String, Double> e : skills.entrySet()) {
+            out.writeUTF(e.getKey());
+            out.writeFloat(e.getValue().floatValue());
+        }
+        Set<String> objectives = demand.getObjectives() != null ? demand.getObjectives() : Set.of();
+        out.writeShort(objectives.size());
+        for (String objective : objectives) {
+            out.writeUTF(objective);
+        }
+        List<AssignmentInsight> insights = kept(decision.getInsights(), assignee);
+        out.writeInt(insights.size());
+        for (AssignmentInsight insight : insights) {
+            out.writeUTF(insight.getMemberName());
+            out.writeFloat((float) insight.getUtilityScore());
+            out.writeFloat((float) insight.getCapacityScore());
+            out.writeFloat((float) insight.getSkillFitScore());
+            out.writeFloat((float) insight.getReliabilityScore());
+            out.writeFloat((float) insight.getGrowthScore());
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    // The first maxInsights insights (they come best first), plus the assignee's if it is further down
+    private List<AssignmentInsight> kept(List<AssignmentInsight> insights, Member assignee) {
+        if (insights.size() <= maxInsights) return insights;
+        List<AssignmentInsight> kept = new ArrayList<>(insights.subList(0, maxInsights));
+        if (assignee != null && kept.stream().noneMatch(i -> i.getMemberName().equals(assignee.getName()))) {
+            insights.stream().filter(i -> i.getMemberName().equals(assignee.getName())).findFirst().ifPresent(kept::add);
+        }
+        return kept;
+    }
+
+    private JournalEntry read(long address) {
+        int segment = (int) (address >>> OFFSET_BITS);
+        long offset = address & OFFSET_MASK;
+        try {
+            FileChannel channel = readers.computeIfAbsent(segment, this::openReader);
+            ByteBuffer header = ByteBuffer.allocate(FRAME_HEADER_BYTES);
+            readFully(channel, header, offset);
+            int length = header.getInt(0);
+            ByteBuffer payload = ByteBuffer.allocate(length);
+            readFully(channel, payload, offset + FRAME_HEADER_BYTES);
+            if (crc(payload.array()) != header.getInt(4)) {
+                throw new IOException("Checksum mismatch at segment " + segment + " offset " + offset);
+            }
+            return decode(new ByteArrayInputStream(payload.array()));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static JournalEntry decode(InputStream bytes) throws IOException {
+        DataInputStream in = new DataInputStream(bytes);
+        long timestamp = in.readLong();
+        String project = in.readUTF();
+        String assignee = in.readUTF();
+        double assigneeUtility = in.readDouble();
+        double duration = in.readDouble();
+        Urgency urgency = Urgency.values()[in.readByte()];
+        boolean learning = in.readBoolean();
+        double capacity = in.readDouble();
+        String utilityModel = in.readUTF();
+
+        int skillCount = in.readUnsignedShort();
+        Map<String, Double> skills = new HashMap<>();
+        for (int i = 0; i < skillCount; i++) {
+            skills.put(in.readUTF(), (double) in.readFloat());
+        }
+        int objectiveCount = in.readUnsignedShort();
+        Set<String> objectives = new LinkedHashSet<>();
+        for (int i = 0; i < objectiveCount; i++) {
+            objectives.add(in.readUTF());
+        }
+        int scoreCount = in.readInt();
+        List<JournalEntry.Score> scores = new ArrayList<>(scoreCount);
+        for (int i = 0; i < scoreCount; i++) {
+            scores.add(new JournalEntry.Score(in.readUTF(), in.readFloat(), in.readFloat(), in.readFloat(),
+                    in.readFloat(), in.readFloat()));
+        }
+        return new JournalEntry(timestamp, project, assignee.isEmpty() ? null : assignee, assigneeUtility,
+                duration, urgency, learning, capacity, utilityModel, skills, objectives, scores);
+    }
+
+    private FileChannel openReader(int segment) {
+        try {
+            return FileChannel.open(segmentPath(segment), StandardOpenOption.READ);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) throw new EOFException("Journal record truncated at " + position);
+        }
+    }
+
+    private static int crc(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    private static long address(int segment, long offset) {
+        return ((long) segment << OFFSET_BITS) | offset;
+    }
+
+    private Path segmentPath(int segment) {
+        return directory.resolve(String.format("%s%08d%s", SEGMENT_PREFIX, segment, SEGMENT_SUFFIX));
+    }
+}
@@ -0,0 +1,146 @@
+package com.teamdelegation.journal;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.teamdelegation.model.Urgency;
+
+/**
+ * One decision as read back from the {@link DecisionJournal}: the demand, the engine configuration it was
+ * scored with, the chosen assignee and every member's score.
+ */
+public class JournalEntry {
+
+    private final long timestampMillis;
+    private final String projectName;
+    private final String assignee;
+    private final double assigneeUtility;
+    private final double durationWeeks;
+    private final Urgency urgency;
+    private final boolean learningOpportunity;
+    private final double capacityWeeks;
+    private final String utilityModel;
+    private final Map<String, Double> requiredSkills;
+    private final Set<String> objectives;
+    private final List<Score> scores;
+
+    public JournalEntry(long timestampMillis,
+                        String projectName,
+                        String assignee,
+                        double assigneeUtility,
+                        double durationWeeks,
+                        Urgency urgency,
+                        boolean learningOpportunity,
+                        double capacityWeeks,
+                        String utilityModel,
+                        Map<String, Double> requiredSkills,
+                        Set<String> objectives,
+                        List<Score> scores) {
+        this.timestampMillis = timestampMillis;
+        this.projectName = projectName;
+        this.assignee = assignee;
+        this.assigneeUtility = assigneeUtility;
+        this.durationWeeks = durationWeeks;
+        this.urgency = urgency;
+        this.learningOpportunity = learningOpportunity;
+        this.capacityWeeks = capacityWeeks;
+        this.utilityModel = utilityModel;
+        this.requiredSkills = requiredSkills;
+        this.objectives = objectives;
+        this.scores = scores;
+    }
+
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    public String getProjectName() {
+        return projectName;
+    }
+
+    /** Assigned member, or {@code null} when nobody was eligible. */
+    public String getAssignee() {
+        return assignee;
+    }
+
+    public double getAssigneeUtility() {
+        return assigneeUtility;
+    }
+
+    public double getDurationWeeks() {
+        return durationWeeks;
+    }
+
+    public Urgency getUrgency() {
+        return urgency;
+    }
+
+    public boolean isLearningOpportunity() {
+        return learningOpportunity;
+    }
+
+    public double getCapacityWeeks() {
+        return capacityWeeks;
+    }
+
+    public String getUtilityModel() {
+        return utilityModel;
+    }
+
+    public Map<String, Double> getRequiredSkills() {
+        return requiredSkills;
+    }
+
+    public Set<String> getObjectives() {
+        return objectives;
+    }
+
+    public List<Score> getScores() {
+        return scores;
+    }
+
+    /** A member's score components for this decision, stored at float precision. */
+    public static class Score {
+        private final String memberName;
+        private final double utility;
+        private final double capacity;
+        private final double skillFit;
+        private final double reliability;
+        private final double growth;
+
+        public Score(String memberName, double utility, double capacity, double skillFit,
+                     double reliability, double growth) {
+            this.memberName = memberName;
+            this.utility = utility;
+            this.capacity = capacity;
+            this.skillFit = skillFit;
+            this.reliability = reliability;
+            this.growth = growth;
+        }
+
+        public String getMemberName() {
+            return memberName;
+        }
+
+        public double getUtility() {
+            return utility;
+        }
+
+        public double getCapacity() {
+            return capacity;
+        }
+
+        public double getSkillFit() {
+            return skillFit;
+        }
+
+        public double getReliability() {
+            return reliability;
+        }
+
+        public double getGrowth() {
+            return growth;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.teamdelegation.journal;
+
+import java.util.Arrays;
+
+/**
+ * Growable primitive long list used for index postings. Values are appended in ascending order,
+ * which lets range lookups binary-search instead of scanning.
+ */
+final class LongArray {
+
+    private long[] values = new long[8];
+    private volatile int size;
+
+    synchronized void add(long value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size] = value;
+        size = size + 1;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long get(int index) {
+        return values[index];
+    }
+
+    /** First index whose value is {@code >= key}, within the first {@code limit} entries. */
+    int lowerBound(long key, int limit) {
+        long[] snapshot = values;
+        int lo = 0, hi = limit;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (snapshot[mid] < key) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+}
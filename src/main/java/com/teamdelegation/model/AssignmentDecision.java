@@ -8,6 +8,7 @@ public class AssignmentDecision {
     private final List<Member> recommendedTeam;
     private final List<AssignmentInsight> insights;
     private final List<TaskAssignment> taskAssignments;
+    private final SolveQuality quality;
 
     public AssignmentDecision(ProjectDemand demand,
                               List<Member> recommendedTeam,
@@ -19,10 +20,19 @@ public class AssignmentDecision {
                               List<Member> recommendedTeam,
                               List<AssignmentInsight> insights,
                               List<TaskAssignment> taskAssignments) {
+        this(demand, recommendedTeam, insights, taskAssignments, null);
+    }
+
+    public AssignmentDecision(ProjectDemand demand,
+                              List<Member> recommendedTeam,
+                              List<AssignmentInsight> insights,
+                              List<TaskAssignment> taskAssignments,
+                              SolveQuality quality) {
         this.demand = demand;
         this.recommendedTeam = recommendedTeam;
         this.insights = insights;
         this.taskAssignments = taskAssignments != null ? taskAssignments : List.of();
+        this.quality = quality;
     }
 
     public ProjectDemand getDemand() {
@@ -41,6 +51,11 @@ public class AssignmentDecision {
         return taskAssignments;
     }
 
+    /** How much of the roster a deadline-bounded evaluation scored, or {@code null} when it had no deadline. */
+    public SolveQuality getQuality() {
+        return quality;
+    }
+
     /** Primary assignee for single-task assignment. */
     public Member getAssignee() {
         if (taskAssignments.isEmpty()) {
@@ -1,5 +1,7 @@
 package com.teamdelegation.model;
 
+import java.util.List;
+
 public class AssignmentInsight {
     private final String memberName;
     private final double utilityScore;
@@ -7,6 +9,10 @@ public class AssignmentInsight {
     private final double skillFitScore;
     private final double reliabilityScore;
     private final double growthScore;
+    private final double expertiseScore;
+    private final double objectiveScore;
+    private final boolean penalized;
+    private final List<String> violations;
     private final String narrative;
 
     public AssignmentInsight(String memberName,
@@ -16,12 +22,45 @@ public class AssignmentInsight {
                              double reliabilityScore,
                              double growthScore,
                              String narrative) {
+        this(memberName, utilityScore, capacityScore, skillFitScore, reliabilityScore, growthScore,
+                Double.NaN, false, List.of(), narrative);
+    }
+
+    public AssignmentInsight(String memberName,
+                             double utilityScore,
+                             double capacityScore,
+                             double skillFitScore,
+                             double reliabilityScore,
+                             double growthScore,
+                             double expertiseScore,
+                             boolean penalized,
+                             List<String> violations,
+                             String narrative) {
+        this(memberName, utilityScore, capacityScore, skillFitScore, reliabilityScore, growthScore, expertiseScore,
+                0, penalized, violations, narrative);
+    }
+
+    public AssignmentInsight(String memberName,
+                             double utilityScore,
+                             double capacityScore,
+                             double skillFitScore,
+                             double reliabilityScore,
+                             double growthScore,
+                             double expertiseScore,
+                             double objectiveScore,
+                             boolean penalized,
+                             List<String> violations,
+                             String narrative) {
         this.memberName = memberName;
         this.utilityScore = utilityScore;
         this.capacityScore = capacityScore;
         this.skillFitScore = skillFitScore;
         this.reliabilityScore = reliabilityScore;
         this.growthScore = growthScore;
+        this.expertiseScore = expertiseScore;
+        this.objectiveScore = objectiveScore;
+        this.penalized = penalized;
+        this.violations = violations;
         this.narrative = narrative;
     }
 
@@ -49,6 +88,26 @@ public class AssignmentInsight {
         return growthScore;
     }
 
+    /** Level in the task's primary skill, or {@code NaN} if not recorded. */
+    public double getExpertiseScore() {
+        return expertiseScore;
+    }
+
+    /** Objective_m, the share of the task's objectives matching the member's keywords; 0 when not scored. */
+    public double getObjectiveScore() {
+        return objectiveScore;
+    }
+
+    /** True when the member was gated below θ_min and scored with the infeasibility penalty. */
+    public boolean isPenalized() {
+        return penalized;
+    }
+
+    /** Assignment rules this member would break, hard or soft; empty when none apply. */
+    public List<String> getViolations() {
+        return violations;
+    }
+
     public String getNarrative() {
         return narrative;
     }
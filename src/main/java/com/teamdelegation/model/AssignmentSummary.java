@@ -0,0 +1,62 @@
+package com.teamdelegation.model;
+
+/**
+ * Aggregate metrics of one {@code assignTasks} run.
+ */
+public class AssignmentSummary {
+    private final int taskCount;
+    private final int assignedCount;
+    private final int rebalanceMoves;
+    private final double totalUtility;
+    private final double minLoadWeeks;
+    private final double maxLoadWeeks;
+    private final long elapsedNanos;
+
+    public AssignmentSummary(int taskCount,
+                             int assignedCount,
+                             int rebalanceMoves,
+                             double totalUtility,
+                             double minLoadWeeks,
+                             double maxLoadWeeks,
+                             long elapsedNanos) {
+        this.taskCount = taskCount;
+        this.assignedCount = assignedCount;
+        this.rebalanceMoves = rebalanceMoves;
+        this.totalUtility = totalUtility;
+        this.minLoadWeeks = minLoadWeeks;
+        this.maxLoadWeeks = maxLoadWeeks;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public int getTaskCount() {
+        return taskCount;
+    }
+
+    public int getAssignedCount() {
+        return assignedCount;
+    }
+
+    public int getUnassignedCount() {
+        return taskCount - assignedCount;
+    }
+
+    public int getRebalanceMoves() {
+        return rebalanceMoves;
+    }
+
+    public double getTotalUtility() {
+        return totalUtility;
+    }
+
+    public double getMinLoadWeeks() {
+        return minLoadWeeks;
+    }
+
+    public double getMaxLoadWeeks() {
+        return maxLoadWeeks;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+}
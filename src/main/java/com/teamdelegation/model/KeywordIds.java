@@ -0,0 +1,78 @@
+package com.teamdelegation.model;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Process-wide interning of lower-cased words for objective alignment. A member's keywords (words of their skill
+ * and project names) and each task objective become bit sets over these ids, so matching them is a word-wide AND.
+ * Ids are stable for the lifetime of the JVM and never reused.
+ * <p>
+ * Only member vocabulary is interned, by {@link #words}. Objectives come from requests and are read with
+ * {@link #known}, which skips words no member has: they could not match anyway, and interning them would let
+ * request text grow the table without bound.
+ */
+public final class KeywordIds {
+
+    private static final Map<String, Integer> IDS = new ConcurrentHashMap<>();
+    private static final AtomicInteger NEXT = new AtomicInteger();
+    private static final Set<String> STOP_WORDS = Set.of(
+            "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "into", "is", "it", "of", "on", "or",
+            "our", "the", "to", "with");
+    private static final long[] EMPTY = new long[0];
+
+    private KeywordIds() {
+    }
+
+    private static int intern(String word) {
+        return IDS.computeIfAbsent(word, k -> NEXT.getAndIncrement());
+    }
+
+    /** Number of ids handed out so far; every id is below it. */
+    public static int size() {
+        return NEXT.get();
+    }
+
+    /** Bit set of the words in {@code texts}, interning new ones; for member vocabulary only. */
+    public static long[] words(Iterable<String> texts) {
+        long[] bits = EMPTY;
+        for (String text : texts) {
+            bits = addWords(bits, text, true);
+        }
+        return bits;
+    }
+
+    /** Bit set of the words in {@code text} that are already interned; unknown words are left out. */
+    public static long[] known(String text) {
+        return addWords(EMPTY, text, false);
+    }
+
+    // Words are maximal runs of letters and digits, two characters or longer, minus stop words
+    private static long[] addWords(long[] bits, String text, boolean intern) {
+        if (text == null) return bits;
+        int n = text.length();
+        int start = -1;
+        for (int i = 0; i <= n; i++) {
+            boolean wordChar = i < n && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                if (i - start >= 2) {
+                    String word = text.substring(start, i).toLowerCase(Locale.ROOT);
+                    Integer known = intern ? null : IDS.get(word);
+                    if (!STOP_WORDS.contains(word) && (intern || known != null)) {
+                        int id = intern ? intern(word) : known;
+                        if (id >> 6 >= bits.length) bits = Arrays.copyOf(bits, (id >> 6) + 1);
+                        bits[id >> 6] |= 1L << id;
+                    }
+                }
+                start = -1;
+            }
+        }
+        return bits;
+    }
+}
@@ -2,6 +2,7 @@ package com.teamdelegation.model;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 public class Member {
 
@@ -9,7 +10,9 @@ public class Member {
     private final SkillProfile expertise;
     private final double recentPerformance; // 0..1
     private final double growthDesire; // 0..1 willingness to stretch
-    private final List<ProjectLoad> currentProjects = new ArrayList<>();
+    private final List<ProjectLoad> currentProjects;
+    private volatile long[] keywords;  // derived from skills and projects as they change
+    private volatile double loadWeeks = Double.NaN;  // Σ remaining weeks, summed on first use
 
     public Member(String name,
                   SkillProfile expertise,
@@ -19,6 +22,18 @@ public class Member {
         this.expertise = expertise;
         this.recentPerformance = clamp(recentPerformance);
         this.growthDesire = clamp(growthDesire);
+        this.currentProjects = new ArrayList<>();
+        // Interned up front: objectives only look words up, so a word must be known before a task names it
+        this.keywords = KeywordIds.words(expertise.getSkillNames());
+    }
+
+    /** For flyweight views that override every accessor and keep their state elsewhere. */
+    protected Member() {
+        this.name = null;
+        this.expertise = null;
+        this.recentPerformance = 0;
+        this.growthDesire = 0;
+        this.currentProjects = List.of();
     }
 
     public String getName() {
@@ -43,20 +58,42 @@ public class Member {
 
     public Member assignProject(ProjectLoad load) {
         currentProjects.add(load);
+        keywords = deriveKeywords();
+        loadWeeks = Double.NaN;
         return this;
     }
 
+    /**
+     * Keywords(E_m): the words of this member's skill and project names, as a {@link KeywordIds} bit set.
+     * Shared, do not modify.
+     */
+    public long[] getKeywords() {
+        long[] bits = keywords;
+        if (bits == null) {
+            bits = deriveKeywords();
+            keywords = bits;
+        }
+        return bits;
+    }
+
+    private long[] deriveKeywords() {
+        return KeywordIds.words(Stream.concat(getExpertise().getSkillNames().stream(),
+                getCurrentProjects().stream().map(ProjectLoad::getProjectName)).toList());
+    }
+
     public double currentLoadRatio(double nominalCapacityWeeks) {
-        double load = currentProjects.stream()
-                .mapToDouble(ProjectLoad::getRemainingWeeks)
-                .sum();
-        return load / Math.max(1.0, nominalCapacityWeeks);
+        return totalRemainingWeeks() / Math.max(1.0, nominalCapacityWeeks);
     }
 
     public double totalRemainingWeeks() {
-        return currentProjects.stream()
-                .mapToDouble(ProjectLoad::getRemainingWeeks)
-                .sum();
+        double weeks = loadWeeks;
+        if (Double.isNaN(weeks)) {
+            weeks = currentProjects.stream()
+                    .mapToDouble(ProjectLoad::getRemainingWeeks)
+                    .sum();
+            loadWeeks = weeks;
+        }
+        return weeks;
     }
 
     private double clamp(double value) {
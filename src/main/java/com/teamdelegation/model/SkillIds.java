@@ -0,0 +1,52 @@
+package com.teamdelegation.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide interning of skill names to dense int ids, so hot scoring paths compare ints instead of
+ * hashing lower-cased strings. Ids are stable for the lifetime of the JVM and never reused.
+ */
+public final class SkillIds {
+
+    private static final Map<String, Integer> IDS = new ConcurrentHashMap<>();
+    private static final List<String> NAMES = new ArrayList<>();
+
+    private SkillIds() {
+    }
+
+    public static int intern(String skill) {
+        String key = skill.toLowerCase(Locale.ROOT);
+        Integer id = IDS.get(key);
+        if (id != null) {
+            return id;
+        }
+        synchronized (NAMES) {
+            return IDS.computeIfAbsent(key, k -> {
+                NAMES.add(k);
+                return NAMES.size() - 1;
+            });
+        }
+    }
+
+    /** Id of an already-interned skill, or -1 when the name has never been seen. */
+    public static int lookup(String skill) {
+        Integer id = IDS.get(skill.toLowerCase(Locale.ROOT));
+        return id != null ? id : -1;
+    }
+
+    public static String name(int id) {
+        synchronized (NAMES) {
+            return NAMES.get(id);
+        }
+    }
+
+    public static int size() {
+        synchronized (NAMES) {
+            return NAMES.size();
+        }
+    }
+}
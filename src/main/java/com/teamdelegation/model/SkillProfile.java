@@ -1,28 +1,100 @@
 package com.teamdelegation.model;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 
 /**
  * Represents skill proficiency for a single member or task demand.
+ * Besides the name-keyed map, levels are kept as a sparse vector over {@link SkillIds}, sorted by id,
+ * so that scoring can merge-join two profiles without string hashing.
+ * <p>
+ * Member profiles intern their skill names. Demand profiles from request input ({@link #demand}) only look names up,
+ * so clients cannot grow the process-wide table: a skill no member has stays in the name map but not in the vector,
+ * where it would only ever overlap with 0.
  */
 public class SkillProfile {
 
+    private static final int[] NO_IDS = new int[0];
+    private static final double[] NO_LEVELS = new double[0];
+
     private final Map<String, Double> skills;
+    private final int[] skillIds;
+    private final double[] levels;
 
     public SkillProfile(Map<String, Double> skills) {
+        this(skills, true);
+    }
+
+    private SkillProfile(Map<String, Double> skills, boolean intern) {
         this.skills = new HashMap<>();
-        skills.forEach((k, v) -> this.skills.put(k.toLowerCase(), clamp(v)));
+        skills.forEach((k, v) -> this.skills.put(k.toLowerCase(Locale.ROOT), clamp(v)));
+
+        long[] packed = new long[this.skills.size()];
+        String[] names = this.skills.keySet().toArray(new String[0]);
+        int known = 0;
+        for (int i = 0; i < names.length; i++) {
+            int id = intern ? SkillIds.intern(names[i]) : SkillIds.lookup(names[i]);
+            if (id >= 0) packed[known++] = ((long) id << 32) | i;
+        }
+        packed = Arrays.copyOf(packed, known);
+        Arrays.sort(packed);
+        this.skillIds = new int[packed.length];
+        this.levels = new double[packed.length];
+        for (int i = 0; i < packed.length; i++) {
+            skillIds[i] = (int) (packed[i] >>> 32);
+            levels[i] = this.skills.get(names[(int) packed[i]]);
+        }
+    }
+
+    /** For flyweight views that override every accessor and keep their state elsewhere. */
+    protected SkillProfile() {
+        this.skills = Collections.emptyMap();
+        this.skillIds = NO_IDS;
+        this.levels = NO_LEVELS;
     }
 
     public static SkillProfile empty() {
         return new SkillProfile(Collections.emptyMap());
     }
 
+    /** Required skills of a task or project; unlike a member's profile, never adds names to {@link SkillIds}. */
+    public static SkillProfile demand(Map<String, Double> skills) {
+        return new SkillProfile(skills, false);
+    }
+
     public double getLevel(String skill) {
-        return skills.getOrDefault(skill.toLowerCase(), 0.0);
+        return skills.getOrDefault(skill.toLowerCase(Locale.ROOT), 0.0);
+    }
+
+    public double getLevel(int skillId) {
+        int idx = Arrays.binarySearch(skillIds, skillId);
+        return idx >= 0 ? levels[idx] : 0.0;
+    }
+
+    /**
+     * Σ_k min(caps[k], level(ids[k])) for a sparse vector whose ids are sorted ascending,
+     * computed as a merge-join against this profile.
+     */
+    public double overlap(int[] ids, double[] caps) {
+        double sum = 0;
+        int i = 0, j = 0;
+        while (i < ids.length && j < skillIds.length) {
+            int a = ids[i], b = skillIds[j];
+            if (a == b) {
+                sum += Math.min(caps[i], levels[j]);
+                i++;
+                j++;
+            } else if (a < b) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return sum;
     }
 
     public Set<String> getSkillNames() {
@@ -33,6 +105,23 @@ public class SkillProfile {
         return Collections.unmodifiableMap(skills);
     }
 
+    /** Σ of all levels, including skills left out of {@link #skillIds()} because no member has them. */
+    public double totalLevel() {
+        double total = 0;
+        for (double level : asMap().values()) total += level;
+        return total;
+    }
+
+    /** Interned skill ids, ascending. Shared, do not modify. */
+    public int[] skillIds() {
+        return skillIds;
+    }
+
+    /** Levels aligned with {@link #skillIds()}. Shared, do not modify. */
+    public double[] levels() {
+        return levels;
+    }
+
     private double clamp(double value) {
         if (value < 0) {
             return 0;
@@ -43,4 +132,3 @@ public class SkillProfile {
         return value;
     }
 }
-
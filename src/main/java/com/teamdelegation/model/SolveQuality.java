@@ -0,0 +1,93 @@
+package com.teamdelegation.model;
+
+/**
+ * How good a deadline-bounded answer is: whether the search ran to completion, how much of it was covered
+ * before the deadline, and the objective it reached.
+ * <p>
+ * For a single-project evaluation, coverage is the share of the candidates that was scored, the retrieval
+ * shortlist or else the whole roster; the pick is the best of those candidates when it is 1. For a batch, the greedy assignment is the seed and local search improves it; coverage is the share of
+ * tasks whose candidate list was built, and the search is exhaustive once no move improves the total utility
+ * (a local optimum, not necessarily the global one).
+ */
+public class SolveQuality {
+    private final boolean exhaustive;
+    private final double coverage;
+    private final double seedUtility;
+    private final double utility;
+    private final double upperBound;
+    private final int improvements;
+    private final long elapsedNanos;
+
+    public SolveQuality(boolean exhaustive,
+                        double coverage,
+                        double seedUtility,
+                        double utility,
+                        double upperBound,
+                        int improvements,
+                        long elapsedNanos) {
+        this.exhaustive = exhaustive;
+        this.coverage = coverage;
+        this.seedUtility = seedUtility;
+        this.utility = utility;
+        this.upperBound = upperBound;
+        this.improvements = improvements;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /** Quality of a scan that scored {@code scored} of its {@code total} candidate members. */
+    public static SolveQuality scan(int scored, int total, double utility, long elapsedNanos) {
+        double coverage = total > 0 ? scored / (double) total : 1;
+        return new SolveQuality(scored >= total, coverage, utility, utility, Double.NaN, 0, elapsedNanos);
+    }
+
+    /** True when the search finished before the deadline rather than being cut short by it. */
+    public boolean isExhaustive() {
+        return exhaustive;
+    }
+
+    public double getCoverage() {
+        return coverage;
+    }
+
+    /** Total utility of the starting point: the greedy assignment, or the scan's pick. */
+    public double getSeedUtility() {
+        return seedUtility;
+    }
+
+    public double getUtility() {
+        return utility;
+    }
+
+    /**
+     * Σ over the staffed tasks of their best utility at the members' starting loads, ignoring capacity; no
+     * assignment of those tasks scores higher. {@code NaN} when unknown.
+     */
+    public double getUpperBound() {
+        return upperBound;
+    }
+
+    /** Relative distance to {@link #getUpperBound()}, or {@code NaN} when there is no bound. */
+    public double getGap() {
+        if (Double.isNaN(upperBound)) return Double.NaN;
+        return Math.max(0, upperBound - utility) / Math.max(1e-9, Math.abs(upperBound));
+    }
+
+    /** Accepted local-search moves. */
+    public int getImprovements() {
+        return improvements;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        String search = improvements > 0 || !Double.isNaN(upperBound)
+                ? String.format(" (seed %.3f, %d moves%s)", seedUtility, improvements,
+                        Double.isNaN(upperBound) ? "" : String.format(", gap %.1f%%", getGap() * 100))
+                : "";
+        return String.format("%s, %.0f%% covered, utility %.3f%s in %.1f ms", exhaustive ? "complete" : "deadline",
+                coverage * 100, utility, search, elapsedNanos / 1e6);
+    }
+}
@@ -1,6 +1,8 @@
 package com.teamdelegation.model;
 
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 
 /**
  * A single task to assign. Each task is assigned to exactly one member.
@@ -8,6 +10,10 @@ import java.util.Set;
  */
 public class Task {
 
+    static {
+        SkillIds.intern("general");  // the primary skill of a task without required skills
+    }
+
     private final String id;
     private final String projectName;
     private final double durationWeeks;
@@ -16,6 +22,17 @@ public class Task {
     private final boolean learningOpportunity;
     private final Set<String> objectives;
 
+    // Derived once at construction; scoring reads these for every candidate member.
+    private final String primarySkillDomain;
+    private final int primarySkillId;
+    private final int[] requiredSkillIds;
+    private final double[] normalizedDemand;
+    private final double totalDemand;
+    // Inverted objective index: every word of every objective, and for each word the objectives naming it
+    private final long[] objectiveWords;       // KeywordIds bit set
+    private final int[] objectiveWordRank;     // set bits of objectiveWords before word w
+    private final long[][] objectivesByWord;   // by rank of the word's bit, bit o = o-th objective
+
     public Task(String id,
                 String projectName,
                 double durationWeeks,
@@ -30,6 +47,39 @@ public class Task {
         this.urgency = urgency != null ? urgency : Urgency.M;
         this.learningOpportunity = learningOpportunity;
         this.objectives = objectives != null ? objectives : Set.of();
+
+        this.primarySkillDomain = primarySkillOf(this.requiredSkills);
+        this.primarySkillId = SkillIds.lookup(primarySkillDomain);  // -1 for a skill no member has
+        this.requiredSkillIds = this.requiredSkills.skillIds();
+        double[] demand = this.requiredSkills.levels();
+        double total = this.requiredSkills.totalLevel();  // skills no member has count against the fit
+        this.totalDemand = total;
+        this.normalizedDemand = new double[demand.length];
+        for (int i = 0; i < demand.length; i++) {
+            normalizedDemand[i] = total > 0 ? demand[i] / total : 0;
+        }
+
+        TreeMap<Integer, long[]> byWord = new TreeMap<>();
+        int objectiveWordsLength = 0;
+        int o = 0;
+        for (String objective : this.objectives) {
+            long[] words = KeywordIds.known(objective);
+            objectiveWordsLength = Math.max(objectiveWordsLength, words.length);
+            for (int w = 0; w < words.length; w++) {
+                for (long bits = words[w]; bits != 0; bits &= bits - 1) {
+                    int wordId = (w << 6) + Long.numberOfTrailingZeros(bits);
+                    byWord.computeIfAbsent(wordId, k -> new long[(this.objectives.size() + 63) >> 6])[o >> 6] |= 1L << o;
+                }
+            }
+            o++;
+        }
+        this.objectiveWords = new long[objectiveWordsLength];
+        for (int wordId : byWord.keySet()) objectiveWords[wordId >> 6] |= 1L << wordId;
+        this.objectiveWordRank = new int[objectiveWordsLength];
+        for (int w = 1; w < objectiveWordsLength; w++) {
+            objectiveWordRank[w] = objectiveWordRank[w - 1] + Long.bitCount(objectiveWords[w - 1]);
+        }
+        this.objectivesByWord = byWord.values().toArray(new long[0][]);
     }
 
     public String getId() {
@@ -60,13 +110,75 @@ public class Task {
         return objectives;
     }
 
+    /**
+     * |Obj_T ∩ Keywords(E_m)|: how many objectives name at least one of {@code keywords}, a {@link KeywordIds}
+     * bit set. Walks only the words the member shares with the objectives, so the cost does not grow with the
+     * number of objectives.
+     */
+    public int objectivesMatching(long[] keywords) {
+        if (objectivesByWord.length == 0) return 0;
+        boolean single = objectivesByWord[0].length == 1;
+        long matched = 0;
+        long[] matchedWide = null;
+        for (int w = Math.min(objectiveWords.length, keywords.length) - 1; w >= 0; w--) {
+            for (long common = objectiveWords[w] & keywords[w]; common != 0; common &= common - 1) {
+                long below = objectiveWords[w] & ((common & -common) - 1);
+                long[] named = objectivesByWord[objectiveWordRank[w] + Long.bitCount(below)];
+                if (single) {
+                    matched |= named[0];
+                } else if (matchedWide == null) {
+                    matchedWide = named.clone();
+                } else {
+                    for (int i = 0; i < named.length; i++) matchedWide[i] |= named[i];
+                }
+            }
+        }
+        if (matchedWide == null) return Long.bitCount(matched);
+        int count = 0;
+        for (long bits : matchedWide) count += Long.bitCount(bits);
+        return count;
+    }
+
     /** Primary skill domain (highest required level) for e_i,sℓ in utility. */
     public String getPrimarySkillDomain() {
-        var map = requiredSkills.asMap();
-        if (map.isEmpty()) return "general";
-        return map.entrySet().stream()
-                .max(java.util.Comparator.comparingDouble(java.util.Map.Entry::getValue))
-                .map(java.util.Map.Entry::getKey)
-                .orElse("general");
+        return primarySkillDomain;
+    }
+
+    public int getPrimarySkillId() {
+        return primarySkillId;
+    }
+
+    /** False only when the task names no skills at all, which scores a neutral fit. */
+    public boolean hasRequiredSkills() {
+        return !requiredSkills.getSkillNames().isEmpty();
+    }
+
+    /**
+     * Interned ids of required skills, ascending; skills no member has are left out of demand profiles. Shared, do
+     * not modify.
+     */
+    public int[] getRequiredSkillIds() {
+        return requiredSkillIds;
+    }
+
+    /** D_T(s) / Σ D_T, aligned with {@link #getRequiredSkillIds()}. Shared, do not modify. */
+    public double[] getNormalizedDemand() {
+        return normalizedDemand;
+    }
+
+    public double getTotalDemand() {
+        return totalDemand;
+    }
+
+    private static String primarySkillOf(SkillProfile requiredSkills) {
+        String primary = "general";
+        double max = Double.NEGATIVE_INFINITY;
+        for (Map.Entry<String, Double> e : requiredSkills.asMap().entrySet()) {
+            if (e.getValue() > max) {  // first maximum wins, as with Stream.max
+                max = e.getValue();
+                primary = e.getKey();
+            }
+        }
+        return primary;
     }
 }
@@ -0,0 +1,157 @@
+package com.teamdelegation.replay;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.teamdelegation.engine.AssignmentEngine;
+import com.teamdelegation.engine.CompiledUtilityModel;
+import com.teamdelegation.engine.partition.InProcessShardTransport;
+import com.teamdelegation.engine.partition.PartitionedAssigner;
+import com.teamdelegation.model.Member;
+import com.teamdelegation.roster.OffHeapRoster;
+
+/**
+ * Replays scenarios against two engines and reports where they disagree: assignee, utility beyond
+ * {@code --epsilon}, or balancing moves. Scenarios come from a recording ({@code --replay}) or are
+ * generated from consecutive seeds, and run in parallel. The exit status is 1 if any scenario differs.
+ * <pre>
+ * java -cp target/classes com.teamdelegation.replay.DifferentialHarness \
+ *      --baseline baseline --candidate compiled --scenarios 10000 [--seed 0] [--threads 8]
+ *      [--replay data/scenarios.jsonl] [--epsilon 1e-9] [--show 20]
+ * </pre>
+ * Each scenario is replayed on the capacity, model and rules it was recorded with (generated scenarios use
+ * balanced weights) and through the method that served it. Engines: {@code baseline} (the recorded model),
+ * {@code compiled} (the recorded model through the expression compiler), {@code expr:<expression>} (the
+ * recorded capacity and rules with another model), {@code offheap} (baseline over an off-heap roster) and
+ * {@code partitioned:<shards>} (scatter/gather batches, final assignments only, no balancing pass).
+ */
+public final class DifferentialHarness {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private DifferentialHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        EngineUnderTest baseline = engine(options.getOrDefault("baseline", "baseline"));
+        EngineUnderTest candidate = engine(options.getOrDefault("candidate", "compiled"));
+        int count = Integer.parseInt(options.getOrDefault("scenarios", "10000"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "0"));
+        int threads = Integer.parseInt(options.getOrDefault("threads",
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+        double epsilon = Double.parseDouble(options.getOrDefault("epsilon", "1e-9"));
+        int show = Integer.parseInt(options.getOrDefault("show", "20"));
+
+        List<Supplier<Scenario>> scenarios = new ArrayList<>();
+        if (options.containsKey("replay")) {
+            for (Scenario scenario : ScenarioRecorder.read(Path.of(options.get("replay")))) {
+                scenarios.add(() -> scenario);
+            }
+        } else {
+            for (int i = 0; i < count; i++) {
+                long s = seed + i;
+                scenarios.add(() -> ScenarioGenerator.generate(s, 40, 30));
+            }
+        }
+
+        AtomicInteger differing = new AtomicInteger();
+        Map<Outcome.Difference.Kind, AtomicInteger> byKind = new EnumMap<>(Outcome.Difference.Kind.class);
+        for (Outcome.Difference.Kind kind : Outcome.Difference.Kind.values()) byKind.put(kind, new AtomicInteger());
+        ConcurrentLinkedQueue<String> examples = new ConcurrentLinkedQueue<>();
+
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>(scenarios.size());
+            for (Supplier<Scenario> supplier : scenarios) {
+                futures.add(executor.submit(() -> {
+                    Scenario scenario = supplier.get();
+                    List<Outcome.Difference> differences = Outcome.of(baseline, scenario)
+                            .diff(Outcome.of(candidate, scenario), epsilon);
+                    if (differences.isEmpty()) return;
+                    differing.incrementAndGet();
+                    differences.forEach(d -> byKind.get(d.getKind()).incrementAndGet());
+                    if (examples.size() < show) examples.add(scenario.getId() + " " + differences);
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        System.out.printf("%d scenarios in %d ms, %d differ %s%n", scenarios.size(),
+                (System.nanoTime() - start) / 1_000_000, differing.get(), byKind);
+        examples.forEach(System.out::println);
+        System.exit(differing.get() == 0 ? 0 : 1);
+    }
+
+    static EngineUnderTest engine(String spec) {
+        Map<String, AssignmentEngine> engines = new ConcurrentHashMap<>();
+        if (spec.equals("baseline")) {
+            return perConfig(engines, config -> config.engine(config.utilityModel()), members -> members);
+        }
+        if (spec.equals("compiled")) {
+            return perConfig(engines, config -> config.engine(CompiledUtilityModel.compile(config.expression())),
+                    members -> members);
+        }
+        if (spec.startsWith("expr:")) {
+            CompiledUtilityModel model = CompiledUtilityModel.compile(spec.substring(5));
+            return perConfig(engines, config -> config.engine(model), members -> members);
+        }
+        if (spec.equals("offheap")) {
+            return perConfig(engines, config -> config.engine(config.utilityModel()),
+                    members -> OffHeapRoster.of(members).asList());
+        }
+        if (spec.startsWith("partitioned:")) {
+            int shards = Integer.parseInt(spec.substring("partitioned:".length()));
+            return (scenario, listener) -> {
+                AssignmentEngine engine = engines.computeIfAbsent(scenario.getConfig().key(MAPPER),
+                        key -> scenario.getConfig().engine(scenario.getConfig().utilityModel()));
+                try (InProcessShardTransport transport = InProcessShardTransport.partition(scenario.getMembers(),
+                        shards, InProcessShardTransport.BY_NAME, engine)) {
+                    return new PartitionedAssigner(transport, 4, 1).assignTasks(scenario.getTasks());
+                }
+            };
+        }
+        throw new IllegalArgumentException("Unknown engine: " + spec);
+    }
+
+    // One engine per recorded config, built on first use and shared by the scenarios that carry it
+    private static EngineUnderTest perConfig(Map<String, AssignmentEngine> engines,
+                                             Function<EngineConfig, AssignmentEngine> build,
+                                             UnaryOperator<List<Member>> roster) {
+        return (scenario, listener) -> {
+            EngineConfig config = scenario.getConfig();
+            AssignmentEngine engine = engines.computeIfAbsent(config.key(MAPPER), key -> build.apply(config));
+            return EngineUnderTest.of(engine, roster).run(scenario, listener);
+        };
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                throw new IllegalArgumentException("Expected --option value pairs, got " + args[i]);
+            }
+            options.put(args[i].substring(2), args[++i]);
+        }
+        return options;
+    }
+}
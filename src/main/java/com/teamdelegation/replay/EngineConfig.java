@@ -0,0 +1,94 @@
+package com.teamdelegation.replay;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.teamdelegation.constraint.AssignmentRules;
+import com.teamdelegation.engine.AssignmentEngine;
+import com.teamdelegation.engine.CompiledUtilityModel;
+import com.teamdelegation.engine.LinearUtilityModel;
+import com.teamdelegation.engine.UtilityModel;
+
+/**
+ * The settings a scenario was served with, so a replay scores it the same way: capacity, the scoring model
+ * (linear weights, or the expression source) and the rules. Kernel, retrieval and scratch are left out; the
+ * kernel and scratch do not change picks, and a replay scores the whole roster rather than a shortlist.
+ */
+public final class EngineConfig {
+
+    /** Generated scenarios, and recordings made before the engine was recorded. */
+    public static final EngineConfig DEFAULT = new EngineConfig(12.0, AssignmentEngine.Weights.balanced(), null, null);
+
+    private final double nominalCapacityWeeks;
+    private final AssignmentEngine.Weights weights;  // null when scored by expression
+    private final String expression;                 // null when scored by weights
+    private final AssignmentRules rules;             // null when there are none
+
+    private EngineConfig(double nominalCapacityWeeks, AssignmentEngine.Weights weights, String expression,
+                         AssignmentRules rules) {
+        this.nominalCapacityWeeks = nominalCapacityWeeks;
+        this.weights = weights;
+        this.expression = expression;
+        this.rules = rules;
+    }
+
+    public static EngineConfig of(AssignmentEngine engine) {
+        UtilityModel model = engine.getUtilityModel();
+        return model instanceof LinearUtilityModel linear
+                ? new EngineConfig(engine.getNominalCapacityWeeks(), linear.getWeights(), null, engine.getRules())
+                : new EngineConfig(engine.getNominalCapacityWeeks(), null, model.toString(), engine.getRules());
+    }
+
+    /** The recorded model: linear weights as a {@link LinearUtilityModel}, an expression compiled. */
+    public UtilityModel utilityModel() {
+        return weights != null ? new LinearUtilityModel(weights) : CompiledUtilityModel.compile(expression);
+    }
+
+    /** The recorded model as expression source, for {@link CompiledUtilityModel#compile}. */
+    public String expression() {
+        return weights != null ? new LinearUtilityModel(weights).toString() : expression;
+    }
+
+    /** An engine with the recorded capacity and rules, scoring with {@code model}. */
+    public AssignmentEngine engine(UtilityModel model) {
+        return new AssignmentEngine(nominalCapacityWeeks, model, null, rules);
+    }
+
+    public boolean hasRules() {
+        return rules != null;
+    }
+
+    ObjectNode toJson(ObjectMapper mapper) {
+        ObjectNode root = mapper.createObjectNode();
+        root.put("capacityWeeks", nominalCapacityWeeks);
+        if (weights != null) {
+            ObjectNode w = root.putObject("weights");
+            w.put("capacity", weights.capacity);
+            w.put("skill", weights.skill);
+            w.put("reliability", weights.reliability);
+            w.put("learning", weights.learning);
+            w.put("objective", weights.objective);
+        } else {
+            root.put("expression", expression);
+        }
+        if (rules != null) root.set("rules", rules.toJson(mapper));
+        return root;
+    }
+
+    static EngineConfig fromJson(JsonNode root) {
+        if (root.isMissingNode()) return DEFAULT;
+        JsonNode w = root.path("weights");
+        AssignmentEngine.Weights weights = w.isObject()
+                ? new AssignmentEngine.Weights(w.path("capacity").asDouble(), w.path("skill").asDouble(),
+                        w.path("reliability").asDouble(), w.path("learning").asDouble(), w.path("objective").asDouble())
+                : null;
+        String expression = weights == null ? root.path("expression").asText() : null;
+        AssignmentRules rules = root.has("rules") ? AssignmentRules.fromJson(root.path("rules")) : null;
+        return new EngineConfig(root.path("capacityWeeks").asDouble(12.0), weights, expression, rules);
+    }
+
+    /** Equal for configs that serialize the same, so replays can share one engine per config. */
+    String key(ObjectMapper mapper) {
+        return toJson(mapper).toString();
+    }
+}
@@ -0,0 +1,54 @@
+package com.teamdelegation.replay;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+import com.teamdelegation.engine.AssignmentEngine;
+import com.teamdelegation.engine.AssignmentListener;
+import com.teamdelegation.model.Member;
+import com.teamdelegation.model.ProjectDemand;
+import com.teamdelegation.model.Task;
+import com.teamdelegation.model.TaskAssignment;
+
+/**
+ * Anything that staffs a scenario. Implementations that do not report events to the listener are compared
+ * on their final assignments only.
+ */
+@FunctionalInterface
+public interface EngineUnderTest {
+
+    List<TaskAssignment> run(Scenario scenario, AssignmentListener listener);
+
+    /**
+     * Replays each scenario through the method that served it: {@code evaluate} for a single project,
+     * {@code solve} for a budgeted batch, {@code assignTasks} otherwise. {@code roster} may swap the members
+     * for another representation of the same roster.
+     */
+    static EngineUnderTest of(AssignmentEngine engine, UnaryOperator<List<Member>> roster) {
+        return (scenario, listener) -> {
+            List<Member> members = roster.apply(scenario.getMembers());
+            Duration budget = scenario.getBudgetMs() > 0 ? Duration.ofMillis(scenario.getBudgetMs()) : null;
+            switch (scenario.getEntryPoint()) {
+                case EVALUATE -> {
+                    ProjectDemand demand = toDemand(scenario.getTasks().get(0));
+                    return (budget != null ? engine.evaluate(demand, members, budget)
+                            : engine.evaluate(demand, members)).getTaskAssignments();
+                }
+                case SOLVE -> {
+                    return engine.solve(scenario.getTasks(), members, budget != null ? budget : Duration.ZERO)
+                            .getAssignments();
+                }
+                default -> {
+                    return engine.assignTasks(scenario.getTasks(), members, listener);
+                }
+            }
+        };
+    }
+
+    /** The demand {@link AssignmentEngine#demandToTask} turned into {@code task}. */
+    private static ProjectDemand toDemand(Task task) {
+        return new ProjectDemand(task.getProjectName(), task.getRequiredSkills(), task.getDurationWeeks(),
+                task.getObjectives(), task.getUrgency(), task.isLearningOpportunity());
+    }
+}
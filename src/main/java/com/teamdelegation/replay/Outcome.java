@@ -0,0 +1,96 @@
+package com.teamdelegation.replay;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import com.teamdelegation.engine.AssignmentListener;
+import com.teamdelegation.model.Task;
+import com.teamdelegation.model.TaskAssignment;
+
+/**
+ * What an engine did with one scenario: final assignee and utility per task, the tasks left unassigned
+ * and the balancing moves, in the order they happened.
+ */
+public final class Outcome {
+
+    private final Map<String, TaskAssignment> finalAssignments = new LinkedHashMap<>();
+    private final List<String> unassigned = new ArrayList<>();
+    private final List<String> moves = new ArrayList<>();
+
+    public static Outcome of(EngineUnderTest engine, Scenario scenario) {
+        Outcome outcome = new Outcome();
+        List<TaskAssignment> result = engine.run(scenario, new AssignmentListener() {
+            @Override
+            public void onUnassigned(Task task) {
+                outcome.unassigned.add(task.getId());
+            }
+
+            @Override
+            public void onRebalanced(TaskAssignment previous, TaskAssignment replacement) {
+                outcome.moves.add(previous.getTask().getId() + ": " + previous.getAssignee().getName()
+                        + " -> " + replacement.getAssignee().getName());
+            }
+        });
+        for (TaskAssignment assignment : result) {
+            outcome.finalAssignments.put(assignment.getTask().getId(), assignment);
+        }
+        return outcome;
+    }
+
+    /** Differences from {@code other}, one line each; utilities within {@code epsilon} count as equal. */
+    public List<Difference> diff(Outcome other, double epsilon) {
+        List<Difference> differences = new ArrayList<>();
+        for (Map.Entry<String, TaskAssignment> entry : finalAssignments.entrySet()) {
+            TaskAssignment mine = entry.getValue();
+            TaskAssignment theirs = other.finalAssignments.get(entry.getKey());
+            if (theirs == null) {
+                differences.add(new Difference(Difference.Kind.ASSIGNEE, entry.getKey() + ": "
+                        + mine.getAssignee().getName() + " vs unassigned"));
+            } else if (!mine.getAssignee().getName().equals(theirs.getAssignee().getName())) {
+                differences.add(new Difference(Difference.Kind.ASSIGNEE, entry.getKey() + ": "
+                        + mine.getAssignee().getName() + " vs " + theirs.getAssignee().getName()));
+            } else if (Math.abs(mine.getUtilityScore() - theirs.getUtilityScore()) > epsilon) {
+                differences.add(new Difference(Difference.Kind.UTILITY, entry.getKey() + ": "
+                        + mine.getUtilityScore() + " vs " + theirs.getUtilityScore()));
+            }
+        }
+        for (String taskId : other.finalAssignments.keySet()) {
+            if (!finalAssignments.containsKey(taskId)) {
+                differences.add(new Difference(Difference.Kind.ASSIGNEE, taskId + ": unassigned vs "
+                        + other.finalAssignments.get(taskId).getAssignee().getName()));
+            }
+        }
+        if (!Objects.equals(moves, other.moves)) {
+            differences.add(new Difference(Difference.Kind.MOVES, moves + " vs " + other.moves));
+        }
+        return differences;
+    }
+
+    public static final class Difference {
+        public enum Kind { ASSIGNEE, UTILITY, MOVES }
+
+        private final Kind kind;
+        private final String detail;
+
+        Difference(Kind kind, String detail) {
+            this.kind = kind;
+            this.detail = detail;
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        public String getDetail() {
+            return detail;
+        }
+
+        @Override
+        public String toString() {
+            return kind + " " + detail;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.teamdelegation.replay;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.teamdelegation.model.Member;
+import com.teamdelegation.model.SkillProfile;
+import com.teamdelegation.model.Task;
+import com.teamdelegation.model.Urgency;
+import com.teamdelegation.startup.RosterSnapshot;
+
+/**
+ * One engine input, recorded or generated: the roster in its original order (order decides ties), the
+ * tasks with their ids, and how it was served — the engine settings, the entry point and its budget.
+ * Serialized as one JSON object per line; lines without the last three replay as a batch on the defaults.
+ */
+public class Scenario {
+
+    /** The engine method that served the request, and that a replay calls. */
+    public enum EntryPoint { ASSIGN_TASKS, EVALUATE, SOLVE }
+
+    private final String id;
+    private final List<Member> members;
+    private final List<Task> tasks;
+    private final EngineConfig config;
+    private final EntryPoint entryPoint;
+    private final long budgetMs;  // 0 for no deadline
+
+    public Scenario(String id, List<Member> members, List<Task> tasks) {
+        this(id, members, tasks, EngineConfig.DEFAULT, EntryPoint.ASSIGN_TASKS, 0);
+    }
+
+    public Scenario(String id, List<Member> members, List<Task> tasks, EngineConfig config, EntryPoint entryPoint,
+                    long budgetMs) {
+        this.id = id;
+        this.members = members;
+        this.tasks = tasks;
+        this.config = config;
+        this.entryPoint = entryPoint;
+        this.budgetMs = budgetMs;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public List<Member> getMembers() {
+        return members;
+    }
+
+    public List<Task> getTasks() {
+        return tasks;
+    }
+
+    public EngineConfig getConfig() {
+        return config;
+    }
+
+    public EntryPoint getEntryPoint() {
+        return entryPoint;
+    }
+
+    public long getBudgetMs() {
+        return budgetMs;
+    }
+
+    ObjectNode toJson(ObjectMapper mapper) {
+        ObjectNode root = mapper.createObjectNode();
+        root.put("id", id);
+        ArrayNode memberNodes = root.putArray("members");
+        for (Member member : members) {
+            RosterSnapshot.writeMember(memberNodes.addObject(), member);
+        }
+        ArrayNode taskNodes = root.putArray("tasks");
+        for (Task task : tasks) {
+            ObjectNode node = taskNodes.addObject();
+            node.put("id", task.getId());
+            node.put("project", task.getProjectName());
+            node.put("durationWeeks", task.getDurationWeeks());
+            ObjectNode skills = node.putObject("skills");
+            task.getRequiredSkills().asMap().forEach(skills::put);
+            node.put("urgency", task.getUrgency().name());
+            node.put("learning", task.isLearningOpportunity());
+            ArrayNode objectives = node.putArray("objectives");
+            task.getObjectives().forEach(objectives::add);
+        }
+        root.set("engine", config.toJson(mapper));
+        root.put("entry", entryPoint.name());
+        root.put("budgetMs", budgetMs);
+        return root;
+    }
+
+    static Scenario fromJson(JsonNode root) {
+        List<Member> members = new ArrayList<>();
+        for (JsonNode node : root.path("members")) {
+            members.add(RosterSnapshot.readMember(node));
+        }
+        List<Task> tasks = new ArrayList<>();
+        for (JsonNode node : root.path("tasks")) {
+            Map<String, Double> skills = new LinkedHashMap<>();
+            node.path("skills").fields().forEachRemaining(e -> skills.put(e.getKey(), e.getValue().asDouble()));
+            Set<String> objectives = new LinkedHashSet<>();
+            node.path("objectives").forEach(o -> objectives.add(o.asText()));
+            tasks.add(new Task(node.path("id").asText(), node.path("project").asText(),
+                    node.path("durationWeeks").asDouble(), new SkillProfile(skills),
+                    Urgency.valueOf(node.path("urgency").asText("M")), node.path("learning").asBoolean(), objectives));
+        }
+        return new Scenario(root.path("id").asText(), members, tasks, EngineConfig.fromJson(root.path("engine")),
+                EntryPoint.valueOf(root.path("entry").asText(EntryPoint.ASSIGN_TASKS.name())),
+                root.path("budgetMs").asLong());
+    }
+}
@@ -0,0 +1,65 @@
+package com.teamdelegation.replay;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import com.teamdelegation.model.Member;
+import com.teamdelegation.model.ProjectLoad;
+import com.teamdelegation.model.SkillProfile;
+import com.teamdelegation.model.Task;
+import com.teamdelegation.model.Urgency;
+
+/**
+ * Random scenarios reproducible from their seed. Levels are rounded to tenths and members are sometimes
+ * cloned, so exact utility ties, which roster order has to break, are common rather than rare.
+ */
+public final class ScenarioGenerator {
+
+    private static final String[] SKILLS = {"java", "frontend", "backend", "testing", "devops", "design", "data"};
+
+    private ScenarioGenerator() {
+    }
+
+    public static Scenario generate(long seed, int maxMembers, int maxTasks) {
+        Random random = new Random(seed);
+        int memberCount = 1 + random.nextInt(maxMembers);
+        List<Member> members = new ArrayList<>(memberCount);
+        for (int i = 0; i < memberCount; i++) {
+            if (i > 0 && random.nextInt(8) == 0) {
+                Member twin = members.get(random.nextInt(i));
+                members.add(new Member("m" + i, twin.getExpertise(), twin.getRecentPerformance(), twin.getGrowthDesire()));
+                continue;
+            }
+            Member member = new Member("m" + i, skills(random, 4), tenth(random), tenth(random));
+            int projects = random.nextInt(3);
+            for (int p = 0; p < projects; p++) {
+                member.assignProject(new ProjectLoad("p" + p, random.nextInt(8)));
+            }
+            members.add(member);
+        }
+        int taskCount = random.nextInt(maxTasks + 1);
+        List<Task> tasks = new ArrayList<>(taskCount);
+        for (int t = 0; t < taskCount; t++) {
+            tasks.add(new Task("t" + t, "project-" + random.nextInt(3), 1 + random.nextInt(6), skills(random, 3),
+                    Urgency.values()[random.nextInt(Urgency.values().length)], random.nextBoolean(), Set.of()));
+        }
+        return new Scenario("seed-" + seed, members, tasks);
+    }
+
+    private static SkillProfile skills(Random random, int maxSkills) {
+        Map<String, Double> skills = new HashMap<>();
+        int count = random.nextInt(maxSkills);
+        for (int k = 0; k < count; k++) {
+            skills.put(SKILLS[random.nextInt(SKILLS.length)], tenth(random));
+        }
+        return new SkillProfile(skills);
+    }
+
+    private static double tenth(Random random) {
+        return Math.round(random.nextDouble() * 10) / 10.0;
+    }
+}
@@ -0,0 +1,87 @@
+package com.teamdelegation.replay;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.teamdelegation.engine.AssignmentEngine;
+import com.teamdelegation.model.Member;
+import com.teamdelegation.model.Task;
+
+/**
+ * Appends the inputs of served requests to a JSON-lines file for later replay with
+ * {@link DifferentialHarness}. Off unless a file is configured, since every line carries the full roster.
+ */
+public class ScenarioRecorder implements Closeable {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final ScenarioRecorder DISABLED = new ScenarioRecorder(null);
+
+    private final BufferedWriter out;
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ScenarioRecorder(BufferedWriter out) {
+        this.out = out;
+    }
+
+    public static ScenarioRecorder disabled() {
+        return DISABLED;
+    }
+
+    public static ScenarioRecorder open(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        return new ScenarioRecorder(Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND));
+    }
+
+    public boolean isEnabled() {
+        return out != null;
+    }
+
+    /**
+     * Records a request served by {@code engine} through {@code entryPoint}, with {@code budgetMs} as its
+     * deadline (0 for none), so a replay builds the same engine and calls the same method.
+     */
+    public void record(AssignmentEngine engine, Scenario.EntryPoint entryPoint, long budgetMs, List<Member> members,
+                       List<Task> tasks) throws IOException {
+        if (out == null) return;
+        String id = "rec-" + System.currentTimeMillis() + "-" + sequence.incrementAndGet();
+        Scenario scenario = new Scenario(id, members, tasks, EngineConfig.of(engine), entryPoint, budgetMs);
+        String line = MAPPER.writeValueAsString(scenario.toJson(MAPPER));
+        synchronized (out) {
+            out.write(line);
+            out.newLine();
+            out.flush();
+        }
+    }
+
+    public static List<Scenario> read(Path file) throws IOException {
+        List<Scenario> scenarios = new ArrayList<>();
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (!line.isBlank()) scenarios.add(Scenario.fromJson(MAPPER.readTree(line)));
+            }
+        }
+        return scenarios;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (out != null) {
+            synchronized (out) {
+                out.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.teamdelegation.roster;
+
+import java.util.Collections;
+import java.util.List;
+
+import com.teamdelegation.model.KeywordIds;
+import com.teamdelegation.model.Member;
+import com.teamdelegation.model.ProjectLoad;
+import com.teamdelegation.model.SkillProfile;
+
+/**
+ * Flyweight {@link Member} over one slot of an {@link OffHeapRoster}. Holds no member state of its own
+ * besides a lazily decoded name and keywords; two views are equal when they point at the same slot of the same
+ * roster.
+ */
+public final class OffHeapMember extends Member {
+
+    private final OffHeapRoster roster;
+    private final OffHeapSkillProfile expertise;
+    private final int index;
+    private String name;
+    private long[] keywords;
+
+    OffHeapMember(OffHeapRoster roster, int index) {
+        this.roster = roster;
+        this.index = index;
+        this.expertise = new OffHeapSkillProfile(this);
+    }
+
+    public int index() {
+        return index;
+    }
+
+    OffHeapRoster roster() {
+        return roster;
+    }
+
+    @Override
+    public String getName() {
+        if (name == null) {
+            name = roster.name(index);
+        }
+        return name;
+    }
+
+    @Override
+    public SkillProfile getExpertise() {
+        return expertise;
+    }
+
+    @Override
+    public double getRecentPerformance() {
+        return roster.performance(index);
+    }
+
+    @Override
+    public double getGrowthDesire() {
+        return roster.growth(index);
+    }
+
+    /**
+     * Only the aggregate load and the project count are stored, so this reports that many unnamed projects sharing
+     * the load equally: max-task rules count them correctly, but exclusions cannot match them to a project.
+     */
+    @Override
+    public List<ProjectLoad> getCurrentProjects() {
+        int projects = roster.projectCount(index);
+        return projects > 0
+                ? Collections.nCopies(projects, new ProjectLoad("active projects", roster.loadWeeks(index) / projects))
+                : List.of();
+    }
+
+    /** Skill names only: project names are not stored. */
+    @Override
+    public long[] getKeywords() {
+        if (keywords == null) {
+            keywords = KeywordIds.words(expertise.getSkillNames());
+        }
+        return keywords;
+    }
+
+    @Override
+    public Member assignProject(ProjectLoad load) {
+        roster.addProject(index, load.getRemainingWeeks());
+        return this;
+    }
+
+    @Override
+    public double currentLoadRatio(double nominalCapacityWeeks) {
+        return roster.loadWeeks(index) / Math.max(1.0, nominalCapacityWeeks);
+    }
+
+    @Override
+    public double totalRemainingWeeks() {
+        return roster.loadWeeks(index);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof OffHeapMember other && other.roster == roster && other.index == index;
+    }
+
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(roster) * 31 + index;
+    }
+}
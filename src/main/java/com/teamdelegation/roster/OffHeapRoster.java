@@ -0,0 +1,331 @@
+package com.teamdelegation.roster;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+import com.teamdelegation.model.KeywordIds;
+import com.teamdelegation.model.Member;
+import com.teamdelegation.model.SkillIds;
+import com.teamdelegation.model.SkillProfile;
+
+/**
+ * Columnar roster kept in direct (off-heap) buffers, for member pools too large to hold as
+ * {@link Member} objects with per-member maps and lists.
+ * <p>
+ * Layout:
+ * <ul>
+ *   <li>records: fixed {@value #RECORD_BYTES}-byte rows of performance, growth, load weeks,
+ *       name offset/length, skill offset/count and project count</li>
+ *   <li>names: UTF-8 bytes</li>
+ *   <li>skill ids: ints, sorted within each member; skill levels: the matching doubles, in a parallel column</li>
+ * </ul>
+ * Levels are stored as doubles, so scores, and therefore picks between near-tied members, are exactly those
+ * of the on-heap roster. Only the aggregate remaining load and the number of projects are kept, not individual
+ * projects, so max-task rules see the member's real project count but exclusions cannot see project names.
+ * <p>
+ * Every region is a {@link ByteBuffer} with int offsets, so each one is limited to 2 GiB, about
+ * {@value #MAX_MEMBERS} members for the records. Sizes are checked with exact arithmetic before anything is
+ * written, and a roster that cannot fit is rejected rather than wrapping offsets; reads stay within what was
+ * checked.
+ * <p>
+ * The engine scans the roster through {@link #asList()}. Each list hands out one flyweight {@link Member} view per
+ * slot, created on first access and returned again by every later {@code get} of that index, so the repeated
+ * scans of a batch allocate nothing and decode each name once. The engine holds on to the members it picks, so
+ * a single repositioned view could not be handed to it. Appends are single-writer; reads may run concurrently.
+ * <p>
+ * Not wired into the web roster, which keeps {@link Member} objects; the store backs the {@code offheap} engine
+ * of {@code DifferentialHarness} and callers that build rosters too large for the heap.
+ */
+public final class OffHeapRoster {
+
+    static final int RECORD_BYTES = 48;
+    private static final int MAX_REGION_BYTES = Integer.MAX_VALUE - 8;
+    static final int MAX_MEMBERS = MAX_REGION_BYTES / RECORD_BYTES;
+    private static final int PERFORMANCE = 0;
+    private static final int GROWTH = 8;
+    private static final int LOAD = 16;
+    private static final int NAME_OFFSET = 24;
+    private static final int NAME_LENGTH = 28;
+    private static final int SKILL_OFFSET = 32;
+    private static final int SKILL_COUNT = 36;
+    private static final int PROJECT_COUNT = 40;  // 4 bytes of padding keep rows 8-byte aligned
+    private static final int SKILL_ID_BYTES = 4;
+    private static final int SKILL_LEVEL_BYTES = 8;
+
+    private volatile ByteBuffer records;
+    private volatile ByteBuffer names;
+    private volatile ByteBuffer skillIds;
+    private volatile ByteBuffer skillLevels;
+    private volatile int size;
+    private int nameBytes;
+    private int skillEntries;
+
+    /** @throws IllegalArgumentException if {@code expectedMembers} exceeds {@value #MAX_MEMBERS} */
+    public OffHeapRoster(int expectedMembers) {
+        if (expectedMembers > MAX_MEMBERS) {
+            throw new IllegalArgumentException("Off-heap roster holds at most " + MAX_MEMBERS + " members, not "
+                    + expectedMembers);
+        }
+        int capacity = Math.max(16, expectedMembers);
+        this.records = allocate(region(capacity, RECORD_BYTES));
+        this.names = allocate(region(capacity, 16));
+        this.skillIds = allocate(region(capacity, 4 * SKILL_ID_BYTES));
+        this.skillLevels = allocate(region(capacity, 4 * SKILL_LEVEL_BYTES));
+    }
+
+    public static OffHeapRoster of(List<Member> members) {
+        OffHeapRoster roster = new OffHeapRoster(members.size());
+        members.forEach(roster::add);
+        return roster;
+    }
+
+    /** Copies a member into the store and returns its index. */
+    public int add(Member member) {
+        return add(member.getName(), member.getExpertise(), member.getRecentPerformance(),
+                member.getGrowthDesire(), member.totalRemainingWeeks(), member.getCurrentProjects().size());
+    }
+
+    /** As one project when {@code loadWeeks} is positive, none otherwise. */
+    public int add(String name, SkillProfile expertise, double performance, double growth, double loadWeeks) {
+        return add(name, expertise, performance, growth, loadWeeks, loadWeeks > 0 ? 1 : 0);
+    }
+
+    /**
+     * @throws IllegalStateException if a region would exceed 2 GiB; the roster is left unchanged
+     */
+    public synchronized int add(String name, SkillProfile expertise, double performance, double growth,
+                                double loadWeeks, int projects) {
+        KeywordIds.words(expertise.getSkillNames());  // views derive keywords later; objectives only look words up
+        byte[] encodedName = name.getBytes(StandardCharsets.UTF_8);
+        int[] ids = expertise.skillIds();
+        double[] levels = expertise.levels();
+
+        int index = size;
+        ensureCapacity(index + 1, encodedName.length, ids.length);
+
+        ByteBuffer n = names;
+        for (int i = 0; i < encodedName.length; i++) {
+            n.put(nameBytes + i, encodedName[i]);
+        }
+        ByteBuffer si = skillIds;
+        ByteBuffer sl = skillLevels;
+        for (int k = 0; k < ids.length; k++) {
+            si.putInt((skillEntries + k) * SKILL_ID_BYTES, ids[k]);
+            sl.putDouble((skillEntries + k) * SKILL_LEVEL_BYTES, levels[k]);
+        }
+
+        int row = index * RECORD_BYTES;
+        ByteBuffer r = records;
+        r.putDouble(row + PERFORMANCE, clamp(performance));
+        r.putDouble(row + GROWTH, clamp(growth));
+        r.putDouble(row + LOAD, loadWeeks);
+        r.putInt(row + NAME_OFFSET, nameBytes);
+        r.putInt(row + NAME_LENGTH, encodedName.length);
+        r.putInt(row + SKILL_OFFSET, skillEntries);
+        r.putInt(row + SKILL_COUNT, ids.length);
+        r.putInt(row + PROJECT_COUNT, Math.max(0, projects));
+
+        nameBytes += encodedName.length;
+        skillEntries += ids.length;
+        size = index + 1;  // publish
+        return index;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** Off-heap bytes in use (excluding spare capacity). */
+    public long bytesUsed() {
+        return (long) size * RECORD_BYTES + nameBytes + (long) skillEntries * (SKILL_ID_BYTES + SKILL_LEVEL_BYTES);
+    }
+
+    /** A new flyweight view of member {@code index}; equal to any other view of the same slot. */
+    public Member view(int index) {
+        checkIndex(index);
+        return new OffHeapMember(this, index);
+    }
+
+    /** Read-only list of flyweight views over the members added so far, suitable for {@code AssignmentEngine}. */
+    public List<Member> asList() {
+        return new MemberList();
+    }
+
+    // --- column accessors used by the views ---
+
+    double performance(int index) {
+        return records.getDouble(index * RECORD_BYTES + PERFORMANCE);
+    }
+
+    double growth(int index) {
+        return records.getDouble(index * RECORD_BYTES + GROWTH);
+    }
+
+    double loadWeeks(int index) {
+        return records.getDouble(index * RECORD_BYTES + LOAD);
+    }
+
+    int projectCount(int index) {
+        return records.getInt(index * RECORD_BYTES + PROJECT_COUNT);
+    }
+
+    synchronized void addProject(int index, double weeks) {
+        int row = index * RECORD_BYTES;
+        records.putDouble(row + LOAD, records.getDouble(row + LOAD) + weeks);
+        records.putInt(row + PROJECT_COUNT, records.getInt(row + PROJECT_COUNT) + 1);
+    }
+
+    String name(int index) {
+        int row = index * RECORD_BYTES;
+        ByteBuffer r = records;
+        int offset = r.getInt(row + NAME_OFFSET);
+        int length = r.getInt(row + NAME_LENGTH);
+        byte[] bytes = new byte[length];
+        names.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    int skillCount(int index) {
+        return records.getInt(index * RECORD_BYTES + SKILL_COUNT);
+    }
+
+    int skillId(int index, int k) {
+        return skillIds.getInt((records.getInt(index * RECORD_BYTES + SKILL_OFFSET) + k) * SKILL_ID_BYTES);
+    }
+
+    double skillLevel(int index, int k) {
+        return skillLevels.getDouble((records.getInt(index * RECORD_BYTES + SKILL_OFFSET) + k) * SKILL_LEVEL_BYTES);
+    }
+
+    double level(int index, int skillId) {
+        int row = index * RECORD_BYTES;
+        ByteBuffer r = records;
+        ByteBuffer si = skillIds;
+        int first = r.getInt(row + SKILL_OFFSET);
+        int lo = 0, hi = r.getInt(row + SKILL_COUNT) - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int id = si.getInt((first + mid) * SKILL_ID_BYTES);
+            if (id < skillId) lo = mid + 1;
+            else if (id > skillId) hi = mid - 1;
+            else return skillLevels.getDouble((first + mid) * SKILL_LEVEL_BYTES);
+        }
+        return 0.0;
+    }
+
+    double overlap(int index, int[] ids, double[] caps) {
+        int row = index * RECORD_BYTES;
+        ByteBuffer r = records;
+        ByteBuffer si = skillIds;
+        ByteBuffer sl = skillLevels;
+        int first = r.getInt(row + SKILL_OFFSET);
+        int count = r.getInt(row + SKILL_COUNT);
+        double sum = 0;
+        int i = 0, j = 0;
+        while (i < ids.length && j < count) {
+            int a = ids[i];
+            int b = si.getInt((first + j) * SKILL_ID_BYTES);
+            if (a == b) {
+                sum += Math.min(caps[i], sl.getDouble((first + j) * SKILL_LEVEL_BYTES));
+                i++;
+                j++;
+            } else if (a < b) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return sum;
+    }
+
+    int lookupSkill(String skill) {
+        return SkillIds.lookup(skill);
+    }
+
+    void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Member index " + index + " out of range for roster of " + size);
+        }
+    }
+
+    // Every size is checked before any buffer is replaced or written, so a failed add changes nothing
+    private void ensureCapacity(int members, int extraNameBytes, int extraSkills) {
+        int recordBytes = region(members, RECORD_BYTES);
+        int nameRegion = region(addExact(nameBytes, extraNameBytes), 1);
+        int skillCount = addExact(skillEntries, extraSkills);
+        int idBytes = region(skillCount, SKILL_ID_BYTES);
+        int levelBytes = region(skillCount, SKILL_LEVEL_BYTES);
+        if (recordBytes > records.capacity()) {
+            records = grow(records, recordBytes);
+        }
+        if (nameRegion > names.capacity()) {
+            names = grow(names, nameRegion);
+        }
+        if (levelBytes > skillLevels.capacity()) {
+            skillIds = grow(skillIds, idBytes);
+            skillLevels = grow(skillLevels, levelBytes);
+        }
+    }
+
+    /** {@code count * width} bytes, or an exception when that does not fit one region. */
+    private static int region(int count, int width) {
+        try {
+            int bytes = Math.multiplyExact(count, width);
+            if (bytes <= MAX_REGION_BYTES) return bytes;
+        } catch (ArithmeticException ignored) {
+            // reported below
+        }
+        throw new IllegalStateException("Off-heap roster region exceeds 2 GiB");
+    }
+
+    private static int addExact(int a, int b) {
+        try {
+            return Math.addExact(a, b);
+        } catch (ArithmeticException ex) {
+            throw new IllegalStateException("Off-heap roster region exceeds 2 GiB", ex);
+        }
+    }
+
+    private static ByteBuffer grow(ByteBuffer buffer, int required) {
+        long capacity = Math.min(Math.max((long) required, buffer.capacity() * 2L), MAX_REGION_BYTES);
+        ByteBuffer bigger = allocate((int) capacity);
+        bigger.put(0, buffer, 0, buffer.capacity());
+        return bigger;
+    }
+
+    private static ByteBuffer allocate(int bytes) {
+        return ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+    }
+
+    private static double clamp(double value) {
+        return Math.max(0, Math.min(1, value));
+    }
+
+    // Views are keyed by index; a racing first access may build two, which are equal and interchangeable
+    private final class MemberList extends AbstractList<Member> implements RandomAccess {
+        private final int snapshotSize = size;
+        private final OffHeapMember[] views = new OffHeapMember[snapshotSize];
+
+        @Override
+        public Member get(int index) {
+            if (index < 0 || index >= snapshotSize) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            OffHeapMember view = views[index];
+            if (view == null) {
+                view = new OffHeapMember(OffHeapRoster.this, index);
+                views[index] = view;
+            }
+            return view;
+        }
+
+        @Override
+        public int size() {
+            return snapshotSize;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.teamdelegation.roster;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import com.teamdelegation.model.SkillIds;
+import com.teamdelegation.model.SkillProfile;
+
+/**
+ * Flyweight {@link SkillProfile} reading the current slot of its owning {@link OffHeapMember}.
+ * Scoring lookups ({@link #getLevel(int)}, {@link #overlap}) read the off-heap entries directly;
+ * the map and array accessors materialize copies and are meant for display, not hot paths.
+ */
+final class OffHeapSkillProfile extends SkillProfile {
+
+    private final OffHeapMember owner;
+
+    OffHeapSkillProfile(OffHeapMember owner) {
+        this.owner = owner;
+    }
+
+    @Override
+    public double getLevel(String skill) {
+        int id = owner.roster().lookupSkill(skill);
+        return id >= 0 ? getLevel(id) : 0.0;
+    }
+
+    @Override
+    public double getLevel(int skillId) {
+        return owner.roster().level(owner.index(), skillId);
+    }
+
+    @Override
+    public double overlap(int[] ids, double[] caps) {
+        return owner.roster().overlap(owner.index(), ids, caps);
+    }
+
+    @Override
+    public Set<String> getSkillNames() {
+        return asMap().keySet();
+    }
+
+    @Override
+    public Map<String, Double> asMap() {
+        OffHeapRoster roster = owner.roster();
+        int index = owner.index();
+        int count = roster.skillCount(index);
+        Map<String, Double> map = new HashMap<>();
+        for (int k = 0; k < count; k++) {
+            map.put(SkillIds.name(roster.skillId(index, k)), roster.skillLevel(index, k));
+        }
+        return Collections.unmodifiableMap(map);
+    }
+
+    @Override
+    public int[] skillIds() {
+        OffHeapRoster roster = owner.roster();
+        int index = owner.index();
+        int[] ids = new int[roster.skillCount(index)];
+        for (int k = 0; k < ids.length; k++) ids[k] = roster.skillId(index, k);
+        return ids;
+    }
+
+    @Override
+    public double[] levels() {
+        OffHeapRoster roster = owner.roster();
+        int index = owner.index();
+        double[] levels = new double[roster.skillCount(index)];
+        for (int k = 0; k < levels.length; k++) levels[k] = roster.skillLevel(index, k);
+        return levels;
+    }
+}
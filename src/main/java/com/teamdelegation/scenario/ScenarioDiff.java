@@ -0,0 +1,145 @@
+package com.teamdelegation.scenario;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import com.teamdelegation.model.AssignmentDecision;
+import com.teamdelegation.model.AssignmentInsight;
+import com.teamdelegation.model.Member;
+import com.teamdelegation.model.TaskAssignment;
+
+/**
+ * How a fork's decision differs from the base decision for the same project: the assignee, and each
+ * member's utility and rank. Members present on one side only have a {@code NaN} utility and rank -1 on
+ * the other.
+ */
+public class ScenarioDiff {
+
+    private final String scenario;
+    private final String baseAssignee;
+    private final String forkAssignee;
+    private final double baseUtility;
+    private final double forkUtility;
+    private final List<MemberShift> shifts;
+
+    public ScenarioDiff(String scenario, String baseAssignee, String forkAssignee,
+                        double baseUtility, double forkUtility, List<MemberShift> shifts) {
+        this.scenario = scenario;
+        this.baseAssignee = baseAssignee;
+        this.forkAssignee = forkAssignee;
+        this.baseUtility = baseUtility;
+        this.forkUtility = forkUtility;
+        this.shifts = shifts;
+    }
+
+    public static ScenarioDiff between(String scenario, AssignmentDecision base, AssignmentDecision fork) {
+        Map<String, MemberShift> byName = new LinkedHashMap<>();
+        List<AssignmentInsight> baseInsights = base.getInsights();
+        for (int rank = 0; rank < baseInsights.size(); rank++) {
+            AssignmentInsight insight = baseInsights.get(rank);
+            byName.put(insight.getMemberName(),
+                    new MemberShift(insight.getMemberName(), insight.getUtilityScore(), Double.NaN, rank, -1));
+        }
+        List<AssignmentInsight> forkInsights = fork.getInsights();
+        for (int rank = 0; rank < forkInsights.size(); rank++) {
+            AssignmentInsight insight = forkInsights.get(rank);
+            MemberShift before = byName.get(insight.getMemberName());
+            byName.put(insight.getMemberName(), before == null
+                    ? new MemberShift(insight.getMemberName(), Double.NaN, insight.getUtilityScore(), -1, rank)
+                    : new MemberShift(insight.getMemberName(), before.getBaseUtility(), insight.getUtilityScore(),
+                            before.getBaseRank(), rank));
+        }
+        List<MemberShift> shifts = new ArrayList<>();
+        for (MemberShift shift : byName.values()) {
+            if (shift.isChanged()) shifts.add(shift);
+        }
+        return new ScenarioDiff(scenario, name(base.getAssignee()), name(fork.getAssignee()),
+                assigneeUtility(base), assigneeUtility(fork), shifts);
+    }
+
+    private static String name(Member member) {
+        return member != null ? member.getName() : null;
+    }
+
+    private static double assigneeUtility(AssignmentDecision decision) {
+        List<TaskAssignment> assignments = decision.getTaskAssignments();
+        return assignments.isEmpty() ? Double.NaN : assignments.get(0).getUtilityScore();
+    }
+
+    public String getScenario() {
+        return scenario;
+    }
+
+    public String getBaseAssignee() {
+        return baseAssignee;
+    }
+
+    public String getForkAssignee() {
+        return forkAssignee;
+    }
+
+    public boolean isAssigneeChanged() {
+        return !Objects.equals(baseAssignee, forkAssignee);
+    }
+
+    public double getBaseUtility() {
+        return baseUtility;
+    }
+
+    public double getForkUtility() {
+        return forkUtility;
+    }
+
+    /** Fork minus base utility of the chosen assignee. */
+    public double getUtilityDelta() {
+        return forkUtility - baseUtility;
+    }
+
+    /** Members whose utility or rank moved, in base rank order followed by members new in the fork. */
+    public List<MemberShift> getShifts() {
+        return shifts;
+    }
+
+    public static class MemberShift {
+        private final String memberName;
+        private final double baseUtility;
+        private final double forkUtility;
+        private final int baseRank;
+        private final int forkRank;
+
+        public MemberShift(String memberName, double baseUtility, double forkUtility, int baseRank, int forkRank) {
+            this.memberName = memberName;
+            this.baseUtility = baseUtility;
+            this.forkUtility = forkUtility;
+            this.baseRank = baseRank;
+            this.forkRank = forkRank;
+        }
+
+        public String getMemberName() {
+            return memberName;
+        }
+
+        public double getBaseUtility() {
+            return baseUtility;
+        }
+
+        public double getForkUtility() {
+            return forkUtility;
+        }
+
+        public int getBaseRank() {
+            return baseRank;
+        }
+
+        public int getForkRank() {
+            return forkRank;
+        }
+
+        public boolean isChanged() {
+            return baseRank != forkRank || Double.compare(baseUtility, forkUtility) != 0;
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.teamdelegation.scenario;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+import com.teamdelegation.model.Member;
+
+/**
+ * Copy-on-write what-if view of a roster. Every fork is immutable and holds only its own edit (a member added or
+ * replaced, or a name removed) and a link to its parent, so forking is O(1) and a chain of k edits costs O(k)
+ * however large the roster is. Unchanged {@link Member} objects are the base roster's own.
+ * <p>
+ * {@link #members()} replays the chain once into a delta, per edited name the replacement or a removal, then makes
+ * one pass over the base to find the positions that are removed or replaced: O(k + n) for the first call, after
+ * which {@code get(i)} costs O(log d) for d edited names. Only forks that are evaluated build a view, and
+ * intermediate forks in a chain never do. Members themselves are never mutated. Changing a member's skills or
+ * load means forking {@link #with(Member)} with a replacement of the same name.
+ */
+public final class ScenarioFork {
+
+    private final ScenarioFork parent;
+    private final List<Member> base;
+    private final String name;     // edited name; null on the root
+    private final Member member;   // null: name removed
+    private final int depth;
+    private volatile List<Member> view;
+
+    private ScenarioFork(ScenarioFork parent, List<Member> base, String name, Member member) {
+        this.parent = parent;
+        this.base = base;
+        this.name = name;
+        this.member = member;
+        this.depth = parent == null ? 0 : parent.depth + 1;
+    }
+
+    /** Root over an immutable roster such as {@code ScenarioRepository.getMembers()}; the list is not copied. */
+    public static ScenarioFork of(List<Member> base) {
+        ScenarioFork root = new ScenarioFork(null, base, null, null);
+        root.view = base;
+        return root;
+    }
+
+    /**
+     * Adds {@code member}, or replaces the member with the same name in place. A name removed earlier in the
+     * chain comes back at the end, as a new member would.
+     */
+    public ScenarioFork with(Member member) {
+        return new ScenarioFork(this, base, member.getName(), member);
+    }
+
+    /** Removes the member with this name (leave, reassignment); a no-op if there is none. */
+    public ScenarioFork without(String memberName) {
+        return new ScenarioFork(this, base, memberName, null);
+    }
+
+    public ScenarioFork getParent() {
+        return parent;
+    }
+
+    /** Number of changes between this fork and the base roster. */
+    public int depth() {
+        return depth;
+    }
+
+    public List<Member> members() {
+        List<Member> members = view;
+        if (members == null) {
+            members = resolve();
+            view = members;
+        }
+        return members;
+    }
+
+    /** The unforked roster this fork ultimately derives from. */
+    public List<Member> baseMembers() {
+        return base;
+    }
+
+    // The chain's edits replayed root first: a replacement keeps the position of the member it replaces, and a
+    // name added (again) after a removal, or for the first time, is appended in order
+    private Map<String, Edit> delta() {
+        ScenarioFork[] chain = new ScenarioFork[depth];
+        int k = depth;
+        for (ScenarioFork fork = this; fork.parent != null; fork = fork.parent) {
+            chain[--k] = fork;
+        }
+        Map<String, Edit> delta = new HashMap<>();
+        long sequence = 0;
+        for (ScenarioFork fork : chain) {
+            Edit previous = delta.get(fork.name);
+            Edit edit;
+            if (fork.member == null) {
+                edit = Edit.REMOVED;
+            } else if (previous == null) {
+                edit = new Edit(fork.member, sequence++, true);
+            } else if (previous.member == null) {
+                edit = new Edit(fork.member, sequence++, false);
+            } else {
+                edit = new Edit(fork.member, previous.sequence, previous.inPlace);
+            }
+            delta.put(fork.name, edit);
+        }
+        return delta;
+    }
+
+    // One pass over the base: edited names are rare, so the delta lookup is the only per-member cost
+    private List<Member> resolve() {
+        Map<String, Edit> delta = delta();
+        int[] skipped = new int[Math.min(delta.size(), 8)];
+        int skippedCount = 0;
+        int[] replacedAt = new int[Math.min(delta.size(), 8)];
+        Member[] replacements = new Member[replacedAt.length];
+        int replacedCount = 0;
+        Map<String, Boolean> placed = new HashMap<>();
+        for (int i = 0; i < base.size(); i++) {
+            String name = base.get(i).getName();
+            Edit edit = delta.get(name);
+            if (edit == null) continue;
+            // A replacement takes the first member of that name; removals and later duplicates drop out
+            if (edit.member != null && edit.inPlace && placed.putIfAbsent(name, Boolean.TRUE) == null) {
+                if (replacedCount == replacedAt.length) {
+                    replacedAt = Arrays.copyOf(replacedAt, replacedCount * 2);
+                    replacements = Arrays.copyOf(replacements, replacedCount * 2);
+                }
+                replacedAt[replacedCount] = i;
+                replacements[replacedCount++] = edit.member;
+            } else {
+                if (skippedCount == skipped.length) {
+                    skipped = Arrays.copyOf(skipped, skippedCount * 2);
+                }
+                skipped[skippedCount++] = i;
+            }
+        }
+        List<Edit> appended = new ArrayList<>();
+        for (Map.Entry<String, Edit> entry : delta.entrySet()) {
+            Edit edit = entry.getValue();
+            if (edit.member != null && !(edit.inPlace && placed.containsKey(entry.getKey()))) {
+                appended.add(edit);
+            }
+        }
+        appended.sort(Comparator.comparingLong(edit -> edit.sequence));
+        List<Member> tail = new ArrayList<>(appended.size());
+        for (Edit edit : appended) {
+            tail.add(edit.member);
+        }
+        return new View(base, Arrays.copyOf(skipped, skippedCount), Arrays.copyOf(replacedAt, replacedCount),
+                Arrays.copyOf(replacements, replacedCount), List.copyOf(tail));
+    }
+
+    // inPlace: added while the name was not removed, so it replaces a base member of that name if there is one;
+    // otherwise it is appended in order of sequence
+    private static final class Edit {
+        static final Edit REMOVED = new Edit(null, -1, false);
+
+        final Member member;  // null: removed
+        final long sequence;
+        final boolean inPlace;
+
+        Edit(Member member, long sequence, boolean inPlace) {
+            this.member = member;
+            this.sequence = sequence;
+            this.inPlace = inPlace;
+        }
+    }
+
+    // The base minus skipped positions, with replacements substituted, followed by the appended members
+    private static final class View extends AbstractList<Member> implements RandomAccess {
+        private final List<Member> base;
+        private final int[] skipped;      // ascending base positions
+        private final int[] replacedAt;   // ascending base positions
+        private final Member[] replacements;
+        private final List<Member> tail;
+        private final int kept;
+
+        View(List<Member> base, int[] skipped, int[] replacedAt, Member[] replacements, List<Member> tail) {
+            this.base = base;
+            this.skipped = skipped;
+            this.replacedAt = replacedAt;
+            this.replacements = replacements;
+            this.tail = tail;
+            this.kept = base.size() - skipped.length;
+        }
+
+        @Override
+        public Member get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size());
+            }
+            if (index >= kept) {
+                return tail.get(index - kept);
+            }
+            int position = basePosition(index);
+            int replaced = Arrays.binarySearch(replacedAt, position);
+            return replaced >= 0 ? replacements[replaced] : base.get(position);
+        }
+
+        @Override
+        public int size() {
+            return kept + tail.size();
+        }
+
+        // The index-th base position not skipped: the smallest p with p − |{s ∈ skipped : s ≤ p}| = index
+        private int basePosition(int index) {
+            int lo = 0;
+            int hi = skipped.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (skipped[mid] - mid <= index) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return index + lo;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.teamdelegation.scenario;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import com.teamdelegation.engine.AssignmentEngine;
+import com.teamdelegation.model.AssignmentDecision;
+import com.teamdelegation.model.ProjectDemand;
+
+/**
+ * Evaluates one project against the base roster and any number of forks concurrently, and diffs each fork
+ * against the base. The engine is stateless per call and forks never mutate shared members, so
+ * evaluations need no coordination.
+ */
+public class WhatIfEvaluator {
+
+    private final AssignmentEngine engine;
+    private final Executor executor;
+
+    public WhatIfEvaluator(AssignmentEngine engine, Executor executor) {
+        this.engine = engine;
+        this.executor = executor;
+    }
+
+    /**
+     * @param forks scenario name to fork, all derived from the same base roster; iteration order is kept
+     * @return scenario name to its diff against the decision on {@code fork.baseMembers()}
+     */
+    public Map<String, ScenarioDiff> compare(ProjectDemand demand, Map<String, ScenarioFork> forks) {
+        if (forks.isEmpty()) {
+            return Map.of();
+        }
+        CompletableFuture<AssignmentDecision> base = CompletableFuture.supplyAsync(
+                () -> engine.evaluate(demand, forks.values().iterator().next().baseMembers()), executor);
+        List<String> names = new ArrayList<>(forks.keySet());
+        List<CompletableFuture<ScenarioDiff>> diffs = new ArrayList<>(names.size());
+        for (String name : names) {
+            ScenarioFork fork = forks.get(name);
+            diffs.add(CompletableFuture
+                    .supplyAsync(() -> engine.evaluate(demand, fork.members()), executor)
+                    .thenCombine(base, (forked, original) -> ScenarioDiff.between(name, original, forked)));
+        }
+        Map<String, ScenarioDiff> result = new LinkedHashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            result.put(names.get(i), diffs.get(i).join());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,462 @@
+package com.teamdelegation.simulation;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.teamdelegation.constraint.AssignmentRules;
+import com.teamdelegation.constraint.ConstraintProperties;
+import com.teamdelegation.engine.AssignmentEngine;
+import com.teamdelegation.engine.AssignmentListener;
+import com.teamdelegation.engine.CapacityLedger;
+import com.teamdelegation.engine.EngineFactory;
+import com.teamdelegation.model.Member;
+import com.teamdelegation.model.SkillProfile;
+import com.teamdelegation.model.Task;
+import com.teamdelegation.model.TaskAssignment;
+import com.teamdelegation.model.Urgency;
+import com.teamdelegation.startup.RosterSnapshot;
+
+/**
+ * Headless batch assignment for scheduled jobs: a roster and a task backlog in, one result line per task out,
+ * run statistics on stderr.
+ * <p>
+ * The roster is a {@link RosterSnapshot} JSON array and is held in memory. The backlog is streamed, one task
+ * per line, as NDJSON
+ * <pre>
+ * {"id": "t1", "name": "Billing", "weeks": 3, "skills": {"java": 0.8}, "urgency": "H", "learning": false,
+ *  "objectives": ["cut latency"]}
+ * </pre>
+ * or, for files ending in {@code .csv}, as {@code id,name,weeks,urgency,learning,skills} with skills written
+ * {@code java:0.8;sql:0.5}. Only {@code name} and {@code weeks} are needed. Lines that cannot be read are counted
+ * and skipped.
+ * <p>
+ * Tasks are cut into chunks, and a pool of workers assigns each chunk with the greedy pass. All workers reserve
+ * capacity in one {@link CapacityLedger}, so the workload cap holds across the whole backlog; urgency ordering
+ * holds within a chunk. Results are written as NDJSON or CSV in input order. At most two chunks per worker are
+ * held at once, read or assigned but not yet written, so memory stays bounded whatever the backlog size.
+ * <p>
+ * The engine scores like the server's default engine: the scoring expression, objective weight and
+ * {@code delegation.constraints.*} rules come from the bundled {@code application.properties}, overlaid by
+ * {@code --config} and then by {@code --expression} and {@code --objective-weight}.
+ */
+final class BatchCli {
+
+    static final String USAGE = "Usage: SimulationApp --roster roster.json --tasks backlog.ndjson|backlog.csv"
+            + " [--out results.ndjson|results.csv|-] [--format json|csv] [--threads N] [--chunk 4096]"
+            + " [--capacity 12] [--config application.properties] [--expression EXPR] [--objective-weight 0.1]";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final long PROGRESS_NANOS = TimeUnit.SECONDS.toNanos(10);
+    private static final int MAX_REPORTED_REJECTS = 10;
+
+    private final Path roster;
+    private final Path tasks;
+    private final Path out;            // null for stdout
+    private final boolean csvOut;
+    private final int threads;
+    private final int chunkSize;
+    private final double capacityWeeks;
+    private final EngineFactory engines;
+    private final double objectiveWeight;
+
+    private final LongAdder assigned = new LongAdder();
+    private final LongAdder unassigned = new LongAdder();
+    private final DoubleAdder totalUtility = new DoubleAdder();
+    private long read;
+    private long rejected;
+
+    private BatchCli(Map<String, String> options) {
+        this.roster = Path.of(required(options, "roster"));
+        this.tasks = Path.of(required(options, "tasks"));
+        String target = options.getOrDefault("out", "-");
+        this.out = "-".equals(target) ? null : Path.of(target);
+        String format = options.getOrDefault("format", target.toLowerCase(Locale.ROOT).endsWith(".csv") ? "csv" : "json");
+        if (!format.equals("csv") && !format.equals("json")) {
+            throw new IllegalArgumentException("--format must be json or csv");
+        }
+        this.csvOut = format.equals("csv");
+        this.threads = positive(options, "threads", Runtime.getRuntime().availableProcessors());
+        this.chunkSize = positive(options, "chunk", 4096);
+        this.capacityWeeks = Double.parseDouble(options.getOrDefault("capacity", "12"));
+        Properties settings = settings(options.get("config"));
+        this.objectiveWeight = Double.parseDouble(options.getOrDefault("objective-weight",
+                settings.getProperty("delegation.utility.objective-weight",
+                        String.valueOf(AssignmentEngine.Weights.DEFAULT_OBJECTIVE_WEIGHT))));
+        String expression = options.getOrDefault("expression", settings.getProperty("delegation.utility.expression"));
+        AssignmentRules rules;
+        try {
+            rules = new Binder(new MapConfigurationPropertySource(settings))
+                    .bind("delegation.constraints", ConstraintProperties.class)
+                    .orElseGet(ConstraintProperties::new)
+                    .toRules();
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException("Bad delegation.constraints: " + ex.getMessage(), ex);
+        }
+        this.engines = new EngineFactory(expression, null, rules, null, null);
+    }
+
+    // The bundled application.properties, then the --config file over it
+    private static Properties settings(String config) {
+        Properties settings = new Properties();
+        try (InputStream bundled = BatchCli.class.getResourceAsStream("/application.properties")) {
+            if (bundled != null) settings.load(bundled);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        if (config != null) {
+            try (Reader reader = Files.newBufferedReader(Path.of(config), StandardCharsets.UTF_8)) {
+                settings.load(reader);
+            } catch (IOException ex) {
+                throw new IllegalArgumentException("Cannot read --config " + config + ": " + ex.getMessage(), ex);
+            }
+        }
+        return settings;
+    }
+
+    /** @return the process exit code: 0 done, 1 bad arguments, 2 unreadable input or failed run */
+    static int run(String[] args) {
+        BatchCli cli;
+        try {
+            cli = new BatchCli(parse(args));
+        } catch (IllegalArgumentException ex) {
+            System.err.println(ex.getMessage());
+            System.err.println(USAGE);
+            return 1;
+        } catch (UncheckedIOException ex) {
+            System.err.println("Batch failed: " + ex.getMessage());
+            return 2;
+        }
+        try {
+            cli.execute();
+            return 0;
+        } catch (IOException | UncheckedIOException | IllegalStateException ex) {
+            System.err.println("Batch failed: " + ex.getMessage());
+            return 2;
+        }
+    }
+
+    private void execute() throws IOException {
+        long start = System.nanoTime();
+        List<Member> members = RosterSnapshot.read(roster);
+        long rosterNanos = System.nanoTime() - start;
+        AssignmentEngine engine = engines.create(capacityWeeks,
+                AssignmentEngine.Weights.balanced().withObjective(objectiveWeight));
+        CapacityLedger ledger = engine.newLedger(members);
+        boolean csvIn = tasks.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".csv");
+
+        long assignStart = System.nanoTime();
+        ExecutorService workers = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "batch-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        try (Writer writer = out != null
+                ? Files.newBufferedWriter(out, StandardCharsets.UTF_8)
+                : new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+             BufferedReader reader = Files.newBufferedReader(tasks, StandardCharsets.UTF_8)) {
+            OrderedWriter results = new OrderedWriter(writer, 2 * threads);
+            if (csvOut) writer.write("taskId,projectName,assignee,utility\n");
+            List<Task> chunk = new ArrayList<>(chunkSize);
+            long sequence = 0;
+            long lastProgress = System.nanoTime();
+            String line;
+            for (long lineNumber = 1; (line = reader.readLine()) != null && failure.get() == null; lineNumber++) {
+                if (line.isBlank() || (csvIn && lineNumber == 1 && line.startsWith("id,"))) continue;
+                Task task = parse(line, lineNumber, csvIn);
+                if (task == null) continue;
+                read++;
+                chunk.add(task);
+                if (chunk.size() == chunkSize) {
+                    submit(workers, results, failure, engine, members, ledger, chunk, sequence++);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+                if (System.nanoTime() - lastProgress > PROGRESS_NANOS) {
+                    lastProgress = System.nanoTime();
+                    System.err.printf("... %d tasks read, %d assigned, %.0f s%n", read, assigned.sum(),
+                            (lastProgress - assignStart) / 1e9);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                submit(workers, results, failure, engine, members, ledger, chunk, sequence);
+            }
+            workers.shutdown();
+            while (!workers.awaitTermination(1, TimeUnit.SECONDS)) {
+                // a long chunk; keep waiting
+            }
+            writer.flush();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted", ex);
+        } finally {
+            workers.shutdownNow();
+        }
+        if (failure.get() != null) {
+            throw new IllegalStateException(failure.get().toString(), failure.get());
+        }
+        long assignNanos = System.nanoTime() - assignStart;
+
+        System.err.printf("engine:  %s, capacity %.1f weeks, %s%n", engine.getUtilityModel(), capacityWeeks,
+                engine.getRules() != null ? "rules on" : "no rules");
+        System.err.printf("roster:  %d members in %.0f ms%n", members.size(), rosterNanos / 1e6);
+        System.err.printf("tasks:   %d read, %d rejected, %d assigned, %d unassigned (chunks of %d, %d threads)%n",
+                read, rejected, assigned.sum(), unassigned.sum(), chunkSize, threads);
+        System.err.printf("assign:  %.2f s, %.0f tasks/s, total utility %.3f, %d contended reservations%n",
+                assignNanos / 1e9, read / Math.max(1e-9, assignNanos / 1e9), totalUtility.sum(),
+                ledger.getContendedRetries());
+        System.err.printf("heap:    %.0f MB peak%n", peakHeapBytes() / 1e6);
+    }
+
+    private void submit(ExecutorService workers, OrderedWriter results, AtomicReference<Throwable> failure,
+                        AssignmentEngine engine, List<Member> members, CapacityLedger ledger, List<Task> chunk,
+                        long sequence) throws InterruptedException {
+        results.acquire();
+        workers.execute(() -> {
+            String text = "";
+            try {
+                text = assign(engine, members, ledger, chunk);
+            } catch (RuntimeException | Error ex) {
+                failure.compareAndSet(null, ex);
+            }
+            try {
+                results.complete(sequence, text);
+            } catch (IOException ex) {
+                failure.compareAndSet(null, ex);
+            }
+        });
+    }
+
+    private String assign(AssignmentEngine engine, List<Member> members, CapacityLedger ledger, List<Task> chunk) {
+        List<TaskAssignment> assignments = engine.assignTasks(chunk, members, AssignmentListener.NONE, ledger);
+        Map<Task, TaskAssignment> byTask = new IdentityHashMap<>(assignments.size() * 2);
+        for (TaskAssignment assignment : assignments) {
+            byTask.put(assignment.getTask(), assignment);
+            totalUtility.add(assignment.getUtilityScore());
+        }
+        assigned.add(assignments.size());
+        unassigned.add(chunk.size() - assignments.size());
+        StringBuilder text = new StringBuilder(chunk.size() * 64);
+        for (Task task : chunk) {
+            TaskAssignment assignment = byTask.get(task);
+            if (csvOut) {
+                text.append(csv(task.getId())).append(',').append(csv(task.getProjectName())).append(',');
+                if (assignment != null) {
+                    text.append(csv(assignment.getAssignee().getName())).append(',')
+                            .append(String.format(Locale.ROOT, "%.4f", assignment.getUtilityScore()));
+                } else {
+                    text.append(',');
+                }
+            } else {
+                ObjectNode node = MAPPER.createObjectNode()
+                        .put("taskId", task.getId())
+                        .put("projectName", task.getProjectName());
+                if (assignment != null) {
+                    node.put("assignee", assignment.getAssignee().getName());
+                    node.put("utility", assignment.getUtilityScore());
+                } else {
+                    node.putNull("assignee");
+                }
+                text.append(node);
+            }
+            text.append('\n');
+        }
+        return text.toString();
+    }
+
+    private Task parse(String line, long lineNumber, boolean csv) {
+        try {
+            return csv ? parseCsv(line, lineNumber) : parseJson(line, lineNumber);
+        } catch (IOException | RuntimeException ex) {
+            if (rejected++ < MAX_REPORTED_REJECTS) {
+                System.err.println("line " + lineNumber + ": " + ex.getMessage());
+            }
+            return null;
+        }
+    }
+
+    private static Task parseJson(String line, long lineNumber) throws IOException {
+        JsonNode node = MAPPER.readTree(line);
+        Map<String, Double> skills = new LinkedHashMap<>();
+        node.path("skills").fields().forEachRemaining(e -> skills.put(e.getKey(), e.getValue().asDouble()));
+        Set<String> objectives = new LinkedHashSet<>();
+        node.path("objectives").forEach(o -> objectives.add(o.asText()));
+        String id = node.path("id").asText("task-" + lineNumber);
+        return new Task(id, required(node.path("name").asText(null), "name"), weeks(node.path("weeks").asText(null)),
+                new SkillProfile(skills), urgency(node.path("urgency").asText("M")),
+                node.path("learning").asBoolean(false), objectives);
+    }
+
+    // id,name,weeks,urgency,learning,skills
+    private static Task parseCsv(String line, long lineNumber) {
+        List<String> fields = splitCsv(line);
+        if (fields.size() < 3) throw new IllegalArgumentException("expected id,name,weeks[,urgency,learning,skills]");
+        String id = fields.get(0).isBlank() ? "task-" + lineNumber : fields.get(0).trim();
+        Map<String, Double> skills = new HashMap<>();
+        if (fields.size() > 5) {
+            for (String pair : fields.get(5).split(";")) {
+                if (pair.isBlank()) continue;
+                int colon = pair.lastIndexOf(':');
+                if (colon < 0) throw new IllegalArgumentException("expected skill:level, got '" + pair.trim() + "'");
+                skills.put(pair.substring(0, colon).trim().toLowerCase(Locale.ROOT),
+                        Double.parseDouble(pair.substring(colon + 1).trim()));
+            }
+        }
+        return new Task(id, required(fields.get(1).trim(), "name"), weeks(fields.get(2)), new SkillProfile(skills),
+                urgency(fields.size() > 3 ? fields.get(3) : "M"),
+                fields.size() > 4 && Boolean.parseBoolean(fields.get(4).trim()), Set.of());
+    }
+
+    // Comma-separated, with "double quotes" around fields that contain commas and "" for a literal quote
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>(6);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static String csv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) return value;
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static double weeks(String raw) {
+        if (raw == null || raw.isBlank()) throw new IllegalArgumentException("missing weeks");
+        double weeks = Double.parseDouble(raw.trim());
+        if (!(weeks > 0)) throw new IllegalArgumentException("weeks must be positive, got " + raw.trim());
+        return weeks;
+    }
+
+    private static Urgency urgency(String raw) {
+        return raw == null || raw.isBlank() ? Urgency.M : Urgency.valueOf(raw.trim().toUpperCase(Locale.ROOT));
+    }
+
+    private static String required(String value, String field) {
+        if (value == null || value.isBlank()) throw new IllegalArgumentException("missing " + field);
+        return value;
+    }
+
+    private static long peakHeapBytes() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.getPeakUsage() != null) peak += pool.getPeakUsage().getUsed();
+        }
+        return peak;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 == args.length) {
+                throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+            }
+            options.put(args[i].substring(2), args[++i]);
+        }
+        return options;
+    }
+
+    private static String required(Map<String, String> options, String name) {
+        String value = options.get(name);
+        if (value == null || value.isBlank()) throw new IllegalArgumentException("--" + name + " is required");
+        return value;
+    }
+
+    private static int positive(Map<String, String> options, String name, int defaultValue) {
+        String raw = options.get(name);
+        if (raw == null) return defaultValue;
+        try {
+            int value = Integer.parseInt(raw);
+            if (value > 0) return value;
+        } catch (NumberFormatException ex) {
+            // reported below
+        }
+        throw new IllegalArgumentException("--" + name + " must be a positive integer");
+    }
+
+    /**
+     * Writes chunk results in submission order. Chunks finished early wait here; a permit per chunk is taken
+     * before it is read and given back once it is written, which bounds everything in flight.
+     */
+    private static final class OrderedWriter {
+        private final Writer writer;
+        private final Semaphore permits;
+        private final Map<Long, String> pending = new HashMap<>();
+        private long next;
+
+        OrderedWriter(Writer writer, int maxInFlight) {
+            this.writer = writer;
+            this.permits = new Semaphore(maxInFlight);
+        }
+
+        void acquire() throws InterruptedException {
+            permits.acquire();
+        }
+
+        synchronized void complete(long sequence, String text) throws IOException {
+            pending.put(sequence, text);
+            for (String ready = pending.remove(next); ready != null; ready = pending.remove(next)) {
+                try {
+                    writer.write(ready);
+                } finally {
+                    next++;
+                    permits.release();
+                }
+            }
+        }
+    }
+}
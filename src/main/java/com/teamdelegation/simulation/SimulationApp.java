@@ -20,6 +20,9 @@ public class SimulationApp {
     private static final double DEFAULT_CAPACITY_WEEKS = 12.0;
 
     public static void main(String[] args) {
+        if (args.length > 0) {
+            System.exit(BatchCli.run(args));
+        }
         Scanner scanner = new Scanner(System.in);
         List<Member> members = new ArrayList<>(DemoDataFactory.buildMembers());
         System.out.println("=== Team Task Delegation Simulation ===");
@@ -0,0 +1,168 @@
+package com.teamdelegation.startup;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+
+import com.teamdelegation.engine.AssignmentEngine;
+import com.teamdelegation.model.Member;
+import com.teamdelegation.model.ProjectDemand;
+import com.teamdelegation.model.SkillProfile;
+import com.teamdelegation.model.Urgency;
+import com.teamdelegation.web.ScenarioRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Gets the default tenant to a warm state before it takes traffic.
+ * <p>
+ * It loads the roster snapshot, pre-builds the engine's skill index and runs one throw-away evaluation to
+ * load and JIT-seed the scoring path. It also parses every template into the Thymeleaf cache (effective
+ * only with {@code spring.thymeleaf.cache=true}, as in the {@code prod} profile). Readiness is held at
+ * {@code REFUSING_TRAFFIC} until this finishes. The {@code engineWarmup} health contributor reports
+ * warm-up time and time-to-first-decision, both measured from JVM start so AppCDS gains show up.
+ */
+@Component
+public class EngineWarmup implements ApplicationRunner, HealthIndicator {
+
+    private static final Logger log = LoggerFactory.getLogger(EngineWarmup.class);
+    private static final List<String> TEMPLATES = List.of("assignment", "members", "result", "batch");
+
+    private final ScenarioRepository repository;
+    private final AssignmentEngine engine;
+    private final ITemplateEngine templateEngine;
+    private final ApplicationEventPublisher publisher;
+    private final boolean enabled;
+    private final Path snapshot;
+    private final boolean saveOnShutdown;
+    private final long firstDecisionTargetMillis;
+
+    private final long jvmStartMillis = ManagementFactory.getRuntimeMXBean().getStartTime();
+    private final AtomicLong firstDecisionMillis = new AtomicLong(-1);
+    private volatile long warmMillis = -1;
+    private volatile int snapshotMembers;
+
+    public EngineWarmup(ScenarioRepository repository,
+                        AssignmentEngine engine,
+                        ITemplateEngine templateEngine,
+                        ApplicationEventPublisher publisher,
+                        @Value("${delegation.warmup.enabled:true}") boolean enabled,
+                        @Value("${delegation.warmup.snapshot:}") String snapshot,
+                        @Value("${delegation.warmup.save-on-shutdown:false}") boolean saveOnShutdown,
+                        @Value("${delegation.warmup.first-decision-target-ms:2000}") long firstDecisionTargetMillis) {
+        this.repository = repository;
+        this.engine = engine;
+        this.templateEngine = templateEngine;
+        this.publisher = publisher;
+        this.enabled = enabled;
+        this.snapshot = snapshot.isBlank() ? null : Path.of(snapshot);
+        this.saveOnShutdown = saveOnShutdown;
+        this.firstDecisionTargetMillis = firstDecisionTargetMillis;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        AvailabilityChangeEvent.publish(publisher, this, ReadinessState.REFUSING_TRAFFIC);
+        if (enabled) {
+            loadSnapshot();
+            warmEngine();
+            warmTemplates();
+        }
+        warmMillis = System.currentTimeMillis() - jvmStartMillis;
+        log.info("Engine warm {} ms after JVM start ({} members from snapshot)", warmMillis, snapshotMembers);
+        AvailabilityChangeEvent.publish(publisher, this, ReadinessState.ACCEPTING_TRAFFIC);
+    }
+
+    /** Called after each served decision; only the first one is recorded. */
+    public void recordDecision() {
+        if (firstDecisionMillis.get() >= 0) return;
+        long elapsed = System.currentTimeMillis() - jvmStartMillis;
+        if (firstDecisionMillis.compareAndSet(-1, elapsed)) {
+            if (elapsed > firstDecisionTargetMillis) {
+                log.warn("First decision served {} ms after JVM start, target is {} ms", elapsed, firstDecisionTargetMillis);
+            } else {
+                log.info("First decision served {} ms after JVM start", elapsed);
+            }
+        }
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = warmMillis < 0 ? Health.outOfService() : Health.up();
+        return builder
+                .withDetail("warmMillis", warmMillis)
+                .withDetail("firstDecisionMillis", firstDecisionMillis.get())
+                .withDetail("firstDecisionTargetMillis", firstDecisionTargetMillis)
+                .withDetail("snapshotMembers", snapshotMembers)
+                .build();
+    }
+
+    @PreDestroy
+    public void saveSnapshot() {
+        if (snapshot == null || !saveOnShutdown) return;
+        try {
+            RosterSnapshot.write(snapshot, repository.getMembers());
+        } catch (IOException ex) {
+            log.warn("Could not write roster snapshot {}", snapshot, ex);
+        }
+    }
+
+    private void loadSnapshot() {
+        if (snapshot == null || !Files.exists(snapshot) || !repository.getMembers().isEmpty()) return;
+        try {
+            List<Member> members = RosterSnapshot.read(snapshot);
+            repository.replaceMembers(members);
+            snapshotMembers = members.size();
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Starting with an empty roster, snapshot {} could not be loaded", snapshot, ex);
+        }
+    }
+
+    private void warmEngine() {
+        warm(engine, repository.getMembers());
+    }
+
+    /**
+     * Pre-builds {@code engine}'s skill index for {@code members} and runs one throw-away evaluation, as for the
+     * default tenant at startup; used for tenants provisioned later too.
+     */
+    public static void warm(AssignmentEngine engine, List<Member> members) {
+        engine.prepare(members);
+        if (members.isEmpty()) {
+            members = List.of(new Member("warmup", new SkillProfile(Map.of("general", 0.5)), 0.5, 0.5));
+        }
+        SkillProfile required = members.get(0).getExpertise();
+        // Not stored or journaled: it exists only to class-load and exercise the scoring path.
+        engine.evaluate(new ProjectDemand("warmup", required, 1, Set.of(), Urgency.M, false), members);
+    }
+
+    private void warmTemplates() {
+        for (String template : TEMPLATES) {
+            try {
+                templateEngine.process(template, new Context());
+            } catch (RuntimeException ex) {
+                // Expected without a request or model: the template is already parsed and cached by now.
+                log.debug("Template {} parsed for warm-up", template);
+            }
+        }
+    }
+}
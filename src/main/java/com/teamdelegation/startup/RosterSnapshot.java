@@ -0,0 +1,86 @@
+package com.teamdelegation.startup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.teamdelegation.model.Member;
+import com.teamdelegation.model.ProjectLoad;
+import com.teamdelegation.model.SkillProfile;
+
+/**
+ * JSON snapshot of a roster, written on shutdown and read back at startup so a fresh node serves the same
+ * members without anyone re-entering them:
+ * <pre>
+ * [{"name": "Ada", "skills": {"java": 0.9}, "performance": 0.8, "growth": 0.4,
+ *   "projects": [{"name": "Billing", "remainingWeeks": 3}]}]
+ * </pre>
+ */
+public final class RosterSnapshot {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private RosterSnapshot() {
+    }
+
+    public static List<Member> read(Path file) throws IOException {
+        JsonNode root = MAPPER.readTree(file.toFile());
+        if (root == null || !root.isArray()) {
+            throw new IOException("Roster snapshot " + file + " is not a JSON array");
+        }
+        List<Member> members = new ArrayList<>(root.size());
+        for (JsonNode node : root) {
+            members.add(readMember(node));
+        }
+        return members;
+    }
+
+    /** One roster entry in the snapshot format; also used by scenario recordings. */
+    public static Member readMember(JsonNode node) {
+        Map<String, Double> skills = new LinkedHashMap<>();
+        node.path("skills").fields().forEachRemaining(e -> skills.put(e.getKey(), e.getValue().asDouble()));
+        Member member = new Member(node.path("name").asText(), new SkillProfile(skills),
+                node.path("performance").asDouble(), node.path("growth").asDouble());
+        for (JsonNode project : node.path("projects")) {
+            member.assignProject(new ProjectLoad(project.path("name").asText(),
+                    project.path("remainingWeeks").asDouble()));
+        }
+        return member;
+    }
+
+    public static void writeMember(ObjectNode node, Member member) {
+        node.put("name", member.getName());
+        ObjectNode skills = node.putObject("skills");
+        member.getExpertise().asMap().forEach(skills::put);
+        node.put("performance", member.getRecentPerformance());
+        node.put("growth", member.getGrowthDesire());
+        ArrayNode projects = node.putArray("projects");
+        for (ProjectLoad load : member.getCurrentProjects()) {
+            projects.addObject()
+                    .put("name", load.getProjectName())
+                    .put("remainingWeeks", load.getRemainingWeeks());
+        }
+    }
+
+    /** Writes to a sibling temp file and moves it into place, so a crash mid-write keeps the old snapshot. */
+    public static void write(Path file, List<Member> members) throws IOException {
+        ArrayNode root = MAPPER.createArrayNode();
+        for (Member member : members) {
+            writeMember(root.addObject(), member);
+        }
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path tmp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        MAPPER.writerWithDefaultPrettyPrinter().writeValue(tmp.toFile(), root);
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,61 @@
+package com.teamdelegation.tenant;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "delegation.tenancy")
+public class TenancyProperties {
+
+    /**
+     * Create tenants on first use with {@link #defaults}; when false (the default) only configured tenants are
+     * served, so unauthenticated header values cannot create journals and executors.
+     */
+    private boolean autoProvision = false;
+
+    /** Upper bound on live tenants, so arbitrary header values cannot exhaust memory. */
+    private int maxTenants = 64;
+
+    private TenantSettings defaults = new TenantSettings();
+
+    private Map<String, TenantSettings> tenants = new HashMap<>();
+
+    public boolean isAutoProvision() {
+        return autoProvision;
+    }
+
+    public void setAutoProvision(boolean autoProvision) {
+        this.autoProvision = autoProvision;
+    }
+
+    public int getMaxTenants() {
+        return maxTenants;
+    }
+
+    public void setMaxTenants(int maxTenants) {
+        this.maxTenants = maxTenants;
+    }
+
+    public TenantSettings getDefaults() {
+        return defaults;
+    }
+
+    public void setDefaults(TenantSettings defaults) {
+        this.defaults = defaults;
+    }
+
+    public Map<String, TenantSettings> getTenants() {
+        return tenants;
+    }
+
+    public void setTenants(Map<String, TenantSettings> tenants) {
+        this.tenants = tenants;
+    }
+
+    TenantSettings settingsFor(String tenantId) {
+        return tenants.getOrDefault(tenantId, defaults);
+    }
+}
@@ -0,0 +1,97 @@
+package com.teamdelegation.tenant;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+
+import com.teamdelegation.engine.AssignmentEngine;
+import com.teamdelegation.engine.CapacityLedger;
+import com.teamdelegation.journal.DecisionJournal;
+import com.teamdelegation.model.Member;
+import com.teamdelegation.web.ScenarioRepository;
+
+/**
+ * Everything one tenant's requests touch: roster, engine, journal, executor and request quota. Each tenant has
+ * its own copy of these, so one tenant's batch cannot delay another's or change its roster or decisions.
+ * <p>
+ * Some state is still process-wide: the {@code SkillIds} and {@code KeywordIds} interning tables grow with every
+ * tenant's vocabulary, and engines share the configured {@code EvaluationScratch}, whose pooled buffers are
+ * sized by the largest roster any tenant has evaluated.
+ */
+public final class Tenant {
+
+    private final String id;
+    private final ScenarioRepository repository;
+    private final AssignmentEngine engine;
+    private final DecisionJournal journal;
+    private final ExecutorService executor;
+    private final Semaphore requestPermits;
+    private final boolean ownsResources;
+    private CapacityLedger ledger;
+    private List<Member> ledgerRoster;
+
+    Tenant(String id, ScenarioRepository repository, AssignmentEngine engine, DecisionJournal journal,
+           ExecutorService executor, int maxConcurrentRequests, boolean ownsResources) {
+        this.id = id;
+        this.repository = repository;
+        this.engine = engine;
+        this.journal = journal;
+        this.executor = executor;
+        this.requestPermits = new Semaphore(Math.max(1, maxConcurrentRequests));
+        this.ownsResources = ownsResources;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public ScenarioRepository getRepository() {
+        return repository;
+    }
+
+    public AssignmentEngine getEngine() {
+        return engine;
+    }
+
+    public DecisionJournal getJournal() {
+        return journal;
+    }
+
+    /**
+     * The ledger that batches on {@code members} reserve capacity in, so batches running at the same time never
+     * jointly push a member past the cap. Built for the roster snapshot it is asked for; a roster write leads to a
+     * fresh ledger seeded from the new loads, and batches still running keep the one they started with.
+     */
+    public synchronized CapacityLedger ledgerFor(List<Member> members) {
+        if (ledgerRoster != members) {
+            ledger = engine.newLedger(members);
+            ledgerRoster = members;
+        }
+        return ledger;
+    }
+
+    /** Bounded executor for this tenant's background work (streamed batches). */
+    public ExecutorService getExecutor() {
+        return executor;
+    }
+
+    public int availableRequestPermits() {
+        return requestPermits.availablePermits();
+    }
+
+    boolean tryAcquireRequest() {
+        return requestPermits.tryAcquire();
+    }
+
+    void releaseRequest() {
+        requestPermits.release();
+    }
+
+    void close() throws IOException {
+        if (ownsResources) {
+            executor.shutdownNow();
+            journal.close();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.teamdelegation.tenant;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * Injects the {@link Tenant} resolved by {@link TenantInterceptor} into controller methods.
+ */
+public class TenantArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private final TenantRegistry registry;
+
+    public TenantArgumentResolver(TenantRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return Tenant.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        Object tenant = webRequest.getAttribute(TenantInterceptor.TENANT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        return tenant != null ? tenant : registry.getDefault();
+    }
+}
@@ -0,0 +1,62 @@
+package com.teamdelegation.tenant;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Resolves the request's tenant from the {@value #TENANT_HEADER} header (or {@code tenant} parameter) and holds
+ * one of the tenant's request permits for the duration of the request. Requests over quota get 429.
+ */
+public class TenantInterceptor implements HandlerInterceptor {
+
+    public static final String TENANT_HEADER = "X-Tenant-Id";
+    static final String TENANT_ATTRIBUTE = TenantInterceptor.class.getName() + ".tenant";
+    private static final String PERMIT_ATTRIBUTE = TenantInterceptor.class.getName() + ".permit";
+
+    private final TenantRegistry registry;
+
+    public TenantInterceptor(TenantRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws Exception {
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;  // resolved and permitted on the initial dispatch
+        }
+        String tenantId = request.getHeader(TENANT_HEADER);
+        if (tenantId == null) {
+            tenantId = request.getParameter("tenant");
+        }
+        Tenant tenant = registry.find(tenantId);
+        if (tenant == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND, "Unknown tenant");
+            return false;
+        }
+        if (!tenant.tryAcquireRequest()) {
+            response.setHeader("Retry-After", "1");
+            response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), "Tenant request quota exceeded");
+            return false;
+        }
+        request.setAttribute(TENANT_ATTRIBUTE, tenant);
+        request.setAttribute(PERMIT_ATTRIBUTE, Boolean.TRUE);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (request.isAsyncStarted()) {
+            return;  // released when the async dispatch completes
+        }
+        if (request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            ((Tenant) request.getAttribute(TENANT_ATTRIBUTE)).releaseRequest();
+        }
+    }
+}
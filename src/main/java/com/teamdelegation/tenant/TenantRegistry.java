@@ -0,0 +1,162 @@
+package com.teamdelegation.tenant;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.teamdelegation.engine.AssignmentEngine;
+import com.teamdelegation.engine.EngineFactory;
+import com.teamdelegation.journal.DecisionJournal;
+import com.teamdelegation.startup.EngineWarmup;
+import com.teamdelegation.web.ScenarioRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Resolves tenant ids to isolated {@link Tenant} scopes. The {@value #DEFAULT_TENANT} tenant wraps the
+ * application-wide beans so single-tenant deployments behave as before; other tenants get their own
+ * repository, engine, journal directory and executor. Tenant engines come from the same {@link EngineFactory}
+ * as the default one, so they share its expression, kernel, rules, retrieval and scratch settings; capacity and
+ * weights come from {@link TenantSettings}.
+ * <p>
+ * A tenant is provisioned (journal opened, engine warmed) by the first request that names it, outside any lock;
+ * requests for the same tenant wait for that one provision, and requests for other tenants do not wait at all.
+ */
+@Component
+public class TenantRegistry {
+
+    public static final String DEFAULT_TENANT = "default";
+    private static final Pattern TENANT_ID = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    private final TenancyProperties properties;
+    private final EngineFactory engines;
+    private final Path journalRoot;
+    private final long journalSegmentBytes;
+    private final int journalMaxInsights;
+    private final Tenant defaultTenant;
+    private final Map<String, CompletableFuture<Tenant>> tenants = new ConcurrentHashMap<>();
+
+    public TenantRegistry(TenancyProperties properties,
+                          ScenarioRepository repository,
+                          AssignmentEngine engine,
+                          EngineFactory engines,
+                          DecisionJournal journal,
+                          ExecutorService assignmentExecutor,
+                          @Value("${delegation.journal.dir:data/journal}") String journalDir,
+                          @Value("${delegation.journal.segment-bytes:67108864}") long journalSegmentBytes,
+                          @Value("${delegation.journal.max-insights:20}") int journalMaxInsights) {
+        this.properties = properties;
+        this.engines = engines;
+        this.journalRoot = Path.of(journalDir, "tenants");
+        this.journalSegmentBytes = journalSegmentBytes;
+        this.journalMaxInsights = journalMaxInsights;
+        this.defaultTenant = new Tenant(DEFAULT_TENANT, repository, engine, journal, assignmentExecutor,
+                properties.settingsFor(DEFAULT_TENANT).getMaxConcurrentRequests(), false);
+    }
+
+    /**
+     * @return the tenant, or {@code null} when the id is malformed or unknown and cannot be provisioned
+     */
+    public Tenant find(String tenantId) {
+        if (tenantId == null || tenantId.isBlank() || DEFAULT_TENANT.equals(tenantId)) {
+            return defaultTenant;
+        }
+        if (!TENANT_ID.matcher(tenantId).matches()) {
+            return null;
+        }
+        CompletableFuture<Tenant> tenant = tenants.get(tenantId);
+        if (tenant == null) {
+            boolean configured = properties.getTenants().containsKey(tenantId);
+            if (!configured && !properties.isAutoProvision()) {
+                return null;
+            }
+            CompletableFuture<Tenant> provision = new CompletableFuture<>();
+            synchronized (tenants) {  // only the count check and the claim; provisioning happens below
+                tenant = tenants.get(tenantId);
+                if (tenant == null) {
+                    if (tenants.size() >= properties.getMaxTenants()) {
+                        return null;
+                    }
+                    tenants.put(tenantId, provision);
+                    tenant = provision;
+                }
+            }
+            if (tenant == provision) {
+                try {
+                    provision.complete(create(tenantId));
+                } catch (RuntimeException ex) {
+                    tenants.remove(tenantId, provision);  // the next request tries again
+                    provision.completeExceptionally(ex);
+                    throw ex;
+                }
+            }
+        }
+        try {
+            return tenant.join();
+        } catch (CompletionException ex) {
+            throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+        }
+    }
+
+    public Tenant getDefault() {
+        return defaultTenant;
+    }
+
+    /** The default tenant and every tenant provisioned so far; never provisions one or waits for one. */
+    public List<Tenant> getActive() {
+        List<Tenant> active = new ArrayList<>(tenants.size() + 1);
+        active.add(defaultTenant);
+        active.addAll(provisioned());
+        return active;
+    }
+
+    private List<Tenant> provisioned() {
+        List<Tenant> done = new ArrayList<>(tenants.size());
+        for (CompletableFuture<Tenant> tenant : tenants.values()) {
+            if (tenant.isDone() && !tenant.isCompletedExceptionally()) {
+                done.add(tenant.join());
+            }
+        }
+        return done;
+    }
+
+    private Tenant create(String tenantId) {
+        TenantSettings settings = properties.settingsFor(tenantId);
+        ScenarioRepository repository = new ScenarioRepository(settings.getMaxMembers(), settings.getMaxRosterBytes());
+        AssignmentEngine engine = engines.create(settings.getCapacityWeeks(), settings.weights());
+        EngineWarmup.warm(engine, repository.getMembers());
+        ExecutorService executor = new ThreadPoolExecutor(settings.getThreads(), settings.getThreads(),
+                0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(settings.getQueueCapacity()));
+        try {
+            DecisionJournal journal = DecisionJournal.open(journalRoot.resolve(tenantId), journalSegmentBytes,
+                    journalMaxInsights);
+            return new Tenant(tenantId, repository, engine, journal, executor,
+                    settings.getMaxConcurrentRequests(), true);
+        } catch (IOException ex) {
+            executor.shutdownNow();
+            throw new UncheckedIOException("Cannot open journal for tenant " + tenantId, ex);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        for (Tenant tenant : provisioned()) {
+            tenant.close();
+        }
+        tenants.clear();
+    }
+}
@@ -0,0 +1,119 @@
+package com.teamdelegation.tenant;
+
+import com.teamdelegation.engine.AssignmentEngine;
+
+/**
+ * Engine, quota and memory settings for one tenant, bound from {@code delegation.tenancy.tenants.<id>.*}
+ * (or {@code delegation.tenancy.defaults.*} for tenants without their own entry).
+ */
+public class TenantSettings {
+
+    private double capacityWeeks = 12.0;
+    private double capacityWeight = 0.4;
+    private double skillWeight = 0.3;
+    private double reliabilityWeight = 0.2;
+    private double learningWeight = 0.1;
+    private double objectiveWeight = AssignmentEngine.Weights.DEFAULT_OBJECTIVE_WEIGHT;
+    private int maxMembers = 10_000;
+    private long maxRosterBytes = 64L * 1024 * 1024;
+    private int maxConcurrentRequests = 8;
+    private int threads = 2;
+    private int queueCapacity = 16;
+
+    public AssignmentEngine.Weights weights() {
+        return new AssignmentEngine.Weights(capacityWeight, skillWeight, reliabilityWeight, learningWeight,
+                objectiveWeight);
+    }
+
+    public double getCapacityWeeks() {
+        return capacityWeeks;
+    }
+
+    public void setCapacityWeeks(double capacityWeeks) {
+        this.capacityWeeks = capacityWeeks;
+    }
+
+    public double getCapacityWeight() {
+        return capacityWeight;
+    }
+
+    public void setCapacityWeight(double capacityWeight) {
+        this.capacityWeight = capacityWeight;
+    }
+
+    public double getSkillWeight() {
+        return skillWeight;
+    }
+
+    public void setSkillWeight(double skillWeight) {
+        this.skillWeight = skillWeight;
+    }
+
+    public double getReliabilityWeight() {
+        return reliabilityWeight;
+    }
+
+    public void setReliabilityWeight(double reliabilityWeight) {
+        this.reliabilityWeight = reliabilityWeight;
+    }
+
+    public double getLearningWeight() {
+        return learningWeight;
+    }
+
+    public void setLearningWeight(double learningWeight) {
+        this.learningWeight = learningWeight;
+    }
+
+    /**
+     * w_o, weight of Objective_m; 0 leaves objectives unscored. Defaults to the same
+     * {@link AssignmentEngine.Weights#DEFAULT_OBJECTIVE_WEIGHT} (off) as the default engine.
+     */
+    public double getObjectiveWeight() {
+        return objectiveWeight;
+    }
+
+    public void setObjectiveWeight(double objectiveWeight) {
+        this.objectiveWeight = objectiveWeight;
+    }
+
+    public int getMaxMembers() {
+        return maxMembers;
+    }
+
+    public void setMaxMembers(int maxMembers) {
+        this.maxMembers = maxMembers;
+    }
+
+    public long getMaxRosterBytes() {
+        return maxRosterBytes;
+    }
+
+    public void setMaxRosterBytes(long maxRosterBytes) {
+        this.maxRosterBytes = maxRosterBytes;
+    }
+
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    public void setMaxConcurrentRequests(int maxConcurrentRequests) {
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+}
@@ -0,0 +1,29 @@
+package com.teamdelegation.tenant;
+
+import java.util.List;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class TenantWebConfig implements WebMvcConfigurer {
+
+    private final TenantRegistry registry;
+
+    public TenantWebConfig(TenantRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry interceptors) {
+        interceptors.addInterceptor(new TenantInterceptor(registry))
+                .excludePathPatterns("/css/**", "/actuator/**", "/error");
+    }
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(new TenantArgumentResolver(registry));
+    }
+}
@@ -0,0 +1,25 @@
+package com.teamdelegation.trace;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** The balancing pass after a batch's greedy assignment. */
+@Name("com.teamdelegation.Balance")
+@Label("Balance")
+@Category({"Team Delegation", "Engine"})
+public class BalanceEvent extends Event {
+
+    @Label("Assignments")
+    public int assignments;
+
+    @Label("Roster Size")
+    public int rosterSize;
+
+    @Label("Spread Weeks")
+    public double spreadWeeks;
+
+    @Label("Moves")
+    public int moves;
+}
@@ -0,0 +1,31 @@
+package com.teamdelegation.trace;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** One {@code AssignmentEngine.assignTasks} call, greedy pass and balancing together. */
+@Name("com.teamdelegation.BatchAssign")
+@Label("Batch Assign")
+@Category({"Team Delegation", "Engine"})
+@Description("Staffs a batch of tasks in priority order, then balances")
+public class BatchAssignEvent extends Event {
+
+    @Label("Task Count")
+    public int taskCount;
+
+    @Label("Roster Size")
+    public int rosterSize;
+
+    @Label("Assigned")
+    public int assigned;
+
+    @Label("Candidates Scored")
+    public long candidatesScored;
+
+    @Label("Ledger")
+    @Description("Whether capacity was reserved in a shared ledger")
+    public boolean ledger;
+}
@@ -0,0 +1,37 @@
+package com.teamdelegation.trace;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** One {@code AssignmentEngine.evaluate}: scoring, the pick and the insights explaining it. */
+@Name("com.teamdelegation.Evaluate")
+@Label("Evaluate")
+@Category({"Team Delegation", "Engine"})
+@Description("Scores a roster for one project and picks the assignee")
+public class EvaluateEvent extends Event {
+
+    @Label("Project")
+    public String project;
+
+    @Label("Roster Size")
+    public int rosterSize;
+
+    @Label("Candidates Scored")
+    @Description("Members scored, counting a retrieval fallback or recall sample as a second pass")
+    public int candidatesScored;
+
+    @Label("Shortlisted")
+    public boolean shortlisted;
+
+    @Label("Budgeted")
+    public boolean budgeted;
+
+    @Label("Insights")
+    public int insights;
+
+    @Label("Assigned")
+    public boolean assigned;
+}
@@ -0,0 +1,155 @@
+package com.teamdelegation.trace;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+/**
+ * A continuous flight recording, JDK {@code default} settings plus this application's events, kept in a ring
+ * of the last {@code maxAge} on disk. When a request takes longer than {@code slowRequest}, the ring is dumped
+ * to {@code dumpDir}, so the recording covers the slow request and the time before it.
+ * <p>
+ * Dumps run on one background thread, at most one per {@code minDumpInterval}; slow requests inside the interval
+ * are counted but not dumped, since the next dump covers them too. Off unless configured: the events still fire
+ * for recordings started with {@code jcmd <pid> JFR.start}.
+ */
+public class FlightRecording implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(FlightRecording.class);
+    private static final FlightRecording DISABLED = new FlightRecording();
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final Recording recording;
+    private final Path dumpDir;
+    private final long slowNanos;
+    private final long minDumpIntervalNanos;
+    private final ExecutorService dumper;
+    private final AtomicLong lastDump = new AtomicLong();
+    private final AtomicLong slowRequests = new AtomicLong();
+    private final AtomicLong dumps = new AtomicLong();
+
+    private FlightRecording() {
+        this.recording = null;
+        this.dumpDir = null;
+        this.slowNanos = Long.MAX_VALUE;
+        this.minDumpIntervalNanos = 0;
+        this.dumper = null;
+    }
+
+    private FlightRecording(Recording recording, Path dumpDir, Duration slowRequest, Duration minDumpInterval) {
+        this.recording = recording;
+        this.dumpDir = dumpDir;
+        this.slowNanos = slowRequest.toNanos();
+        this.minDumpIntervalNanos = minDumpInterval.toNanos();
+        this.lastDump.set(System.nanoTime() - minDumpIntervalNanos);
+        // One dump at a time; a queued one would cover nothing the running one doesn't
+        this.dumper = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(1), r -> {
+            Thread thread = new Thread(r, "jfr-dump");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static FlightRecording disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * @param maxAge             how much history the ring keeps, and so how far back a dump reaches
+     * @param maxSizeBytes       disk cap on the ring
+     * @param selectionThreshold shortest per-task selection worth an event; batch totals are always recorded
+     */
+    public static FlightRecording start(Path dumpDir, Duration slowRequest, Duration minDumpInterval, Duration maxAge,
+                                        long maxSizeBytes, Duration selectionThreshold) {
+        Recording recording;
+        try {
+            Files.createDirectories(dumpDir);
+            recording = new Recording(Configuration.getConfiguration("default"));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot prepare flight recording in " + dumpDir, ex);
+        } catch (ParseException ex) {
+            throw new IllegalStateException("JDK default recording settings are unreadable", ex);
+        }
+        recording.setName("delegation-continuous");
+        recording.setToDisk(true);
+        recording.setMaxAge(maxAge);
+        recording.setMaxSize(maxSizeBytes);
+        recording.enable(EvaluateEvent.class);
+        recording.enable(BatchAssignEvent.class);
+        recording.enable(TaskSelectionEvent.class).withThreshold(selectionThreshold);
+        recording.enable(BalanceEvent.class);
+        recording.enable(RosterMutationEvent.class);
+        recording.enable(RequestEvent.class);
+        recording.enable(RenderEvent.class);
+        recording.start();
+        log.info("Continuous flight recording on; requests over {} ms dump to {}", slowRequest.toMillis(), dumpDir);
+        return new FlightRecording(recording, dumpDir, slowRequest, minDumpInterval);
+    }
+
+    public boolean isEnabled() {
+        return recording != null;
+    }
+
+    public long getSlowRequests() {
+        return slowRequests.get();
+    }
+
+    public long getDumps() {
+        return dumps.get();
+    }
+
+    /** Dumps the recording in the background when {@code elapsedNanos} is over the slow-request threshold. */
+    public void requestCompleted(String request, long elapsedNanos) {
+        if (elapsedNanos < slowNanos) return;
+        slowRequests.incrementAndGet();
+        long now = System.nanoTime();
+        long last = lastDump.get();
+        if (now - last < minDumpIntervalNanos || !lastDump.compareAndSet(last, now)) return;
+        try {
+            dumper.execute(() -> dump(request, elapsedNanos));
+        } catch (RejectedExecutionException ex) {
+            // A dump is already running, or the recording is closing
+        }
+    }
+
+    private void dump(String request, long elapsedNanos) {
+        Path file = dumpDir.resolve("slow-" + LocalDateTime.now().format(FILE_TIME) + "-" + dumps.incrementAndGet()
+                + ".jfr");
+        try {
+            recording.dump(file);
+            log.warn("{} took {} ms; flight recording dumped to {}", request, elapsedNanos / 1_000_000, file);
+        } catch (IOException | IllegalStateException ex) {
+            log.warn("Could not dump flight recording for slow request {}: {}", request, ex.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        if (recording == null) return;
+        dumper.shutdown();
+        try {
+            dumper.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        recording.close();
+    }
+}
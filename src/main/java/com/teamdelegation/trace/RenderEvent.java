@@ -0,0 +1,19 @@
+package com.teamdelegation.trace;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** Rendering a controller's template, between the handler returning and the response completing. */
+@Name("com.teamdelegation.Render")
+@Label("Render")
+@Category({"Team Delegation", "Web"})
+public class RenderEvent extends Event {
+
+    @Label("View")
+    public String view;
+
+    @Label("URI")
+    public String uri;
+}
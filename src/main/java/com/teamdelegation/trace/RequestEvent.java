@@ -0,0 +1,25 @@
+package com.teamdelegation.trace;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** One HTTP request, from the first interceptor to completion, including any async dispatch. */
+@Name("com.teamdelegation.Request")
+@Label("Request")
+@Category({"Team Delegation", "Web"})
+public class RequestEvent extends Event {
+
+    @Label("Method")
+    public String method;
+
+    @Label("URI")
+    public String uri;
+
+    @Label("Status")
+    public int status;
+
+    @Label("View")
+    public String view;
+}
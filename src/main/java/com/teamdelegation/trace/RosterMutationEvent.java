@@ -0,0 +1,22 @@
+package com.teamdelegation.trace;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** A write to a tenant roster: the copy-on-write swap and the workload analytics update it triggers. */
+@Name("com.teamdelegation.RosterMutation")
+@Label("Roster Mutation")
+@Category({"Team Delegation", "Roster"})
+public class RosterMutationEvent extends Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Members Written")
+    public int membersWritten;
+
+    @Label("Roster Size")
+    public int rosterSize;
+}
@@ -0,0 +1,39 @@
+package com.teamdelegation.trace;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Choosing the assignee of one task inside a batch. Thresholded, since a batch may hold millions of tasks;
+ * {@link BatchAssignEvent} carries the batch totals.
+ */
+@Name("com.teamdelegation.TaskSelection")
+@Label("Task Selection")
+@Category({"Team Delegation", "Engine"})
+@Description("Picks the best member with room for one task of a batch")
+@Threshold("1 ms")
+public class TaskSelectionEvent extends Event {
+
+    @Label("Task")
+    public String taskId;
+
+    @Label("Urgency")
+    public String urgency;
+
+    @Label("Roster Size")
+    public int rosterSize;
+
+    @Label("Candidates Scored")
+    public int candidatesScored;
+
+    @Label("Re-ranks")
+    @Description("Times the pick was filled by a concurrent batch and the task ranked again")
+    public int reRanks;
+
+    @Label("Assigned")
+    public boolean assigned;
+}
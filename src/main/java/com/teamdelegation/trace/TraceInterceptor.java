@@ -0,0 +1,78 @@
+package com.teamdelegation.trace;
+
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Times each request and the rendering of its template as {@link RequestEvent} and {@link RenderEvent}, and
+ * hands the request's duration to the {@link FlightRecording}. An async request is timed from its first dispatch
+ * to the end of its last.
+ */
+public class TraceInterceptor implements HandlerInterceptor {
+
+    private static final String REQUEST_ATTRIBUTE = TraceInterceptor.class.getName() + ".request";
+    private static final String START_ATTRIBUTE = TraceInterceptor.class.getName() + ".start";
+    private static final String RENDER_ATTRIBUTE = TraceInterceptor.class.getName() + ".render";
+
+    private final FlightRecording recording;
+
+    public TraceInterceptor(FlightRecording recording) {
+        this.recording = recording;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() == DispatcherType.ASYNC && request.getAttribute(START_ATTRIBUTE) != null) {
+            return true;  // started on the initial dispatch
+        }
+        RequestEvent event = new RequestEvent();
+        event.begin();
+        request.setAttribute(REQUEST_ATTRIBUTE, event);
+        request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        if (modelAndView == null || modelAndView.getViewName() == null) return;
+        RenderEvent render = new RenderEvent();
+        render.view = modelAndView.getViewName();
+        render.begin();
+        request.setAttribute(RENDER_ATTRIBUTE, render);
+        ((RequestEvent) request.getAttribute(REQUEST_ATTRIBUTE)).view = render.view;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        RenderEvent render = (RenderEvent) request.getAttribute(RENDER_ATTRIBUTE);
+        if (render != null) {
+            request.removeAttribute(RENDER_ATTRIBUTE);
+            if (render.shouldCommit()) {
+                render.uri = request.getRequestURI();
+                render.commit();
+            }
+        }
+        if (request.isAsyncStarted()) {
+            return;  // completed by the async dispatch
+        }
+        Long start = (Long) request.getAttribute(START_ATTRIBUTE);
+        RequestEvent event = (RequestEvent) request.getAttribute(REQUEST_ATTRIBUTE);
+        if (start == null || event == null) return;
+        request.removeAttribute(START_ATTRIBUTE);
+        request.removeAttribute(REQUEST_ATTRIBUTE);
+        event.end();
+        if (event.shouldCommit()) {
+            event.method = request.getMethod();
+            event.uri = request.getRequestURI();
+            event.status = response.getStatus();
+            event.commit();
+        }
+        recording.requestCompleted(request.getMethod() + " " + request.getRequestURI(), System.nanoTime() - start);
+    }
+}
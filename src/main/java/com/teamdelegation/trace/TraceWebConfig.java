@@ -0,0 +1,24 @@
+package com.teamdelegation.trace;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class TraceWebConfig implements WebMvcConfigurer {
+
+    private final FlightRecording recording;
+
+    public TraceWebConfig(FlightRecording recording) {
+        this.recording = recording;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry interceptors) {
+        // First in, last out, so tenant quota waits count towards a slow request
+        interceptors.addInterceptor(new TraceInterceptor(recording))
+                .excludePathPatterns("/css/**", "/actuator/**")
+                .order(Ordered.HIGHEST_PRECEDENCE);
+    }
+}
@@ -0,0 +1,58 @@
+package com.teamdelegation.web;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.teamdelegation.model.Member;
+
+/**
+ * JSON shape of a roster entry for the members API.
+ */
+public class MemberSummary {
+
+    private final String name;
+    private final double performance;
+    private final double growth;
+    private final double loadWeeks;
+    private final Map<String, Double> skills;
+    private final Map<String, Double> projects;
+
+    private MemberSummary(Member member) {
+        this.name = member.getName();
+        this.performance = member.getRecentPerformance();
+        this.growth = member.getGrowthDesire();
+        this.loadWeeks = member.totalRemainingWeeks();
+        this.skills = member.getExpertise().asMap();
+        this.projects = new LinkedHashMap<>();
+        member.getCurrentProjects().forEach(p -> projects.merge(p.getProjectName(), p.getRemainingWeeks(), Double::sum));
+    }
+
+    public static MemberSummary of(Member member) {
+        return new MemberSummary(member);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public double getPerformance() {
+        return performance;
+    }
+
+    public double getGrowth() {
+        return growth;
+    }
+
+    public double getLoadWeeks() {
+        return loadWeeks;
+    }
+
+    public Map<String, Double> getSkills() {
+        return skills;
+    }
+
+    /** Project name to remaining weeks. */
+    public Map<String, Double> getProjects() {
+        return projects;
+    }
+}
@@ -0,0 +1,226 @@
+package com.teamdelegation.web;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntToDoubleFunction;
+
+import com.teamdelegation.model.Member;
+import com.teamdelegation.model.SkillIds;
+
+/**
+ * Sort orders and per-skill posting lists over one immutable roster snapshot, so a listing page costs
+ * O(page size) however large the roster is. The global orders are built eagerly. A skill filter combined
+ * with a load or performance sort is built on first use and memoized. {@link ScenarioRepository} extends
+ * the index when members were added and rebuilds it when the roster was replaced.
+ */
+public final class RosterIndex {
+
+    public enum Sort {
+        ROSTER, LOAD, PERFORMANCE, SKILL;
+
+        /** Lenient: unknown or blank values list in roster order. */
+        public static Sort parse(String value) {
+            if (value == null || value.isBlank()) return ROSTER;
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                return ROSTER;
+            }
+        }
+    }
+
+    public static final int MAX_PAGE_SIZE = 200;
+    private static final int[] EMPTY = new int[0];
+
+    private final List<Member> members;
+    private final int[] byLoad;         // least loaded first
+    private final int[] byPerformance;  // best first
+    private final Map<Integer, int[]> bySkill;  // skill id → holders, highest level first
+    private final Map<String, int[]> filtered = new ConcurrentHashMap<>();
+
+    private RosterIndex(List<Member> members) {
+        this.members = members;
+        int n = members.size();
+        this.byLoad = sorted(n, i -> members.get(i).totalRemainingWeeks(), false);
+        this.byPerformance = sorted(n, i -> members.get(i).getRecentPerformance(), true);
+        this.bySkill = new HashMap<>();
+        holders(members, 0).forEach((id, indices) -> bySkill.put(id, bySkillLevel(members, id, indices)));
+    }
+
+    private RosterIndex(List<Member> members, int[] byLoad, int[] byPerformance, Map<Integer, int[]> bySkill) {
+        this.members = members;
+        this.byLoad = byLoad;
+        this.byPerformance = byPerformance;
+        this.bySkill = bySkill;
+    }
+
+    public static RosterIndex build(List<Member> members) {
+        return new RosterIndex(members);
+    }
+
+    /**
+     * The index for {@code grown}, which must start with this index's members in the same order. Members added
+     * since are sorted among themselves and merged into each order, so k adds cost O(n + k log k) rather than a
+     * rebuild; posting lists of skills no new member holds are shared with this index.
+     */
+    public RosterIndex extend(List<Member> grown) {
+        int from = members.size(), to = grown.size();
+        if (from == to) return new RosterIndex(grown, byLoad, byPerformance, bySkill);
+        int[] load = merge(byLoad, from, to, i -> grown.get(i).totalRemainingWeeks(), false);
+        int[] performance = merge(byPerformance, from, to, i -> grown.get(i).getRecentPerformance(), true);
+        Map<Integer, int[]> skills = new HashMap<>(bySkill);
+        holders(grown, from).forEach((id, added) -> {
+            int[] sortedAdded = bySkillLevel(grown, id, added);
+            int[] existing = skills.get(id);
+            skills.put(id, existing == null ? sortedAdded
+                    : mergeSorted(existing, sortedAdded, i -> grown.get(i).getExpertise().getLevel(id), true));
+        });
+        return new RosterIndex(grown, load, performance, skills);
+    }
+
+    // Holders per skill among members[from..), in roster order, without boxing
+    private static Map<Integer, int[]> holders(List<Member> members, int from) {
+        Map<Integer, int[]> counts = new HashMap<>();
+        for (int i = from; i < members.size(); i++) {
+            for (int id : members.get(i).getExpertise().skillIds()) {
+                counts.computeIfAbsent(id, k -> new int[1])[0]++;
+            }
+        }
+        Map<Integer, int[]> holders = new HashMap<>(counts.size() * 2);
+        counts.forEach((id, count) -> holders.put(id, new int[count[0]]));
+        Map<Integer, int[]> filled = new HashMap<>(counts.size() * 2);
+        for (int i = from; i < members.size(); i++) {
+            for (int id : members.get(i).getExpertise().skillIds()) {
+                int[] fill = filled.computeIfAbsent(id, k -> new int[1]);
+                holders.get(id)[fill[0]++] = i;
+            }
+        }
+        return holders;
+    }
+
+    private static int[] bySkillLevel(List<Member> members, int id, int[] indices) {
+        int[] order = sorted(indices.length, k -> members.get(indices[k]).getExpertise().getLevel(id), true);
+        for (int k = 0; k < order.length; k++) order[k] = indices[order[k]];
+        return order;
+    }
+
+    List<Member> roster() {
+        return members;
+    }
+
+    /** Whether this index was built over exactly this list instance. */
+    boolean isFor(List<Member> roster) {
+        return roster == members;
+    }
+
+    public int size() {
+        return members.size();
+    }
+
+    /**
+     * @param skill only members holding this skill, or {@code null}/blank for everyone
+     * @param size clamped to 1..{@value #MAX_PAGE_SIZE}
+     */
+    public RosterPage<Member> page(Sort sort, String skill, int page, int size) {
+        page = Math.max(0, page);
+        size = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int[] order = order(sort, skill == null || skill.isBlank() ? null : skill.trim());
+        int from = (int) Math.min((long) page * size, order.length);
+        int to = Math.min(from + size, order.length);
+        List<Member> items = new ArrayList<>(to - from);
+        for (int k = from; k < to; k++) {
+            items.add(members.get(order[k]));
+        }
+        return new RosterPage<>(items, page, size, order.length, sort.name().toLowerCase(Locale.ROOT), skill);
+    }
+
+    private int[] order(Sort sort, String skill) {
+        if (skill == null) {
+            return switch (sort) {
+                case LOAD -> byLoad;
+                case PERFORMANCE -> byPerformance;
+                case ROSTER, SKILL -> identity();
+            };
+        }
+        int id = SkillIds.lookup(skill);
+        int[] holders = id >= 0 ? bySkill.getOrDefault(id, EMPTY) : EMPTY;
+        if (sort == Sort.SKILL || holders.length == 0) return holders;
+        return filtered.computeIfAbsent(id + "|" + sort, k -> {
+            int[] base = switch (sort) {
+                case LOAD -> byLoad;
+                case PERFORMANCE -> byPerformance;
+                default -> null;
+            };
+            boolean[] holds = new boolean[members.size()];
+            for (int i : holders) holds[i] = true;
+            if (base == null) {  // roster order
+                int[] subset = holders.clone();
+                Arrays.sort(subset);
+                return subset;
+            }
+            int[] subset = new int[holders.length];
+            int count = 0;
+            for (int i : base) {
+                if (holds[i]) subset[count++] = i;
+            }
+            return subset;
+        });
+    }
+
+    private int[] identity() {
+        return filtered.computeIfAbsent("*", k -> {
+            int[] all = new int[members.size()];
+            Arrays.setAll(all, i -> i);
+            return all;
+        });
+    }
+
+    // Positions 0..n-1 ordered by a non-negative key, ties in position order. Key (as float bits, which order
+    // like the floats for non-negative values) and position are packed into one long, so this is a primitive sort.
+    private static int[] sorted(int n, IntToDoubleFunction key, boolean descending) {
+        long[] packed = new long[n];
+        for (int i = 0; i < n; i++) {
+            packed[i] = pack(key.applyAsDouble(i), i, descending);
+        }
+        Arrays.sort(packed);
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) order[i] = (int) packed[i];
+        return order;
+    }
+
+    // An order over positions below from, plus positions from..to-1 sorted and merged in by the same key
+    private static int[] merge(int[] order, int from, int to, IntToDoubleFunction key, boolean descending) {
+        int[] added = sorted(to - from, k -> key.applyAsDouble(from + k), descending);
+        for (int k = 0; k < added.length; k++) added[k] += from;
+        return mergeSorted(order, added, key, descending);
+    }
+
+    // Two position orders by key merged into one. Keys are read now, so members whose key changed since the
+    // older order was built stay where they were; the result is still every position exactly once.
+    private static int[] mergeSorted(int[] a, int[] b, IntToDoubleFunction key, boolean descending) {
+        int[] merged = new int[a.length + b.length];
+        int i = 0, j = 0, k = 0;
+        long nextA = i < a.length ? pack(key.applyAsDouble(a[i]), a[i], descending) : Long.MAX_VALUE;
+        long nextB = j < b.length ? pack(key.applyAsDouble(b[j]), b[j], descending) : Long.MAX_VALUE;
+        while (k < merged.length) {
+            if (nextA <= nextB) {
+                merged[k++] = a[i++];
+                nextA = i < a.length ? pack(key.applyAsDouble(a[i]), a[i], descending) : Long.MAX_VALUE;
+            } else {
+                merged[k++] = b[j++];
+                nextB = j < b.length ? pack(key.applyAsDouble(b[j]), b[j], descending) : Long.MAX_VALUE;
+            }
+        }
+        return merged;
+    }
+
+    private static long pack(double key, int position, boolean descending) {
+        int bits = Float.floatToIntBits((float) Math.max(0, key));
+        return ((long) (descending ? Integer.MAX_VALUE - bits : bits) << 32) | position;
+    }
+}
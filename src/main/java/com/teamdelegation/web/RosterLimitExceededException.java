@@ -0,0 +1,13 @@
+package com.teamdelegation.web;
+
+/**
+ * Thrown when adding members would exceed a repository's member or memory limit.
+ */
+public class RosterLimitExceededException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public RosterLimitExceededException(String message) {
+        super(message);
+    }
+}
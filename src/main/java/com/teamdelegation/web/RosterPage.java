@@ -0,0 +1,68 @@
+package com.teamdelegation.web;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a sorted, optionally skill-filtered roster listing.
+ */
+public class RosterPage<T> {
+
+    private final List<T> items;
+    private final int page;
+    private final int size;
+    private final int total;
+    private final String sort;
+    private final String skill;
+
+    public RosterPage(List<T> items, int page, int size, int total, String sort, String skill) {
+        this.items = items;
+        this.page = page;
+        this.size = size;
+        this.total = total;
+        this.sort = sort;
+        this.skill = skill;
+    }
+
+    public <R> RosterPage<R> map(Function<T, R> mapper) {
+        return new RosterPage<>(items.stream().map(mapper).toList(), page, size, total, sort, skill);
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    /** Zero-based. */
+    public int getPage() {
+        return page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /** Members matching the filter, across all pages. */
+    public int getTotal() {
+        return total;
+    }
+
+    public int getTotalPages() {
+        return size == 0 ? 0 : (total + size - 1) / size;
+    }
+
+    public String getSort() {
+        return sort;
+    }
+
+    public String getSkill() {
+        return skill;
+    }
+
+    public boolean hasPrevious() {
+        return page > 0;
+    }
+
+    public boolean hasNext() {
+        return (long) (page + 1) * size < total;
+    }
+}
@@ -1,30 +1,116 @@
 package com.teamdelegation.web;
 
+import com.teamdelegation.analytics.WorkloadAnalytics;
 import com.teamdelegation.model.AssignmentDecision;
 import com.teamdelegation.model.Member;
+import com.teamdelegation.trace.RosterMutationEvent;
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.RandomAccess;
 
 @Component
 public class ScenarioRepository {
 
-    private final List<Member> members = new ArrayList<>();
+    // Rough heap cost of a Member with its SkillProfile map/arrays and project list.
+    private static final long MEMBER_BASE_BYTES = 320;
+    private static final long BYTES_PER_SKILL = 96;
+    private static final long BYTES_PER_PROJECT = 72;
+
+    // Immutable and replaced on every write, so readers (and scenario forks) can hold it without copying. Adds append
+    // to a shared array and publish a longer view of it, so n adds cost O(n) in total rather than O(n²).
+    private volatile List<Member> members = List.of();
+    private Member[] slots = new Member[16];
+    private long generation;  // bumped when the roster is replaced rather than appended to
+    private volatile RosterIndex index;
+    private final int maxMembers;
+    private final long maxRosterBytes;
+    private long rosterBytes;
     private AssignmentDecision lastDecision;
+    private final WorkloadAnalytics analytics = new WorkloadAnalytics();
+
+    public ScenarioRepository() {
+        this(Integer.MAX_VALUE, Long.MAX_VALUE);
+    }
+
+    public ScenarioRepository(int maxMembers, long maxRosterBytes) {
+        this.maxMembers = maxMembers;
+        this.maxRosterBytes = maxRosterBytes;
+    }
 
     public List<Member> getMembers() {
-        return Collections.unmodifiableList(members);
+        return members;
+    }
+
+    /**
+     * Listing indexes for the current roster, brought up to date on first use after a change: extended with the
+     * members added since, or rebuilt after the roster was replaced.
+     */
+    public RosterIndex getIndex() {
+        List<Member> current = members;
+        RosterIndex idx = index;
+        if (idx == null || !idx.isFor(current)) {
+            idx = idx != null && appendedTo(idx.roster(), current) ? idx.extend(current) : RosterIndex.build(current);
+            index = idx;
+        }
+        return idx;
     }
 
-    public void addMember(Member member) {
-        members.add(member);
+    // Adds publish longer views of the same generation; a replace starts a new one
+    private static boolean appendedTo(List<Member> earlier, List<Member> later) {
+        return earlier instanceof Snapshot before && later instanceof Snapshot after
+                && before.generation == after.generation && before.size <= after.size;
     }
 
-    public void replaceMembers(List<Member> seedMembers) {
-        members.clear();
-        members.addAll(seedMembers);
+    public synchronized void addMember(Member member) {
+        RosterMutationEvent event = new RosterMutationEvent();
+        event.begin();
+        long bytes = estimateBytes(member);
+        checkLimits(members.size() + 1, rosterBytes + bytes);
+        analytics.addMember(member);  // before publishing, so a failure leaves roster and analytics as they were
+        int size = members.size();
+        if (size == slots.length) {
+            slots = Arrays.copyOf(slots, size * 2);  // published views keep the old array, which no longer changes
+        }
+        slots[size] = member;
+        members = new Snapshot(slots, size + 1, generation);
+        rosterBytes += bytes;
+        commit(event, "add", 1);
+    }
+
+    public synchronized void replaceMembers(List<Member> seedMembers) {
+        RosterMutationEvent event = new RosterMutationEvent();
+        event.begin();
+        long bytes = seedMembers.stream().mapToLong(ScenarioRepository::estimateBytes).sum();
+        checkLimits(seedMembers.size(), bytes);
+        Member[] next = seedMembers.toArray(new Member[Math.max(16, seedMembers.size())]);
+        Snapshot snapshot = new Snapshot(next, seedMembers.size(), ++generation);
+        analytics.reset(snapshot);
+        slots = next;
+        members = snapshot;
+        rosterBytes = bytes;
+        commit(event, "replace", seedMembers.size());
+    }
+
+    /**
+     * Throws {@link RosterLimitExceededException} if the roster could not take {@code added} on top of its current
+     * members, e.g. for a what-if fork that is never written back.
+     */
+    public synchronized void checkRoom(List<Member> added) {
+        long bytes = added.stream().mapToLong(ScenarioRepository::estimateBytes).sum();
+        checkLimits(members.size() + added.size(), rosterBytes + bytes);
+    }
+
+    /** Estimated heap held by the roster, for per-tenant memory accounting. */
+    public synchronized long getRosterBytes() {
+        return rosterBytes;
+    }
+
+    /** Workload fairness over this roster and the recommendations made on it, maintained as both change. */
+    public WorkloadAnalytics getAnalytics() {
+        return analytics;
     }
 
     public AssignmentDecision getLastDecision() {
@@ -34,5 +120,55 @@ public class ScenarioRepository {
     public void setLastDecision(AssignmentDecision lastDecision) {
         this.lastDecision = lastDecision;
     }
-}
 
+    private void commit(RosterMutationEvent event, String operation, int written) {
+        if (!event.shouldCommit()) return;
+        event.operation = operation;
+        event.membersWritten = written;
+        event.rosterSize = members.size();
+        event.commit();
+    }
+
+    private void checkLimits(int memberCount, long bytes) {
+        if (memberCount > maxMembers) {
+            throw new RosterLimitExceededException("Roster is limited to " + maxMembers + " members.");
+        }
+        if (bytes > maxRosterBytes) {
+            throw new RosterLimitExceededException("Roster is limited to " + maxRosterBytes / 1024 + " KiB.");
+        }
+    }
+
+    // The first size slots of an array that is only ever appended to past them; the volatile write of members
+    // publishes the slots along with the view
+    private static final class Snapshot extends AbstractList<Member> implements RandomAccess {
+        private final Member[] slots;
+        private final int size;
+        private final long generation;
+
+        Snapshot(Member[] slots, int size, long generation) {
+            this.slots = slots;
+            this.size = size;
+            this.generation = generation;
+        }
+
+        @Override
+        public Member get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+            }
+            return slots[index];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    static long estimateBytes(Member member) {
+        return MEMBER_BASE_BYTES
+                + 2L * (member.getName() != null ? member.getName().length() : 0)
+                + BYTES_PER_SKILL * member.getExpertise().skillIds().length
+                + BYTES_PER_PROJECT * member.getCurrentProjects().size();
+    }
+}
@@ -4,10 +4,20 @@ import com.teamdelegation.engine.AssignmentEngine;
 import com.teamdelegation.model.AssignmentDecision;
 import com.teamdelegation.model.ProjectDemand;
 import com.teamdelegation.model.SkillProfile;
+import com.teamdelegation.replay.Scenario;
+import com.teamdelegation.replay.ScenarioRecorder;
+import com.teamdelegation.startup.EngineWarmup;
+import com.teamdelegation.tenant.Tenant;
+import com.teamdelegation.web.RosterIndex;
 import com.teamdelegation.web.ScenarioRepository;
 import com.teamdelegation.web.form.ProjectForm;
+import com.teamdelegation.web.util.ParseDiagnostic;
+import com.teamdelegation.web.util.ParseErrors;
 import com.teamdelegation.web.util.TextParser;
 import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -15,17 +25,28 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 
 @Controller
 @RequestMapping({"/", "/assignment"})
 public class AssignmentController {
 
-    private final ScenarioRepository repository;
-    private final AssignmentEngine engine;
+    private static final Logger log = LoggerFactory.getLogger(AssignmentController.class);
+
+    private final EngineWarmup warmup;
+    private final ScenarioRecorder recorder;
+    private final long defaultBudgetMs;
 
-    public AssignmentController(ScenarioRepository repository, AssignmentEngine engine) {
-        this.repository = repository;
-        this.engine = engine;
+    public AssignmentController(EngineWarmup warmup, ScenarioRecorder recorder,
+                                @Value("${delegation.solver.budget-ms:0}") long defaultBudgetMs) {
+        this.warmup = warmup;
+        this.recorder = recorder;
+        this.defaultBudgetMs = defaultBudgetMs;
     }
 
     @ModelAttribute("projectForm")
@@ -34,26 +55,38 @@ public class AssignmentController {
     }
 
     @GetMapping
-    public String showForm(Model model) {
-        model.addAttribute("members", repository.getMembers());
+    public String showForm(Tenant tenant, Model model) {
+        ScenarioRepository repository = tenant.getRepository();
+        addMemberPool(model, repository);
         model.addAttribute("lastDecision", repository.getLastDecision());
         return "assignment";
     }
 
+    // The pool shows the least-loaded members; the full roster is paged on /members
+    private static void addMemberPool(Model model, ScenarioRepository repository) {
+        MemberController.addRosterPage(model, repository, RosterIndex.Sort.LOAD, null, 0, MemberController.DEFAULT_PAGE_SIZE);
+    }
+
     @PostMapping
     public String evaluate(@Valid @ModelAttribute("projectForm") ProjectForm form,
                            BindingResult result,
+                           @RequestParam(name = "budgetMs", required = false) Long budgetMs,
+                           Tenant tenant,
                            Model model) {
+        ScenarioRepository repository = tenant.getRepository();
+        AssignmentEngine engine = tenant.getEngine();
+        List<ParseDiagnostic> diagnostics = new ArrayList<>();
+        SkillProfile requiredSkills = TextParser.parseRequiredSkills(form.getRequiredSkillsRaw(), diagnostics);
+        ParseErrors.reject(result, "requiredSkillsRaw", diagnostics);
         if (repository.getMembers().isEmpty()) {
             result.reject("members.empty", "Please add at least one member before assigning work.");
         }
         if (result.hasErrors()) {
-            model.addAttribute("members", repository.getMembers());
+            addMemberPool(model, repository);
             model.addAttribute("lastDecision", repository.getLastDecision());
             return "assignment";
         }
 
-        SkillProfile requiredSkills = TextParser.parseSkills(form.getRequiredSkillsRaw());
         ProjectDemand demand = new ProjectDemand(
                 form.getProjectName(),
                 requiredSkills,
@@ -63,8 +96,25 @@ public class AssignmentController {
                 form.isLearningOpportunity()
         );
 
-        AssignmentDecision decision = engine.evaluate(demand, repository.getMembers());
+        // A positive budget bounds latency: the pick is the best member scored before the deadline
+        long budget = budgetMs != null ? budgetMs : defaultBudgetMs;
+        AssignmentDecision decision = budget > 0
+                ? engine.evaluate(demand, repository.getMembers(), Duration.ofMillis(budget))
+                : engine.evaluate(demand, repository.getMembers());
         repository.setLastDecision(decision);
+        repository.getAnalytics().recordEvaluation(demand.getProjectName(), decision.getTaskAssignments());
+        warmup.recordDecision();
+        try {
+            tenant.getJournal().append(decision, engine.getNominalCapacityWeeks(), engine.getUtilityModel().toString());
+        } catch (IOException ex) {
+            log.warn("Could not journal decision for {}", demand.getProjectName(), ex);
+        }
+        try {
+            recorder.record(engine, Scenario.EntryPoint.EVALUATE, budget, repository.getMembers(),
+                    List.of(AssignmentEngine.demandToTask(demand)));
+        } catch (IOException ex) {
+            log.warn("Could not record scenario for {}", demand.getProjectName(), ex);
+        }
 
         model.addAttribute("decision", decision);
         return "result";
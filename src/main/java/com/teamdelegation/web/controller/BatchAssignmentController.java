@@ -0,0 +1,458 @@
+package com.teamdelegation.web.controller;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SubmissionPublisher;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import com.teamdelegation.analytics.WorkloadAnalytics;
+import com.teamdelegation.engine.AnytimeSolution;
+import com.teamdelegation.engine.AssignmentEngine;
+import com.teamdelegation.engine.AssignmentListener;
+import com.teamdelegation.engine.CapacityLedger;
+import com.teamdelegation.engine.PreemptionPolicy;
+import com.teamdelegation.ingest.TaskOutcome;
+import com.teamdelegation.ingest.TaskStreamProcessor;
+import com.teamdelegation.model.AssignmentSummary;
+import com.teamdelegation.model.Member;
+import com.teamdelegation.model.SolveQuality;
+import com.teamdelegation.model.Task;
+import com.teamdelegation.model.TaskAssignment;
+import com.teamdelegation.replay.Scenario;
+import com.teamdelegation.replay.ScenarioRecorder;
+import com.teamdelegation.tenant.Tenant;
+import com.teamdelegation.web.form.ProjectForm;
+import com.teamdelegation.web.util.TextParser;
+
+/**
+ * Batch assignment with progress streamed as server-sent events: one {@code assignment} or
+ * {@code unassigned} event per task as the greedy pass commits it, then {@code rebalance} moves and
+ * a final {@code summary}. Nothing is buffered server-side beyond the engine's own working set.
+ * <p>
+ * Every entry point books what it commits on the tenant's {@link WorkloadAnalytics}: the batch's final assignments
+ * once it completes, the solver's best assignment, and each stream outcome as it is published.
+ * <p>
+ * {@code /stream}, {@code /solve} and {@code /ingest} reserve their assignments in the tenant's
+ * {@link CapacityLedger} while the request is served, so batches running at the same time never jointly push a
+ * member past the cap. Reservations are released when the response is complete (or the client goes away): results
+ * are recommendations, and the ledger has no way to learn whether they are acted on.
+ * <p>
+ * {@code /solve} instead answers within a time budget with the best assignment found by then, and says how
+ * good it is. Both read the JSON array one project at a time and refuse batches over
+ * {@code delegation.batch.max-tasks} with 413.
+ * <p>
+ * {@code /ingest} takes an open-ended NDJSON stream of projects and answers with an NDJSON stream of outcomes
+ * as micro-batches are placed (see {@link TaskStreamProcessor}). The request is read only as fast as the
+ * outcomes are written, so a slow client holds back its own upload rather than filling server memory. Its async
+ * timeout is set per request from {@code delegation.ingest.timeout-ms}, not left to the container default.
+ */
+@Controller
+@RequestMapping("/assignment/batch")
+public class BatchAssignmentController {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchAssignmentController.class);
+    private static final long STREAM_TIMEOUT_MS = 10 * 60 * 1000L;
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final ScenarioRecorder recorder;
+    private final long defaultBudgetMs;
+    private final long maxBudgetMs;
+    private final int ingestMaxBatch;
+    private final Duration ingestWindow;
+    private final int ingestMaxBuffered;
+    private final long ingestTimeoutMs;
+    private final int maxBatchTasks;
+
+    public BatchAssignmentController(ScenarioRecorder recorder,
+                                     @Value("${delegation.solver.budget-ms:0}") long defaultBudgetMs,
+                                     @Value("${delegation.solver.max-budget-ms:10000}") long maxBudgetMs,
+                                     @Value("${delegation.ingest.max-batch:32}") int ingestMaxBatch,
+                                     @Value("${delegation.ingest.window-ms:50}") long ingestWindowMs,
+                                     @Value("${delegation.ingest.max-buffered:256}") int ingestMaxBuffered,
+                                     @Value("${delegation.ingest.timeout-ms:3600000}") long ingestTimeoutMs,
+                                     @Value("${delegation.batch.max-tasks:1000}") int maxBatchTasks) {
+        this.recorder = recorder;
+        this.defaultBudgetMs = defaultBudgetMs;
+        this.maxBudgetMs = maxBudgetMs;
+        this.ingestMaxBatch = ingestMaxBatch;
+        this.ingestWindow = Duration.ofMillis(ingestWindowMs);
+        this.ingestMaxBuffered = ingestMaxBuffered;
+        this.ingestTimeoutMs = ingestTimeoutMs;
+        this.maxBatchTasks = maxBatchTasks;
+    }
+
+    @GetMapping
+    public String show() {
+        return "batch";
+    }
+
+    @PostMapping(path = "/stream", consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ResponseBody
+    public SseEmitter stream(InputStream body, Tenant tenant) {
+        List<Task> tasks = readBatch(body);
+        List<Member> members = tenant.getRepository().getMembers();
+        AssignmentEngine engine = tenant.getEngine();
+        try {
+            recorder.record(engine, Scenario.EntryPoint.ASSIGN_TASKS, 0, members, tasks);
+        } catch (IOException ex) {
+            log.warn("Could not record batch scenario", ex);
+        }
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MS);
+        try {
+            WorkloadAnalytics analytics = tenant.getRepository().getAnalytics();
+            CapacityLedger ledger = tenant.ledgerFor(members);
+            tenant.getExecutor().execute(() -> run(engine, tasks, members, ledger, analytics, emitter));
+        } catch (RejectedExecutionException ex) {
+            emitter.completeWithError(ex);
+        }
+        return emitter;
+    }
+
+    @PostMapping(path = "/solve", consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public Map<String, Object> solve(InputStream body,
+                                     @RequestParam(name = "budgetMs", required = false) Long budgetMs,
+                                     Tenant tenant) {
+        long budget = budgetMs != null ? budgetMs : defaultBudgetMs;
+        if (budget <= 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "A positive budgetMs is required (or set delegation.solver.budget-ms).");
+        }
+        // The budget is how long a request thread is held, so a client can't ask for more than the server allows
+        if (budget > maxBudgetMs) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "budgetMs may be at most " + maxBudgetMs + " (delegation.solver.max-budget-ms).");
+        }
+        List<Task> tasks = readBatch(body);
+        List<Member> members = tenant.getRepository().getMembers();
+        AssignmentEngine engine = tenant.getEngine();
+        try {
+            recorder.record(engine, Scenario.EntryPoint.SOLVE, budget, members, tasks);
+        } catch (IOException ex) {
+            log.warn("Could not record batch scenario", ex);
+        }
+        CapacityLedger ledger = tenant.ledgerFor(members);
+        AnytimeSolution solution = engine.solve(tasks, members, Duration.ofMillis(budget), ledger);
+        ledger.releaseAll(solution.getAssignments());
+        tenant.getRepository().getAnalytics().record(solution.getAssignments());
+
+        List<Map<String, Object>> assignments = new ArrayList<>();
+        for (TaskAssignment assignment : solution.getAssignments()) {
+            assignments.add(EmittingListener.assignmentEvent(assignment));
+        }
+        SolveQuality quality = solution.getQuality();
+        Map<String, Object> qualityView = new LinkedHashMap<>();
+        qualityView.put("exhaustive", quality.isExhaustive());
+        qualityView.put("coverage", quality.getCoverage());
+        qualityView.put("seedUtility", quality.getSeedUtility());
+        qualityView.put("utility", quality.getUtility());
+        qualityView.put("upperBound", Double.isNaN(quality.getUpperBound()) ? null : quality.getUpperBound());
+        qualityView.put("gap", Double.isNaN(quality.getGap()) ? null : quality.getGap());
+        qualityView.put("improvements", quality.getImprovements());
+        qualityView.put("elapsedMs", quality.getElapsedNanos() / 1e6);
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("assignments", assignments);
+        response.put("unassigned", solution.getUnassigned().stream().map(Task::getId).toList());
+        response.put("quality", qualityView);
+        return response;
+    }
+
+    /**
+     * One project per line in, one outcome per line out: {@code assignment}, {@code unassigned}, or {@code preempted}
+     * for a task bumped by {@code preempt}, which then shows up again with its new outcome. Streams are not recorded
+     * for replay, since they have no end to snapshot the roster at.
+     */
+    @PostMapping(path = "/ingest", consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @ResponseBody
+    public StreamingResponseBody ingest(InputStream body,
+                                        @RequestParam(name = "preempt", defaultValue = "false") boolean preempt,
+                                        Tenant tenant, HttpServletRequest request) {
+        // Read when the body is returned; the container default (30 s on Tomcat) would cut an open-ended stream
+        WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest()
+                .setTimeout(ingestTimeoutMs > 0 ? ingestTimeoutMs : -1);
+        List<Member> members = tenant.getRepository().getMembers();
+        AssignmentEngine engine = tenant.getEngine();
+        WorkloadAnalytics analytics = tenant.getRepository().getAnalytics();
+        CapacityLedger ledger = tenant.ledgerFor(members);
+        PreemptionPolicy policy = preempt ? PreemptionPolicy.urgentOverLow() : PreemptionPolicy.none();
+        return out -> {
+            NdjsonSubscriber writer = new NdjsonSubscriber(out, analytics);
+            try (TaskStreamProcessor processor = new TaskStreamProcessor(engine, members, policy, ingestMaxBatch,
+                    ingestWindow, ingestMaxBuffered, ledger)) {
+                // Closed below, normally or exceptionally; it runs on the reading thread and holds no threads of its own
+                SubmissionPublisher<Task> publisher = new SubmissionPublisher<>(Runnable::run, ingestMaxBuffered);
+                publisher.subscribe(processor);
+                processor.subscribe(writer);
+                BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+                int lineNumber = 0;
+                int count = 0;
+                try {
+                    for (String line = reader.readLine(); line != null && !writer.isDone(); line = reader.readLine()) {
+                        lineNumber++;
+                        if (line.isBlank()) continue;
+                        ProjectForm form = MAPPER.readValue(line, ProjectForm.class);
+                        publisher.submit(toTask(form, "task-" + ++count));
+                    }
+                    publisher.close();
+                } catch (IOException | RuntimeException ex) {
+                    // Ends the stream: tasks still queued in the publisher are dropped
+                    publisher.closeExceptionally(new IllegalArgumentException(
+                            "Line " + lineNumber + ": " + ex.getMessage(), ex));
+                }
+                writer.await();
+                log.info("Ingested {} tasks in {} batches; {} unassigned, {} preempted", processor.getTasks(),
+                        processor.getBatches(), processor.getUnassigned(), processor.getPreempted());
+            }
+        };
+    }
+
+    // Booked only once the batch completes: rebalancing may still move what the greedy pass committed
+    private static void run(AssignmentEngine engine, List<Task> tasks, List<Member> members, CapacityLedger ledger,
+                            WorkloadAnalytics analytics, SseEmitter emitter) {
+        EmittingListener listener = new EmittingListener(emitter);
+        try {
+            analytics.record(engine.assignTasks(tasks, members, listener, ledger));
+            emitter.complete();
+        } catch (CancellationException ex) {
+            // client went away; stop assigning, and end the async request so its tenant permit is released
+            emitter.complete();
+        } catch (RuntimeException ex) {
+            emitter.completeWithError(ex);
+        } finally {
+            // What the listener saw is what is reserved, also when the batch stopped part way
+            ledger.releaseAll(List.copyOf(listener.held.values()));
+        }
+    }
+
+    // Parsed one project at a time, so an oversized batch is refused after maxBatchTasks entries, not after all of them
+    private List<Task> readBatch(InputStream body) {
+        List<Task> tasks = new ArrayList<>();
+        try (JsonParser parser = MAPPER.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Expected a JSON array of projects.");
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                if (tasks.size() == maxBatchTasks) {
+                    throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                            "A batch holds at most " + maxBatchTasks + " projects (delegation.batch.max-tasks);"
+                                    + " use /assignment/batch/ingest for longer streams.");
+                }
+                tasks.add(toTask(parser.readValueAs(ProjectForm.class), "task-" + (tasks.size() + 1)));
+            }
+            if (parser.currentToken() != JsonToken.END_ARRAY) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Expected a JSON array of projects.");
+            }
+        } catch (IOException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Malformed batch: " + ex.getMessage(), ex);
+        }
+        return tasks;
+    }
+
+    private static Task toTask(ProjectForm form, String id) {
+        return new Task(
+                id,
+                form.getProjectName(),
+                form.getDurationWeeks() != null ? form.getDurationWeeks() : 1.0,
+                TextParser.parseRequiredSkills(form.getRequiredSkillsRaw()),
+                form.getUrgency(),
+                form.isLearningOpportunity(),
+                TextParser.parseObjectives(form.getObjectivesRaw())
+        );
+    }
+
+    // Writes on the stream's worker thread and asks for one outcome at a time, so a slow client slows intake
+    private static final class NdjsonSubscriber implements Flow.Subscriber<TaskOutcome> {
+        private final OutputStream out;
+        private final WorkloadAnalytics analytics;
+        private final CountDownLatch done = new CountDownLatch(1);
+        private Flow.Subscription subscription;
+
+        NdjsonSubscriber(OutputStream out, WorkloadAnalytics analytics) {
+            this.out = out;
+            this.analytics = analytics;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(TaskOutcome outcome) {
+            // Committed whether or not the client still reads
+            if (outcome.getKind() == TaskOutcome.Kind.ASSIGNED) {
+                analytics.record(List.of(outcome.getAssignment()));
+            } else if (outcome.getKind() == TaskOutcome.Kind.PREEMPTED) {
+                analytics.release(List.of(outcome.getAssignment()));
+            }
+            try {
+                write(outcomeEvent(outcome));
+                subscription.request(1);
+            } catch (IOException ex) {
+                // client went away; stop intake
+                subscription.cancel();
+                done.countDown();
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            try {
+                write(Map.of("error", String.valueOf(throwable.getMessage())));
+            } catch (IOException ex) {
+                // client went away
+            }
+            done.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            done.countDown();
+        }
+
+        boolean isDone() {
+            return done.getCount() == 0;
+        }
+
+        void await() {
+            try {
+                done.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private static Map<String, Object> outcomeEvent(TaskOutcome outcome) {
+            Map<String, Object> event = new LinkedHashMap<>();
+            switch (outcome.getKind()) {
+                case ASSIGNED -> {
+                    event.put("event", "assignment");
+                    event.putAll(EmittingListener.assignmentEvent(outcome.getAssignment()));
+                }
+                case UNASSIGNED -> {
+                    event.put("event", "unassigned");
+                    event.putAll(EmittingListener.unassignedEvent(outcome.getTask()));
+                }
+                case PREEMPTED -> {
+                    event.put("event", "preempted");
+                    event.putAll(EmittingListener.assignmentEvent(outcome.getAssignment()));
+                    event.put("preemptedBy", outcome.getPreemptor().getId());
+                }
+            }
+            return event;
+        }
+
+        private void write(Map<String, Object> event) throws IOException {
+            out.write(MAPPER.writeValueAsBytes(event));
+            out.write('\n');
+            out.flush();
+        }
+    }
+
+    private static final class EmittingListener implements AssignmentListener {
+        private final SseEmitter emitter;
+        private final Map<Task, TaskAssignment> held = new IdentityHashMap<>();  // current placement per task
+
+        EmittingListener(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void onAssigned(TaskAssignment assignment) {
+            held.put(assignment.getTask(), assignment);
+            send("assignment", assignmentEvent(assignment));
+        }
+
+        @Override
+        public void onUnassigned(Task task) {
+            send("unassigned", unassignedEvent(task));
+        }
+
+        @Override
+        public void onRebalanced(TaskAssignment previous, TaskAssignment replacement) {
+            held.put(replacement.getTask(), replacement);
+            Map<String, Object> event = assignmentEvent(replacement);
+            event.put("previousAssignee", previous.getAssignee().getName());
+            send("rebalance", event);
+        }
+
+        @Override
+        public void onCompleted(AssignmentSummary summary) {
+            Map<String, Object> event = new LinkedHashMap<>();
+            event.put("taskCount", summary.getTaskCount());
+            event.put("assignedCount", summary.getAssignedCount());
+            event.put("unassignedCount", summary.getUnassignedCount());
+            event.put("rebalanceMoves", summary.getRebalanceMoves());
+            event.put("totalUtility", summary.getTotalUtility());
+            event.put("minLoadWeeks", summary.getMinLoadWeeks());
+            event.put("maxLoadWeeks", summary.getMaxLoadWeeks());
+            event.put("elapsedMs", summary.getElapsedNanos() / 1e6);
+            send("summary", event);
+        }
+
+        private static Map<String, Object> assignmentEvent(TaskAssignment assignment) {
+            Map<String, Object> event = new LinkedHashMap<>();
+            event.put("taskId", assignment.getTask().getId());
+            event.put("projectName", assignment.getTask().getProjectName());
+            event.put("urgency", assignment.getTask().getUrgency());
+            event.put("assignee", assignment.getAssignee().getName());
+            event.put("utility", assignment.getUtilityScore());
+            return event;
+        }
+
+        private static Map<String, Object> unassignedEvent(Task task) {
+            Map<String, Object> event = new LinkedHashMap<>();
+            event.put("taskId", task.getId());
+            event.put("projectName", task.getProjectName());
+            return event;
+        }
+
+        private void send(String name, Object data) {
+            try {
+                emitter.send(SseEmitter.event().name(name).data(data));
+            } catch (IOException | IllegalStateException ex) {
+                throw new CancellationException("Event stream closed: " + ex.getMessage());
+            }
+        }
+    }
+}
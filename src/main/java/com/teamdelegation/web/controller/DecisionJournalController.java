@@ -0,0 +1,39 @@
+package com.teamdelegation.web.controller;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.teamdelegation.journal.JournalEntry;
+import com.teamdelegation.tenant.Tenant;
+
+/**
+ * Read access to the decision journal, e.g. {@code /api/decisions?member=Ana&from=2026-01-01T00:00:00Z}.
+ */
+@RestController
+@RequestMapping("/api/decisions")
+public class DecisionJournalController {
+
+    private static final int MAX_LIMIT = 1000;
+
+    @GetMapping
+    public List<JournalEntry> query(@RequestParam(required = false) String member,
+                                    @RequestParam(required = false) String project,
+                                    @RequestParam(required = false) Instant from,
+                                    @RequestParam(required = false) Instant to,
+                                    @RequestParam(defaultValue = "100") int limit,
+                                    Tenant tenant) {
+        long fromMillis = from != null ? from.toEpochMilli() : Long.MIN_VALUE;
+        long toMillis = to != null ? to.toEpochMilli() : Long.MAX_VALUE;
+        return tenant.getJournal().query(blankToNull(member), blankToNull(project), fromMillis, toMillis,
+                Math.min(Math.max(limit, 0), MAX_LIMIT));
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+}
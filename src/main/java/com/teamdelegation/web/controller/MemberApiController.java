@@ -0,0 +1,32 @@
+package com.teamdelegation.web.controller;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.teamdelegation.tenant.Tenant;
+import com.teamdelegation.web.MemberSummary;
+import com.teamdelegation.web.RosterIndex;
+import com.teamdelegation.web.RosterPage;
+
+/**
+ * Paged roster for the frontend, e.g. {@code /api/members?sort=load&skill=backend&page=2&size=50}.
+ * Sorts: {@code roster} (default), {@code load} (least loaded first), {@code performance} and {@code skill}
+ * (highest level in {@code skill} first).
+ */
+@RestController
+@RequestMapping("/api/members")
+public class MemberApiController {
+
+    @GetMapping
+    public RosterPage<MemberSummary> list(@RequestParam(defaultValue = "0") int page,
+                                          @RequestParam(defaultValue = "" + MemberController.DEFAULT_PAGE_SIZE) int size,
+                                          @RequestParam(required = false) String sort,
+                                          @RequestParam(required = false) String skill,
+                                          Tenant tenant) {
+        return tenant.getRepository().getIndex()
+                .page(RosterIndex.Sort.parse(sort), skill, page, size)
+                .map(MemberSummary::of);
+    }
+}
@@ -1,5 +1,8 @@
 package com.teamdelegation.web.controller;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -7,12 +10,20 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import com.teamdelegation.model.Member;
+import com.teamdelegation.model.ProjectLoad;
 import com.teamdelegation.model.SkillProfile;
+import com.teamdelegation.tenant.Tenant;
+import com.teamdelegation.web.RosterIndex;
+import com.teamdelegation.web.RosterPage;
+import com.teamdelegation.web.RosterLimitExceededException;
 import com.teamdelegation.web.ScenarioRepository;
 import com.teamdelegation.web.form.MemberForm;
+import com.teamdelegation.web.util.ParseDiagnostic;
+import com.teamdelegation.web.util.ParseErrors;
 import com.teamdelegation.web.util.TextParser;
 
 import jakarta.validation.Valid;
@@ -21,41 +32,73 @@ import jakarta.validation.Valid;
 @RequestMapping("/members")
 public class MemberController {
 
-    private final ScenarioRepository repository;
-
-    public MemberController(ScenarioRepository repository) {
-        this.repository = repository;
-    }
+    static final int DEFAULT_PAGE_SIZE = 25;
 
     @ModelAttribute("memberForm")
     public MemberForm memberForm() {
         return new MemberForm();
     }
 
+    /** Carried on the page's forms and pager links, so paging or adding stays on the same tenant. */
+    @ModelAttribute("tenantId")
+    public String tenantId(Tenant tenant) {
+        return tenant.getId();
+    }
+
     @GetMapping
-    public String show(Model model) {
-        model.addAttribute("members", repository.getMembers());
+    public String show(@RequestParam(defaultValue = "0") int page,
+                       @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size,
+                       @RequestParam(required = false) String sort,
+                       @RequestParam(required = false) String skill,
+                       Tenant tenant,
+                       Model model) {
+        addRosterPage(model, tenant.getRepository(), RosterIndex.Sort.parse(sort), skill, page, size);
         return "members";
     }
 
+    static void addRosterPage(Model model, ScenarioRepository repository, RosterIndex.Sort sort, String skill,
+                              int page, int size) {
+        RosterPage<Member> rosterPage = repository.getIndex().page(sort, skill, page, size);
+        model.addAttribute("rosterPage", rosterPage);
+        model.addAttribute("members", rosterPage.getItems());
+    }
+
     @PostMapping
     public String createMember(@Valid @ModelAttribute("memberForm") MemberForm form,
                                BindingResult result,
+                               Tenant tenant,
                                Model model,
                                RedirectAttributes redirectAttributes) {
+        ScenarioRepository repository = tenant.getRepository();
+        List<ParseDiagnostic> skillDiagnostics = new ArrayList<>();
+        List<ParseDiagnostic> projectDiagnostics = new ArrayList<>();
+        SkillProfile skills = TextParser.parseSkills(form.getSkillsRaw(), skillDiagnostics);
+        List<ProjectLoad> projects = new ArrayList<>();
+        TextParser.applyProjects(form.getProjectsRaw(), projects::add, projectDiagnostics);
+        ParseErrors.reject(result, "skillsRaw", skillDiagnostics);
+        ParseErrors.reject(result, "projectsRaw", projectDiagnostics);
         if (result.hasErrors()) {
-            model.addAttribute("members", repository.getMembers());
+            addRosterPage(model, repository, RosterIndex.Sort.ROSTER, null, 0, DEFAULT_PAGE_SIZE);
             return "members";
         }
 
-        SkillProfile skills = TextParser.parseSkills(form.getSkillsRaw());
         double performance = form.getPerformance();
         double growth = form.getGrowth();
         Member member = new Member(form.getName(), skills, performance, growth);
-        TextParser.applyProjects(form.getProjectsRaw(), member::assignProject);
-        repository.addMember(member);
+        projects.forEach(member::assignProject);
+        try {
+            repository.addMember(member);
+        } catch (RosterLimitExceededException ex) {
+            result.reject("members.limit", ex.getMessage());
+            addRosterPage(model, repository, RosterIndex.Sort.ROSTER, null, 0, DEFAULT_PAGE_SIZE);
+            return "members";
+        }
 
-        redirectAttributes.addFlashAttribute("message", "Member added to the pool.");
+        skillDiagnostics.addAll(projectDiagnostics);
+        String warnings = ParseErrors.summarizeWarnings(skillDiagnostics);
+        redirectAttributes.addFlashAttribute("message",
+                warnings.isEmpty() ? "Member added to the pool." : "Member added to the pool. Check: " + warnings);
+        redirectAttributes.addAttribute("tenant", tenant.getId());
         return "redirect:/members";
     }
 }
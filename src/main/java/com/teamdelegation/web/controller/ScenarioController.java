@@ -0,0 +1,133 @@
+package com.teamdelegation.web.controller;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.teamdelegation.model.Member;
+import com.teamdelegation.model.ProjectDemand;
+import com.teamdelegation.model.SkillProfile;
+import com.teamdelegation.scenario.ScenarioDiff;
+import com.teamdelegation.scenario.ScenarioFork;
+import com.teamdelegation.scenario.WhatIfEvaluator;
+import com.teamdelegation.tenant.Tenant;
+import com.teamdelegation.web.RosterLimitExceededException;
+import com.teamdelegation.web.ScenarioRepository;
+import com.teamdelegation.web.form.MemberForm;
+import com.teamdelegation.web.form.ProjectForm;
+import com.teamdelegation.web.form.ScenarioForm;
+import com.teamdelegation.web.util.ParseDiagnostic;
+import com.teamdelegation.web.util.TextParser;
+
+/**
+ * What-if analysis without touching the shared roster, e.g. "Ana on leave" or "two more backend devs":
+ * every fork is a copy-on-write overlay of the tenant's current roster, evaluated in parallel and diffed
+ * against the unchanged decision.
+ * <p>
+ * A fork's added members must fit the tenant's roster limits as if they were added for real (413 otherwise), and
+ * it may remove at most as many names as the roster has members.
+ */
+@RestController
+@RequestMapping("/api/scenarios")
+public class ScenarioController {
+
+    private static final int MAX_FORKS = 8;
+
+    @PostMapping("/compare")
+    public Map<String, ScenarioDiff> compare(@RequestBody ScenarioForm form, Tenant tenant) {
+        ProjectForm project = form.getProject();
+        if (project == null || project.getProjectName() == null || project.getProjectName().isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "A project with a name is required.");
+        }
+        if (form.getForks() == null || form.getForks().contains(null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "forks must be a list of forks.");
+        }
+        if (form.getForks().size() > MAX_FORKS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + MAX_FORKS + " forks per request.");
+        }
+
+        ScenarioRepository repository = tenant.getRepository();
+        List<Member> roster = repository.getMembers();
+        ScenarioFork base = ScenarioFork.of(roster);
+        Map<String, ScenarioFork> forks = new LinkedHashMap<>();
+        for (int i = 0; i < form.getForks().size(); i++) {
+            ScenarioForm.Fork spec = form.getForks().get(i);
+            String name = spec.getName() != null && !spec.getName().isBlank() ? spec.getName() : "fork-" + (i + 1);
+            List<String> removed = spec.getRemove() != null ? spec.getRemove() : List.of();
+            List<MemberForm> addedForms = spec.getAdd() != null ? spec.getAdd() : List.of();
+            if (removed.size() > roster.size()) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        name + ": at most " + roster.size() + " removals, the roster's size.");
+            }
+            List<Member> added = new ArrayList<>(addedForms.size());
+            for (MemberForm memberForm : addedForms) {
+                added.add(toMember(memberForm));
+                if (added.size() % 64 == 0) checkRoom(repository, name, added);  // refuse huge lists early
+            }
+            checkRoom(repository, name, added);
+            ScenarioFork fork = base;
+            for (String memberName : removed) {
+                fork = fork.without(memberName);
+            }
+            for (Member member : added) {
+                fork = fork.with(member);
+            }
+            forks.put(name, fork);
+        }
+
+        List<ParseDiagnostic> diagnostics = new ArrayList<>();
+        SkillProfile requiredSkills = TextParser.parseRequiredSkills(project.getRequiredSkillsRaw(), diagnostics);
+        rejectParseErrors("project.requiredSkillsRaw", diagnostics);
+        ProjectDemand demand = new ProjectDemand(
+                project.getProjectName(),
+                requiredSkills,
+                project.getDurationWeeks() != null ? project.getDurationWeeks() : 1.0,
+                TextParser.parseObjectives(project.getObjectivesRaw()),
+                project.getUrgency(),
+                project.isLearningOpportunity()
+        );
+        try {
+            return new WhatIfEvaluator(tenant.getEngine(), tenant.getExecutor()).compare(demand, forks);
+        } catch (RejectedExecutionException ex) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Assignment workers are busy.");
+        }
+    }
+
+    private static void checkRoom(ScenarioRepository repository, String fork, List<Member> added) {
+        try {
+            repository.checkRoom(added);
+        } catch (RosterLimitExceededException ex) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, fork + ": " + ex.getMessage());
+        }
+    }
+
+    private static Member toMember(MemberForm form) {
+        if (form.getName() == null || form.getName().isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Added members need a name.");
+        }
+        List<ParseDiagnostic> diagnostics = new ArrayList<>();
+        Member member = new Member(form.getName(), TextParser.parseSkills(form.getSkillsRaw(), diagnostics),
+                form.getPerformance() != null ? form.getPerformance() : 0.5,
+                form.getGrowth() != null ? form.getGrowth() : 0.5);
+        TextParser.applyProjects(form.getProjectsRaw(), member::assignProject, diagnostics);
+        rejectParseErrors(form.getName(), diagnostics);
+        return member;
+    }
+
+    private static void rejectParseErrors(String field, List<ParseDiagnostic> diagnostics) {
+        if (TextParser.hasErrors(diagnostics)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, field + ": " + diagnostics.stream()
+                    .filter(ParseDiagnostic::isError).map(ParseDiagnostic::toString).collect(Collectors.joining("; ")));
+        }
+    }
+}
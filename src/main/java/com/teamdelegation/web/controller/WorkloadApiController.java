@@ -0,0 +1,32 @@
+package com.teamdelegation.web.controller;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.teamdelegation.analytics.WorkloadReport;
+import com.teamdelegation.tenant.Tenant;
+
+/**
+ * Workload fairness for the tenant's roster, e.g. {@code /api/workload?bucketWeeks=2}. Served from
+ * incrementally maintained analytics, so polling it costs the same on any roster size.
+ */
+@RestController
+@RequestMapping("/api/workload")
+public class WorkloadApiController {
+
+    private final double defaultBucketWeeks;
+
+    public WorkloadApiController(@Value("${delegation.analytics.bucket-weeks:1}") double defaultBucketWeeks) {
+        this.defaultBucketWeeks = defaultBucketWeeks;
+    }
+
+    @GetMapping
+    public WorkloadReport report(@RequestParam(required = false) Double bucketWeeks, Tenant tenant) {
+        return tenant.getRepository().getAnalytics()
+                .report(tenant.getEngine().getNominalCapacityWeeks(),
+                        bucketWeeks != null && bucketWeeks > 0 ? bucketWeeks : defaultBucketWeeks);
+    }
+}
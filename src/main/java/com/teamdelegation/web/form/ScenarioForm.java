@@ -0,0 +1,64 @@
+package com.teamdelegation.web.form;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JSON body for {@code /api/scenarios/compare}: one project and the what-if forks to evaluate it against.
+ */
+public class ScenarioForm {
+
+    private ProjectForm project;
+
+    private List<Fork> forks = new ArrayList<>();
+
+    public ProjectForm getProject() {
+        return project;
+    }
+
+    public void setProject(ProjectForm project) {
+        this.project = project;
+    }
+
+    public List<Fork> getForks() {
+        return forks;
+    }
+
+    public void setForks(List<Fork> forks) {
+        this.forks = forks;
+    }
+
+    /** Removals are applied before additions, so a name in both replaces that member. */
+    public static class Fork {
+
+        private String name;
+
+        private List<String> remove = new ArrayList<>();
+
+        private List<MemberForm> add = new ArrayList<>();
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public List<String> getRemove() {
+            return remove;
+        }
+
+        public void setRemove(List<String> remove) {
+            this.remove = remove;
+        }
+
+        public List<MemberForm> getAdd() {
+            return add;
+        }
+
+        public void setAdd(List<MemberForm> add) {
+            this.add = add;
+        }
+    }
+}
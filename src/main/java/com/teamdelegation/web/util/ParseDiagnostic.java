@@ -0,0 +1,53 @@
+package com.teamdelegation.web.util;
+
+/**
+ * A problem found in pasted text, located by 1-based line and column. Errors drop or default the value;
+ * warnings keep it as written. A summary of problems past the reporting limit has no location (line 0).
+ */
+public class ParseDiagnostic {
+
+    public enum Severity { ERROR, WARNING }
+
+    private final Severity severity;
+    private final int line;
+    private final int column;
+    private final String message;
+
+    public ParseDiagnostic(Severity severity, int line, int column, String message) {
+        this.severity = severity;
+        this.line = line;
+        this.column = column;
+        this.message = message;
+    }
+
+    /** Stands for {@code count} problems of this severity that were not reported one by one. */
+    public static ParseDiagnostic more(Severity severity, int count) {
+        return new ParseDiagnostic(severity, 0, 0,
+                count + " more " + (severity == Severity.ERROR ? "errors" : "warnings") + " not shown");
+    }
+
+    public Severity getSeverity() {
+        return severity;
+    }
+
+    public boolean isError() {
+        return severity == Severity.ERROR;
+    }
+
+    public int getLine() {
+        return line;
+    }
+
+    public int getColumn() {
+        return column;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        return line > 0 ? "line " + line + ", column " + column + ": " + message : message;
+    }
+}
@@ -0,0 +1,45 @@
+package com.teamdelegation.web.util;
+
+import java.util.List;
+import java.util.StringJoiner;
+
+import org.springframework.validation.BindingResult;
+
+/**
+ * Maps {@link ParseDiagnostic}s of a form's free-text field onto its binding result.
+ */
+public final class ParseErrors {
+
+    private ParseErrors() {
+    }
+
+    /** Rejects {@code field} once per error; warnings are left for {@link #summarizeWarnings}. */
+    public static void reject(BindingResult result, String field, List<ParseDiagnostic> diagnostics) {
+        for (ParseDiagnostic diagnostic : diagnostics) {
+            if (diagnostic.isError()) {
+                result.rejectValue(field, "parse", diagnostic.toString());
+            }
+        }
+    }
+
+    /**
+     * One line of warnings for a flash message, or an empty string when there are none. It lists at most
+     * {@code TextScanner.MAX_DIAGNOSTICS} of them, however many lists were merged, since it is kept in the session.
+     */
+    public static String summarizeWarnings(List<ParseDiagnostic> diagnostics) {
+        StringJoiner summary = new StringJoiner("; ");
+        int listed = 0;
+        int more = 0;
+        for (ParseDiagnostic diagnostic : diagnostics) {
+            if (diagnostic.isError()) continue;
+            if (listed == TextScanner.MAX_DIAGNOSTICS) {
+                more++;
+            } else {
+                listed++;
+                summary.add(diagnostic.toString());
+            }
+        }
+        if (more > 0) summary.add(more + " more not shown");
+        return summary.toString();
+    }
+}
@@ -3,72 +3,157 @@ package com.teamdelegation.web.util;
 import com.teamdelegation.model.ProjectLoad;
 import com.teamdelegation.model.SkillProfile;
 
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
-import java.util.Locale;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 
+import static com.teamdelegation.web.util.ParseDiagnostic.Severity.ERROR;
+import static com.teamdelegation.web.util.ParseDiagnostic.Severity.WARNING;
+
+/**
+ * Parses the free-text fields of the forms in one pass over the input, without splitting it into
+ * intermediate arrays. Each method has a variant that reports every malformed or suspicious line to a
+ * diagnostics list. Values that cannot be read are still defaulted (skill level 0.5, project 4 weeks) as
+ * before, but now that is reported as an error instead of happening silently.
+ */
 public final class TextParser {
 
+    static final double DEFAULT_SKILL_LEVEL = 0.5;
+    static final double DEFAULT_PROJECT_WEEKS = 4.0;
+    static final double MAX_PROJECT_WEEKS = 520.0;  // ten years; longer is a typo, not a plan
+    private static final int MAX_QUOTED = 24;
+
     private TextParser() {
     }
 
     public static SkillProfile parseSkills(String raw) {
-        Map<String, Double> skills = new HashMap<>();
+        return parseSkills(raw, null);
+    }
+
+    /**
+     * Lines of {@code skill:level}; the last colon separates, skill names are lower-cased, and a repeated skill
+     * keeps its last level.
+     */
+    public static SkillProfile parseSkills(String raw, List<ParseDiagnostic> diagnostics) {
+        return parseSkills(raw, diagnostics, false);
+    }
+
+    public static SkillProfile parseRequiredSkills(String raw) {
+        return parseRequiredSkills(raw, null);
+    }
+
+    /** As {@link #parseSkills(String, List)}, for a project's demand: see {@link SkillProfile#demand}. */
+    public static SkillProfile parseRequiredSkills(String raw, List<ParseDiagnostic> diagnostics) {
+        return parseSkills(raw, diagnostics, true);
+    }
+
+    private static SkillProfile parseSkills(String raw, List<ParseDiagnostic> diagnostics, boolean demand) {
         if (raw == null) {
             return SkillProfile.empty();
         }
-        Arrays.stream(raw.split("\\r?\\n"))
-                .map(String::trim)
-                .filter(line -> !line.isEmpty())
-                .forEach(line -> {
-                    String[] parts = line.split(":");
-                    if (parts.length == 2) {
-                        String skill = parts[0].trim().toLowerCase(Locale.ENGLISH);
-                        double level = safeDouble(parts[1].trim(), 0.5);
-                        skills.put(skill, level);
-                    }
-                });
-        return new SkillProfile(skills);
+        Map<String, Double> skills = new HashMap<>();
+        TextScanner in = new TextScanner(raw, false, diagnostics);
+        while (in.next()) {
+            int colon = in.lastIndexOf(':');
+            if (colon < 0) {
+                in.report(ERROR, in.start, "expected skill:level, got '" + quote(in, in.start, in.end) + "'");
+                continue;
+            }
+            int nameEnd = in.trimEnd(in.start, colon);
+            if (nameEnd == in.start) {
+                in.report(ERROR, in.start, "missing skill name");
+                continue;
+            }
+            String skill = in.lowerCase(in.start, nameEnd);
+            int valueStart = in.trimStart(colon + 1, in.end);
+            double level = in.number(valueStart, in.end);
+            if (Double.isNaN(level)) {
+                in.report(ERROR, valueStart, "level '" + quote(in, valueStart, in.end) + "' is not a number, using "
+                        + DEFAULT_SKILL_LEVEL);
+                level = DEFAULT_SKILL_LEVEL;
+            } else if (level < 0 || level > 1) {
+                in.report(WARNING, valueStart, "level " + level + " is outside 0..1");
+            }
+            if (skills.put(skill, level) != null) {
+                in.report(WARNING, in.start, "skill '" + skill + "' repeated, keeping this level");
+            }
+        }
+        return demand ? SkillProfile.demand(skills) : new SkillProfile(skills);
     }
 
     public static Set<String> parseObjectives(String raw) {
+        return parseObjectives(raw, null);
+    }
+
+    /** Comma- or line-separated objectives, in input order without duplicates. */
+    public static Set<String> parseObjectives(String raw, List<ParseDiagnostic> diagnostics) {
         Set<String> objectives = new LinkedHashSet<>();
         if (raw == null || raw.isBlank()) {
             return objectives;
         }
-        Arrays.stream(raw.split(","))
-                .map(String::trim)
-                .filter(s -> !s.isEmpty())
-                .forEach(objectives::add);
+        TextScanner in = new TextScanner(raw, true, diagnostics);
+        while (in.next()) {
+            String objective = in.text(in.start, in.end);
+            if (!objectives.add(objective)) {
+                in.report(WARNING, in.start, "objective '" + quote(in, in.start, in.end) + "' repeated");
+            }
+        }
         return objectives;
     }
 
-    public static void applyProjects(String raw, java.util.function.Consumer<ProjectLoad> consumer) {
+    public static void applyProjects(String raw, Consumer<ProjectLoad> consumer) {
+        applyProjects(raw, consumer, null);
+    }
+
+    /**
+     * Lines of {@code project:remaining_weeks}; the last colon separates, so names may contain colons. Weeks over
+     * {@code MAX_PROJECT_WEEKS} are reported as an error and capped.
+     */
+    public static void applyProjects(String raw, Consumer<ProjectLoad> consumer, List<ParseDiagnostic> diagnostics) {
         if (raw == null || raw.isBlank()) {
             return;
         }
-        Arrays.stream(raw.split("\\r?\\n"))
-                .map(String::trim)
-                .filter(line -> !line.isEmpty())
-                .forEach(line -> {
-                    String[] parts = line.split(":");
-                    if (parts.length == 2) {
-                        String name = parts[0].trim();
-                        double weeks = safeDouble(parts[1].trim(), 4.0);
-                        consumer.accept(new ProjectLoad(name, weeks));
-                    }
-                });
+        TextScanner in = new TextScanner(raw, false, diagnostics);
+        while (in.next()) {
+            int colon = in.lastIndexOf(':');
+            if (colon < 0) {
+                in.report(ERROR, in.start, "expected project:weeks, got '" + quote(in, in.start, in.end) + "'");
+                continue;
+            }
+            int nameEnd = in.trimEnd(in.start, colon);
+            if (nameEnd == in.start) {
+                in.report(ERROR, in.start, "missing project name");
+                continue;
+            }
+            int valueStart = in.trimStart(colon + 1, in.end);
+            double weeks = in.number(valueStart, in.end);
+            if (Double.isNaN(weeks)) {
+                in.report(ERROR, valueStart, "weeks '" + quote(in, valueStart, in.end) + "' is not a number, using "
+                        + DEFAULT_PROJECT_WEEKS);
+                weeks = DEFAULT_PROJECT_WEEKS;
+            } else if (weeks < 0) {
+                in.report(WARNING, valueStart, "negative remaining weeks " + weeks);
+            } else if (weeks > MAX_PROJECT_WEEKS) {
+                in.report(ERROR, valueStart, "remaining weeks " + weeks + " is over " + MAX_PROJECT_WEEKS + ", using "
+                        + MAX_PROJECT_WEEKS);
+                weeks = MAX_PROJECT_WEEKS;
+            }
+            consumer.accept(new ProjectLoad(in.text(in.start, nameEnd), weeks));
+        }
     }
 
-    private static double safeDouble(String value, double fallback) {
-        try {
-            return Double.parseDouble(value);
-        } catch (NumberFormatException ex) {
-            return fallback;
+    /** Whether any diagnostic dropped or defaulted a value. */
+    public static boolean hasErrors(List<ParseDiagnostic> diagnostics) {
+        for (ParseDiagnostic diagnostic : diagnostics) {
+            if (diagnostic.isError()) return true;
         }
+        return false;
     }
-}
 
+    private static String quote(TextScanner in, int from, int to) {
+        return to - from <= MAX_QUOTED ? in.text(from, to) : in.text(from, from + MAX_QUOTED) + "…";
+    }
+}
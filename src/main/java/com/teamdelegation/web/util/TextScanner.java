@@ -0,0 +1,193 @@
+package com.teamdelegation.web.util;
+
+import java.util.List;
+
+/**
+ * Single forward pass over pasted text, one record at a time. Records are delimited by line breaks (and
+ * optionally commas). Each record is exposed as trimmed offsets into the original string, so nothing is
+ * copied until a caller asks for a field's text.
+ * <p>
+ * At most {@link #MAX_DIAGNOSTICS} problems are reported per scan; the rest are counted and summed up in one
+ * diagnostic per severity when the scan ends, so a large malformed paste yields a bounded list.
+ */
+final class TextScanner {
+
+    static final int MAX_DIAGNOSTICS = 50;
+
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    private final String text;
+    private final boolean commaSeparated;
+    private final List<ParseDiagnostic> diagnostics;
+    private int pos;
+    private int line = 1;
+    private int lineStart;
+    private int nextLine = 1;
+    private int nextLineStart;
+    private boolean done;
+    private int reported;
+    private int moreErrors;
+    private int moreWarnings;
+
+    /** Current record, trimmed: [start, end). */
+    int start;
+    int end;
+
+    TextScanner(String text, boolean commaSeparated, List<ParseDiagnostic> diagnostics) {
+        this.text = text != null ? text : "";
+        this.commaSeparated = commaSeparated;
+        this.diagnostics = diagnostics;
+    }
+
+    /** Advances to the next non-blank record; false at end of input. */
+    boolean next() {
+        int length = text.length();
+        while (!done) {
+            line = nextLine;
+            lineStart = nextLineStart;
+            int recordStart = pos;
+            int recordEnd = pos;
+            while (recordEnd < length && !isDelimiter(text.charAt(recordEnd))) recordEnd++;
+            if (recordEnd == length) {
+                done = true;
+                pos = length;
+            } else {
+                char c = text.charAt(recordEnd);
+                pos = recordEnd + 1;
+                if (c == '\r' && pos < length && text.charAt(pos) == '\n') pos++;
+                if (c != ',') {
+                    nextLine++;
+                    nextLineStart = pos;
+                }
+            }
+            int s = trimStart(recordStart, recordEnd);
+            int e = trimEnd(s, recordEnd);
+            if (s < e) {
+                start = s;
+                end = e;
+                return true;
+            }
+        }
+        reportSuppressed();
+        return false;
+    }
+
+    private boolean isDelimiter(char c) {
+        return c == '\n' || c == '\r' || commaSeparated && c == ',';
+    }
+
+    /** Last index of {@code c} in the current record, or -1. */
+    int lastIndexOf(char c) {
+        for (int i = end - 1; i >= start; i--) {
+            if (text.charAt(i) == c) return i;
+        }
+        return -1;
+    }
+
+    int trimStart(int from, int to) {
+        while (from < to && Character.isWhitespace(text.charAt(from))) from++;
+        return from;
+    }
+
+    int trimEnd(int from, int to) {
+        while (to > from && Character.isWhitespace(text.charAt(to - 1))) to--;
+        return to;
+    }
+
+    String text(int from, int to) {
+        return text.substring(from, to);
+    }
+
+    /** The field lower-cased; a plain substring when it already is. */
+    String lowerCase(int from, int to) {
+        int i = from;
+        while (i < to) {
+            char c = text.charAt(i);
+            if (c >= 'A' && c <= 'Z' || c >= 128 && Character.toLowerCase(c) != c) break;
+            i++;
+        }
+        if (i == to) return text.substring(from, to);
+        char[] chars = new char[to - from];
+        text.getChars(from, i, chars, 0);
+        for (; i < to; i++) {
+            chars[i - from] = Character.toLowerCase(text.charAt(i));
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Parses [from, to) as a decimal. Plain {@code [+-]digits[.digits]} inputs are converted without
+     * allocating, with the same result as {@link Double#parseDouble}. Anything else goes through
+     * {@code parseDouble} itself.
+     *
+     * @return the value, or {@code NaN} if the field is not a number
+     */
+    double number(int from, int to) {
+        if (from >= to) return Double.NaN;
+        int i = from;
+        boolean negative = false;
+        char first = text.charAt(i);
+        if (first == '+' || first == '-') {
+            negative = first == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int scale = 0;
+        int digits = 0;
+        boolean dot = false;
+        for (; i < to; i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                mantissa = mantissa * 10 + (c - '0');
+                digits++;
+                if (dot) scale++;
+                if (mantissa >= MAX_EXACT_MANTISSA) return slowNumber(from, to);
+            } else if (c == '.' && !dot) {
+                dot = true;
+            } else {
+                return slowNumber(from, to);
+            }
+        }
+        if (digits == 0) return Double.NaN;
+        if (scale >= POWERS_OF_TEN.length) return slowNumber(from, to);
+        // Both operands are exact doubles, so one correctly rounded division matches parseDouble
+        double value = mantissa / POWERS_OF_TEN[scale];
+        return negative ? -value : value;
+    }
+
+    private double slowNumber(int from, int to) {
+        try {
+            double value = Double.parseDouble(text.substring(from, to));
+            return Double.isFinite(value) ? value : Double.NaN;
+        } catch (NumberFormatException ex) {
+            return Double.NaN;
+        }
+    }
+
+    int column(int index) {
+        return index - lineStart + 1;
+    }
+
+    void report(ParseDiagnostic.Severity severity, int index, String message) {
+        if (diagnostics == null) return;
+        if (reported < MAX_DIAGNOSTICS) {
+            reported++;
+            diagnostics.add(new ParseDiagnostic(severity, line, column(index), message));
+        } else if (severity == ParseDiagnostic.Severity.ERROR) {
+            moreErrors++;
+        } else {
+            moreWarnings++;
+        }
+    }
+
+    private void reportSuppressed() {
+        if (diagnostics == null) return;
+        if (moreErrors > 0) diagnostics.add(ParseDiagnostic.more(ParseDiagnostic.Severity.ERROR, moreErrors));
+        if (moreWarnings > 0) diagnostics.add(ParseDiagnostic.more(ParseDiagnostic.Severity.WARNING, moreWarnings));
+        moreErrors = 0;
+        moreWarnings = 0;
+    }
+}
@@ -0,0 +1,191 @@
+package com.teamdelegation.analytics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.teamdelegation.model.Member;
+import com.teamdelegation.model.ProjectLoad;
+import com.teamdelegation.model.SkillProfile;
+import com.teamdelegation.model.Task;
+import com.teamdelegation.model.TaskAssignment;
+import com.teamdelegation.model.Urgency;
+
+class WorkloadAnalyticsTest {
+
+    private static final String[] SKILLS = {"qxwa", "qxwb", "qxwc"};
+
+    @Test
+    void incrementalFiguresMatchABruteForceRecount() {
+        Random random = new Random(47);
+        for (int round = 0; round < 30; round++) {
+            WorkloadAnalytics analytics = new WorkloadAnalytics();
+            Model model = new Model();
+            List<Member> initial = new ArrayList<>();
+            for (int i = 0, n = random.nextInt(6); i < n; i++) initial.add(member("m" + i, random));
+            analytics.reset(initial);
+            initial.forEach(model::add);
+            List<TaskAssignment> booked = new ArrayList<>();
+
+            for (int step = 0; step < 300; step++) {
+                int op = random.nextInt(10);
+                if (op == 0 || model.names.isEmpty()) {
+                    Member member = member("m" + random.nextInt(40), random);
+                    analytics.addMember(member);
+                    model.add(member);
+                } else if (op < 5) {
+                    TaskAssignment assignment = assignment(model, random);
+                    analytics.record(List.of(assignment));
+                    model.record(assignment);
+                    booked.add(assignment);
+                } else if (op < 7 && !booked.isEmpty()) {
+                    TaskAssignment assignment = booked.remove(random.nextInt(booked.size()));
+                    analytics.release(List.of(assignment));
+                    model.release(assignment);
+                } else {
+                    String project = "p" + random.nextInt(3);
+                    List<TaskAssignment> decision = List.of(assignment(model, random), assignment(model, random));
+                    analytics.recordEvaluation(project, decision);
+                    model.recordEvaluation(project, decision);
+                }
+                model.check(analytics.report(12, 1 + random.nextInt(3)));
+            }
+        }
+    }
+
+    @Test
+    void reEvaluatingAProjectReplacesItsBooking() {
+        Member ann = new Member("ann", new SkillProfile(Map.of("qxwa", 0.5)), 0.5, 0.5);
+        Member bea = new Member("bea", new SkillProfile(Map.of("qxwa", 0.5)), 0.5, 0.5);
+        WorkloadAnalytics analytics = new WorkloadAnalytics();
+        analytics.reset(List.of(ann, bea));
+
+        analytics.recordEvaluation("billing", List.of(new TaskAssignment(task("billing", 3), ann, 1)));
+        analytics.recordEvaluation("billing", List.of(new TaskAssignment(task("billing", 3), ann, 1)));
+        analytics.recordEvaluation("billing", List.of(new TaskAssignment(task("billing", 2), bea, 1)));
+        WorkloadReport report = analytics.report(12, 1);
+
+        assertEquals(2.0, report.getTotalLoadWeeks(), 0);
+        assertEquals(1, report.getRecommendations());
+        assertEquals(0.0, report.getMinLoadWeeks(), 0);
+        assertEquals("bea", report.getMostLoaded());
+    }
+
+    /** Straight recomputation of every reported figure from per-member loads. */
+    private static final class Model {
+        final List<String> names = new ArrayList<>();
+        final Map<String, Double> load = new HashMap<>();
+        final Map<String, Integer> counts = new LinkedHashMap<>();
+        final Map<String, Integer> holders = new HashMap<>();
+        final Map<String, Double> skillWeeks = new HashMap<>();
+        final Map<String, List<TaskAssignment>> evaluated = new HashMap<>();
+        long recommendations;
+
+        void add(Member member) {
+            if (load.containsKey(member.getName())) return;
+            names.add(member.getName());
+            load.put(member.getName(), member.totalRemainingWeeks());
+            for (String skill : member.getExpertise().getSkillNames()) holders.merge(skill, 1, Integer::sum);
+        }
+
+        void record(TaskAssignment assignment) {
+            String name = assignment.getAssignee().getName();
+            if (!load.containsKey(name)) return;
+            double weeks = assignment.getTask().getDurationWeeks();
+            load.merge(name, weeks, Double::sum);
+            counts.merge(name, 1, Integer::sum);
+            recommendations++;
+            for (String skill : assignment.getTask().getRequiredSkills().getSkillNames()) {
+                skillWeeks.merge(skill, weeks, Double::sum);
+            }
+        }
+
+        void release(TaskAssignment assignment) {
+            String name = assignment.getAssignee().getName();
+            if (!load.containsKey(name) || counts.getOrDefault(name, 0) == 0) return;
+            double weeks = assignment.getTask().getDurationWeeks();
+            load.put(name, Math.max(0, load.get(name) - weeks));
+            counts.merge(name, -1, Integer::sum);
+            recommendations--;
+            for (String skill : assignment.getTask().getRequiredSkills().getSkillNames()) {
+                skillWeeks.put(skill, Math.max(0, skillWeeks.getOrDefault(skill, 0.0) - weeks));
+            }
+        }
+
+        void recordEvaluation(String project, List<TaskAssignment> assignments) {
+            List<TaskAssignment> previous = evaluated.put(project, assignments);
+            if (previous != null) previous.forEach(this::release);
+            assignments.forEach(this::record);
+        }
+
+        void check(WorkloadReport report) {
+            int n = names.size();
+            double total = 0, min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY, pairs = 0;
+            for (String a : names) {
+                double x = load.get(a);
+                total += x;
+                min = Math.min(min, x);
+                max = Math.max(max, x);
+                for (String b : names) pairs += Math.abs(x - load.get(b));
+            }
+            assertEquals(n, report.getMembers());
+            assertEquals(recommendations, report.getRecommendations());
+            assertEquals(total, report.getTotalLoadWeeks(), 1e-9);
+            if (n == 0) return;
+            assertEquals(min, report.getMinLoadWeeks(), 0);
+            assertEquals(max, report.getMaxLoadWeeks(), 0);
+            assertEquals(min, load.get(report.getLeastLoaded()), 0);
+            assertEquals(max, load.get(report.getMostLoaded()), 0);
+            assertEquals(total > 0 ? pairs / (2.0 * n * total) : 0, report.getGini(), 1e-9);
+
+            long inBars = 0;
+            for (WorkloadReport.LoadBucket bar : report.getHistogram()) {
+                long expected = names.stream()
+                        .filter(m -> load.get(m) >= bar.getFromWeeks() && load.get(m) < bar.getToWeeks()).count();
+                assertEquals(expected, bar.getMembers());
+                inBars += expected;
+            }
+            assertEquals((long) n, inBars);
+
+            for (String skill : SKILLS) {
+                WorkloadReport.SkillLoad reported = report.getSkills().get(skill);
+                int holding = holders.getOrDefault(skill, 0);
+                double weeks = skillWeeks.getOrDefault(skill, 0.0);
+                assertEquals(holding, reported != null ? reported.getHolders() : 0);
+                assertEquals(weeks, reported != null ? reported.getRecommendedWeeks() : 0, 1e-9);
+            }
+            for (Map.Entry<String, Integer> count : counts.entrySet()) {
+                assertEquals(count.getValue(), report.getAssignments().get(count.getKey()));
+            }
+        }
+    }
+
+    // Loads are whole 1/8 weeks, where the Gini sum is exact
+    private static Member member(String name, Random random) {
+        Member member = new Member(name, new SkillProfile(Map.of(SKILLS[random.nextInt(SKILLS.length)], 0.5)),
+                0.5, 0.5);
+        for (int p = 0, projects = random.nextInt(3); p < projects; p++) {
+            member.assignProject(new ProjectLoad("existing-" + p, random.nextInt(80) / 8.0));
+        }
+        return member;
+    }
+
+    private static TaskAssignment assignment(Model model, Random random) {
+        String name = random.nextInt(20) == 0 ? "stranger" : model.names.get(random.nextInt(model.names.size()));
+        Member assignee = new Member(name, SkillProfile.empty(), 0.5, 0.5);
+        return new TaskAssignment(task("p", 1 + random.nextInt(40) / 8.0), assignee, 1);
+    }
+
+    private static Task task(String project, double weeks) {
+        return new Task(project, project, weeks, new SkillProfile(Map.of(SKILLS[(int) (weeks * 8) % SKILLS.length], 0.5)),
+                Urgency.M, false, Set.of());
+    }
+}
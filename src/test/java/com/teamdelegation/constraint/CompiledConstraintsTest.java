@@ -0,0 +1,144 @@
+package com.teamdelegation.constraint;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.teamdelegation.engine.AssignmentEngine;
+import com.teamdelegation.engine.LinearUtilityModel;
+import com.teamdelegation.model.Member;
+import com.teamdelegation.model.ProjectDemand;
+import com.teamdelegation.model.ProjectLoad;
+import com.teamdelegation.model.SkillProfile;
+import com.teamdelegation.model.Task;
+import com.teamdelegation.model.Urgency;
+
+class CompiledConstraintsTest {
+
+    private final List<Member> members = List.of(member("ann"), member("bea"), member("cai"));
+
+    @Test
+    void certificationsNeedEveryRequiredOne() {
+        CompiledConstraints rules = new AssignmentRules()
+                .certify("ann", "sec", "pci").certify("bea", "sec").certify("cai", "unrelated")
+                .requireCertifications("vault", "sec", "pci")
+                .compile(members);
+        CompiledConstraints.TaskCheck check = rules.check(task("vault"), rules.newState());
+
+        assertEquals(0, check.violations(0));
+        assertEquals(ConstraintViolation.CERTIFICATION.bit(), check.violations(1));
+        assertEquals(ConstraintViolation.CERTIFICATION.bit(), check.violations(2));
+        assertEquals(0, rules.check(task("other"), rules.newState()).violations(2));
+    }
+
+    @Test
+    void timezoneWindowsAreInclusiveAndSkipMembersWithoutAnOffset() {
+        CompiledConstraints rules = new AssignmentRules()
+                .timezone("ann", -300).timezone("bea", 60)
+                .timezoneWindow("emea", 0, 60)
+                .compile(members);
+        CompiledConstraints.TaskCheck check = rules.check(task("emea"), rules.newState());
+
+        assertEquals(ConstraintViolation.TIMEZONE.bit(), check.violations(0));
+        assertEquals(0, check.violations(1));
+        assertEquals(0, check.violations(2));
+    }
+
+    @Test
+    void taskLimitsCountCurrentProjectsAndRecordedTasks() {
+        List<Member> roster = List.of(member("ann").assignProject(new ProjectLoad("old", 1)), member("bea"));
+        CompiledConstraints rules = new AssignmentRules().maxTasks(1).maxTasks("bea", 2).compile(roster);
+        CompiledConstraints.State state = rules.newState();
+
+        assertEquals(ConstraintViolation.MAX_TASKS.bit(), rules.check(task("p"), state).violations(0));
+        state.record(task("p"), 1);
+        assertEquals(0, rules.check(task("p"), state).violations(1));
+        state.record(task("q"), 1);
+        assertEquals(ConstraintViolation.MAX_TASKS.bit(), rules.check(task("p"), state).violations(1));
+        assertEquals(1, rules.check(task("p"), state).tasksOverLimit(1));
+        state.release(task("q"), 1);
+        assertEquals(0, rules.check(task("p"), state).violations(1));
+    }
+
+    @Test
+    void exclusionsSeeRecordedTasksAndCurrentProjects() {
+        List<Member> roster = List.of(member("ann"), member("bea").assignProject(new ProjectLoad("vault", 2)),
+                member("cai"));
+        CompiledConstraints rules = new AssignmentRules().exclude("ann", "bea").exclude("ann", "cai").compile(roster);
+        CompiledConstraints.State state = rules.newState();
+
+        assertEquals(ConstraintViolation.EXCLUSION.bit(), rules.check(task("vault"), state).violations(0));
+        assertEquals(0, rules.check(task("web"), state).violations(0));
+        state.record(task("web"), 2);
+        assertEquals(ConstraintViolation.EXCLUSION.bit(), rules.check(task("web"), state).violations(0));
+        state.release(task("web"), 2);
+        assertEquals(0, rules.check(task("web"), state).violations(0));
+        assertEquals(1, state.trackedProjects());
+    }
+
+    @Test
+    void stateTracksNoProjectsWithoutExclusions() {
+        CompiledConstraints rules = new AssignmentRules().maxTasks(5).compile(members);
+        CompiledConstraints.State state = rules.newState();
+        for (int i = 0; i < 100; i++) state.record(task("p" + i), i % 3);
+
+        assertEquals(0, state.trackedProjects());
+    }
+
+    @Test
+    void settledWorkStopsExcludingButStillCounts() {
+        CompiledConstraints rules = new AssignmentRules().exclude("ann", "bea").maxTasks(1).compile(members);
+        CompiledConstraints.State state = rules.newState();
+        state.record(task("web"), 1);
+        state.settle(task("web"), 1);
+
+        assertEquals(0, state.trackedProjects());
+        assertEquals(0, rules.check(task("web"), state).violations(0));
+        assertEquals(ConstraintViolation.MAX_TASKS.bit(), rules.check(task("web"), state).violations(1));
+    }
+
+    @Test
+    void softRulesCostTheirPenaltyAndHardOnesBlock() {
+        CompiledConstraints rules = new AssignmentRules()
+                .penalize(ConstraintViolation.TIMEZONE, 0.25).penalize(ConstraintViolation.MAX_TASKS, 0.5)
+                .compile(members);
+        int both = ConstraintViolation.TIMEZONE.bit() | ConstraintViolation.MAX_TASKS.bit();
+        CompiledConstraints.TaskCheck check = rules.check(task("p"), rules.newState());
+
+        assertEquals(0.75, check.penalty(both), 1e-12);
+        assertEquals(0.75, check.penalty(both | ConstraintViolation.CERTIFICATION.bit()), 1e-12);
+        assertTrue(!check.isBlocked(both));
+        assertTrue(check.isBlocked(ConstraintViolation.CERTIFICATION.bit()));
+        assertTrue(check.isBlocked(ConstraintViolation.EXCLUSION.bit()));
+    }
+
+    @Test
+    void evaluationExcludesTeammatesOfMembersAlreadyOnTheProject() {
+        List<Member> roster = List.of(
+                new Member("ann", new SkillProfile(Map.of("java", 0.9)), 0.9, 0.5),
+                new Member("bea", new SkillProfile(Map.of("java", 0.6)), 0.7, 0.5)
+                        .assignProject(new ProjectLoad("vault", 1)),
+                new Member("cai", new SkillProfile(Map.of("java", 0.6)), 0.7, 0.5));
+        ProjectDemand demand = new ProjectDemand("vault", new SkillProfile(Map.of("java", 0.8)), 2, Set.of());
+        AssignmentEngine plain = new AssignmentEngine(12.0, AssignmentEngine.Weights.balanced());
+        AssignmentEngine ruled = new AssignmentEngine(12.0,
+                new LinearUtilityModel(AssignmentEngine.Weights.balanced()), null,
+                new AssignmentRules().exclude("ann", "bea"));
+
+        assertEquals("ann", plain.evaluate(demand, roster).getAssignee().getName());
+        assertEquals("cai", ruled.evaluate(demand, roster).getAssignee().getName());
+    }
+
+    private static Member member(String name) {
+        return new Member(name, new SkillProfile(Map.of("java", 0.8)), 0.7, 0.5);
+    }
+
+    private static Task task(String project) {
+        return new Task(project + "-1", project, 1, new SkillProfile(Map.of("java", 0.5)), Urgency.M, false, null);
+    }
+}
@@ -0,0 +1,46 @@
+package com.teamdelegation.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.teamdelegation.engine.retrieval.CandidateRetrieval;
+import com.teamdelegation.engine.retrieval.LshParameters;
+import com.teamdelegation.model.AssignmentDecision;
+import com.teamdelegation.model.Member;
+import com.teamdelegation.model.ProjectDemand;
+import com.teamdelegation.model.SkillProfile;
+import com.teamdelegation.model.SolveQuality;
+
+class BudgetedEvaluationTest {
+
+    @Test
+    void shortlistScannedInFullIsReportedComplete() {
+        Random random = new Random(11);
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            members.add(new Member("m" + i, new SkillProfile(Map.of("java", random.nextDouble(), "sql",
+                    random.nextDouble())), 0.7, 0.5));
+        }
+        CandidateRetrieval retrieval = new CandidateRetrieval(LshParameters.defaults(), 100, 50, 0.9, 0, 100);
+        AssignmentEngine engine = new AssignmentEngine(12.0,
+                new LinearUtilityModel(AssignmentEngine.Weights.balanced()), null, null, retrieval, null);
+        ProjectDemand demand = new ProjectDemand("p", new SkillProfile(Map.of("java", 0.8)), 2, Set.of());
+        engine.prepare(members);
+
+        AssignmentDecision decision = engine.evaluate(demand, members, Duration.ofSeconds(30));
+
+        SolveQuality quality = decision.getQuality();
+        assertEquals(1, retrieval.getShortlisted());
+        assertEquals(1.0, quality.getCoverage(), 0.0);
+        assertTrue(quality.isExhaustive());
+    }
+}
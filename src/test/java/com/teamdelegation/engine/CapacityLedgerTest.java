@@ -0,0 +1,55 @@
+package com.teamdelegation.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.teamdelegation.model.Member;
+import com.teamdelegation.model.SkillProfile;
+import com.teamdelegation.model.Task;
+import com.teamdelegation.model.TaskAssignment;
+import com.teamdelegation.model.Urgency;
+
+class CapacityLedgerTest {
+
+    private final AssignmentEngine engine = new AssignmentEngine(12.0, AssignmentEngine.Weights.balanced());
+    private final List<Member> members = List.of(
+            new Member("ana", new SkillProfile(Map.of("java", 0.9)), 0.8, 0.5),
+            new Member("bea", new SkillProfile(Map.of("java", 0.6)), 0.6, 0.5));
+
+    @Test
+    void batchesSharingALedgerNeverOverbookAMember() {
+        CapacityLedger ledger = engine.newLedger(members);
+        List<TaskAssignment> first = engine.assignTasks(List.of(task("a", 8)), members, AssignmentListener.NONE,
+                ledger);
+        List<TaskAssignment> second = engine.assignTasks(List.of(task("b", 8)), members, AssignmentListener.NONE,
+                ledger);
+
+        assertEquals("ana", first.get(0).getAssignee().getName());
+        assertEquals("bea", second.get(0).getAssignee().getName());
+        assertEquals(8.0, ledger.load(ledger.slot(members.get(0))));
+    }
+
+    @Test
+    void solveStartsFromAndReservesInTheLedger() {
+        CapacityLedger ledger = engine.newLedger(members);
+        assertTrue(ledger.tryReserve(ledger.slot(members.get(0)), 8));
+
+        AnytimeSolution solution = engine.solve(List.of(task("a", 8)), members, Duration.ofMillis(50), ledger);
+
+        assertEquals("bea", solution.getAssignments().get(0).getAssignee().getName());
+        assertEquals(8.0, ledger.load(ledger.slot(members.get(1))));
+        ledger.releaseAll(solution.getAssignments());
+        assertEquals(0.0, ledger.load(ledger.slot(members.get(1))));
+    }
+
+    private static Task task(String id, double weeks) {
+        return new Task(id, id, weeks, new SkillProfile(Map.of("java", 0.5)), Urgency.M, false, Set.of());
+    }
+}
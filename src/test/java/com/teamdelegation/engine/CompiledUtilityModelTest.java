@@ -0,0 +1,108 @@
+package com.teamdelegation.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class CompiledUtilityModelTest {
+
+    // capacity, expertise, skillFit, performance, learning, objective
+    private static final double[] X = {0.3, 0.7, 0.5, 0.9, 0.2, 0.4};
+
+    @Test
+    void productsBindTighterThanSums() {
+        assertEquals(1 + 2 * 0.3, eval("1 + 2*capacity"), 1e-12);
+        assertEquals(0.3 * 0.7 + 0.5, eval("capacity*expertise + skillFit"), 1e-12);
+        assertEquals(0.5 + 0.9 * 0.2 * 3, eval("skillFit + performance*learning*3"), 1e-12);
+    }
+
+    @Test
+    void operatorsAssociateToTheLeft() {
+        assertEquals(-4, eval("1 - 2 - 3"), 1e-12);
+        assertEquals(2 * 0.3, eval("8/2/2*capacity"), 1e-12);
+        assertEquals(0.3 - 0.7 + 0.5, eval("capacity - expertise + skillFit"), 1e-12);
+        assertEquals(2.5e-5 * 0.3 + 1e3, eval("2.5E-5*capacity + 1e+3"), 1e-12);
+    }
+
+    @Test
+    void unaryMinusNegatesOneFactor() {
+        assertEquals(-0.3, eval("-capacity"), 1e-12);
+        assertEquals(0.3, eval("--capacity"), 1e-12);
+        assertEquals(-2 * 0.3, eval("2*-capacity"), 1e-12);
+        assertEquals(1 + 0.7, eval("1 - -expertise"), 1e-12);
+    }
+
+    @Test
+    void parenthesesMultiplyOut() {
+        CompiledUtilityModel model = CompiledUtilityModel.compile("(capacity - expertise)*(capacity + expertise)");
+        assertEquals(4, model.termCount());
+        assertEquals(0.3 * 0.3 - 0.7 * 0.7, utility(model), 1e-12);
+        assertEquals(0.5 * (0.3 + 0.7), eval("0.5*(capacity + expertise)"), 1e-12);
+        assertEquals(-(0.3 - 1), eval("-(capacity - 1)"), 1e-12);
+        assertEquals(0.3 / 4, eval("((capacity))/2/2"), 1e-12);
+        assertEquals(0.4 * 2, eval("objective*(1 + 1)"), 1e-12);
+        assertTrue(CompiledUtilityModel.compile("objective*(1 + 1)").usesObjective());
+    }
+
+    @Test
+    void errorsNameThePosition() {
+        assertError("0.4*capacty", "Unknown utility component 'capacty' at position 4");
+        assertError("capacity +", "Unexpected end of expression at position 10");
+        assertError("capacity $ 1", "Expected '+' or '-' at position 9");
+        assertError("(capacity", "Expected ')' at position 9");
+        assertError("capacity)", "Unmatched ')' at position 8");
+        assertError("capacity/0", "Division by zero at position 10");
+        assertError("capacity/expertise", "Malformed number at position 9");
+        assertError("1..2*capacity", "Malformed number at position 0");
+        assertError("2*?", "Unexpected character '?' at position 2");
+        assertError(" ", "must not be blank");
+        assertError("(capacity+expertise)*(capacity+expertise)*(capacity+expertise)*(capacity+expertise)"
+                + "*(capacity+expertise)*(capacity+expertise)*(capacity+expertise)*(capacity+expertise)"
+                + "*(capacity+expertise)*(capacity+expertise)*(capacity+expertise)", "more than 1024 terms");
+    }
+
+    @Test
+    void linearModelSourceCompilesToTheSameScores() {
+        Random random = new Random(26);
+        for (int round = 0; round < 500; round++) {
+            AssignmentEngine.Weights weights = new AssignmentEngine.Weights(weight(random), weight(random),
+                    weight(random), weight(random), random.nextBoolean() ? 0 : weight(random));
+            LinearUtilityModel linear = new LinearUtilityModel(weights);
+            CompiledUtilityModel compiled = CompiledUtilityModel.compile(linear.toString());
+
+            assertEquals(linear.usesObjective(), compiled.usesObjective());
+            for (int sample = 0; sample < 20; sample++) {
+                double c = random.nextDouble(), e = random.nextDouble(), f = random.nextDouble();
+                double p = random.nextDouble(), l = random.nextDouble(), o = random.nextDouble();
+                assertEquals(linear.utility(c, e, f, p, l, o), compiled.utility(c, e, f, p, l, o), 0);
+                assertEquals(linear.utility(c, e, f, p, l), compiled.utility(c, e, f, p, l), 0);
+            }
+        }
+    }
+
+    // Includes tiny weights, which Double.toString writes with an exponent
+    private static double weight(Random random) {
+        return random.nextInt(10) == 0 ? random.nextDouble() * 1e-6 : random.nextDouble();
+    }
+
+    private static double eval(String expression) {
+        return utility(CompiledUtilityModel.compile(expression));
+    }
+
+    private static double utility(CompiledUtilityModel model) {
+        return model.utility(X[0], X[1], X[2], X[3], X[4], X[5]);
+    }
+
+    private static void assertError(String expression, String expected) {
+        String message = null;
+        try {
+            CompiledUtilityModel.compile(expression);
+        } catch (IllegalArgumentException ex) {
+            message = ex.getMessage();
+        }
+        assertTrue(message != null && message.contains(expected), expression + " -> " + message);
+    }
+}
@@ -0,0 +1,71 @@
+package com.teamdelegation.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.teamdelegation.model.AssignmentDecision;
+import com.teamdelegation.model.Member;
+import com.teamdelegation.model.ProjectDemand;
+import com.teamdelegation.model.SkillProfile;
+
+class EvaluationScratchTest {
+
+    private static final String[] SKILLS = {"java", "sql", "cloud", "docs"};
+
+    @Test
+    void pooledEvaluationPicksTheSameMemberAsFreshColumns() {
+        Random random = new Random(3);
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            members.add(new Member("m" + i, randomProfile(random), 0.5 + random.nextInt(5) / 10.0, 0.5));
+        }
+        LinearUtilityModel model = new LinearUtilityModel(AssignmentEngine.Weights.balanced());
+        AssignmentEngine fresh = new AssignmentEngine(12.0, model);
+        AssignmentEngine lean = new AssignmentEngine(12.0, model, null, null, null, new EvaluationScratch(5, 2));
+
+        for (int i = 0; i < 50; i++) {
+            ProjectDemand demand = new ProjectDemand("p" + i, randomProfile(random), 1 + random.nextInt(6), Set.of());
+            AssignmentDecision expected = fresh.evaluate(demand, members);
+            AssignmentDecision actual = lean.evaluate(demand, members);
+            assertEquals(expected.getAssignee().getName(), actual.getAssignee().getName());
+            assertEquals(5, actual.getInsights().size());
+            assertEquals(expected.getInsights().get(0).getUtilityScore(), actual.getInsights().get(0).getUtilityScore(),
+                    0.0);
+        }
+    }
+
+    @Test
+    void poolKeepsAtMostPoolSizeArenas() {
+        EvaluationScratch scratch = new EvaluationScratch(10, 2);
+        List<EvaluationScratch.Arena> borrowed = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            borrowed.add(scratch.acquire());
+        }
+        for (EvaluationScratch.Arena arena : borrowed) {
+            scratch.release(arena);
+        }
+
+        assertEquals(2, scratch.idleCount());
+        EvaluationScratch.Arena reused = scratch.acquire();
+        assertSame(borrowed.get(0), reused);
+        assertNotSame(reused, scratch.acquire());
+    }
+
+    private static SkillProfile randomProfile(Random random) {
+        Map<String, Double> skills = new HashMap<>();
+        for (int k = 1 + random.nextInt(3); k > 0; k--) {
+            skills.put(SKILLS[random.nextInt(SKILLS.length)], 0.3 + random.nextInt(8) / 10.0);
+        }
+        return new SkillProfile(skills);
+    }
+}
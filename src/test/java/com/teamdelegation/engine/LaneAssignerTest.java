@@ -0,0 +1,63 @@
+package com.teamdelegation.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.teamdelegation.constraint.AssignmentRules;
+import com.teamdelegation.model.Member;
+import com.teamdelegation.model.SkillProfile;
+import com.teamdelegation.model.Task;
+import com.teamdelegation.model.TaskAssignment;
+import com.teamdelegation.model.Urgency;
+
+class LaneAssignerTest {
+
+    private final List<Member> members = List.of(new Member("ann", new SkillProfile(Map.of("java", 0.9)), 0.7, 0.5));
+    private final AssignmentEngine engine = new AssignmentEngine(12.0,
+            new LinearUtilityModel(AssignmentEngine.Weights.balanced()), null, new AssignmentRules().maxTasks(1));
+
+    @Test
+    void urgentTaskBumpsWorkThatOnlyTheTaskLimitBlocks() {
+        List<String> bumped = new ArrayList<>();
+        LaneAssigner lanes = engine.openLanes(members, PreemptionPolicy.urgentOverLow(), new AssignmentListener() {
+            @Override
+            public void onPreempted(TaskAssignment assignment, Task preemptor) {
+                bumped.add(assignment.getTask().getId());
+            }
+        });
+        lanes.submit(task("low", Urgency.L));
+        lanes.drain();
+        lanes.submit(task("urgent", Urgency.H));
+        lanes.drain();
+
+        assertEquals(List.of("low"), bumped);
+        assertEquals(List.of("urgent"), ids(lanes.getAssignments()));
+        assertEquals(List.of("low"), lanes.getUnassigned().stream().map(Task::getId).toList());
+        assertEquals(1, lanes.getStats().getPreemptions());
+    }
+
+    @Test
+    void taskLimitAloneDoesNotBumpProtectedWork() {
+        LaneAssigner lanes = engine.openLanes(members, PreemptionPolicy.urgentOverLow(), AssignmentListener.NONE);
+        lanes.submit(task("medium", Urgency.M));
+        lanes.drain();
+        lanes.submit(task("urgent", Urgency.H));
+        lanes.drain();
+
+        assertEquals(List.of("medium"), ids(lanes.getAssignments()));
+        assertEquals(List.of("urgent"), lanes.getUnassigned().stream().map(Task::getId).toList());
+    }
+
+    private static Task task(String id, Urgency urgency) {
+        return new Task(id, id, 1, new SkillProfile(Map.of("java", 0.5)), urgency, false, null);
+    }
+
+    private static List<String> ids(List<TaskAssignment> assignments) {
+        return assignments.stream().map(a -> a.getTask().getId()).toList();
+    }
+}
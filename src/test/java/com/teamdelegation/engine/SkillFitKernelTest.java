@@ -0,0 +1,73 @@
+package com.teamdelegation.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.teamdelegation.model.AssignmentDecision;
+import com.teamdelegation.model.Member;
+import com.teamdelegation.model.ProjectDemand;
+import com.teamdelegation.model.SkillProfile;
+import com.teamdelegation.model.Task;
+import com.teamdelegation.model.Urgency;
+
+class SkillFitKernelTest {
+
+    private static final String[] SKILLS = {"java", "sql", "cloud", "docs", "ux", "ml"};
+
+    @Test
+    void columnarFitEqualsThePerMemberFit() {
+        Random random = new Random(7);
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            members.add(new Member("m" + i, randomProfile(random), 0.7, 0.5));
+        }
+        Task task = new Task("t", "t", 4, randomProfile(random), Urgency.M, false, null);
+        double[] out = new double[members.size()];
+
+        SkillFitKernel.best().skillFit(SkillMatrix.of(members), task, out);
+
+        for (int i = 0; i < members.size(); i++) {
+            double expected = members.get(i).getExpertise()
+                    .overlap(task.getRequiredSkillIds(), task.getRequiredSkills().levels()) / task.getTotalDemand();
+            assertEquals(expected, out[i], 0.0, "member " + i);
+        }
+    }
+
+    @Test
+    void bulkPathPicksTheSameMemberOnANearTie() {
+        List<Member> members = new ArrayList<>();
+        members.add(new Member("ann", new SkillProfile(Map.of("java", 0.7)), 0.7, 0.5));
+        members.add(new Member("bea", new SkillProfile(Map.of("java", 0.70000001)), 0.7, 0.5));
+        for (int i = 0; i < 256; i++) {
+            members.add(new Member("f" + i, new SkillProfile(Map.of("docs", 0.5)), 0.7, 0.5));
+        }
+        ProjectDemand demand = new ProjectDemand("p", new SkillProfile(Map.of("java", 0.8)), 4, Set.of());
+
+        AssignmentDecision perMember = new AssignmentEngine(12.0, AssignmentEngine.Weights.balanced())
+                .evaluate(demand, members);
+        AssignmentDecision bulk = new AssignmentEngine(12.0,
+                new LinearUtilityModel(AssignmentEngine.Weights.balanced()), SkillFitKernel.best())
+                .evaluate(demand, members);
+
+        assertEquals("bea", perMember.getAssignee().getName());
+        assertEquals(perMember.getAssignee().getName(), bulk.getAssignee().getName());
+        assertEquals(perMember.getInsights().get(0).getUtilityScore(), bulk.getInsights().get(0).getUtilityScore(),
+                0.0);
+    }
+
+    private static SkillProfile randomProfile(Random random) {
+        Map<String, Double> skills = new HashMap<>();
+        for (int k = 1 + random.nextInt(4); k > 0; k--) {
+            skills.put(SKILLS[random.nextInt(SKILLS.length)], random.nextDouble());
+        }
+        return new SkillProfile(skills);
+    }
+}
@@ -0,0 +1,91 @@
+package com.teamdelegation.engine.partition;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.teamdelegation.constraint.AssignmentRules;
+import com.teamdelegation.engine.AssignmentEngine;
+import com.teamdelegation.engine.AssignmentListener;
+import com.teamdelegation.engine.LinearUtilityModel;
+import com.teamdelegation.model.Member;
+import com.teamdelegation.model.TaskAssignment;
+import com.teamdelegation.replay.Scenario;
+import com.teamdelegation.replay.ScenarioGenerator;
+
+class PartitionedAssignerTest {
+
+    private final AssignmentEngine engine = new AssignmentEngine(12.0, AssignmentEngine.Weights.balanced());
+
+    @Test
+    void windowOfOneMatchesTheGreedyPassAcrossShards() {
+        for (long seed = 0; seed < 200; seed++) {
+            Scenario scenario = ScenarioGenerator.generate(seed, 40, 30);
+            // The single-node greedy commits, before its balancing pass moves anything
+            Map<String, TaskAssignment> greedy = new LinkedHashMap<>();
+            engine.assignTasks(scenario.getTasks(), scenario.getMembers(), new AssignmentListener() {
+                @Override
+                public void onAssigned(TaskAssignment assignment) {
+                    greedy.put(assignment.getTask().getId(), assignment);
+                }
+            });
+
+            List<TaskAssignment> partitioned;
+            try (InProcessShardTransport transport = InProcessShardTransport.partition(scenario.getMembers(), 3,
+                    InProcessShardTransport.BY_NAME, engine)) {
+                partitioned = new PartitionedAssigner(transport, 4, 1).assignTasks(scenario.getTasks());
+            }
+
+            assertEquals(greedy.size(), partitioned.size(), scenario.getId());
+            for (TaskAssignment assignment : partitioned) {
+                TaskAssignment expected = greedy.get(assignment.getTask().getId());
+                assertEquals(expected.getAssignee().getName(), assignment.getAssignee().getName(),
+                        scenario.getId() + " " + assignment.getTask().getId());
+                assertEquals(expected.getUtilityScore(), assignment.getUtilityScore(), 0.0);
+            }
+        }
+    }
+
+    @Test
+    void widerWindowsNeverOverbookAMember() {
+        for (long seed = 0; seed < 50; seed++) {
+            Scenario scenario = ScenarioGenerator.generate(seed, 20, 30);
+            List<TaskAssignment> assignments;
+            try (InProcessShardTransport transport = InProcessShardTransport.partition(scenario.getMembers(), 4,
+                    InProcessShardTransport.BY_PRIMARY_SKILL, engine)) {
+                assignments = new PartitionedAssigner(transport, 2, 8).assignTasks(scenario.getTasks());
+            }
+
+            Map<String, Double> load = new HashMap<>();
+            for (Member member : scenario.getMembers()) {
+                load.put(member.getName(), engine.initialLoadWeeks(member));
+            }
+            for (TaskAssignment assignment : assignments) {
+                String name = assignment.getAssignee().getName();
+                assertTrue(engine.fitsCapacity(assignment.getTask(), load.get(name)), scenario.getId() + " " + name);
+                load.merge(name, assignment.getTask().getDurationWeeks(), Double::sum);
+            }
+        }
+    }
+
+    @Test
+    void shardsRefuseEnginesWithRules() {
+        AssignmentEngine ruled = new AssignmentEngine(12.0, new LinearUtilityModel(AssignmentEngine.Weights.balanced()),
+                null, new AssignmentRules().maxTasks(1));
+        Scenario scenario = ScenarioGenerator.generate(1, 10, 5);
+
+        boolean refused = false;
+        try {
+            InProcessShardTransport.partition(scenario.getMembers(), 2, InProcessShardTransport.BY_NAME, ruled).close();
+        } catch (IllegalArgumentException ex) {
+            refused = true;
+        }
+        assertTrue(refused);
+    }
+}
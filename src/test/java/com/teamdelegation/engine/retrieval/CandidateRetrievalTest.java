@@ -0,0 +1,91 @@
+package com.teamdelegation.engine.retrieval;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.teamdelegation.engine.AssignmentEngine;
+import com.teamdelegation.engine.AssignmentEngine.Weights;
+import com.teamdelegation.engine.LinearUtilityModel;
+import com.teamdelegation.model.Member;
+import com.teamdelegation.model.ProjectDemand;
+import com.teamdelegation.model.SkillProfile;
+import com.teamdelegation.model.Task;
+import com.teamdelegation.model.Urgency;
+
+class CandidateRetrievalTest {
+
+    private final LinearProjection projection = new LinearProjection(12.0, 0.2, 0.5, 0.2, 0.1, 0);
+
+    @Test
+    void appendedMembersAreShortlistedWhileTheIndexRebuilds() {
+        List<Member> members = roster(2000);
+        CandidateRetrieval retrieval = new CandidateRetrieval(LshParameters.defaults(), 100, 50, 0.9, 0, 100);
+        retrieval.prepare(members, projection);
+        assertEquals(1, retrieval.getRebuilds());
+
+        List<Member> grown = new ArrayList<>(members);
+        grown.add(new Member("new", new SkillProfile(Map.of("java", 1.0)), 1.0, 0.5));
+        Task task = new Task("t", "t", 2, new SkillProfile(Map.of("java", 0.9)), Urgency.M, false, null);
+        for (int i = 0; i < 20; i++) {
+            assertTrue(retrieval.shortlist(task, grown, projection).contains(2000));
+        }
+        retrieval.awaitRebuild();
+
+        assertEquals(0, retrieval.getStaleScans());
+        assertEquals(2, retrieval.getRebuilds());
+        assertTrue(retrieval.shortlist(task, grown, projection) != null);
+        assertEquals(2, retrieval.getRebuilds());
+    }
+
+    @Test
+    void replacedRosterScansInFullUntilItsIndexIsReady() {
+        CandidateRetrieval retrieval = new CandidateRetrieval(LshParameters.defaults(), 100, 50, 0.9, 0, 100);
+        retrieval.prepare(roster(2000), projection);
+        List<Member> replaced = roster(2000);
+        Task task = new Task("t", "t", 2, new SkillProfile(Map.of("java", 0.9)), Urgency.M, false, null);
+
+        SkillLshIndex.Shortlist first = retrieval.shortlist(task, replaced, projection);
+        retrieval.awaitRebuild();
+
+        assertEquals(null, first);
+        assertEquals(1, retrieval.getStaleScans());
+        assertTrue(retrieval.shortlist(task, replaced, projection) != null);
+        assertEquals(2, retrieval.getRebuilds());
+    }
+
+    @Test
+    void engineWithoutPrepareServesAfterTheBackgroundBuild() {
+        List<Member> members = roster(2000);
+        CandidateRetrieval retrieval = new CandidateRetrieval(LshParameters.defaults(), 100, 50, 0.9, 0, 100);
+        AssignmentEngine engine = new AssignmentEngine(12.0,
+                new LinearUtilityModel(Weights.balanced()), null, null, retrieval, null);
+        ProjectDemand demand = new ProjectDemand("p", new SkillProfile(Map.of("java", 0.8)), 2, Set.of());
+
+        engine.evaluate(demand, members);
+        assertEquals(0, retrieval.getShortlisted());
+        assertEquals(1, retrieval.getStaleScans());
+        retrieval.awaitRebuild();
+        engine.evaluate(demand, members);
+
+        assertEquals(1, retrieval.getShortlisted());
+        assertEquals(1, retrieval.getRebuilds());
+    }
+
+    private static List<Member> roster(int size) {
+        Random random = new Random(size);
+        List<Member> members = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            members.add(new Member("m" + i, new SkillProfile(Map.of("java", random.nextDouble(),
+                    "sql", random.nextDouble())), 0.5 + 0.3 * random.nextDouble(), 0.5));
+        }
+        return members;
+    }
+}
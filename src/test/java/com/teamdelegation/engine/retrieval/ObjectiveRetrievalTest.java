@@ -0,0 +1,46 @@
+package com.teamdelegation.engine.retrieval;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.teamdelegation.engine.AssignmentEngine;
+import com.teamdelegation.engine.LinearUtilityModel;
+import com.teamdelegation.model.Member;
+import com.teamdelegation.model.ProjectDemand;
+import com.teamdelegation.model.ProjectLoad;
+import com.teamdelegation.model.SkillProfile;
+
+class ObjectiveRetrievalTest {
+
+    @Test
+    void shortlistKeepsMembersAlignedWithTheObjectives() {
+        Random random = new Random(17);
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            double level = i % 500 == 0 ? 0.5 : 0.6 + 0.4 * random.nextDouble();
+            Member member = new Member("m" + i, new SkillProfile(Map.of("java", level)), 0.5 + 0.5 * random.nextDouble(),
+                    0.5);
+            member.assignProject(new ProjectLoad(i % 500 == 0 ? "Settlement engine" : "Maintenance", 1));
+            members.add(member);
+        }
+        LinearUtilityModel model = new LinearUtilityModel(AssignmentEngine.Weights.balanced().withObjective(1.0));
+        AssignmentEngine exact = new AssignmentEngine(12.0, model);
+        AssignmentEngine shortlisted = new AssignmentEngine(12.0, model, null, null,
+                new CandidateRetrieval(LshParameters.defaults(), 100, 20, 0.9, 0, 100), null);
+        ProjectDemand demand = new ProjectDemand("p", new SkillProfile(Map.of("java", 0.6)), 1,
+                Set.of("settlement reconciliation"));
+        shortlisted.prepare(members);
+
+        String expected = exact.evaluate(demand, members).getAssignee().getName();
+
+        assertEquals(0, Integer.parseInt(expected.substring(1)) % 500);
+        assertEquals(expected, shortlisted.evaluate(demand, members).getAssignee().getName());
+    }
+}
@@ -0,0 +1,155 @@
+package com.teamdelegation.ingest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.junit.jupiter.api.Test;
+
+import com.teamdelegation.engine.AssignmentEngine;
+import com.teamdelegation.engine.CapacityLedger;
+import com.teamdelegation.engine.PreemptionPolicy;
+import com.teamdelegation.model.Member;
+import com.teamdelegation.model.SkillProfile;
+import com.teamdelegation.model.Task;
+import com.teamdelegation.model.Urgency;
+
+class TaskStreamProcessorTest {
+
+    @Test
+    void slowSubscriberGetsEveryTaskWithinTheBuffer() throws Exception {
+        Random random = new Random(3);
+        List<Member> roster = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            roster.add(new Member("m" + i, new SkillProfile(Map.of("java", 0.5 + random.nextDouble() / 2)), 0.7, 0.5));
+        }
+        List<Task> stream = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            stream.add(task("t" + i, Urgency.values()[random.nextInt(3)], 1 + random.nextInt(3)));
+        }
+        AssignmentEngine engine = new AssignmentEngine(100.0, AssignmentEngine.Weights.balanced());
+
+        List<TaskOutcome> outcomes;
+        TaskStreamProcessor processor = new TaskStreamProcessor(engine, roster, PreemptionPolicy.none(), 8,
+                Duration.ofMillis(5), 32);
+        try (processor) {
+            outcomes = run(processor, stream, 50);
+        }
+
+        Map<String, TaskOutcome> latest = new LinkedHashMap<>();
+        outcomes.forEach(o -> latest.put(o.getTask().getId(), o));
+        assertEquals(stream.size(), latest.size());
+        Map<String, Double> weeks = new HashMap<>();
+        for (TaskOutcome outcome : latest.values()) {
+            assertEquals(TaskOutcome.Kind.ASSIGNED, outcome.getKind(), outcome.getTask().getId());
+            weeks.merge(outcome.getAssignment().getAssignee().getName(), outcome.getTask().getDurationWeeks(),
+                    Double::sum);
+        }
+        weeks.values().forEach(w -> assertTrue(w <= 100.0, "over capacity: " + w));
+        assertEquals(stream.size(), processor.getTasks());
+        assertTrue(processor.getMaxBufferedSeen() <= 32, "buffered " + processor.getMaxBufferedSeen());
+    }
+
+    @Test
+    void laterUrgentTaskBumpsWorkFromAnEarlierBatch() throws Exception {
+        List<Member> roster = List.of(new Member("ann", new SkillProfile(Map.of("java", 0.9)), 0.7, 0.5));
+        AssignmentEngine engine = new AssignmentEngine(2.0, AssignmentEngine.Weights.balanced());
+
+        List<TaskOutcome> outcomes;
+        try (TaskStreamProcessor processor = new TaskStreamProcessor(engine, roster,
+                PreemptionPolicy.urgentOverLow(), 1, Duration.ofMillis(5), 4)) {
+            outcomes = run(processor, List.of(task("low", Urgency.L, 2), task("urgent", Urgency.H, 2)), 0);
+        }
+
+        List<String> events = new ArrayList<>();
+        outcomes.forEach(o -> events.add(o.getKind() + " " + o.getTask().getId()));
+        assertEquals(List.of("ASSIGNED low", "PREEMPTED low", "ASSIGNED urgent", "UNASSIGNED low"), events);
+    }
+
+    @Test
+    void streamReservesInTheLedgerAndReleasesWhenItEnds() throws Exception {
+        List<Member> roster = List.of(new Member("ann", new SkillProfile(Map.of("java", 0.9)), 0.7, 0.5),
+                new Member("bea", new SkillProfile(Map.of("java", 0.6)), 0.7, 0.5));
+        AssignmentEngine engine = new AssignmentEngine(2.0, AssignmentEngine.Weights.balanced());
+        CapacityLedger ledger = engine.newLedger(roster);
+        // Another batch holds ann's capacity
+        assertTrue(ledger.tryReserve(0, 2.0));
+
+        List<TaskOutcome> outcomes;
+        double held;
+        try (TaskStreamProcessor processor = new TaskStreamProcessor(engine, roster,
+                PreemptionPolicy.urgentOverLow(), 1, Duration.ofMillis(5), 4, ledger)) {
+            outcomes = run(processor, List.of(task("low", Urgency.L, 2), task("urgent", Urgency.H, 2),
+                    task("more", Urgency.L, 1)), 0);
+            held = ledger.load(1);
+        }
+
+        List<String> events = new ArrayList<>();
+        outcomes.forEach(o -> events.add(o.getKind() + " " + o.getTask().getId() + (o.getAssignment() != null
+                ? " " + o.getAssignment().getAssignee().getName() : "")));
+        assertEquals(List.of("ASSIGNED low bea", "PREEMPTED low bea", "ASSIGNED urgent bea", "UNASSIGNED low",
+                "UNASSIGNED more"), events);
+        assertEquals(2.0, held, 0.0);
+        for (long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+             ledger.load(1) != 0 && System.nanoTime() < deadline; ) {
+            Thread.sleep(5);
+        }
+        assertEquals(0.0, ledger.load(1), 0.0);
+        assertEquals(2.0, ledger.load(0), 0.0);
+    }
+
+    private static List<TaskOutcome> run(TaskStreamProcessor processor, List<Task> stream, long pauseMicros)
+            throws InterruptedException {
+        List<TaskOutcome> outcomes = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(1);
+        try (SubmissionPublisher<Task> publisher = new SubmissionPublisher<>(Runnable::run, 4)) {
+            publisher.subscribe(processor);
+            processor.subscribe(new Flow.Subscriber<TaskOutcome>() {
+                private Flow.Subscription subscription;
+
+                @Override
+                public void onSubscribe(Flow.Subscription subscription) {
+                    this.subscription = subscription;
+                    subscription.request(1);
+                }
+
+                @Override
+                public void onNext(TaskOutcome item) {
+                    outcomes.add(item);
+                    if (pauseMicros > 0) LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(pauseMicros));
+                    subscription.request(1);
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                    done.countDown();
+                }
+
+                @Override
+                public void onComplete() {
+                    done.countDown();
+                }
+            });
+            stream.forEach(publisher::submit);
+        }
+        assertTrue(done.await(30, TimeUnit.SECONDS), "stream did not complete");
+        return outcomes;
+    }
+
+    private static Task task(String id, Urgency urgency, double weeks) {
+        return new Task(id, id, weeks, new SkillProfile(Map.of("java", 0.5)), urgency, false, null);
+    }
+}
@@ -0,0 +1,80 @@
+package com.teamdelegation.journal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.teamdelegation.model.AssignmentDecision;
+import com.teamdelegation.model.AssignmentInsight;
+import com.teamdelegation.model.Member;
+import com.teamdelegation.model.ProjectDemand;
+import com.teamdelegation.model.SkillProfile;
+
+class DecisionJournalTest {
+
+    @Test
+    void recordsLargerThanASegmentSurviveReopening() throws Exception {
+        Path dir = Files.createTempDirectory("journal");
+        Set<String> objectives = new HashSet<>();
+        for (int i = 0; i < 200; i++) objectives.add("objective-" + i + "-" + "x".repeat(40));
+        try (DecisionJournal journal = DecisionJournal.open(dir, 4096)) {
+            journal.append(decision("big", objectives, 3), 12.0, "balanced");
+            journal.append(decision("big", objectives, 3), 12.0, "balanced");
+            journal.append(decision("small", Set.of(), 3), 12.0, "balanced");
+        }
+
+        try (DecisionJournal reopened = DecisionJournal.open(dir, 4096)) {
+            assertEquals(3, reopened.size());
+            List<JournalEntry> big = reopened.query(null, "big", 0, Long.MAX_VALUE, 10);
+            assertEquals(2, big.size());
+            assertEquals(200, big.get(0).getObjectives().size());
+            assertEquals(1, reopened.query(null, "small", 0, Long.MAX_VALUE, 10).size());
+        }
+    }
+
+    @Test
+    void recordsKeepTheBestScoresAndTheAssignee() throws Exception {
+        Path dir = Files.createTempDirectory("journal");
+        AssignmentDecision decision = decision("p", Set.of(), 100);
+        List<AssignmentInsight> insights = decision.getInsights();
+        // The assignee ranks below the cut
+        AssignmentDecision pastTheCut = new AssignmentDecision(decision.getDemand(),
+                List.of(new Member("m50", new SkillProfile(Map.of("java", 0.5)), 0.5, 0.5)), insights);
+        try (DecisionJournal journal = DecisionJournal.open(dir, 4096, 5)) {
+            journal.append(decision, 12.0, "balanced");
+            journal.append(pastTheCut, 12.0, "balanced");
+
+            List<JournalEntry> entries = journal.query(null, "p", 0, Long.MAX_VALUE, 10);
+            assertEquals(2, entries.size());
+            for (JournalEntry entry : entries) {
+                List<String> expected = new ArrayList<>(List.of("m0", "m1", "m2", "m3", "m4"));
+                if (entry.getAssignee().equals("m50")) expected.add("m50");
+                assertEquals(expected, names(entry));
+            }
+        }
+    }
+
+    private static List<String> names(JournalEntry entry) {
+        List<String> names = new ArrayList<>();
+        entry.getScores().forEach(s -> names.add(s.getMemberName()));
+        return names;
+    }
+
+    private static AssignmentDecision decision(String project, Set<String> objectives, int members) {
+        ProjectDemand demand = new ProjectDemand(project, new SkillProfile(Map.of("java", 0.5)), 2, objectives);
+        List<AssignmentInsight> insights = new ArrayList<>();
+        for (int i = 0; i < members; i++) {
+            insights.add(new AssignmentInsight("m" + i, 1.0 - i / 1000.0, 0.5, 0.5, 0.5, 0.5, ""));
+        }
+        Member best = new Member("m0", new SkillProfile(Map.of("java", 0.5)), 0.5, 0.5);
+        return new AssignmentDecision(demand, List.of(best), insights);
+    }
+}
@@ -0,0 +1,35 @@
+package com.teamdelegation.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class KeywordIdsTest {
+
+    @Test
+    void objectiveWordsAreLookedUpNotInterned() {
+        int before = KeywordIds.size();
+
+        Task task = task("qxobjective qxunknown");
+
+        assertEquals(before, KeywordIds.size());
+        assertEquals(0, task.objectivesMatching(new long[]{-1L, -1L, -1L, -1L}));
+    }
+
+    @Test
+    void objectivesMatchWordsMembersBroughtIn() {
+        Member member = new Member("ann", new SkillProfile(Map.of("java", 0.5)), 0.7, 0.5)
+                .assignProject(new ProjectLoad("Qxledger rewrite", 2));
+
+        Task task = task("ship the qxledger");
+
+        assertEquals(1, task.objectivesMatching(member.getKeywords()));
+    }
+
+    private static Task task(String objective) {
+        return new Task("t", "t", 1, new SkillProfile(Map.of("java", 0.5)), Urgency.M, false, Set.of(objective));
+    }
+}
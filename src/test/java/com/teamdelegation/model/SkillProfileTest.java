@@ -0,0 +1,54 @@
+package com.teamdelegation.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class SkillProfileTest {
+
+    @Test
+    void demandSkillsAreLookedUpNotInterned() {
+        new Task("warm", "t", 1, new SkillProfile(Map.of("qxjava", 0.5)), Urgency.M, false, Set.of());
+        int before = SkillIds.size();
+
+        SkillProfile demand = SkillProfile.demand(Map.of("qxjava", 0.6, "qxdemandonly", 0.4));
+        Task task = new Task("t", "t", 1, demand, Urgency.M, false, Set.of());
+
+        assertEquals(before, SkillIds.size());
+        assertEquals(1, demand.skillIds().length);
+        assertEquals(0.6, demand.getLevel(SkillIds.lookup("qxjava")), 0);
+        assertEquals(0.4, demand.getLevel("qxdemandonly"), 0);
+        assertEquals(1.0, task.getTotalDemand(), 1e-12);  // the unknown skill still counts against the fit
+        assertEquals(0.6, task.getNormalizedDemand()[0], 1e-12);
+    }
+
+    @Test
+    void aDemandOfOnlyUnknownSkillsIsNotANeutralOne() {
+        Task task = new Task("t", "t", 1, SkillProfile.demand(Map.of("qxnobody", 0.5)), Urgency.M, false, Set.of());
+
+        assertEquals(0, task.getRequiredSkillIds().length);
+        assertEquals(-1, task.getPrimarySkillId());
+        assertTrue(task.hasRequiredSkills());
+        assertTrue(!new Task("t", "t", 1, SkillProfile.empty(), Urgency.M, false, Set.of()).hasRequiredSkills());
+    }
+
+    @Test
+    void namesAreLowerCasedIndependentlyOfTheDefaultLocale() {
+        Locale saved = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr"));
+        try {
+            SkillProfile profile = new SkillProfile(Map.of("QXLINUX", 0.5));
+
+            assertEquals(Set.of("qxlinux"), profile.getSkillNames());
+            assertEquals(0.5, profile.getLevel("QXLINUX"), 0);
+            assertEquals(SkillIds.lookup("qxlinux"), profile.skillIds()[0]);
+        } finally {
+            Locale.setDefault(saved);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.teamdelegation.replay;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.teamdelegation.constraint.AssignmentRules;
+import com.teamdelegation.engine.AssignmentEngine;
+import com.teamdelegation.engine.LinearUtilityModel;
+import com.teamdelegation.model.AssignmentDecision;
+import com.teamdelegation.model.Member;
+import com.teamdelegation.model.ProjectDemand;
+import com.teamdelegation.model.SkillProfile;
+import com.teamdelegation.model.TaskAssignment;
+
+class ScenarioRecorderTest {
+
+    @Test
+    void evaluationReplaysOnTheRecordedEngine() throws Exception {
+        List<Member> members = List.of(
+                new Member("ann", new SkillProfile(Map.of("java", 0.9)), 0.7, 0.5),
+                new Member("bea", new SkillProfile(Map.of("java", 0.6)), 0.7, 0.5));
+        AssignmentRules rules = new AssignmentRules().certify("bea", "sec").requireCertifications("vault", "sec");
+        AssignmentEngine engine = new AssignmentEngine(10.0,
+                new LinearUtilityModel(new AssignmentEngine.Weights(0.3, 0.4, 0.2, 0.1, 0.2)), null, rules);
+        ProjectDemand demand = new ProjectDemand("vault", new SkillProfile(Map.of("java", 0.8)), 3, Set.of());
+        AssignmentDecision live = engine.evaluate(demand, members);
+        assertEquals("bea", live.getAssignee().getName());
+
+        Path file = Files.createTempDirectory("scenarios").resolve("scenarios.jsonl");
+        try (ScenarioRecorder recorder = ScenarioRecorder.open(file)) {
+            recorder.record(engine, Scenario.EntryPoint.EVALUATE, 0, members,
+                    List.of(AssignmentEngine.demandToTask(demand)));
+        }
+        Scenario scenario = ScenarioRecorder.read(file).get(0);
+
+        ObjectMapper mapper = new ObjectMapper();
+        assertEquals(EngineConfig.of(engine).key(mapper), scenario.getConfig().key(mapper));
+        assertEquals(Scenario.EntryPoint.EVALUATE, scenario.getEntryPoint());
+        assertTrue(scenario.getConfig().hasRules());
+        List<TaskAssignment> replayed = DifferentialHarness.engine("baseline").run(scenario, null);
+        assertEquals(1, replayed.size());
+        assertEquals("bea", replayed.get(0).getAssignee().getName());
+        assertEquals(live.getTaskAssignments().get(0).getUtilityScore(), replayed.get(0).getUtilityScore(), 0.0);
+    }
+
+    @Test
+    void linesWithoutEngineReplayAsADefaultBatch() throws Exception {
+        Scenario generated = ScenarioGenerator.generate(1, 5, 3);
+        ObjectMapper mapper = new ObjectMapper();
+        ObjectNode json = generated.toJson(mapper);
+        json.remove(List.of("engine", "entry", "budgetMs"));
+
+        Scenario read = Scenario.fromJson(json);
+
+        assertEquals(Scenario.EntryPoint.ASSIGN_TASKS, read.getEntryPoint());
+        assertEquals(EngineConfig.DEFAULT.key(mapper), read.getConfig().key(mapper));
+        assertEquals(0, read.getBudgetMs());
+    }
+}
@@ -0,0 +1,88 @@
+package com.teamdelegation.roster;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.teamdelegation.engine.AssignmentEngine;
+import com.teamdelegation.model.Member;
+import com.teamdelegation.model.ProjectLoad;
+import com.teamdelegation.model.SkillProfile;
+import com.teamdelegation.model.Task;
+import com.teamdelegation.model.TaskAssignment;
+import com.teamdelegation.model.Urgency;
+
+class OffHeapRosterTest {
+
+    @Test
+    void levelsRoundTripExactly() {
+        Member member = new Member("ana", new SkillProfile(Map.of("java", 0.70000001, "sql", 1.0 / 3)), 0.8, 0.4);
+        Member view = OffHeapRoster.of(List.of(member)).asList().get(0);
+
+        assertEquals(member.getName(), view.getName());
+        assertEquals(member.getExpertise().getLevel("java"), view.getExpertise().getLevel("java"));
+        assertEquals(member.getExpertise().getLevel("sql"), view.getExpertise().getLevel("sql"));
+        assertEquals(member.getExpertise().asMap(), view.getExpertise().asMap());
+    }
+
+    @Test
+    void nearTiesPickTheSameMemberAsTheHeapRoster() {
+        // 0.7 and 0.70000001 are the same float, so only double levels keep bea ahead
+        List<Member> members = List.of(
+                new Member("ana", new SkillProfile(Map.of("java", 0.7)), 0.5, 0.5),
+                new Member("bea", new SkillProfile(Map.of("java", 0.70000001)), 0.5, 0.5));
+        Task task = new Task("t1", "billing", 2, new SkillProfile(Map.of("java", 0.9)), Urgency.M, false, Set.of());
+        AssignmentEngine engine = new AssignmentEngine(12.0, AssignmentEngine.Weights.balanced());
+
+        List<TaskAssignment> heap = engine.assignTasks(List.of(task), members);
+        List<TaskAssignment> offHeap = engine.assignTasks(List.of(task), OffHeapRoster.of(members).asList());
+
+        assertEquals("bea", heap.get(0).getAssignee().getName());
+        assertEquals(heap.get(0).getAssignee().getName(), offHeap.get(0).getAssignee().getName());
+        assertEquals(heap.get(0).getUtilityScore(), offHeap.get(0).getUtilityScore());
+    }
+
+    @Test
+    void listReturnsOneViewPerSlot() {
+        OffHeapRoster roster = OffHeapRoster.of(List.of(
+                new Member("ana", new SkillProfile(Map.of("java", 0.7)), 0.5, 0.5),
+                new Member("bea", new SkillProfile(Map.of("go", 0.4)), 0.5, 0.5)));
+        List<Member> list = roster.asList();
+
+        assertSame(list.get(1), list.get(1));
+        assertEquals(roster.view(1), list.get(1));
+        assertEquals("bea", list.get(1).getName());
+    }
+
+    @Test
+    void projectCountsSurviveSoMaxTaskRulesSeeThem() {
+        Member member = new Member("ana", new SkillProfile(Map.of("java", 0.7)), 0.5, 0.5)
+                .assignProject(new ProjectLoad("billing", 2))
+                .assignProject(new ProjectLoad("ledger", 4));
+        Member view = OffHeapRoster.of(List.of(member)).asList().get(0);
+
+        assertEquals(2, view.getCurrentProjects().size());
+        assertEquals(6.0, view.totalRemainingWeeks(), 0);
+        view.assignProject(new ProjectLoad("search", 3));
+        assertEquals(3, view.getCurrentProjects().size());
+        assertEquals(9.0, view.getCurrentProjects().stream().mapToDouble(ProjectLoad::getRemainingWeeks).sum(), 1e-12);
+    }
+
+    @Test
+    void rostersTooLargeForIntOffsetsAreRejectedUpFront() {
+        new OffHeapRoster(0);
+        boolean rejected = false;
+        try {
+            new OffHeapRoster(OffHeapRoster.MAX_MEMBERS + 1);
+        } catch (IllegalArgumentException ex) {
+            rejected = true;
+        }
+        assertTrue(rejected);
+    }
+}
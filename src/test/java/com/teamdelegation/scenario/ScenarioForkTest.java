@@ -0,0 +1,87 @@
+package com.teamdelegation.scenario;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.teamdelegation.model.Member;
+import com.teamdelegation.model.SkillProfile;
+
+class ScenarioForkTest {
+
+    @Test
+    void randomEditChainsMatchACopiedList() {
+        Random random = new Random(35);
+        for (int round = 0; round < 200; round++) {
+            List<Member> base = new ArrayList<>();
+            int size = random.nextInt(12);
+            for (int i = 0; i < size; i++) {
+                base.add(member("m" + random.nextInt(10)));  // duplicate names on purpose
+            }
+            ScenarioFork fork = ScenarioFork.of(List.copyOf(base));
+            List<Member> expected = new ArrayList<>(base);
+            int edits = random.nextInt(40);
+            for (int e = 0; e < edits; e++) {
+                String name = "m" + random.nextInt(14);
+                if (random.nextBoolean()) {
+                    fork = fork.without(name);
+                    expected.removeIf(m -> m.getName().equals(name));
+                } else {
+                    Member added = member(name);
+                    fork = fork.with(added);
+                    with(expected, added);
+                }
+                if (random.nextInt(8) == 0) {
+                    assertSameMembers(expected, fork.members());  // resolving mid-chain must not disturb later forks
+                }
+            }
+            assertEquals(edits, fork.depth());
+            assertSameMembers(expected, fork.members());
+        }
+    }
+
+    @Test
+    void siblingForksShareTheirParentWithoutSeeingEachOther() {
+        Member ann = member("ann");
+        Member bea = member("bea");
+        ScenarioFork base = ScenarioFork.of(List.of(ann, bea));
+        ScenarioFork leave = base.without("ann");
+        ScenarioFork hire = base.with(member("cai"));
+
+        assertSameMembers(List.of(bea), leave.members());
+        assertEquals(3, hire.members().size());
+        assertSame(ann, hire.members().get(0));
+        assertSameMembers(List.of(ann, bea), base.members());
+    }
+
+    /** The reference semantics: replace the first member of that name in place and drop the others, or append. */
+    private static void with(List<Member> members, Member added) {
+        for (int i = 0; i < members.size(); i++) {
+            if (members.get(i).getName().equals(added.getName())) {
+                members.set(i, added);
+                for (int j = members.size() - 1; j > i; j--) {
+                    if (members.get(j).getName().equals(added.getName())) members.remove(j);
+                }
+                return;
+            }
+        }
+        members.add(added);
+    }
+
+    private static void assertSameMembers(List<Member> expected, List<Member> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertSame(expected.get(i), actual.get(i));
+        }
+    }
+
+    private static Member member(String name) {
+        return new Member(name, new SkillProfile(Map.of("java", 0.5)), 0.5, 0.5);
+    }
+}
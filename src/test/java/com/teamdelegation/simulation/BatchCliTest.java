@@ -0,0 +1,63 @@
+package com.teamdelegation.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.teamdelegation.model.Member;
+import com.teamdelegation.model.SkillProfile;
+import com.teamdelegation.startup.RosterSnapshot;
+
+class BatchCliTest {
+
+    @Test
+    void rulesFromTheConfigFileApply() throws Exception {
+        Path dir = Files.createTempDirectory("batch");
+        Path roster = dir.resolve("roster.json");
+        RosterSnapshot.write(roster, List.of(
+                new Member("ann", new SkillProfile(Map.of("java", 0.9)), 0.7, 0.5),
+                new Member("bea", new SkillProfile(Map.of("java", 0.6)), 0.7, 0.5)));
+        Path tasks = dir.resolve("backlog.ndjson");
+        Files.writeString(tasks, "{\"id\":\"t1\",\"name\":\"Vault\",\"weeks\":2,\"skills\":{\"java\":0.8}}\n");
+        Path config = dir.resolve("batch.properties");
+        Files.writeString(config, "delegation.constraints.certifications.bea=sec\n"
+                + "delegation.constraints.project-certifications.Vault=sec\n");
+
+        assertEquals("ann", assigneeOf(run(roster, tasks, dir.resolve("plain.ndjson"))));
+        assertEquals("bea", assigneeOf(run(roster, tasks, dir.resolve("ruled.ndjson"), "--config", config.toString())));
+    }
+
+    @Test
+    void badExpressionIsAnArgumentError() throws Exception {
+        Path dir = Files.createTempDirectory("batch");
+        Path roster = dir.resolve("roster.json");
+        RosterSnapshot.write(roster, List.of());
+        Path tasks = dir.resolve("backlog.ndjson");
+        Files.writeString(tasks, "");
+
+        assertEquals(1, BatchCli.run(new String[] {"--roster", roster.toString(), "--tasks", tasks.toString(),
+                "--out", dir.resolve("out.ndjson").toString(), "--expression", "skillFit +"}));
+    }
+
+    private static Path run(Path roster, Path tasks, Path out, String... extra) {
+        String[] args = new String[6 + extra.length];
+        String[] base = {"--roster", roster.toString(), "--tasks", tasks.toString(), "--out", out.toString()};
+        System.arraycopy(base, 0, args, 0, 6);
+        System.arraycopy(extra, 0, args, 6, extra.length);
+        assertEquals(0, BatchCli.run(args));
+        return out;
+    }
+
+    private static String assigneeOf(Path results) throws Exception {
+        List<String> lines = Files.readAllLines(results);
+        assertTrue(lines.size() == 1, "one result line");
+        return new ObjectMapper().readTree(lines.get(0)).path("assignee").asText();
+    }
+}
@@ -0,0 +1,168 @@
+package com.teamdelegation.tenant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import com.teamdelegation.engine.AssignmentEngine;
+import com.teamdelegation.engine.EngineFactory;
+import com.teamdelegation.journal.DecisionJournal;
+import com.teamdelegation.web.ScenarioRepository;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+class TenantRegistryTest {
+
+    @Test
+    void onlyConfiguredTenantsAreServedByDefault() throws Exception {
+        TenancyProperties properties = new TenancyProperties();
+        properties.getTenants().put("payments", settings(2));
+        TenantRegistry registry = registry(properties);
+        try {
+            assertSame(registry.getDefault(), registry.find(null));
+            assertSame(registry.getDefault(), registry.find("default"));
+            assertEquals(null, registry.find("stranger"));
+            assertEquals(null, registry.find("bad/id"));
+            Tenant payments = registry.find("payments");
+            assertEquals("payments", payments.getId());
+            assertSame(payments, registry.find("payments"));
+            assertEquals(2, registry.getActive().size());
+        } finally {
+            registry.close();
+        }
+    }
+
+    @Test
+    void autoProvisionStopsAtMaxTenantsAndProvisionsEachTenantOnce() throws Exception {
+        TenancyProperties properties = new TenancyProperties();
+        properties.setAutoProvision(true);
+        properties.setMaxTenants(2);
+        TenantRegistry registry = registry(properties);
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Tenant>> found = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                found.add(callers.submit(() -> registry.find("alpha")));
+            }
+            Tenant alpha = found.get(0).get();
+            for (Future<Tenant> tenant : found) {
+                assertSame(alpha, tenant.get());
+            }
+            assertTrue(registry.find("beta") != null);
+            assertEquals(null, registry.find("gamma"));
+            assertSame(alpha, registry.find("alpha"));
+        } finally {
+            callers.shutdownNow();
+            registry.close();
+        }
+    }
+
+    @Test
+    void interceptorAnswers404And429AndReleasesItsPermit() throws Exception {
+        TenancyProperties properties = new TenancyProperties();
+        properties.getTenants().put("payments", settings(1));
+        TenantRegistry registry = registry(properties);
+        TenantInterceptor interceptor = new TenantInterceptor(registry);
+        try {
+            FakeResponse unknown = new FakeResponse();
+            assertTrue(!interceptor.preHandle(request("stranger").proxy(), unknown.proxy(), null));
+            assertEquals(404, unknown.status);
+
+            FakeRequest first = request("payments");
+            assertTrue(interceptor.preHandle(first.proxy(), new FakeResponse().proxy(), null));
+            Tenant payments = registry.find("payments");
+            assertEquals(0, payments.availableRequestPermits());
+
+            FakeResponse busy = new FakeResponse();
+            assertTrue(!interceptor.preHandle(request("payments").proxy(), busy.proxy(), null));
+            assertEquals(429, busy.status);
+            assertEquals("1", busy.headers.get("Retry-After"));
+
+            first.asyncStarted = true;  // a streamed response keeps the permit until its async dispatch completes
+            interceptor.afterCompletion(first.proxy(), new FakeResponse().proxy(), null, null);
+            assertEquals(0, payments.availableRequestPermits());
+
+            first.asyncStarted = false;
+            interceptor.afterCompletion(first.proxy(), new FakeResponse().proxy(), null, null);
+            assertEquals(1, payments.availableRequestPermits());
+            interceptor.afterCompletion(first.proxy(), new FakeResponse().proxy(), null, null);
+            assertEquals(1, payments.availableRequestPermits());  // released once only
+        } finally {
+            registry.close();
+        }
+    }
+
+    private static TenantRegistry registry(TenancyProperties properties) throws Exception {
+        Path journals = Files.createTempDirectory("tenants");
+        AssignmentEngine engine = new AssignmentEngine(12, AssignmentEngine.Weights.balanced());
+        return new TenantRegistry(properties, new ScenarioRepository(), engine,
+                new EngineFactory(null, null, null, null, null),
+                DecisionJournal.open(journals.resolve("default"), 1 << 16), Executors.newSingleThreadExecutor(),
+                journals.toString(), 1 << 16, 20);
+    }
+
+    private static TenantSettings settings(int maxConcurrentRequests) {
+        TenantSettings settings = new TenantSettings();
+        settings.setMaxConcurrentRequests(maxConcurrentRequests);
+        return settings;
+    }
+
+    private static FakeRequest request(String tenantId) {
+        FakeRequest request = new FakeRequest();
+        request.tenantId = tenantId;
+        return request;
+    }
+
+    /** Just the parts of a request the interceptor reads. */
+    private static final class FakeRequest {
+        String tenantId;
+        boolean asyncStarted;
+        final Map<String, Object> attributes = new HashMap<>();
+
+        HttpServletRequest proxy() {
+            return (HttpServletRequest) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[]{HttpServletRequest.class}, (p, method, args) -> switch (method.getName()) {
+                        case "getDispatcherType" -> DispatcherType.REQUEST;
+                        case "getHeader" -> TenantInterceptor.TENANT_HEADER.equals(args[0]) ? tenantId : null;
+                        case "getParameter" -> null;
+                        case "isAsyncStarted" -> asyncStarted;
+                        case "getAttribute" -> attributes.get((String) args[0]);
+                        case "setAttribute" -> attributes.put((String) args[0], args[1]);
+                        case "removeAttribute" -> attributes.remove((String) args[0]);
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    });
+        }
+    }
+
+    private static final class FakeResponse {
+        int status;
+        final Map<String, String> headers = new HashMap<>();
+
+        HttpServletResponse proxy() {
+            return (HttpServletResponse) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[]{HttpServletResponse.class}, (p, method, args) -> switch (method.getName()) {
+                        case "sendError" -> {
+                            status = (Integer) args[0];
+                            yield null;
+                        }
+                        case "setHeader" -> headers.put((String) args[0], (String) args[1]);
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    });
+        }
+    }
+}
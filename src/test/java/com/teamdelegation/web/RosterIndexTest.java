@@ -0,0 +1,75 @@
+package com.teamdelegation.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.teamdelegation.model.Member;
+import com.teamdelegation.model.ProjectLoad;
+import com.teamdelegation.model.SkillProfile;
+
+class RosterIndexTest {
+
+    private static final String[] SKILLS = {"java", "sql", "cloud", "docs"};
+
+    @Test
+    void extendedIndexListsLikeAFreshBuild() {
+        Random random = new Random(9);
+        ScenarioRepository repository = new ScenarioRepository();
+        for (int round = 0; round < 20; round++) {
+            for (int k = random.nextInt(30); k >= 0; k--) {
+                repository.addMember(member(random, "m" + round + "-" + k));
+            }
+            assertSameListings(RosterIndex.build(repository.getMembers()), repository.getIndex());
+        }
+    }
+
+    @Test
+    void replacedRosterIsRebuilt() {
+        Random random = new Random(4);
+        ScenarioRepository repository = new ScenarioRepository();
+        for (int i = 0; i < 40; i++) repository.addMember(member(random, "a" + i));
+        repository.getIndex();
+        List<Member> replacement = new ArrayList<>();
+        for (int i = 0; i < 50; i++) replacement.add(member(random, "b" + i));
+        repository.replaceMembers(replacement);
+
+        assertSameListings(RosterIndex.build(repository.getMembers()), repository.getIndex());
+        assertEquals(50, repository.getIndex().size());
+    }
+
+    private static void assertSameListings(RosterIndex expected, RosterIndex actual) {
+        for (RosterIndex.Sort sort : RosterIndex.Sort.values()) {
+            for (String skill : new String[] {null, "java", "docs", "none"}) {
+                for (int page = 0; page * RosterIndex.MAX_PAGE_SIZE < expected.size(); page++) {
+                    RosterPage<Member> want = expected.page(sort, skill, page, RosterIndex.MAX_PAGE_SIZE);
+                    RosterPage<Member> got = actual.page(sort, skill, page, RosterIndex.MAX_PAGE_SIZE);
+                    assertEquals(want.getTotal(), got.getTotal(), sort + " " + skill);
+                    assertEquals(names(want.getItems()), names(got.getItems()), sort + " " + skill + " " + page);
+                }
+            }
+        }
+    }
+
+    private static List<String> names(List<Member> members) {
+        List<String> names = new ArrayList<>(members.size());
+        members.forEach(m -> names.add(m.getName()));
+        return names;
+    }
+
+    private static Member member(Random random, String name) {
+        Map<String, Double> skills = new HashMap<>();
+        for (int k = random.nextInt(3); k >= 0; k--) {
+            skills.put(SKILLS[random.nextInt(SKILLS.length)], random.nextInt(10) / 10.0);
+        }
+        Member member = new Member(name, new SkillProfile(skills), random.nextInt(5) / 4.0, 0.5);
+        if (random.nextBoolean()) member.assignProject(new ProjectLoad("p", random.nextInt(4)));
+        return member;
+    }
+}
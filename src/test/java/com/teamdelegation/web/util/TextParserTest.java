@@ -0,0 +1,127 @@
+package com.teamdelegation.web.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.teamdelegation.model.ProjectLoad;
+import com.teamdelegation.model.SkillProfile;
+
+class TextParserTest {
+
+    @Test
+    void fastNumbersMatchParseDouble() {
+        Random random = new Random(5);
+        for (int n = 0; n < 100_000; n++) {
+            StringBuilder text = new StringBuilder();
+            if (random.nextInt(4) == 0) text.append(random.nextBoolean() ? '-' : '+');
+            int intDigits = random.nextInt(9);
+            for (int i = 0; i < intDigits; i++) text.append((char) ('0' + random.nextInt(10)));
+            if (intDigits == 0 || random.nextBoolean()) {
+                text.append('.');
+                int fraction = 1 + random.nextInt(9);
+                for (int i = 0; i < fraction; i++) text.append((char) ('0' + random.nextInt(10)));
+            }
+            assertSameAsParseDouble(text.toString());
+        }
+    }
+
+    @Test
+    void slowNumbersMatchParseDouble() {
+        for (String text : new String[] {"1e3", "-2.5E-3", "12345678901234567890.5", "9007199254740993",
+                "0.00000000000000000000001234", "0.1234567890123456789", "5.", ".5", "-0", "1d"}) {
+            assertSameAsParseDouble(text);
+        }
+        for (String text : new String[] {"", ".", "-", "abc", "1.2.3", "Infinity", "NaN", "1e400", "0x"}) {
+            TextScanner in = new TextScanner(text, false, null);
+            assertTrue(Double.isNaN(in.number(0, text.length())), text);
+        }
+    }
+
+    @Test
+    void crlfInputIsLocatedByLineAndColumn() {
+        List<ParseDiagnostic> diagnostics = new ArrayList<>();
+        SkillProfile skills = TextParser.parseSkills("java:0.5\r\nsql:x\r\n\r\n  Go : 1.5\r\n", diagnostics);
+
+        assertEquals(List.of("line 2, column 5: level 'x' is not a number, using 0.5",
+                "line 4, column 8: level 1.5 is outside 0..1"), strings(diagnostics));
+        assertEquals(0.5, skills.getLevel("sql"), 0.0);
+        assertEquals(1.0, skills.getLevel("go"), 0.0);  // kept, as the profile caps it
+    }
+
+    @Test
+    void skillDiagnostics() {
+        List<ParseDiagnostic> diagnostics = new ArrayList<>();
+        SkillProfile skills = TextParser.parseSkills("java\n:0.4\ndocs:-1\nsql:0.2\nSQL:0.3\nc:d:0.7", diagnostics);
+
+        assertEquals(List.of(
+                "line 1, column 1: expected skill:level, got 'java'",
+                "line 2, column 1: missing skill name",
+                "line 3, column 6: level -1.0 is outside 0..1",
+                "line 5, column 1: skill 'sql' repeated, keeping this level"), strings(diagnostics));
+        assertTrue(TextParser.hasErrors(diagnostics));
+        assertEquals(0.3, skills.getLevel("sql"), 0.0);
+        assertEquals(0.7, skills.getLevel("c:d"), 0.0);
+    }
+
+    @Test
+    void projectDiagnostics() {
+        List<ParseDiagnostic> diagnostics = new ArrayList<>();
+        List<ProjectLoad> projects = new ArrayList<>();
+        TextParser.applyProjects("alpha\n : 3\nbeta:soon\ngamma:-2\ndelta:600\nv2:api:3", projects::add, diagnostics);
+
+        assertEquals(List.of(
+                "line 1, column 1: expected project:weeks, got 'alpha'",
+                "line 2, column 2: missing project name",
+                "line 3, column 6: weeks 'soon' is not a number, using 4.0",
+                "line 4, column 7: negative remaining weeks -2.0",
+                "line 5, column 7: remaining weeks 600.0 is over 520.0, using 520.0"), strings(diagnostics));
+        assertEquals(List.of("beta 4.0", "gamma -2.0", "delta 520.0", "v2:api 3.0"),
+                projects.stream().map(p -> p.getProjectName() + " " + p.getRemainingWeeks()).toList());
+    }
+
+    @Test
+    void objectivesSplitOnCommasAndLines() {
+        List<ParseDiagnostic> diagnostics = new ArrayList<>();
+        Set<String> objectives = TextParser.parseObjectives("ship, learn\r\ngrow,\nship", diagnostics);
+
+        assertEquals(List.of("ship", "learn", "grow"), List.copyOf(objectives));
+        assertEquals(List.of("line 3, column 1: objective 'ship' repeated"), strings(diagnostics));
+    }
+
+    @Test
+    void diagnosticsAreCappedWithACount() {
+        StringBuilder paste = new StringBuilder();
+        for (int i = 0; i < 1000; i++) paste.append("junk").append(i).append('\n');
+        // Each line is out of range, and all but the first repeat the skill
+        for (int i = 0; i < 30; i++) paste.append("ok:2\n");
+        List<ParseDiagnostic> diagnostics = new ArrayList<>();
+        TextParser.parseSkills(paste.toString(), diagnostics);
+
+        assertEquals(TextScanner.MAX_DIAGNOSTICS + 2, diagnostics.size());
+        assertEquals("950 more errors not shown", diagnostics.get(TextScanner.MAX_DIAGNOSTICS).toString());
+        assertEquals("59 more warnings not shown", diagnostics.get(TextScanner.MAX_DIAGNOSTICS + 1).toString());
+
+        List<ParseDiagnostic> warnings = new ArrayList<>();
+        for (int i = 0; i < 120; i++) warnings.add(new ParseDiagnostic(ParseDiagnostic.Severity.WARNING, i + 1, 1, "w"));
+        String summary = ParseErrors.summarizeWarnings(warnings);
+        assertTrue(summary.endsWith("; 70 more not shown"), summary);
+        assertEquals(TextScanner.MAX_DIAGNOSTICS + 1, summary.split("; ").length);
+    }
+
+    private static void assertSameAsParseDouble(String text) {
+        TextScanner in = new TextScanner(text, false, null);
+        assertEquals(Double.doubleToLongBits(Double.parseDouble(text)), Double.doubleToLongBits(in.number(0,
+                text.length())), text);
+    }
+
+    private static List<String> strings(List<ParseDiagnostic> diagnostics) {
+        return diagnostics.stream().map(ParseDiagnostic::toString).toList();
+    }
+}